@@ -14,7 +14,9 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Optional;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -23,7 +25,9 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 
 /**
  * {@link AbstractDbArtifact} implementation which dynamically creates a
- * {@link FileInputStream} on calling {@link #getFileInputStream()}.
+ * {@link FileInputStream} on calling {@link #getFileInputStream()}. The file
+ * is exposed by {@link #getFilePath()} so that it can be delivered without
+ * copying it through the {@link InputStream}.
  */
 public class ArtifactFilesystem extends AbstractDbArtifact {
 
@@ -47,4 +51,9 @@ public class ArtifactFilesystem extends AbstractDbArtifact {
             throw new ArtifactFileNotFoundException(e);
         }
     }
+
+    @Override
+    public Optional<Path> getFilePath() {
+        return Optional.of(file.toPath());
+    }
 }
@@ -29,6 +29,9 @@ public class ArtifactFilesystemConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ArtifactRepository artifactRepository(final ArtifactFilesystemProperties artifactFilesystemProperties) {
-        return new ArtifactFilesystemRepository(artifactFilesystemProperties);
+        final ArtifactFilesystemRepository artifactRepository = new ArtifactFilesystemRepository(
+                artifactFilesystemProperties);
+        artifactRepository.deleteStaleStagingFiles();
+        return artifactRepository;
     }
 }
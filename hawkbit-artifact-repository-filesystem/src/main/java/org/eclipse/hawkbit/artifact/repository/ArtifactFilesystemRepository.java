@@ -11,10 +11,13 @@ package org.eclipse.hawkbit.artifact.repository;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 
+import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
@@ -31,10 +34,21 @@ import org.springframework.validation.annotation.Validated;
  * Due the limit of many file-systems of files within one directory, the files
  * are stored in different sub-directories based on the last four digits of the
  * SHA1-hash {@code (/basepath/[two digit sha1]/[two digit sha1])}.
+ * 
+ * Uploads are written to a staging file in the directory of the tenant, so
+ * that they are moved to their SHA1 location by renaming them within the
+ * same file-system. Staging files left behind by a crashed node are deleted by
+ * {@link #deleteStaleStagingFiles()}.
  */
+@Slf4j
 @Validated
 public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
 
+    private static final String STAGING_FILE_PREFIX = ".staging-";
+    private static final String STAGING_FILE_SUFFIX = ".tmp";
+    // a staging file is written continuously while the upload is in progress
+    private static final Duration STALE_STAGING_FILE_AGE = Duration.ofHours(1);
+
     private final ArtifactFilesystemProperties artifactResourceProperties;
 
     /**
@@ -70,12 +84,50 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
         return renameFileToSHA1Naming(tenant, file, new ArtifactFilesystem(file, base16Hashes.getSha1(), base16Hashes, file.length(), contentType));
     }
 
+    @Override
+    protected Path createStagingFile(final String tenant) throws IOException {
+        final Path tenantDirectory = Paths.get(artifactResourceProperties.getPath(), sanitizeTenant(tenant));
+        Files.createDirectories(tenantDirectory);
+        return Files.createTempFile(tenantDirectory, STAGING_FILE_PREFIX, STAGING_FILE_SUFFIX);
+    }
+
+    /**
+     * Deletes the staging files of all tenants which are not modified for an
+     * hour, i.e. which are left behind by an interrupted upload (e.g. node
+     * crashed). Staging files of uploads in progress, also of other nodes
+     * sharing the base directory, are kept.
+     */
+    public void deleteStaleStagingFiles() {
+        final Path basePath = Paths.get(artifactResourceProperties.getPath());
+        if (!Files.isDirectory(basePath)) {
+            return;
+        }
+
+        final long staleBefore = System.currentTimeMillis() - STALE_STAGING_FILE_AGE.toMillis();
+        try (final DirectoryStream<Path> tenantDirectories = Files.newDirectoryStream(basePath, Files::isDirectory)) {
+            for (final Path tenantDirectory : tenantDirectories) {
+                try (final DirectoryStream<Path> stagingFiles = Files.newDirectoryStream(tenantDirectory,
+                        STAGING_FILE_PREFIX + "*" + STAGING_FILE_SUFFIX)) {
+                    for (final Path stagingFile : stagingFiles) {
+                        if (Files.getLastModifiedTime(stagingFile).toMillis() < staleBefore) {
+                            log.info("Delete stale staging file {}", stagingFile);
+                            Files.deleteIfExists(stagingFile);
+                        }
+                    }
+                }
+            }
+        } catch (final IOException e) {
+            log.warn("Could not delete stale staging files in {} ({})", basePath, e.getMessage());
+        }
+    }
+
     private ArtifactFilesystem renameFileToSHA1Naming(final String tenant, final File file,
             final AbstractDbArtifact artifact) throws IOException {
         final File fileSHA1Naming = getFile(tenant, artifact.getHashes().getSha1());
         if (fileSHA1Naming.exists()) {
             FileUtils.deleteQuietly(file);
         } else {
+            Files.createDirectories(fileSHA1Naming.toPath().getParent());
             Files.move(file.toPath(), fileSHA1Naming.toPath());
         }
 
@@ -84,9 +136,9 @@ public class ArtifactFilesystemRepository extends AbstractArtifactRepository {
     }
 
     private File getFile(final String tenant, final String sha1) {
-        final File aritfactDirectory = getSha1DirectoryPath(tenant, sha1).toFile();
-        aritfactDirectory.mkdirs();
-        return new File(aritfactDirectory, sha1);
+        // the directory is created when the artifact is stored, lookups
+        // don't need it
+        return new File(getSha1DirectoryPath(tenant, sha1).toFile(), sha1);
     }
 
     private Path getSha1DirectoryPath(final String tenant, final String sha1) {
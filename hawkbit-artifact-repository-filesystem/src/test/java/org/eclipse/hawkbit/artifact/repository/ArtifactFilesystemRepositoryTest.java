@@ -15,13 +15,19 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.assertj.core.api.Assertions;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -121,6 +127,82 @@ public class ArtifactFilesystemRepositoryTest {
         }
     }
 
+    @Test
+    @Description("Verfies that an artifact with already stored content is reported as deduplicated and that no "
+            + "staging files are left over")
+    public void storeExistingContentIsDeduplicated() throws IOException {
+        final byte[] fileContent = randomBytes();
+        final AbstractDbArtifact artifact = storeRandomArtifact(fileContent);
+        final long deduplicatedArtifacts = artifactFilesystemRepository.getDeduplicatedArtifacts();
+        final long deduplicatedBytes = artifactFilesystemRepository.getDeduplicatedBytes();
+
+        // without provided hashes the content is deduplicated after hashing
+        assertThat(storeRandomArtifact(fileContent).getHashes().getSha1()).isEqualTo(artifact.getHashes().getSha1());
+        // with provided hash the content is verified only
+        assertThat(artifactFilesystemRepository.store(TENANT, new ByteArrayInputStream(fileContent), "filename.tmp",
+                "application/txt", new DbArtifactHash(artifact.getHashes().getSha1(), null, null))
+                .getHashes()).isEqualTo(artifact.getHashes());
+
+        assertThat(artifactFilesystemRepository.getDeduplicatedArtifacts()).isEqualTo(deduplicatedArtifacts + 2);
+        assertThat(artifactFilesystemRepository.getDeduplicatedBytes())
+                .isEqualTo(deduplicatedBytes + 2L * fileContent.length);
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    @Description("Verfies that a provided hash of existing content is verified and no staging files are left over")
+    public void storeWithWrongProvidedHashFails() {
+        final AbstractDbArtifact artifact = storeRandomArtifact(randomBytes());
+        final ByteArrayInputStream otherContent = new ByteArrayInputStream(randomBytes());
+        final DbArtifactHash providedHashes = new DbArtifactHash(artifact.getHashes().getSha1(), null, null);
+
+        Assertions.assertThatExceptionOfType(HashNotMatchException.class)
+                .isThrownBy(() -> artifactFilesystemRepository.store(TENANT, otherContent, "filename.tmp",
+                        "application/txt", providedHashes));
+        Assertions.assertThatExceptionOfType(HashNotMatchException.class)
+                .isThrownBy(() -> artifactFilesystemRepository.store(TENANT, new ByteArrayInputStream(randomBytes()),
+                        "filename.tmp", "application/txt", new DbArtifactHash("0000", null, null)));
+        assertThat(stagingFiles()).isEmpty();
+    }
+
+    @Test
+    @Description("Verfies that only the staging files which are not modified for a long time are deleted")
+    public void staleStagingFilesAreDeleted() throws IOException {
+        final Path tenantDirectory = Files.createDirectories(
+                Paths.get(artifactResourceProperties.getPath(), "STALE_STAGING_TENANT"));
+        final Path staleStagingFile = Files.createTempFile(tenantDirectory, ".staging-", ".tmp");
+        Files.setLastModifiedTime(staleStagingFile,
+                FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(2)));
+        final Path activeStagingFile = Files.createTempFile(tenantDirectory, ".staging-", ".tmp");
+        final Path otherFile = Files.createTempFile(tenantDirectory, "other-", ".tmp");
+        Files.setLastModifiedTime(otherFile, Files.getLastModifiedTime(staleStagingFile));
+
+        artifactFilesystemRepository.deleteStaleStagingFiles();
+
+        assertThat(staleStagingFile).doesNotExist();
+        assertThat(activeStagingFile).exists();
+        assertThat(otherFile).exists();
+    }
+
+    @Test
+    @SuppressWarnings("removal")
+    @Description("Verfies that the deprecated temp file storage still writes the content")
+    public void storeTempFileWritesContent() throws IOException {
+        final byte[] fileContent = randomBytes();
+
+        final Path tempFile = Paths.get(artifactFilesystemRepository.storeTempFile(new ByteArrayInputStream(fileContent)));
+        try {
+            assertThat(tempFile).hasBinaryContent(fileContent);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Stream<Path> stagingFiles() {
+        final File tenantDirectory = Paths.get(artifactResourceProperties.getPath(), TENANT.toUpperCase()).toFile();
+        return Stream.of(tenantDirectory.listFiles(File::isFile)).map(File::toPath);
+    }
+
     private AbstractDbArtifact storeRandomArtifact(final byte[] fileContent) {
         final String fileName = "filename.tmp";
         final ByteArrayInputStream inputStream = new ByteArrayInputStream(fileContent);
@@ -68,11 +68,13 @@ public class CacheAutoConfiguration {
         public CacheManager directCacheManager(final CacheProperties cacheProperties) {
             final CaffeineCacheManager cacheManager = new CaffeineCacheManager();
 
+            // statistics are published as cache hit ratios if metrics are
+            // enabled
+            final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder().recordStats();
             if (cacheProperties.getTtl() > 0) {
-                final Caffeine<Object, Object> cacheBuilder = Caffeine.newBuilder()
-                        .expireAfterWrite(cacheProperties.getTtl(), cacheProperties.getTtlUnit());
-                cacheManager.setCaffeine(cacheBuilder);
+                cacheBuilder.expireAfterWrite(cacheProperties.getTtl(), cacheProperties.getTtlUnit());
             }
+            cacheManager.setCaffeine(cacheBuilder);
 
             return cacheManager;
         }
@@ -0,0 +1,323 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.hawkbit.amqp.AmqpMessageHandlerService;
+import org.eclipse.hawkbit.artifact.repository.AbstractArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.CachingArtifactRepository;
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.RolloutExecutor;
+import org.eclipse.hawkbit.repository.jpa.management.JpaControllerManagement;
+import org.eclipse.hawkbit.repository.jpa.management.TargetPollWriteBehind;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutExecutionEngine;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutExecutionEngine.RolloutStatistics;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility.ParseCacheStatistics;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.rest.util.FileStreamingUtil;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * Auto configuration of the hawkBit metrics. The meters are published if a
+ * {@link MeterRegistry} is available, e.g. by the Spring Boot actuator and a
+ * registry implementation of the monitoring system.
+ * <p/>
+ * Timers:
+ * <ul>
+ * <li><code>hawkbit.controller.management</code>: {@link ControllerManagement}
+ * calls, e.g. poll and registration
+ * (<code>findOrRegisterTargetIfItDoesNotExist</code>) and feedback
+ * (<code>addUpdateActionStatus</code>)</li>
+ * <li><code>hawkbit.ddi.requests</code>: DDI requests per operation</li>
+ * <li><code>hawkbit.dmf.messages</code>: DMF messages per message type</li>
+ * <li><code>hawkbit.rollout.executor</code>: rollout handling per rollout
+ * status</li>
+ * </ul>
+ * All timers are tagged with the <code>method</code> and the
+ * <code>outcome</code> and, unless disabled with
+ * <code>hawkbit.metrics.tenant-tag=false</code>, with the authenticated
+ * <code>tenant</code>. The DMF messages are not tagged with the tenant, as the
+ * tenant header is not validated before the message is handled. In addition
+ * gauges and counters of the poll write-behind queue, the rollout execution
+ * engine, the streamed artifact bytes, the artifact repository and the tenant
+ * caches are published.
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnProperty(prefix = "hawkbit.metrics", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(MetricsProperties.class)
+public class MetricsAutoConfiguration {
+
+    private static final String TENANT_TAG = "tenant";
+
+    /**
+     * @return the hit and miss counters of the tenant caches
+     */
+    @Bean
+    TenantCacheMetrics tenantCacheMetrics(final ObjectProvider<TenancyCacheManager> cacheManager,
+            final MetricsProperties properties) {
+        return new TenantCacheMetrics(cacheManager, properties.isTenantTag());
+    }
+
+    /**
+     * @return the deduplication counters of the artifact repository and the
+     *         statistics of the {@link CachingArtifactRepository}
+     */
+    @Bean
+    MeterBinder artifactRepositoryMetrics(final ObjectProvider<ArtifactRepository> artifactRepository) {
+        return registry -> artifactRepository.ifAvailable(repository -> {
+            ArtifactRepository storage = repository;
+            if (repository instanceof CachingArtifactRepository cache) {
+                bindCacheStatistics(registry, cache);
+                storage = cache.getDelegate();
+            }
+            if (storage instanceof AbstractArtifactRepository abstractRepository) {
+                FunctionCounter.builder("hawkbit.artifact.deduplicated", abstractRepository,
+                        AbstractArtifactRepository::getDeduplicatedArtifacts).register(registry);
+                FunctionCounter.builder("hawkbit.artifact.deduplicated.bytes", abstractRepository,
+                        AbstractArtifactRepository::getDeduplicatedBytes).baseUnit("bytes").register(registry);
+            }
+        });
+    }
+
+    private static void bindCacheStatistics(final MeterRegistry registry, final CachingArtifactRepository cache) {
+        FunctionCounter.builder("hawkbit.artifact.cache.gets", cache, c -> c.getStatistics().metadataHits())
+                .tags("cache", "metadata", "result", "hit").register(registry);
+        FunctionCounter.builder("hawkbit.artifact.cache.gets", cache, c -> c.getStatistics().metadataMisses())
+                .tags("cache", "metadata", "result", "miss").register(registry);
+        FunctionCounter.builder("hawkbit.artifact.cache.gets", cache, c -> c.getStatistics().blobHits())
+                .tags("cache", "blob", "result", "hit").register(registry);
+        FunctionCounter.builder("hawkbit.artifact.cache.gets", cache, c -> c.getStatistics().blobMisses())
+                .tags("cache", "blob", "result", "miss").register(registry);
+        FunctionCounter.builder("hawkbit.artifact.cache.evictions", cache, c -> c.getStatistics().blobEvictions())
+                .register(registry);
+        Gauge.builder("hawkbit.artifact.cache.size", cache, c -> c.getStatistics().blobSize()).baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static Tags tenantTags(final ObjectProvider<TenantAware> tenantAware,
+            final ObjectProvider<MetricsProperties> properties) {
+        if (!properties.getObject().isTenantTag()) {
+            return Tags.empty();
+        }
+        final String tenant = Optional.ofNullable(tenantAware.getIfAvailable()).map(TenantAware::getCurrentTenant)
+                .orElse(null);
+        return Tags.of(TENANT_TAG, Objects.requireNonNullElse(tenant, "none"));
+    }
+
+    /**
+     * Metrics of the JPA repository.
+     */
+    @Configuration
+    @ConditionalOnClass(JpaControllerManagement.class)
+    static class RepositoryMetricsConfiguration {
+
+        /**
+         * @return advisor timing the {@link ControllerManagement} calls
+         */
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        static TimingAdvisor controllerManagementTimingAdvisor(final ObjectProvider<MeterRegistry> meterRegistry,
+                final ObjectProvider<TenantAware> tenantAware, final ObjectProvider<MetricsProperties> properties) {
+            return new TimingAdvisor(ControllerManagement.class, "hawkbit.controller.management", meterRegistry,
+                    invocation -> tenantTags(tenantAware, properties));
+        }
+
+        /**
+         * @return advisor timing the rollout handling per rollout status
+         */
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        static TimingAdvisor rolloutExecutorTimingAdvisor(final ObjectProvider<MeterRegistry> meterRegistry,
+                final ObjectProvider<TenantAware> tenantAware, final ObjectProvider<MetricsProperties> properties) {
+            return new TimingAdvisor(RolloutExecutor.class, "hawkbit.rollout.executor", meterRegistry,
+                    invocation -> {
+                        final Tags tags = tenantTags(tenantAware, properties);
+                        if (invocation.getArguments().length > 0
+                                && invocation.getArguments()[0] instanceof Rollout rollout) {
+                            // status before the handling, i.e. the executed phase
+                            return tags.and("status", rollout.getStatus().name());
+                        }
+                        return tags;
+                    });
+        }
+
+        /**
+         * @return gauges and counters of the poll write-behind queue
+         */
+        @Bean
+        MeterBinder targetPollMetrics(final ObjectProvider<ControllerManagement> controllerManagement) {
+            return registry -> controllerManagement.ifAvailable(management -> {
+                // not through the proxy, that would start a transaction
+                final Object target = Objects.requireNonNullElse(AopProxyUtils.getSingletonTarget(management),
+                        management);
+                if (target instanceof JpaControllerManagement jpaControllerManagement) {
+                    jpaControllerManagement.getPollWriteBehind().ifPresent(queue -> bindPollQueue(registry, queue));
+                }
+            });
+        }
+
+        private static void bindPollQueue(final MeterRegistry registry, final TargetPollWriteBehind queue) {
+            Gauge.builder("hawkbit.controller.poll.queue.depth", queue, TargetPollWriteBehind::getQueueDepth)
+                    .register(registry);
+            Gauge.builder("hawkbit.controller.poll.batch.size", queue, TargetPollWriteBehind::getBatchSize)
+                    .register(registry);
+            TimeGauge.builder("hawkbit.controller.poll.flush.latency", queue, TimeUnit.MILLISECONDS,
+                    TargetPollWriteBehind::getLastFlushLatencyMillis).register(registry);
+            TimeGauge.builder("hawkbit.controller.poll.flush.latency.max", queue, TimeUnit.MILLISECONDS,
+                    TargetPollWriteBehind::getMaxFlushLatencyMillis).register(registry);
+            FunctionCounter.builder("hawkbit.controller.polls", queue, TargetPollWriteBehind::getFlushedCount)
+                    .tag("result", "flushed").register(registry);
+            FunctionCounter.builder("hawkbit.controller.polls", queue, TargetPollWriteBehind::getCoalescedCount)
+                    .tag("result", "coalesced").register(registry);
+            FunctionCounter.builder("hawkbit.controller.polls", queue, TargetPollWriteBehind::getDroppedCount)
+                    .tag("result", "dropped").register(registry);
+        }
+
+        /**
+         * @return gauges of the rollout execution engine
+         */
+        @Bean
+        MeterBinder rolloutExecutionEngineMetrics(final ObjectProvider<RolloutExecutionEngine> rolloutExecutionEngine) {
+            return registry -> rolloutExecutionEngine.ifAvailable(engine -> {
+                Gauge.builder("hawkbit.rollout.tenants.active", engine, RolloutExecutionEngine::getTenantsInProgress)
+                        .register(registry);
+                FunctionCounter.builder("hawkbit.rollout.tenant.runs.skipped", engine,
+                        RolloutExecutionEngine::getSkippedTenantRuns).register(registry);
+                Gauge.builder("hawkbit.rollout.active", engine, e -> e.getStatistics().size()).register(registry);
+                TimeGauge.builder("hawkbit.rollout.queue.wait.max", engine, TimeUnit.MILLISECONDS,
+                        max(RolloutStatistics::queueWaitMillis)).register(registry);
+                TimeGauge.builder("hawkbit.rollout.handling.max", engine, TimeUnit.MILLISECONDS,
+                        max(RolloutStatistics::maxHandlingMillis)).register(registry);
+            });
+        }
+
+        /**
+         * @return counters and gauges of the cache of parsed RSQL strings
+         */
+        @Bean
+        MeterBinder rsqlParseCacheMetrics() {
+            return registry -> {
+                FunctionCounter.builder("hawkbit.rsql.cache.gets", RSQLUtility.class,
+                        c -> RSQLUtility.getParseCacheStatistics().hits()).tag("result", "hit").register(registry);
+                FunctionCounter.builder("hawkbit.rsql.cache.gets", RSQLUtility.class,
+                        c -> RSQLUtility.getParseCacheStatistics().misses()).tag("result", "miss").register(registry);
+                FunctionCounter.builder("hawkbit.rsql.cache.evictions", RSQLUtility.class,
+                        c -> RSQLUtility.getParseCacheStatistics().evictions()).register(registry);
+                Gauge.builder("hawkbit.rsql.cache.size", RSQLUtility.class,
+                        c -> RSQLUtility.getParseCacheStatistics().size()).register(registry);
+                Gauge.builder("hawkbit.rsql.cache.hit.ratio", RSQLUtility.class, c -> {
+                    final ParseCacheStatistics statistics = RSQLUtility.getParseCacheStatistics();
+                    final long gets = statistics.hits() + statistics.misses();
+                    return gets == 0 ? Double.NaN : (double) statistics.hits() / gets;
+                }).register(registry);
+            };
+        }
+
+        // maximum over the active rollouts
+        private static ToDoubleFunction<RolloutExecutionEngine> max(final ToLongFunction<RolloutStatistics> value) {
+            return engine -> engine.getStatistics().values().stream().mapToLong(value).max().orElse(0);
+        }
+    }
+
+    /**
+     * Metrics of the DDI API.
+     */
+    @Configuration
+    @ConditionalOnClass(DdiRootControllerRestApi.class)
+    static class DdiMetricsConfiguration {
+
+        /**
+         * @return advisor timing the DDI requests per operation
+         */
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        static TimingAdvisor ddiTimingAdvisor(final ObjectProvider<MeterRegistry> meterRegistry,
+                final ObjectProvider<TenantAware> tenantAware, final ObjectProvider<MetricsProperties> properties) {
+            return new TimingAdvisor(DdiRootControllerRestApi.class, "hawkbit.ddi.requests", meterRegistry,
+                    invocation -> tenantTags(tenantAware, properties));
+        }
+    }
+
+    /**
+     * Metrics of the DMF API.
+     */
+    @Configuration
+    @ConditionalOnClass(AmqpMessageHandlerService.class)
+    static class DmfMetricsConfiguration {
+
+        /**
+         * @return advisor timing the DMF messages per message type
+         */
+        @Bean
+        @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+        static TimingAdvisor dmfTimingAdvisor(final ObjectProvider<MeterRegistry> meterRegistry) {
+            // the listener method with type and tenant header, the handling
+            // method is called internally and hence not advised
+            return new TimingAdvisor(AmqpMessageHandlerService.class,
+                    method -> "onMessage".equals(method.getName()) && method.getParameterCount() == 3,
+                    "hawkbit.dmf.messages", meterRegistry,
+                    invocation -> Tags.of("type", messageType(invocation.getArguments()[1])));
+        }
+
+        // the type header is sent by the clients, so only the known types are
+        // used as tag values
+        static String messageType(final Object type) {
+            if (type == null) {
+                return "none";
+            }
+            return Arrays.stream(MessageType.values()).map(MessageType::name).filter(type::equals).findAny()
+                    .orElse("unknown");
+        }
+    }
+
+    /**
+     * Metrics of the artifact download.
+     */
+    @Configuration
+    @ConditionalOnClass(FileStreamingUtil.class)
+    static class ArtifactDownloadMetricsConfiguration {
+
+        /**
+         * @return counter of the artifact bytes streamed to devices
+         */
+        @Bean
+        MeterBinder artifactDownloadMetrics() {
+            return registry -> FunctionCounter.builder("hawkbit.artifact.streamed", FileStreamingUtil.class,
+                    type -> FileStreamingUtil.getStreamedBytes()).baseUnit("bytes").register(registry);
+        }
+    }
+}
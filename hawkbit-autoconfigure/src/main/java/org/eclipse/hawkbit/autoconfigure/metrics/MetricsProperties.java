@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the hawkBit metrics.
+ */
+@Data
+@ConfigurationProperties("hawkbit.metrics")
+public class MetricsProperties {
+
+    /**
+     * Set to <code>false</code> to disable the hawkBit metrics.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Set to <code>false</code> to omit the tenant tag, e.g. if the number of
+     * tenants is too high for the metrics backend.
+     */
+    private boolean tenantTag = true;
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} in which caches created since
+     * the last check are added to the cache metrics.
+     */
+    private long cacheRefreshInterval = TimeUnit.MINUTES.toMillis(1);
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.hawkbit.cache.TenancyCacheManager;
+import org.eclipse.hawkbit.cache.TenantAwareCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Publishes the hits and misses of the tenant aware caches as
+ * <code>hawkbit.cache.gets</code> and their hit ratio as
+ * <code>hawkbit.cache.hit.ratio</code>, tagged with the cache name and (if
+ * enabled) the tenant. Caches are created on first use, so new caches are
+ * added periodically.
+ */
+class TenantCacheMetrics implements MeterBinder {
+
+    private static final String DELIMITER = "|";
+    private static final String REFRESH_INTERVAL = "${hawkbit.metrics.cache-refresh-interval:60000}";
+
+    private final ObjectProvider<TenancyCacheManager> cacheManagerProvider;
+    private final boolean tenantTag;
+    private final Set<Tags> registered = ConcurrentHashMap.newKeySet();
+    private volatile TenantAwareCacheManager cacheManager;
+    private volatile MeterRegistry registry;
+
+    TenantCacheMetrics(final ObjectProvider<TenancyCacheManager> cacheManagerProvider, final boolean tenantTag) {
+        this.cacheManagerProvider = cacheManagerProvider;
+        this.tenantTag = tenantTag;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        // other cache managers do not expose the caches of all tenants
+        if (cacheManagerProvider.getIfAvailable() instanceof TenantAwareCacheManager tenantAwareCacheManager) {
+            cacheManager = tenantAwareCacheManager;
+            this.registry = registry;
+            refresh();
+        }
+    }
+
+    /**
+     * Registers the meters of the caches created since the last call.
+     */
+    @Scheduled(initialDelayString = REFRESH_INTERVAL, fixedDelayString = REFRESH_INTERVAL)
+    void refresh() {
+        if (registry == null) {
+            return;
+        }
+
+        for (final String directName : cacheManager.getDirectCacheNames()) {
+            final int delimiter = directName.indexOf(DELIMITER);
+            if (delimiter < 0) {
+                continue;
+            }
+            final String cacheName = directName.substring(delimiter + 1);
+            final Tags tags = tenantTag ? Tags.of("cache", cacheName, "tenant", directName.substring(0, delimiter))
+                    : Tags.of("cache", cacheName);
+            if (registered.add(tags)) {
+                register(tags, directName.substring(0, delimiter), cacheName);
+            }
+        }
+    }
+
+    private void register(final Tags tags, final String tenant, final String cacheName) {
+        FunctionCounter.builder("hawkbit.cache.gets", this,
+                metrics -> metrics.sum(tenant, cacheName, CacheStats::hitCount)).tags(tags).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("hawkbit.cache.gets", this,
+                metrics -> metrics.sum(tenant, cacheName, CacheStats::missCount)).tags(tags).tag("result", "miss")
+                .register(registry);
+        Gauge.builder("hawkbit.cache.hit.ratio", this, metrics -> {
+            final long hits = metrics.sum(tenant, cacheName, CacheStats::hitCount);
+            final long requests = hits + metrics.sum(tenant, cacheName, CacheStats::missCount);
+            return requests == 0 ? Double.NaN : (double) hits / requests;
+        }).tags(tags).register(registry);
+    }
+
+    // sums the statistics of the tenant's cache or, without tenant tag, of all
+    // tenants' caches with the name
+    private long sum(final String tenant, final String cacheName, final ToLongFunction<CacheStats> value) {
+        if (tenantTag) {
+            return value.applyAsLong(stats(tenant + DELIMITER + cacheName));
+        }
+        return cacheManager.getDirectCacheNames().stream().filter(name -> name.endsWith(DELIMITER + cacheName))
+                .mapToLong(name -> value.applyAsLong(stats(name))).sum();
+    }
+
+    private CacheStats stats(final String directName) {
+        if (cacheManager.getDirectCache(directName) instanceof CaffeineCache caffeineCache) {
+            return caffeineCache.getNativeCache().stats();
+        }
+        return CacheStats.empty();
+    }
+}
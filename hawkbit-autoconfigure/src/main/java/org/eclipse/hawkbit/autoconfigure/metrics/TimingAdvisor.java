@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Advisor which records a {@link Timer} for the methods of an interface with
+ * the tags <code>method</code> and <code>outcome</code> (<code>success</code>
+ * or <code>error</code>) and the tags of a tag function. The advisor is the
+ * outermost one, so that e.g. the transaction commit is part of the recorded
+ * duration. The timers are registered once per combination of tags, so the tag
+ * function must return a bounded set of tag values.
+ */
+class TimingAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Tag SUCCESS = Tag.of("outcome", "success");
+    private static final Tag ERROR = Tag.of("outcome", "error");
+
+    private final transient Class<?> type;
+    private final transient Predicate<Method> methods;
+    private final transient Map<Tags, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for timing all methods of an interface.
+     *
+     * @param type
+     *            the interface which methods are timed on all its
+     *            implementations
+     * @param name
+     *            of the timer
+     * @param meterRegistry
+     *            to register the timers, if not available nothing is recorded
+     * @param tags
+     *            calculates additional tags of an invocation before it is
+     *            executed
+     */
+    TimingAdvisor(final Class<?> type, final String name, final ObjectProvider<MeterRegistry> meterRegistry,
+            final Function<MethodInvocation, Tags> tags) {
+        this(type, method -> ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes()), name,
+                meterRegistry, tags);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param type
+     *            the type which instances are advised
+     * @param methods
+     *            filter of the timed methods
+     * @param name
+     *            of the timer
+     * @param meterRegistry
+     *            to register the timers, if not available nothing is recorded
+     * @param tags
+     *            calculates additional tags of an invocation before it is
+     *            executed
+     */
+    TimingAdvisor(final Class<?> type, final Predicate<Method> methods, final String name,
+            final ObjectProvider<MeterRegistry> meterRegistry, final Function<MethodInvocation, Tags> tags) {
+        this.type = type;
+        this.methods = methods;
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+        setAdvice((MethodInterceptor) invocation -> {
+            final MeterRegistry registry = meterRegistry.getIfAvailable();
+            if (registry == null) {
+                return invocation.proceed();
+            }
+
+            final Tags invocationTags = tags.apply(invocation).and("method", invocation.getMethod().getName());
+            final Timer.Sample sample = Timer.start(registry);
+            Tag outcome = ERROR;
+            try {
+                final Object result = invocation.proceed();
+                outcome = SUCCESS;
+                return result;
+            } finally {
+                sample.stop(timers.computeIfAbsent(invocationTags.and(outcome),
+                        timerTags -> Timer.builder(name).tags(timerTags).register(registry)));
+            }
+        });
+    }
+
+    @Override
+    public boolean matches(final Method method, final Class<?> targetClass) {
+        return type.isAssignableFrom(targetClass) && methods.test(method);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.repository;
+
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepository;
+import org.eclipse.hawkbit.artifact.repository.ArtifactRepositoryCacheProperties;
+import org.eclipse.hawkbit.artifact.repository.CachingArtifactRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Auto configuration for the {@link CachingArtifactRepository}, which
+ * decorates the {@link ArtifactRepository} of any implementation.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "hawkbit.artifact.cache", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ArtifactRepositoryCacheProperties.class)
+public class ArtifactRepositoryCacheAutoConfiguration {
+
+    /**
+     * @param properties
+     *            the cache configuration
+     * @return {@link BeanPostProcessor} which decorates the
+     *         {@link ArtifactRepository} with the
+     *         {@link CachingArtifactRepository}
+     */
+    @Bean
+    static BeanPostProcessor cachingArtifactRepositoryPostProcessor(
+            final ObjectProvider<ArtifactRepositoryCacheProperties> properties) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+                if (bean instanceof ArtifactRepository artifactRepository
+                        && !(bean instanceof CachingArtifactRepository)) {
+                    return new CachingArtifactRepository(artifactRepository, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -9,16 +9,24 @@
  */
 package org.eclipse.hawkbit.autoconfigure.repository;
 
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.jpa.RepositoryApplicationConfiguration;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyReplacer;
 import org.eclipse.hawkbit.repository.rsql.VirtualPropertyResolver;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.integration.jdbc.lock.DefaultLockRepository;
+import org.springframework.integration.jdbc.lock.JdbcLockRegistry;
+import org.springframework.integration.jdbc.lock.LockRepository;
 import org.springframework.integration.support.locks.DefaultLockRegistry;
 import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 
 /**
  * Auto-Configuration for enabling JPA repository.
@@ -39,9 +47,54 @@ public class JpaRepositoryAutoConfiguration {
         return new VirtualPropertyResolver();
     }
 
+    /**
+     * @return a {@link LockRegistry} that locks within this JVM only
+     */
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "distributed-lock", havingValue = "false", matchIfMissing = true)
     public LockRegistry lockRegistry() {
         return new DefaultLockRegistry();
     }
+
+    /**
+     * Configuration of a {@link LockRegistry} that holds the locks in the
+     * <code>SP_LOCK</code> table of the repository database so that they are
+     * shared by all nodes of a cluster.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "distributed-lock", havingValue = "true")
+    static class DistributedLockConfiguration {
+
+        /**
+         * @param dataSource
+         *            of the repository
+         * @param repositoryProperties
+         *            for the lease time of the locks
+         * @return the {@link LockRepository} backed by the database
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public DefaultLockRepository lockRepository(final DataSource dataSource,
+                final RepositoryProperties repositoryProperties) {
+            final DefaultLockRepository lockRepository = new DefaultLockRepository(dataSource);
+            lockRepository.setPrefix("SP_");
+            lockRepository.setTimeToLive(repositoryProperties.getDistributedLockTimeToLive());
+            // lock operations are committed independent of the JPA
+            // transaction the lock is obtained in
+            lockRepository.setTransactionManager(new DataSourceTransactionManager(dataSource));
+            return lockRepository;
+        }
+
+        /**
+         * @param lockRepository
+         *            that holds the locks
+         * @return a {@link LockRegistry} shared by all nodes
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public LockRegistry lockRegistry(final LockRepository lockRepository) {
+            return new JdbcLockRegistry(lockRepository);
+        }
+    }
 }
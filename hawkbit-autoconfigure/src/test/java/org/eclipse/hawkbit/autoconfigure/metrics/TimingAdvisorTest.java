@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.autoconfigure.metrics.MetricsAutoConfiguration.DmfMetricsConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+@Feature("Unit Tests - Metrics")
+@Story("Timing advisor")
+class TimingAdvisorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<String> tenant = new AtomicReference<>("tenant1");
+
+    @Test
+    @Description("Verifies that the invocations are timed per method, outcome and the tags of the tag function.")
+    void invocationsAreTimedWithTags() {
+        final Service service = advised(new TimingAdvisor(Service.class, "test.timer",
+                new StaticListableBeanFactory(Map.of("registry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                invocation -> Tags.of("tenant", tenant.get())));
+
+        service.call(false);
+        service.call(false);
+        tenant.set("tenant2");
+        service.call(false);
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(() -> service.call(true));
+
+        assertThat(timer("tenant1", "success").count()).isEqualTo(2);
+        assertThat(timer("tenant2", "success").count()).isEqualTo(1);
+        assertThat(timer("tenant2", "error").count()).isEqualTo(1);
+        assertThat(meterRegistry.find("test.timer").timers()).hasSize(3);
+    }
+
+    @Test
+    @Description("Verifies that nothing is recorded and the invocation passes if no meter registry is available.")
+    void invocationsArePassedWithoutMeterRegistry() {
+        final Service service = advised(new TimingAdvisor(Service.class, "test.timer",
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class),
+                invocation -> Tags.of("tenant", tenant.get())));
+
+        assertThat(service.call(false)).isEqualTo("called");
+        assertThat(meterRegistry.find("test.timer").timers()).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the DMF message type tag is bounded to the known message types.")
+    void dmfMessageTypeIsBounded() {
+        assertThat(DmfMetricsConfiguration.messageType("EVENT")).isEqualTo("EVENT");
+        assertThat(DmfMetricsConfiguration.messageType("THING_CREATED")).isEqualTo("THING_CREATED");
+        assertThat(DmfMetricsConfiguration.messageType("random-" + System.nanoTime())).isEqualTo("unknown");
+        assertThat(DmfMetricsConfiguration.messageType(null)).isEqualTo("none");
+    }
+
+    private Timer timer(final String tenantTag, final String outcome) {
+        return meterRegistry.get("test.timer").tags("tenant", tenantTag, "method", "call", "outcome", outcome)
+                .timer();
+    }
+
+    private static Service advised(final TimingAdvisor advisor) {
+        final ProxyFactory proxyFactory = new ProxyFactory(new ServiceImpl());
+        proxyFactory.addAdvisor(advisor);
+        return (Service) proxyFactory.getProxy();
+    }
+
+    interface Service {
+
+        String call(boolean fail);
+    }
+
+    private static class ServiceImpl implements Service {
+
+        @Override
+        public String call(final boolean fail) {
+            if (fail) {
+                throw new IllegalStateException("failed");
+            }
+            return "called";
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.api;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Interface declaration of the {@link ArtifactUrlHandler} which generates the
@@ -47,4 +48,28 @@ public interface ArtifactUrlHandler {
      * @return an URL for the given artifact parameters in a given protocol
      */
     List<ArtifactUrl> getUrls(URLPlaceholder placeholder, ApiType api, URI requestUri);
+
+    /**
+     * Returns the URL templates for an artifact, i.e. the URLs as generated by
+     * {@link #getUrls(URLPlaceholder, ApiType, URI)} but with the target
+     * specific parts resolved per target by
+     * {@link ArtifactUrlTemplate#resolve(String, Long)}. So the templates of an
+     * artifact could be reused for all targets.
+     *
+     * @param placeholder
+     *            data for URL generation, the target data is ignored
+     * @param api
+     *            given protocol that URL needs to support
+     * @param requestUri
+     *            of the request that allows the handler to align the generated
+     *            URL to the original request. Only the scheme, host and port
+     *            are used.
+     *
+     * @return the URL templates or empty if the handler doesn't support
+     *         templates
+     */
+    default Optional<List<ArtifactUrlTemplate>> getUrlTemplates(final URLPlaceholder placeholder,
+            final ApiType api, final URI requestUri) {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.api;
+
+import java.util.function.BiFunction;
+
+import lombok.Getter;
+
+/**
+ * Template of an artifact URL which is the same for all targets except of the
+ * target specific parts, which are resolved per target by
+ * {@link #resolve(String, Long)}.
+ */
+@Getter
+public class ArtifactUrlTemplate {
+
+    private final String protocol;
+    private final String rel;
+    private final BiFunction<String, Long, String> refResolver;
+
+    /**
+     * Constructor.
+     *
+     * @param protocol
+     *            string, e.g. ftp, http, https
+     * @param rel
+     *            hypermedia value
+     * @param refResolver
+     *            creates the hypermedia reference for the controller id and the
+     *            id of a target
+     */
+    public ArtifactUrlTemplate(final String protocol, final String rel,
+            final BiFunction<String, Long, String> refResolver) {
+        this.protocol = protocol;
+        this.rel = rel;
+        this.refResolver = refResolver;
+    }
+
+    /**
+     * Resolves the URL for a target.
+     *
+     * @param controllerId
+     *            of the target
+     * @param targetId
+     *            of the target
+     * @return the URL for the target
+     */
+    public ArtifactUrl resolve(final String controllerId, final Long targetId) {
+        return new ArtifactUrl(protocol, rel, refResolver.apply(controllerId, targetId));
+    }
+}
@@ -12,14 +12,13 @@ package org.eclipse.hawkbit.api;
 import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
 import org.springframework.util.ObjectUtils;
@@ -41,6 +40,8 @@ import org.springframework.util.StringUtils;
  * {protocol}://{hostname}:{port}{contextPath}/{tenant}/controller/v1/{controllerId}/
  * softwaremodules/{softwareModuleId}/artifacts/{artifactFileName}.MD5SUM
  * 
+ * The patterns are compiled once into segments, so generating an URL just
+ * appends the literals and the values of the used placeholders.
  */
 public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
@@ -68,9 +69,45 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     final static String DEFAULT_URL_PROTOCOL_REF = "{" + PROTOCOL_PLACEHOLDER + "}://{" + HOSTNAME_PLACEHOLDER + "}:{" + PORT_PLACEHOLDER + "}{" + CONTEXT_PATH + "}/{" + TENANT_PLACEHOLDER + "}/controller/v1/{" + CONTROLLER_ID_PLACEHOLDER + "}/softwaremodules/{" + SOFTWARE_MODULE_ID_BASE10_PLACEHOLDER + "}/artifacts/{" + ARTIFACT_FILENAME_PLACEHOLDER + "}";
 
+    private static final Map<String, Function<UrlValues, String>> PLACEHOLDERS = Map.ofEntries(
+            Map.entry(IP_PLACEHOLDER, values -> values.protocol.getIp()),
+            Map.entry(HOSTNAME_PLACEHOLDER, values -> values.protocol.getHostname()),
+            Map.entry(HOSTNAME_REQUEST_PLACEHOLDER, values -> getRequestHost(values.protocol, values.requestUri)),
+            Map.entry(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER,
+                    values -> computeHostWithRequestDomain(values.protocol, values.requestUri)),
+            Map.entry(PROTOCOL_REQUEST_PLACEHOLDER, values -> getRequestProtocol(values.protocol, values.requestUri)),
+            Map.entry(CONTEXT_PATH, values -> values.contextPath),
+            Map.entry(ARTIFACT_FILENAME_PLACEHOLDER, UrlValues::getEncodedFilename),
+            Map.entry(ARTIFACT_SHA1_PLACEHOLDER, values -> values.placeholder.getSoftwareData().getSha1Hash()),
+            Map.entry(PROTOCOL_PLACEHOLDER, values -> values.protocol.getProtocol()),
+            Map.entry(TENANT_PLACEHOLDER, values -> values.placeholder.getTenant()),
+            Map.entry(TENANT_ID_BASE10_PLACEHOLDER, values -> String.valueOf(values.placeholder.getTenantId())),
+            Map.entry(TENANT_ID_BASE62_PLACEHOLDER, values -> Base62Util.fromBase10(values.placeholder.getTenantId())),
+            Map.entry(CONTROLLER_ID_PLACEHOLDER,
+                    values -> values.resolveTarget ? values.placeholder.getControllerId() : null),
+            Map.entry(TARGET_ID_BASE10_PLACEHOLDER,
+                    values -> values.resolveTarget ? String.valueOf(values.placeholder.getTargetId()) : null),
+            Map.entry(TARGET_ID_BASE62_PLACEHOLDER,
+                    values -> values.resolveTarget && values.placeholder.getTargetId() != null
+                            ? Base62Util.fromBase10(values.placeholder.getTargetId())
+                            : null),
+            Map.entry(ARTIFACT_ID_BASE62_PLACEHOLDER, UrlValues::getArtifactIdBase62),
+            Map.entry(ARTIFACT_ID_BASE10_PLACEHOLDER,
+                    values -> String.valueOf(values.placeholder.getSoftwareData().getArtifactId())),
+            Map.entry(SOFTWARE_MODULE_ID_BASE10_PLACEHOLDER,
+                    values -> String.valueOf(values.placeholder.getSoftwareData().getSoftwareModuleId())),
+            Map.entry(SOFTWARE_MODULE_ID_BASE62_PLACEHOLDER, UrlValues::getSoftwareModuleIdBase62));
+
+    private static final Map<String, Function<UrlValues, String>> PORT_PLACEHOLDERS = Map.of(
+            PORT_PLACEHOLDER, values -> getPort(values.protocol),
+            PORT_REQUEST_PLACEHOLDER, values -> getRequestPort(values.protocol, values.requestUri));
+
     private final ArtifactUrlHandlerProperties urlHandlerProperties;
     private final String contextPath;
 
+    // the configured refs compiled into segments, keyed by the ref as the protocols could be changed at runtime
+    private final Map<String, List<UrlSegment>> compiledRefs = new ConcurrentHashMap<>();
+
     /**
      * @param urlHandlerProperties
      *            for URL generation configuration
@@ -87,70 +124,91 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
 
     @Override
     public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api, final URI requestUri) {
-        return urlHandlerProperties.getProtocols().values().stream()
-                .filter(urlProtocol -> urlProtocol.getSupports().contains(api) && urlProtocol.isEnabled())
-                .map(urlProtocol -> new ArtifactUrl(urlProtocol.getProtocol().toUpperCase(), urlProtocol.getRel(),
-                        generateUrl(urlProtocol, placeholder, requestUri)))
-                .collect(Collectors.toList());
-
+        return generateUrls(placeholder, api, requestUri, true);
     }
 
-    private String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder,
+    @Override
+    public Optional<List<ArtifactUrlTemplate>> getUrlTemplates(final URLPlaceholder placeholder, final ApiType api,
             final URI requestUri) {
-        final Set<Entry<String, String>> entrySet = getReplaceMap(protocol, placeholder, requestUri).entrySet();
+        return Optional.of(generateUrls(placeholder, api, requestUri, false).stream()
+                .map(url -> new ArtifactUrlTemplate(url.getProtocol(), url.getRel(),
+                        (controllerId, targetId) -> resolveTargetPlaceholders(url.getRef(), controllerId, targetId)))
+                .toList());
+    }
 
-        String urlPattern = protocol.getRef();
+    private static String resolveTargetPlaceholders(final String urlTemplate, final String controllerId,
+            final Long targetId) {
+        String url = urlTemplate;
+        if (url.contains("{" + TARGET_ID_BASE62_PLACEHOLDER + "}")) {
+            url = url.replace("{" + TARGET_ID_BASE62_PLACEHOLDER + "}", Base62Util.fromBase10(targetId));
+        }
+        // the controller id last, so it can't inject placeholders
+        return url.replace("{" + TARGET_ID_BASE10_PLACEHOLDER + "}", String.valueOf(targetId))
+                .replace("{" + CONTROLLER_ID_PLACEHOLDER + "}", controllerId);
+    }
 
-        for (final Entry<String, String> entry : entrySet) {
-            if (List.of(PORT_PLACEHOLDER,PORT_REQUEST_PLACEHOLDER).contains(entry.getKey())) {
-                urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
-                        ObjectUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
-            } else {
-                if(entry.getValue() != null) {
-                    urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+    private List<ArtifactUrl> generateUrls(final URLPlaceholder placeholder, final ApiType api, final URI requestUri,
+            final boolean resolveTarget) {
+        final List<ArtifactUrl> urls = new ArrayList<>();
+        final UrlValues values = new UrlValues(placeholder, requestUri, contextPath, resolveTarget);
+        // one builder for all the urls of the artifact
+        final StringBuilder url = new StringBuilder(128);
+        for (final UrlProtocol urlProtocol : urlHandlerProperties.getProtocols().values()) {
+            if (urlProtocol.getSupports().contains(api) && urlProtocol.isEnabled()) {
+                values.protocol = urlProtocol;
+                url.setLength(0);
+                for (final UrlSegment segment : compiledRefs.computeIfAbsent(urlProtocol.getRef(),
+                        PropertyBasedArtifactUrlHandler::compile)) {
+                    segment.render(url, values);
                 }
+                urls.add(new ArtifactUrl(urlProtocol.getProtocol().toUpperCase(), urlProtocol.getRel(),
+                        url.toString()));
             }
         }
+        return urls;
+    }
+
+    /**
+     * Compiles a ref into a list of segments. The unknown placeholders are kept
+     * as they are, the port placeholders include the preceding colon which is
+     * omitted if there is no port. A placeholder without value is kept as well.
+     */
+    static List<UrlSegment> compile(final String ref) {
+        final List<UrlSegment> segments = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        int index = 0;
+        while (index < ref.length()) {
+            final int start = ref.indexOf('{', index);
+            final int end = start < 0 ? -1 : ref.indexOf('}', start);
+            if (end < 0) {
+                literal.append(ref, index, ref.length());
+                break;
+            }
 
-        return urlPattern;
+            literal.append(ref, index, start);
+            final String name = ref.substring(start + 1, end);
+            if (PLACEHOLDERS.containsKey(name)) {
+                addLiteral(segments, literal);
+                segments.add(new PlaceholderSegment(name, PLACEHOLDERS.get(name)));
+            } else if (PORT_PLACEHOLDERS.containsKey(name) && !literal.isEmpty()
+                    && literal.charAt(literal.length() - 1) == ':') {
+                literal.setLength(literal.length() - 1);
+                addLiteral(segments, literal);
+                segments.add(new PortSegment(PORT_PLACEHOLDERS.get(name)));
+            } else {
+                literal.append(ref, start, end + 1);
+            }
+            index = end + 1;
+        }
+        addLiteral(segments, literal);
+        return List.copyOf(segments);
     }
 
-    private Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
-            final URI requestUri) {
-        final Map<String, String> replaceMap = new HashMap<>();
-        replaceMap.put(IP_PLACEHOLDER, protocol.getIp());
-
-        replaceMap.put(HOSTNAME_PLACEHOLDER, protocol.getHostname());
-
-        replaceMap.put(HOSTNAME_REQUEST_PLACEHOLDER, getRequestHost(protocol, requestUri));
-        replaceMap.put(PORT_REQUEST_PLACEHOLDER, getRequestPort(protocol, requestUri));
-        replaceMap.put(HOSTNAME_WITH_DOMAIN_REQUEST_PLACEHOLDER, computeHostWithRequestDomain(protocol, requestUri));
-        replaceMap.put(PROTOCOL_REQUEST_PLACEHOLDER, getRequestProtocol(protocol, requestUri));
-
-        replaceMap.put(CONTEXT_PATH, contextPath);
-
-        replaceMap.put(ARTIFACT_FILENAME_PLACEHOLDER,
-                URLEncoder.encode(placeholder.getSoftwareData().getFilename(), StandardCharsets.UTF_8));
-
-        replaceMap.put(ARTIFACT_SHA1_PLACEHOLDER, placeholder.getSoftwareData().getSha1Hash());
-        replaceMap.put(PROTOCOL_PLACEHOLDER, protocol.getProtocol());
-        replaceMap.put(PORT_PLACEHOLDER, getPort(protocol));
-        replaceMap.put(TENANT_PLACEHOLDER, placeholder.getTenant());
-        replaceMap.put(TENANT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTenantId()));
-        replaceMap.put(TENANT_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTenantId()));
-        replaceMap.put(CONTROLLER_ID_PLACEHOLDER, placeholder.getControllerId());
-        replaceMap.put(TARGET_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getTargetId()));
-        if (placeholder.getTargetId() != null) {
-            replaceMap.put(TARGET_ID_BASE62_PLACEHOLDER, Base62Util.fromBase10(placeholder.getTargetId()));
-        }
-        replaceMap.put(ARTIFACT_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(ARTIFACT_ID_BASE10_PLACEHOLDER, String.valueOf(placeholder.getSoftwareData().getArtifactId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE10_PLACEHOLDER,
-                String.valueOf(placeholder.getSoftwareData().getSoftwareModuleId()));
-        replaceMap.put(SOFTWARE_MODULE_ID_BASE62_PLACEHOLDER,
-                Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId()));
-        return replaceMap;
+    private static void addLiteral(final List<UrlSegment> segments, final StringBuilder literal) {
+        if (!literal.isEmpty()) {
+            segments.add(new LiteralSegment(literal.toString()));
+            literal.setLength(0);
+        }
     }
 
     private static String getRequestPort(final UrlProtocol protocol, final URI requestUri) {
@@ -205,4 +263,88 @@ public class PropertyBasedArtifactUrlHandler implements ArtifactUrlHandler {
         return host + "." + domain;
     }
 
+
+    interface UrlSegment {
+
+        void render(StringBuilder url, UrlValues values);
+    }
+
+    private record LiteralSegment(String text) implements UrlSegment {
+
+        @Override
+        public void render(final StringBuilder url, final UrlValues values) {
+            url.append(text);
+        }
+    }
+
+    private record PlaceholderSegment(String name, Function<UrlValues, String> value) implements UrlSegment {
+
+        @Override
+        public void render(final StringBuilder url, final UrlValues values) {
+            final String resolved = value.apply(values);
+            if (resolved == null) {
+                url.append('{').append(name).append('}');
+            } else {
+                url.append(resolved);
+            }
+        }
+    }
+
+    private record PortSegment(Function<UrlValues, String> value) implements UrlSegment {
+
+        @Override
+        public void render(final StringBuilder url, final UrlValues values) {
+            final String port = value.apply(values);
+            if (!ObjectUtils.isEmpty(port)) {
+                url.append(':').append(port);
+            }
+        }
+    }
+
+    /**
+     * The values of the placeholders of an artifact, the ones of the artifact
+     * are computed once for all protocols.
+     */
+    static final class UrlValues {
+
+        private final URLPlaceholder placeholder;
+        private final URI requestUri;
+        private final String contextPath;
+        private final boolean resolveTarget;
+        private UrlProtocol protocol;
+
+        private String encodedFilename;
+        private String artifactIdBase62;
+        private String softwareModuleIdBase62;
+
+        private UrlValues(final URLPlaceholder placeholder, final URI requestUri, final String contextPath,
+                final boolean resolveTarget) {
+            this.placeholder = placeholder;
+            this.requestUri = requestUri;
+            this.contextPath = contextPath;
+            this.resolveTarget = resolveTarget;
+        }
+
+        private String getEncodedFilename() {
+            if (encodedFilename == null) {
+                encodedFilename = URLEncoder.encode(placeholder.getSoftwareData().getFilename(),
+                        StandardCharsets.UTF_8);
+            }
+            return encodedFilename;
+        }
+
+        private String getArtifactIdBase62() {
+            if (artifactIdBase62 == null) {
+                artifactIdBase62 = Base62Util.fromBase10(placeholder.getSoftwareData().getArtifactId());
+            }
+            return artifactIdBase62;
+        }
+
+        private String getSoftwareModuleIdBase62() {
+            if (softwareModuleIdBase62 == null) {
+                softwareModuleIdBase62 = Base62Util.fromBase10(placeholder.getSoftwareData().getSoftwareModuleId());
+            }
+            return softwareModuleIdBase62;
+        }
+    }
 }
@@ -9,20 +9,20 @@
  */
 package org.eclipse.hawkbit.artifact.repository;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
-import java.security.DigestInputStream;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.springframework.util.StringUtils;
@@ -30,12 +30,22 @@ import org.springframework.util.StringUtils;
 /**
  * Abstract utility class for ArtifactRepository implementations with common
  * functionality, e.g. computation of hashes.
+ * <p/>
+ * The content is read in a single pass which computes all hashes and writes
+ * the content into a staging file (see {@link #createStagingFile(String)}),
+ * which is handed over to {@link #store(String, DbArtifactHash, String, String)}.
+ * If the SHA1 hash provided by the client is already known the content is
+ * only hashed and verified, but not written.
  */
 @Slf4j
 public abstract class AbstractArtifactRepository implements ArtifactRepository {
 
     private static final String TEMP_FILE_PREFIX = "tmp";
     private static final String TEMP_FILE_SUFFIX = "artifactrepo";
+    private static final int BUFFER_SIZE = 0x40000; // 256k
+
+    private final AtomicLong deduplicatedArtifacts = new AtomicLong();
+    private final AtomicLong deduplicatedBytes = new AtomicLong();
 
     @Override
     // suppress warning, of not strong enough hashing algorithm, SHA-1 and MD5
@@ -54,10 +64,15 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
             throw new ArtifactStoreException(e.getMessage(), e);
         }
 
-        String tempFile = null;
-        try (final DigestInputStream inputStream = wrapInDigestInputStream(content, mdSHA1, mdMD5, mdSHA256)) {
+        // the content of a known SHA1 hash is not written, only verified
+        final boolean providedSha1Exists = providedHashes != null
+                && !StringUtils.isEmpty(providedHashes.getSha1())
+                && existsByTenantAndSha1(tenant, providedHashes.getSha1());
 
-            tempFile = storeTempFile(inputStream);
+        Path stagingFile = null;
+        try (final InputStream inputStream = content) {
+            stagingFile = providedSha1Exists ? null : createStagingFile(tenant);
+            final long size = ingest(inputStream, stagingFile, mdSHA1, mdMD5, mdSHA256);
 
             final HexFormat hexFormat = HexFormat.of().withLowerCase();
 
@@ -68,21 +83,40 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
             checkHashes(sha1Hash16, md5Hash16, sha256Hash16, providedHashes);
 
             // Check if file with same sha1 hash exists and if so return it
-            if (existsByTenantAndSha1(tenant, sha1Hash16)) {
+            if (providedSha1Exists || existsByTenantAndSha1(tenant, sha1Hash16)) {
+                deduplicatedArtifacts.incrementAndGet();
+                deduplicatedBytes.addAndGet(size);
+                log.debug("Artifact {} of tenant {} already exists, stored content is reused", sha1Hash16, tenant);
                 return addMissingHashes(getArtifactBySha1(tenant, sha1Hash16), sha1Hash16, md5Hash16, sha256Hash16);
             }
 
             return store(sanitizeTenant(tenant), new DbArtifactHash(sha1Hash16, md5Hash16, sha256Hash16), contentType,
-                    tempFile);
+                    stagingFile.toString());
         } catch (final IOException e) {
             throw new ArtifactStoreException(e.getMessage(), e);
         } finally {
-            if (!StringUtils.isEmpty(tempFile)) {
-                deleteTempFile(tempFile);
+            if (stagingFile != null) {
+                deleteTempFile(stagingFile.toString());
             }
         }
     }
 
+    /**
+     * @return number of stored artifacts which content already existed in
+     *         the repository
+     */
+    public long getDeduplicatedArtifacts() {
+        return deduplicatedArtifacts.get();
+    }
+
+    /**
+     * @return number of bytes of stored artifacts which content already
+     *         existed in the repository
+     */
+    public long getDeduplicatedBytes() {
+        return deduplicatedBytes.get();
+    }
+
     private AbstractDbArtifact addMissingHashes(final AbstractDbArtifact existing, final String calculatedSha1,
             final String calculatedMd5, final String calculatedSha256) {
 
@@ -107,21 +141,68 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
         }
     }
 
+    /**
+     * Writes the content into a temporary file.
+     *
+     * @deprecated the content is written into a staging file while its hashes
+     *             are calculated, see {@link #createStagingFile(String)}
+     * @param content
+     *            the content to write
+     * @return the path of the temporary file
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    @Deprecated(forRemoval = true)
     protected String storeTempFile(final InputStream content) throws IOException {
-        final File file = createTempFile();
-        try (final OutputStream outputstream = new BufferedOutputStream(new FileOutputStream(file))) {
-            IOUtils.copy(content, outputstream);
-            outputstream.flush();
+        final Path stagingFile = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            ingest(content, stagingFile);
+        } catch (final IOException e) {
+            deleteTempFile(stagingFile.toString());
+            throw e;
         }
-        return file.getPath();
+        return stagingFile.toString();
     }
 
-    private static File createTempFile() {
-        try {
-            return Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX).toFile();
-        } catch (final IOException e) {
-            throw new ArtifactStoreException("Cannot create tempfile", e);
+    /**
+     * Creates the file the content is written to while its hashes are
+     * calculated. The file is passed to
+     * {@link #store(String, DbArtifactHash, String, String)} and deleted
+     * afterwards if it still exists. Implementations should create it on the
+     * file system of the final storage location, so it can be moved there
+     * without copying.
+     *
+     * @param tenant
+     *            the tenant of the artifact
+     * @return the created staging file
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    protected Path createStagingFile(final String tenant) throws IOException {
+        return Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+    }
+
+    private static long ingest(final InputStream content, final Path stagingFile, final MessageDigest... digests)
+            throws IOException {
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+        try (final FileChannel out = stagingFile == null ? null
+                : FileChannel.open(stagingFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = content.readNBytes(buffer, 0, buffer.length)) > 0) {
+                for (final MessageDigest digest : digests) {
+                    digest.update(buffer, 0, read);
+                }
+                if (out != null) {
+                    final ByteBuffer toWrite = ByteBuffer.wrap(buffer, 0, read);
+                    while (toWrite.hasRemaining()) {
+                        out.write(toWrite);
+                    }
+                }
+                size += read;
+            }
         }
+        return size;
     }
 
     private static void checkHashes(final String sha1Hash16, final String md5Hash16, final String sha256Hash16,
@@ -152,11 +233,6 @@ public abstract class AbstractArtifactRepository implements ArtifactRepository {
     protected abstract AbstractDbArtifact store(final String tenant, final DbArtifactHash base16Hashes,
             final String contentType, final String tempFile) throws IOException;
 
-    private static DigestInputStream wrapInDigestInputStream(final InputStream input, final MessageDigest mdSHA1,
-            final MessageDigest mdMD5, final MessageDigest mdSHA256) {
-        return new DigestInputStream(new DigestInputStream(new DigestInputStream(input, mdSHA256), mdMD5), mdSHA1);
-    }
-
     protected static String sanitizeTenant(final String tenant) {
         return tenant.trim().toUpperCase();
     }
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the {@link CachingArtifactRepository}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hawkbit.artifact.cache")
+public class ArtifactRepositoryCacheProperties {
+
+    /**
+     * Set to <code>true</code> to decorate the {@link ArtifactRepository} with
+     * the {@link CachingArtifactRepository}.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of artifacts which metadata is cached.
+     */
+    private int metadataMaxEntries = 10_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the metadata of an artifact is
+     * cached. Limits the time an artifact deleted by another node is still
+     * considered as existing.
+     */
+    private long metadataTimeToLive = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Local directory for copies of frequently downloaded artifacts. The
+     * binary cache is disabled if not set. The copies are kept in the
+     * subdirectory <code>hawkbit-artifact-cache</code>, the copies of the
+     * previous run are deleted from there on startup.
+     */
+    private String blobPath;
+
+    /**
+     * Maximum total size of the binary cache in bytes. The least recently
+     * used artifacts are evicted if exceeded.
+     */
+    private long blobMaxSize = 10L * 1024 * 1024 * 1024;
+
+    /**
+     * Maximum size of a single cached artifact in bytes. Bigger artifacts are
+     * always read from the repository.
+     */
+    private long blobMaxArtifactSize = 1024L * 1024 * 1024;
+
+    /**
+     * Number of accesses to an artifact after which it is copied into the
+     * binary cache.
+     */
+    private int blobMinHits = 2;
+}
@@ -0,0 +1,562 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+
+/**
+ * {@link ArtifactRepository} decorator which caches the artifact metadata, so
+ * that repeated lookups of the same artifacts (e.g. by the devices of a
+ * rollout) don't reach the underlying repository.
+ * <p/>
+ * Optionally artifacts which are accessed at least
+ * {@link ArtifactRepositoryCacheProperties#getBlobMinHits()} times are copied
+ * asynchronously into a local directory and served from there, e.g. in front
+ * of a remote object storage. The binary cache is bounded by size and evicts
+ * the least recently used artifacts.
+ * <p/>
+ * As artifacts are content addressed (by their SHA1 hash), cached entries
+ * become only invalid by deletion. Deletions by this node invalidate the
+ * cache immediately, deletions by other nodes are detected after
+ * {@link ArtifactRepositoryCacheProperties#getMetadataTimeToLive()}.
+ * <p/>
+ * The copies are kept in the subdirectory {@value #BLOB_DIRECTORY} of the
+ * configured path, named by their SHA1 hash and a sequence number, so a copy
+ * cached again gets a new file. Only the files created by the cache are
+ * removed from there on startup. The copies are served as streams only, i.e.
+ * {@link AbstractDbArtifact#getFilePath()} is empty: an evicted copy is
+ * deleted when the last stream opened on it is closed, which wouldn't be
+ * known for a file opened by the reader itself (e.g. a sendfile download that
+ * is written by the servlet container after the request has been handled).
+ */
+@Slf4j
+public class CachingArtifactRepository implements ArtifactRepository, AutoCloseable {
+
+    /**
+     * Subdirectory of {@link ArtifactRepositoryCacheProperties#getBlobPath()}
+     * owned by the cache.
+     */
+    public static final String BLOB_DIRECTORY = "hawkbit-artifact-cache";
+
+    // names of the copies (sha1-sequence) and of the temporary files
+    private static final Pattern BLOB_FILE = Pattern.compile("[0-9a-fA-F]{40}-\\d+|\\..+\\.tmp");
+
+    private final ArtifactRepository delegate;
+    private final ArtifactRepositoryCacheProperties properties;
+
+    private final Map<String, MetadataEntry> metadata;
+
+    // binary cache, null if disabled
+    private final Path blobDirectory;
+    private final Map<String, BlobEntry> blobs = new LinkedHashMap<>(16, 0.75F, true);
+    private final Map<String, Integer> blobAccessCount;
+    private final Set<String> blobsInProgress = ConcurrentHashMap.newKeySet();
+    private final ExecutorService blobExecutor;
+    private final AtomicLong blobSequence = new AtomicLong();
+    private long blobSize;
+
+    private final AtomicLong metadataHits = new AtomicLong();
+    private final AtomicLong metadataMisses = new AtomicLong();
+    private final AtomicLong blobHits = new AtomicLong();
+    private final AtomicLong blobMisses = new AtomicLong();
+    private final AtomicLong blobEvictions = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param delegate
+     *            the repository to cache
+     * @param properties
+     *            the cache configuration
+     */
+    public CachingArtifactRepository(final ArtifactRepository delegate,
+            final ArtifactRepositoryCacheProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        metadata = new LinkedHashMap<>(16, 0.75F, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, MetadataEntry> eldest) {
+                return size() > properties.getMetadataMaxEntries();
+            }
+        };
+
+        if (properties.getBlobPath() == null) {
+            blobDirectory = null;
+            blobAccessCount = null;
+            blobExecutor = null;
+            return;
+        }
+
+        blobDirectory = Paths.get(properties.getBlobPath()).resolve(BLOB_DIRECTORY);
+        try {
+            Files.createDirectories(blobDirectory);
+            // the copies of the previous run are not known anymore
+            deleteBlobFiles(blobDirectory);
+        } catch (final IOException e) {
+            throw new ArtifactStoreException("Cannot initialize artifact cache directory " + blobDirectory, e);
+        }
+        blobAccessCount = new LinkedHashMap<>(16, 0.75F, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Integer> eldest) {
+                return size() > properties.getMetadataMaxEntries();
+            }
+        };
+        blobExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "artifact-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public AbstractDbArtifact store(final String tenant, final InputStream content, final String filename,
+            final String contentType, final DbArtifactHash hash) {
+        final AbstractDbArtifact stored = delegate.store(tenant, content, filename, contentType, hash);
+        // an existing artifact may have been completed with missing hashes
+        invalidate(tenant, stored.getHashes().getSha1());
+        return stored;
+    }
+
+    @Override
+    public void deleteBySha1(final String tenant, final String sha1Hash) {
+        invalidate(tenant, sha1Hash);
+        delegate.deleteBySha1(tenant, sha1Hash);
+    }
+
+    @Override
+    public AbstractDbArtifact getArtifactBySha1(final String tenant, final String sha1Hash) {
+        final String key = key(tenant, sha1Hash);
+        final AbstractDbArtifact artifact = getMetadata(key)
+                .orElseGet(() -> loadMetadata(key, tenant, sha1Hash));
+        if (artifact == null || blobDirectory == null) {
+            return artifact;
+        }
+
+        return getBlob(key).map(blob -> (AbstractDbArtifact) new CachedArtifact(blob, artifact))
+                .orElseGet(() -> {
+                    blobMisses.incrementAndGet();
+                    cacheBlobIfHot(key, artifact);
+                    return artifact;
+                });
+    }
+
+    @Override
+    public void deleteByTenant(final String tenant) {
+        final String prefix = key(tenant, "");
+        synchronized (metadata) {
+            metadata.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+        if (blobDirectory != null) {
+            synchronized (blobs) {
+                removeBlobs(key -> key.startsWith(prefix));
+            }
+        }
+        delegate.deleteByTenant(tenant);
+    }
+
+    @Override
+    public boolean existsByTenantAndSha1(final String tenant, final String sha1Hash) {
+        final String key = key(tenant, sha1Hash);
+        if (getMetadata(key).isPresent()) {
+            return true;
+        }
+        // not existing artifacts are not cached as they may be stored by
+        // another node any time
+        metadataMisses.incrementAndGet();
+        return delegate.existsByTenantAndSha1(tenant, sha1Hash);
+    }
+
+    /**
+     * @return the cache statistics
+     */
+    public Statistics getStatistics() {
+        final int blobCount;
+        final long currentBlobSize;
+        synchronized (blobs) {
+            blobCount = blobs.size();
+            currentBlobSize = blobSize;
+        }
+        return new Statistics(metadataHits.get(), metadataMisses.get(), blobHits.get(), blobMisses.get(),
+                blobEvictions.get(), blobCount, currentBlobSize);
+    }
+
+    /**
+     * @return the decorated repository
+     */
+    public ArtifactRepository getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void close() {
+        if (blobExecutor != null) {
+            blobExecutor.shutdownNow();
+        }
+    }
+
+    private Optional<AbstractDbArtifact> getMetadata(final String key) {
+        final MetadataEntry entry;
+        synchronized (metadata) {
+            entry = metadata.get(key);
+            if (entry != null && entry.expiresAt() < System.currentTimeMillis()) {
+                metadata.remove(key);
+                return Optional.empty();
+            }
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        metadataHits.incrementAndGet();
+        return Optional.of(entry.artifact());
+    }
+
+    private AbstractDbArtifact loadMetadata(final String key, final String tenant, final String sha1Hash) {
+        metadataMisses.incrementAndGet();
+        final AbstractDbArtifact artifact = delegate.getArtifactBySha1(tenant, sha1Hash);
+        if (artifact != null) {
+            synchronized (metadata) {
+                metadata.put(key,
+                        new MetadataEntry(artifact, System.currentTimeMillis() + properties.getMetadataTimeToLive()));
+            }
+        }
+        return artifact;
+    }
+
+    private Optional<BlobEntry> getBlob(final String key) {
+        final BlobEntry blob;
+        synchronized (blobs) {
+            blob = blobs.get(key);
+        }
+        if (blob == null) {
+            return Optional.empty();
+        }
+        if (!Files.exists(blob.file())) {
+            // removed from the outside
+            synchronized (blobs) {
+                removeBlobs(key::equals);
+            }
+            return Optional.empty();
+        }
+        blobHits.incrementAndGet();
+        return Optional.of(blob);
+    }
+
+    private void cacheBlobIfHot(final String key, final AbstractDbArtifact artifact) {
+        if (artifact.getSize() > properties.getBlobMaxArtifactSize()
+                || artifact.getSize() > properties.getBlobMaxSize()) {
+            return;
+        }
+
+        final int accessCount;
+        synchronized (blobAccessCount) {
+            accessCount = blobAccessCount.merge(key, 1, Integer::sum);
+        }
+        if (accessCount < properties.getBlobMinHits() || !blobsInProgress.add(key)) {
+            return;
+        }
+
+        try {
+            blobExecutor.execute(() -> {
+                try {
+                    copyBlob(key, artifact);
+                } catch (final IOException | RuntimeException e) {
+                    log.warn("Failed to cache artifact {}", key, e);
+                } finally {
+                    blobsInProgress.remove(key);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            blobsInProgress.remove(key);
+            log.debug("Caching of artifact {} rejected", key, e);
+        }
+    }
+
+    // suppress warning, SHA-1 is not used security related
+    @SuppressWarnings("squid:S2070")
+    private void copyBlob(final String key, final AbstractDbArtifact artifact) throws IOException {
+        final String sha1 = artifact.getHashes().getSha1();
+        final Path file = blobDirectory.resolve(sha1.toLowerCase() + "-" + blobSequence.incrementAndGet());
+        final Path tempFile = Files.createTempFile(blobDirectory, ".", ".tmp");
+        try {
+            final MessageDigest mdSHA1 = MessageDigest.getInstance("SHA1");
+            try (final InputStream in = new DigestInputStream(artifact.getFileInputStream(), mdSHA1)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!HexFormat.of().withLowerCase().formatHex(mdSHA1.digest()).equalsIgnoreCase(sha1)) {
+                log.warn("Artifact {} has not been cached as its content doesn't match its SHA1 hash", key);
+                return;
+            }
+            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new ArtifactStoreException(e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        synchronized (blobs) {
+            final BlobEntry previous = blobs.put(key, new BlobEntry(file, artifact.getSize()));
+            blobSize += artifact.getSize() - (previous == null ? 0 : previous.size());
+            evictBlobs(key);
+        }
+        log.debug("Cached artifact {} with {} bytes", key, artifact.getSize());
+    }
+
+    // has to be called with the lock of blobs
+    private void evictBlobs(final String added) {
+        final Iterator<Map.Entry<String, BlobEntry>> iterator = blobs.entrySet().iterator();
+        while (blobSize > properties.getBlobMaxSize() && iterator.hasNext()) {
+            final Map.Entry<String, BlobEntry> eldest = iterator.next();
+            if (eldest.getKey().equals(added)) {
+                continue;
+            }
+            iterator.remove();
+            blobSize -= eldest.getValue().size();
+            blobEvictions.incrementAndGet();
+            eldest.getValue().remove();
+        }
+    }
+
+    // has to be called with the lock of blobs
+    private void removeBlobs(final Predicate<String> keys) {
+        final List<String> removed = new ArrayList<>();
+        blobs.forEach((key, blob) -> {
+            if (keys.test(key)) {
+                removed.add(key);
+            }
+        });
+        removed.forEach(key -> {
+            final BlobEntry blob = blobs.remove(key);
+            blobSize -= blob.size();
+            blob.remove();
+        });
+    }
+
+    private void invalidate(final String tenant, final String sha1Hash) {
+        final String key = key(tenant, sha1Hash);
+        synchronized (metadata) {
+            metadata.remove(key);
+        }
+        if (blobDirectory != null) {
+            synchronized (blobs) {
+                removeBlobs(key::equals);
+            }
+        }
+    }
+
+    // deletes only the files created by the cache, not the whole directory
+    // which might have been configured wrong
+    private static void deleteBlobFiles(final Path directory) throws IOException {
+        try (final Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> BLOB_FILE.matcher(file.getFileName().toString()).matches())
+                    .filter(Files::isRegularFile).forEach(CachingArtifactRepository::deleteQuietly);
+        }
+    }
+
+    private static void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            log.warn("Could not delete cached artifact {} ({})", file, e.getMessage());
+        }
+    }
+
+    private static String key(final String tenant, final String sha1Hash) {
+        return tenant.trim().toUpperCase() + ":" + sha1Hash;
+    }
+
+    /**
+     * Statistics of the cache.
+     *
+     * @param metadataHits
+     *            number of lookups answered by the metadata cache
+     * @param metadataMisses
+     *            number of lookups passed to the repository
+     * @param blobHits
+     *            number of artifacts served from the binary cache
+     * @param blobMisses
+     *            number of artifacts served from the repository while the
+     *            binary cache is enabled
+     * @param blobEvictions
+     *            number of artifacts evicted from the binary cache
+     * @param blobCount
+     *            number of artifacts in the binary cache
+     * @param blobSize
+     *            size of the artifacts in the binary cache in bytes
+     */
+    public record Statistics(long metadataHits, long metadataMisses, long blobHits, long blobMisses,
+            long blobEvictions, int blobCount, long blobSize) {
+    }
+
+    private record MetadataEntry(AbstractDbArtifact artifact, long expiresAt) {
+    }
+
+    /**
+     * Copy in the binary cache. The file of a removed entry is deleted as soon
+     * as there are no open streams anymore.
+     */
+    private static final class BlobEntry {
+
+        private final Path file;
+        private final long size;
+        private int readers;
+        private boolean removed;
+
+        private BlobEntry(final Path file, final long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        private Path file() {
+            return file;
+        }
+
+        private long size() {
+            return size;
+        }
+
+        private synchronized boolean acquire() {
+            if (removed) {
+                return false;
+            }
+            readers++;
+            return true;
+        }
+
+        private synchronized void release() {
+            readers--;
+            if (removed && readers == 0) {
+                deleteQuietly(file);
+            }
+        }
+
+        private synchronized void remove() {
+            removed = true;
+            if (readers == 0) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    /**
+     * Artifact served from the binary cache, falls back to the artifact of the
+     * decorated repository if the copy has been evicted in the meantime. The
+     * file of the copy is not exposed, all reads go through the streams which
+     * keep the copy from being deleted while open.
+     */
+    private static final class CachedArtifact extends AbstractDbArtifact {
+
+        private final BlobEntry blob;
+        private final AbstractDbArtifact artifact;
+
+        private CachedArtifact(final BlobEntry blob, final AbstractDbArtifact artifact) {
+            super(artifact.getArtifactId(), artifact.getHashes(), artifact.getSize(), artifact.getContentType());
+            this.blob = blob;
+            this.artifact = artifact;
+        }
+
+        @Override
+        public InputStream getFileInputStream() {
+            if (!blob.acquire()) {
+                return artifact.getFileInputStream();
+            }
+            try {
+                return new BlobInputStream(Files.newInputStream(blob.file()), blob);
+            } catch (final IOException e) {
+                blob.release();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public InputStream getFileInputStream(final long offset) throws IOException {
+            if (!blob.acquire()) {
+                return artifact.getFileInputStream(offset);
+            }
+            try {
+                final FileChannel channel = FileChannel.open(blob.file(), StandardOpenOption.READ);
+                try {
+                    return new BlobInputStream(Channels.newInputStream(channel.position(offset)), blob);
+                } catch (final IOException e) {
+                    channel.close();
+                    throw e;
+                }
+            } catch (final IOException e) {
+                blob.release();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Stream of a copy, releases the copy on close.
+     */
+    private static final class BlobInputStream extends FilterInputStream {
+
+        private final BlobEntry blob;
+        private boolean closed;
+
+        private BlobInputStream(final InputStream in, final BlobEntry blob) {
+            super(in);
+            this.blob = blob;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                blob.release();
+            }
+        }
+    }
+}
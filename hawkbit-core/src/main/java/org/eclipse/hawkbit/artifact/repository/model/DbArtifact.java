@@ -9,7 +9,10 @@
  */
 package org.eclipse.hawkbit.artifact.repository.model;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 /**
  * Interface definition for artifact binary.
@@ -43,4 +46,42 @@ public interface DbArtifact {
      * @return {@link InputStream} to read from artifact.
      */
     InputStream getFileInputStream();
+
+    /**
+     * Creates an {@link InputStream} on this artifact starting at the given
+     * offset, e.g. for range requests. Caller has to take care of closing the
+     * stream. The default implementation skips the bytes before the offset
+     * on the stream of {@link #getFileInputStream()}, implementations which
+     * can position their binary directly should override it.
+     *
+     * @param offset
+     *            of the first byte to read
+     * @return {@link InputStream} to read from artifact starting at offset.
+     * @throws IOException
+     *             if the stream cannot be positioned at the offset
+     */
+    default InputStream getFileInputStream(final long offset) throws IOException {
+        final InputStream stream = getFileInputStream();
+        try {
+            stream.skipNBytes(offset);
+        } catch (final IOException e) {
+            stream.close();
+            throw e;
+        }
+        return stream;
+    }
+
+    /**
+     * Returns the file of this artifact if the repository stores the artifact
+     * binary as a plain local file, i.e. the file contains exactly the bytes
+     * returned by {@link #getFileInputStream()}. This allows to deliver the
+     * artifact with positioned reads or zero-copy transfers instead of reading
+     * it through an {@link InputStream}.
+     *
+     * @return the file of this artifact, empty if the binary is not available
+     *         as plain local file
+     */
+    default Optional<Path> getFilePath() {
+        return Optional.empty();
+    }
 }
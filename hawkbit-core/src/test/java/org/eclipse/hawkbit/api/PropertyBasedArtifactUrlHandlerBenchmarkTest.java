@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.api.ArtifactUrlHandlerProperties.UrlProtocol;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Compares the compiled URL patterns of {@link PropertyBasedArtifactUrlHandler} with the former implementation, which
+ * replaced every placeholder in the pattern by {@link String#replace}, for DDI and DMF payloads with many artifacts.
+ * The comparison of the generated URLs is always executed, the benchmark only if the system property
+ * <code>hawkbit.benchmark</code> is <code>true</code>, e.g.
+ * <code>mvn test -Dtest=PropertyBasedArtifactUrlHandlerBenchmarkTest -Dhawkbit.benchmark=true</code>.
+ */
+@Slf4j
+@Feature("Unit Tests - Artifact URL Handler")
+@Story("Test to generate the artifact download URL")
+class PropertyBasedArtifactUrlHandlerBenchmarkTest {
+
+    private static final int ARTIFACTS = 200;
+    private static final URI REQUEST_URI = URI.create("https://ddi.device.example.com:8443");
+
+    private final ArtifactUrlHandlerProperties properties = new ArtifactUrlHandlerProperties();
+    private final ArtifactUrlHandler compiled = new PropertyBasedArtifactUrlHandler(properties, "/hawkbit");
+    private final LegacyArtifactUrlHandler legacy = new LegacyArtifactUrlHandler(properties, "/hawkbit");
+    private final List<URLPlaceholder> placeholders = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        properties.getProtocols().put("download-http", new UrlProtocol());
+        properties.getProtocols().put("md5sum-http", protocol("md5sum-http",
+                "{protocol}://{hostname}:{port}{contextPath}/{tenant}/controller/v1/{controllerId}/softwaremodules/"
+                        + "{softwareModuleId}/artifacts/{artifactFileName}.MD5SUM", ApiType.DDI, ApiType.DMF));
+        properties.getProtocols().put("download-cdn", protocol("download-cdn",
+                "{protocolRequest}://{domainRequest}:{portRequest}/fws/{tenantIdBase62}/{targetIdBase62}/"
+                        + "{softwareModuleIdBase62}/{artifactIdBase62}/{artifactSHA1}", ApiType.DDI));
+        properties.getProtocols().put("download-coap", protocol("download-coap",
+                "coap://{ip}:{port}/fw/{tenant}/{tenantId}/{targetId}/{artifactId}/{unknown}", ApiType.DMF));
+
+        for (int i = 0; i < ARTIFACTS; i++) {
+            placeholders.add(new URLPlaceholder("DEFAULT", 1L, "device-4711", 4711L + i,
+                    new SoftwareData(100L + i / 2, "firmware image " + i + ".bin", 10_000L + i,
+                            "3c1bd5d9a1ef1b4e4f4cf5d9f7c8dcb6a9e1a2f" + i % 10)));
+        }
+    }
+
+    @Test
+    @Description("Verifies that the compiled patterns generate the same URLs as the former implementation.")
+    void compiledPatternsGenerateSameUrls() {
+        for (final URLPlaceholder placeholder : placeholders) {
+            assertThat(compiled.getUrls(placeholder, ApiType.DDI, REQUEST_URI))
+                    .isEqualTo(legacy.getUrls(placeholder, ApiType.DDI, REQUEST_URI));
+            assertThat(compiled.getUrls(placeholder, ApiType.DMF)).isEqualTo(legacy.getUrls(placeholder, ApiType.DMF));
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "hawkbit.benchmark", matches = "true")
+    @Description("Measures the time to generate the URLs of DDI and DMF payloads with many artifacts.")
+    void benchmark() {
+        for (final ApiType api : List.of(ApiType.DDI, ApiType.DMF)) {
+            final URI requestUri = api == ApiType.DDI ? REQUEST_URI : null;
+            // warm up
+            run(legacy, api, requestUri, 500);
+            run(compiled, api, requestUri, 500);
+
+            final long legacyNanos = run(legacy, api, requestUri, 2_000);
+            final long compiledNanos = run(compiled, api, requestUri, 2_000);
+            log.info("{} payload with {} artifacts: former {} us, compiled {} us per payload", api, ARTIFACTS,
+                    TimeUnit.NANOSECONDS.toMicros(legacyNanos), TimeUnit.NANOSECONDS.toMicros(compiledNanos));
+        }
+    }
+
+    // returns the average nanos per payload
+    private long run(final ArtifactUrlHandler handler, final ApiType api, final URI requestUri, final int payloads) {
+        long urls = 0;
+        final long start = System.nanoTime();
+        for (int i = 0; i < payloads; i++) {
+            for (final URLPlaceholder placeholder : placeholders) {
+                urls += handler.getUrls(placeholder, api, requestUri).size();
+            }
+        }
+        final long nanos = (System.nanoTime() - start) / payloads;
+        assertThat(urls).isPositive();
+        return nanos;
+    }
+
+    private static UrlProtocol protocol(final String rel, final String ref, final ApiType... supports) {
+        final UrlProtocol protocol = new UrlProtocol();
+        protocol.setRel(rel);
+        protocol.setRef(ref);
+        protocol.setHostname("cdn.hawkbit.example.com");
+        protocol.setSupports(List.of(supports));
+        return protocol;
+    }
+
+    /**
+     * The former implementation of {@link PropertyBasedArtifactUrlHandler#getUrls(URLPlaceholder, ApiType, URI)}.
+     */
+    private static class LegacyArtifactUrlHandler implements ArtifactUrlHandler {
+
+        private final ArtifactUrlHandlerProperties urlHandlerProperties;
+        private final String contextPath;
+
+        private LegacyArtifactUrlHandler(final ArtifactUrlHandlerProperties urlHandlerProperties,
+                final String contextPath) {
+            this.urlHandlerProperties = urlHandlerProperties;
+            this.contextPath = contextPath;
+        }
+
+        @Override
+        public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api) {
+            return getUrls(placeholder, api, null);
+        }
+
+        @Override
+        public List<ArtifactUrl> getUrls(final URLPlaceholder placeholder, final ApiType api, final URI requestUri) {
+            return urlHandlerProperties.getProtocols().values().stream()
+                    .filter(urlProtocol -> urlProtocol.getSupports().contains(api) && urlProtocol.isEnabled())
+                    .map(urlProtocol -> new ArtifactUrl(urlProtocol.getProtocol().toUpperCase(), urlProtocol.getRel(),
+                            generateUrl(urlProtocol, placeholder, requestUri)))
+                    .toList();
+        }
+
+        private String generateUrl(final UrlProtocol protocol, final URLPlaceholder placeholder,
+                final URI requestUri) {
+            String urlPattern = protocol.getRef();
+            for (final Map.Entry<String, String> entry : getReplaceMap(protocol, placeholder, requestUri).entrySet()) {
+                if (List.of("port", "portRequest").contains(entry.getKey())) {
+                    urlPattern = urlPattern.replace(":{" + entry.getKey() + "}",
+                            ObjectUtils.isEmpty(entry.getValue()) ? "" : (":" + entry.getValue()));
+                } else if (entry.getValue() != null) {
+                    urlPattern = urlPattern.replace("{" + entry.getKey() + "}", entry.getValue());
+                }
+            }
+            return urlPattern;
+        }
+
+        private Map<String, String> getReplaceMap(final UrlProtocol protocol, final URLPlaceholder placeholder,
+                final URI requestUri) {
+            final Map<String, String> replaceMap = new HashMap<>();
+            final SoftwareData softwareData = placeholder.getSoftwareData();
+            replaceMap.put("ip", protocol.getIp());
+            replaceMap.put("hostname", protocol.getHostname());
+            replaceMap.put("hostnameRequest", requestUri == null ? protocol.getHostname() : requestUri.getHost());
+            replaceMap.put("portRequest", requestUri == null ? String.valueOf(protocol.getPort())
+                    : (requestUri.getPort() > 0 ? String.valueOf(requestUri.getPort()) : ""));
+            replaceMap.put("domainRequest", requestUri == null ? protocol.getHostname()
+                    : protocol.getHostname().split("\\.")[0] + requestUri.getHost()
+                            .substring(requestUri.getHost().indexOf('.')));
+            replaceMap.put("protocolRequest", requestUri == null ? protocol.getProtocol() : requestUri.getScheme());
+            replaceMap.put("contextPath", contextPath);
+            replaceMap.put("artifactFileName", URLEncoder.encode(softwareData.getFilename(), StandardCharsets.UTF_8));
+            replaceMap.put("artifactSHA1", softwareData.getSha1Hash());
+            replaceMap.put("protocol", protocol.getProtocol());
+            replaceMap.put("port", String.valueOf(protocol.getPort()));
+            replaceMap.put("tenant", placeholder.getTenant());
+            replaceMap.put("tenantId", String.valueOf(placeholder.getTenantId()));
+            replaceMap.put("tenantIdBase62", Base62Util.fromBase10(placeholder.getTenantId()));
+            replaceMap.put("controllerId", placeholder.getControllerId());
+            replaceMap.put("targetId", String.valueOf(placeholder.getTargetId()));
+            replaceMap.put("targetIdBase62", Base62Util.fromBase10(placeholder.getTargetId()));
+            replaceMap.put("artifactIdBase62", Base62Util.fromBase10(softwareData.getArtifactId()));
+            replaceMap.put("artifactId", String.valueOf(softwareData.getArtifactId()));
+            replaceMap.put("softwareModuleId", String.valueOf(softwareData.getSoftwareModuleId()));
+            replaceMap.put("softwareModuleIdBase62", Base62Util.fromBase10(softwareData.getSoftwareModuleId()));
+            return replaceMap;
+        }
+    }
+}
@@ -221,4 +221,26 @@ public class PropertyBasedArtifactUrlHandlerTest {
                         + SOFTWAREMODULEID + "/artifacts/" + FILENAME_ENCODE));
 
     }
+
+    @Test
+    @Description("Verfies that the URL templates keep the target placeholders which are resolved per target.")
+    public void urlTemplateResolvedPerTarget() throws URISyntaxException {
+        final UrlProtocol proto = new UrlProtocol();
+        proto.setRef("{protocolRequest}://{hostnameRequest}:{portRequest}/{tenant}/{controllerId}/{targetId}/"
+                + "{targetIdBase62}/{artifactIdBase62}");
+        properties.getProtocols().put("download-http", proto);
+
+        final URI requestUri = new URI("https://anotherHost.com:8083");
+        final List<ArtifactUrlTemplate> templates = urlHandlerUnderTest
+                .getUrlTemplates(new URLPlaceholder(TENANT, TENANT_ID, null, null, placeholder.getSoftwareData()),
+                        ApiType.DDI, requestUri)
+                .orElseThrow();
+        assertThat(templates).hasSize(1);
+
+        final ArtifactUrl url = templates.get(0).resolve(CONTROLLER_ID, TARGETID);
+        assertThat(url).isEqualTo(urlHandlerUnderTest.getUrls(placeholder, ApiType.DDI, requestUri).get(0));
+        assertThat(url.getRef())
+                .isEqualTo("https://anotherHost.com:8083/" + TENANT + "/" + CONTROLLER_ID + "/" + TARGETID + "/"
+                        + TARGETID_BASE62 + "/" + ARTIFACTID_BASE62);
+    }
 }
@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.artifact.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.eclipse.hawkbit.artifact.repository.model.AbstractDbArtifact;
+import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Artifact Repository")
+@Story("Artifact repository cache")
+class CachingArtifactRepositoryTest {
+
+    private static final String TENANT = "tenant";
+
+    private final InMemoryArtifactRepository delegate = new InMemoryArtifactRepository();
+
+    @Test
+    @Description("Verifies that the metadata of existing artifacts is cached and invalidated on deletion.")
+    void metadataIsCached() {
+        final ArtifactRepositoryCacheProperties properties = new ArtifactRepositoryCacheProperties();
+        try (final CachingArtifactRepository cache = new CachingArtifactRepository(delegate, properties)) {
+            final String sha1 = delegate.add(new byte[] { 1, 2, 3 });
+
+            assertThat(cache.existsByTenantAndSha1(TENANT, "unknown")).isFalse();
+            assertThat(cache.existsByTenantAndSha1(TENANT, "unknown")).isFalse();
+            for (int i = 0; i < 5; i++) {
+                assertThat(cache.getArtifactBySha1(TENANT, sha1)).isNotNull();
+                assertThat(cache.existsByTenantAndSha1(TENANT, sha1)).isTrue();
+            }
+            // not existing artifacts are always looked up
+            assertThat(delegate.lookups).hasValue(3);
+            assertThat(cache.getStatistics().metadataHits()).isEqualTo(9);
+
+            cache.deleteBySha1(TENANT, sha1);
+            assertThat(cache.getArtifactBySha1(TENANT, sha1)).isNull();
+            assertThat(delegate.lookups).hasValue(4);
+        }
+    }
+
+    @Test
+    @Description("Verifies that frequently accessed artifacts are copied into the binary cache and that the least "
+            + "recently used artifacts are evicted.")
+    void hotArtifactsAreCachedLocally(@TempDir final Path blobPath) throws IOException {
+        final ArtifactRepositoryCacheProperties properties = new ArtifactRepositoryCacheProperties();
+        properties.setBlobPath(blobPath.toString());
+        properties.setBlobMaxSize(250);
+        try (final CachingArtifactRepository cache = new CachingArtifactRepository(delegate, properties)) {
+            final byte[] content1 = content(100, 1);
+            final byte[] content2 = content(100, 2);
+            final byte[] content3 = content(100, 3);
+            final String sha1 = delegate.add(content1);
+            final String sha2 = delegate.add(content2);
+            final String sha3 = delegate.add(content3);
+
+            cache.getArtifactBySha1(TENANT, sha1);
+            cache.getArtifactBySha1(TENANT, sha1);
+            await().atMost(Duration.ofSeconds(10)).until(() -> cache.getStatistics().blobCount() == 1);
+
+            final AbstractDbArtifact cached = cache.getArtifactBySha1(TENANT, sha1);
+            assertThat(cache.getStatistics().blobHits()).isEqualTo(1);
+            // the copy is served as stream only
+            assertThat(cached.getFilePath()).isEmpty();
+            assertThat(cached.getHashes().getSha1()).isEqualTo(sha1);
+            try (final InputStream in = cached.getFileInputStream()) {
+                assertThat(in.readAllBytes()).isEqualTo(content1);
+            }
+            try (final InputStream in = cached.getFileInputStream(1)) {
+                assertThat(in.readAllBytes()).isEqualTo(Arrays.copyOfRange(content1, 1, content1.length));
+            }
+            assertThat(delegate.reads).hasValue(1);
+
+            cacheHot(cache, sha2, 2);
+            // first artifact is the least recently used one
+            cacheHot(cache, sha3, 2);
+            assertThat(cache.getStatistics().blobEvictions()).isEqualTo(1);
+            assertThat(cache.getStatistics().blobSize()).isEqualTo(200);
+            final long blobHits = cache.getStatistics().blobHits();
+            cache.getArtifactBySha1(TENANT, sha1);
+            assertThat(cache.getStatistics().blobHits()).isEqualTo(blobHits);
+            cache.getArtifactBySha1(TENANT, sha3);
+            assertThat(cache.getStatistics().blobHits()).isEqualTo(blobHits + 1);
+        }
+    }
+
+    @Test
+    @Description("Verifies that only the copies of the previous run are deleted on startup.")
+    void onlyCachedFilesAreDeletedOnStartup(@TempDir final Path blobPath) throws IOException {
+        final Path foreign = Files.writeString(blobPath.resolve("foreign.txt"), "foreign");
+        final Path cacheDirectory = Files.createDirectories(
+                blobPath.resolve(CachingArtifactRepository.BLOB_DIRECTORY));
+        final Path foreignInCacheDirectory = Files.writeString(cacheDirectory.resolve("foreign.txt"), "foreign");
+        final Path staleCopy = Files.writeString(
+                cacheDirectory.resolve(delegate.add(content(10, 1)) + "-1"), "stale");
+        final Path staleTempFile = Files.writeString(cacheDirectory.resolve(".123.tmp"), "stale");
+
+        final ArtifactRepositoryCacheProperties properties = new ArtifactRepositoryCacheProperties();
+        properties.setBlobPath(blobPath.toString());
+        try (final CachingArtifactRepository cache = new CachingArtifactRepository(delegate, properties)) {
+            assertThat(cache.getStatistics().blobCount()).isZero();
+            assertThat(foreign).exists();
+            assertThat(foreignInCacheDirectory).exists();
+            assertThat(staleCopy).doesNotExist();
+            assertThat(staleTempFile).doesNotExist();
+        }
+    }
+
+    @Test
+    @Description("Verifies that an evicted copy is deleted only after the last open stream is closed.")
+    void evictedCopyIsDeletedAfterLastReader(@TempDir final Path blobPath) throws IOException {
+        final ArtifactRepositoryCacheProperties properties = new ArtifactRepositoryCacheProperties();
+        properties.setBlobPath(blobPath.toString());
+        properties.setBlobMaxSize(150);
+        try (final CachingArtifactRepository cache = new CachingArtifactRepository(delegate, properties)) {
+            final byte[] content1 = content(100, 1);
+            final String sha1 = delegate.add(content1);
+            final String sha2 = delegate.add(content(100, 2));
+            cacheHot(cache, sha1, 1);
+
+            final AbstractDbArtifact cached = cache.getArtifactBySha1(TENANT, sha1);
+            final Path file = blobFile(blobPath, sha1);
+            try (final InputStream in = cached.getFileInputStream()) {
+                // evicts the first copy
+                cacheHot(cache, sha2, 1);
+                assertThat(cache.getStatistics().blobEvictions()).isEqualTo(1);
+                assertThat(file).exists();
+                assertThat(in.readAllBytes()).isEqualTo(content1);
+            }
+            assertThat(file).doesNotExist();
+
+            // streams opened after the eviction are served by the repository
+            final int reads = delegate.reads.get();
+            try (final InputStream in = cached.getFileInputStream()) {
+                assertThat(in.readAllBytes()).isEqualTo(content1);
+            }
+            assertThat(delegate.reads).hasValue(reads + 1);
+        }
+    }
+
+    private static void cacheHot(final CachingArtifactRepository cache, final String sha1, final int expectedCount) {
+        cache.getArtifactBySha1(TENANT, sha1);
+        cache.getArtifactBySha1(TENANT, sha1);
+        await().atMost(Duration.ofSeconds(10)).until(() -> {
+            final long blobHits = cache.getStatistics().blobHits();
+            cache.getArtifactBySha1(TENANT, sha1);
+            return cache.getStatistics().blobHits() > blobHits && cache.getStatistics().blobCount() == expectedCount;
+        });
+    }
+
+    private static Path blobFile(final Path blobPath, final String sha1) throws IOException {
+        try (final Stream<Path> files = Files.list(blobPath.resolve(CachingArtifactRepository.BLOB_DIRECTORY))) {
+            return files.filter(file -> file.getFileName().toString().startsWith(sha1 + "-")).findFirst()
+                    .orElseThrow();
+        }
+    }
+
+    private static byte[] content(final int size, final int value) {
+        final byte[] content = new byte[size];
+        content[0] = (byte) value;
+        return content;
+    }
+
+    private static final class InMemoryArtifactRepository implements ArtifactRepository {
+
+        private final Map<String, byte[]> artifacts = new HashMap<>();
+        private final AtomicInteger lookups = new AtomicInteger();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        private String add(final byte[] content) {
+            try {
+                final String sha1 = HexFormat.of().formatHex(MessageDigest.getInstance("SHA1").digest(content));
+                artifacts.put(sha1, content);
+                return sha1;
+            } catch (final NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public AbstractDbArtifact store(final String tenant, final InputStream content, final String filename,
+                final String contentType, final DbArtifactHash hash) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void deleteBySha1(final String tenant, final String sha1Hash) {
+            artifacts.remove(sha1Hash);
+        }
+
+        @Override
+        public AbstractDbArtifact getArtifactBySha1(final String tenant, final String sha1Hash) {
+            lookups.incrementAndGet();
+            final byte[] content = artifacts.get(sha1Hash);
+            if (content == null) {
+                return null;
+            }
+            return new AbstractDbArtifact(sha1Hash, new DbArtifactHash(sha1Hash, null, null), content.length,
+                    null) {
+
+                @Override
+                public InputStream getFileInputStream() {
+                    reads.incrementAndGet();
+                    return new ByteArrayInputStream(content);
+                }
+            };
+        }
+
+        @Override
+        public void deleteByTenant(final String tenant) {
+            artifacts.clear();
+        }
+
+        @Override
+        public boolean existsByTenantAndSha1(final String tenant, final String sha1Hash) {
+            lookups.incrementAndGet();
+            return artifacts.containsKey(sha1Hash);
+        }
+    }
+}
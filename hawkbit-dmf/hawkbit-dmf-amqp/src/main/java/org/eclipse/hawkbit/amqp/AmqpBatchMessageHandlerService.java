@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * Consumes the DMF receiver queue in batches (see {@link AmqpBatchProperties})
+ * instead of the single message listener of the
+ * {@link AmqpMessageHandlerService}.
+ * <p/>
+ * The <code>UPDATE_ACTION_STATUS</code> events of a batch are grouped per
+ * tenant and added in one transaction by
+ * {@link ControllerManagement#addUpdateActionStatuses(List)}. All other
+ * messages are handled one by one by the {@link AmqpMessageHandlerService}, in
+ * between the status updates of their tenant to keep the order. The messages
+ * to the targets that have been registered or have to proceed are collected
+ * and sent once per target after the batch.
+ * <p/>
+ * If the status updates of a tenant fail together they are handled one by one.
+ * A message that fails on its own is handled by the {@link ErrorHandler} of the
+ * container and, as the batch is acknowledged as a whole, republished into the
+ * receiver queue if it is requeued or into the dead letter exchange if it is
+ * rejected.
+ */
+@Slf4j
+public class AmqpBatchMessageHandlerService {
+
+    private final AmqpMessageHandlerService messageHandlerService;
+    private final ControllerManagement controllerManagement;
+    private final RabbitTemplate rabbitTemplate;
+    private final ErrorHandler errorHandler;
+    private final String receiverQueue;
+    private final String deadLetterExchange;
+
+    /**
+     * Constructor.
+     *
+     * @param messageHandlerService
+     *            handles the messages that are not grouped
+     * @param controllerManagement
+     *            to add the action status updates
+     * @param rabbitTemplate
+     *            to republish failed messages
+     * @param errorHandler
+     *            decides how failed messages are handled
+     * @param amqpProperties
+     *            the DMF configuration
+     */
+    public AmqpBatchMessageHandlerService(final AmqpMessageHandlerService messageHandlerService,
+            final ControllerManagement controllerManagement, final RabbitTemplate rabbitTemplate,
+            final ErrorHandler errorHandler, final AmqpProperties amqpProperties) {
+        this.messageHandlerService = messageHandlerService;
+        this.controllerManagement = controllerManagement;
+        this.rabbitTemplate = rabbitTemplate;
+        this.errorHandler = errorHandler;
+        this.receiverQueue = amqpProperties.getReceiverQueue();
+        this.deadLetterExchange = amqpProperties.getDeadLetterExchange();
+    }
+
+    /**
+     * Handles a batch of incoming DMF messages.
+     *
+     * @param messages
+     *            the messages in the order of their delivery
+     */
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "batchListenerContainerFactory")
+    public void onMessages(final List<Message> messages) {
+        final Batch batch = new Batch(rabbitTemplate.getConnectionFactory().getVirtualHost());
+        messages.forEach(batch::add);
+        batch.complete();
+    }
+
+    private void handle(final Message message, final String virtualHost,
+            final Map<String, Map<String, Target>> updateCommands) {
+        final String type = header(message, MessageHeaderKey.TYPE);
+        final String tenant = header(message, MessageHeaderKey.TENANT);
+        try {
+            messageHandlerService.onMessage(message, type, tenant, virtualHost,
+                    target -> collect(updateCommands, tenant, target));
+        } catch (final RuntimeException e) {
+            handleFailure(message, e);
+        }
+    }
+
+    private void handleFailure(final Message message, final RuntimeException e) {
+        if (causeChainContainsReject(e)) {
+            reject(message, e);
+            return;
+        }
+
+        try {
+            errorHandler.handleError(new ListenerExecutionFailedException("Failed to handle message of batch", e,
+                    message));
+        } catch (final ImmediateAcknowledgeAmqpException redeliveryScheduled) {
+            return;
+        } catch (final AmqpRejectAndDontRequeueException rejected) {
+            reject(message, e);
+            return;
+        }
+
+        log.debug("Requeue failed message of batch", e);
+        rabbitTemplate.send("", receiverQueue, message);
+    }
+
+    private void reject(final Message message, final Throwable cause) {
+        log.warn("Message of batch rejected: {}", cause.getMessage());
+        rabbitTemplate.send(deadLetterExchange, receiverQueue, message);
+    }
+
+    private static boolean causeChainContainsReject(final Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause != null) {
+            if (cause instanceof AmqpRejectAndDontRequeueException) {
+                return true;
+            }
+            cause = cause.getCause();
+        }
+        return false;
+    }
+
+    private static void collect(final Map<String, Map<String, Target>> updateCommands, final String tenant,
+            final Target target) {
+        updateCommands.computeIfAbsent(tenant, key -> new LinkedHashMap<>()).put(target.getControllerId(), target);
+    }
+
+    private static String header(final Message message, final String key) {
+        final Object value = message.getMessageProperties().getHeader(key);
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * State of the handling of a batch.
+     */
+    private final class Batch {
+
+        private final String virtualHost;
+        private final Map<String, List<PendingStatus>> pendingStatus = new LinkedHashMap<>();
+        private final Map<String, Map<String, Target>> updateCommands = new LinkedHashMap<>();
+
+        private Batch(final String virtualHost) {
+            this.virtualHost = virtualHost;
+        }
+
+        private void add(final Message message) {
+            final String tenant = header(message, MessageHeaderKey.TENANT);
+            final Optional<ActionStatusCreate> actionStatus = tenant == null ? Optional.empty()
+                    : messageHandlerService.getBatchableActionStatus(message, header(message, MessageHeaderKey.TYPE));
+            if (actionStatus.isPresent()) {
+                pendingStatus.computeIfAbsent(tenant, key -> new ArrayList<>())
+                        .add(new PendingStatus(message, actionStatus.get()));
+                return;
+            }
+
+            // earlier status updates of the tenant first
+            if (tenant != null) {
+                addStatus(tenant, pendingStatus.remove(tenant));
+            }
+            handle(message, virtualHost, updateCommands);
+        }
+
+        private void complete() {
+            pendingStatus.forEach(this::addStatus);
+            pendingStatus.clear();
+
+            updateCommands.forEach((tenant, targets) -> targets.values().forEach(target -> {
+                try {
+                    messageHandlerService.sendUpdateCommandToTarget(tenant, target);
+                } catch (final RuntimeException e) {
+                    log.error("Failed to send the actions to target {} of tenant {}", target.getControllerId(),
+                            tenant, e);
+                }
+            }));
+        }
+
+        private void addStatus(final String tenant, final List<PendingStatus> statuses) {
+            if (statuses == null || statuses.isEmpty()) {
+                return;
+            }
+
+            final List<Action> updatedActions = new ArrayList<>();
+            try {
+                AmqpMessageHandlerService.runAsController(tenant, () -> updatedActions.addAll(controllerManagement
+                        .addUpdateActionStatuses(statuses.stream().map(PendingStatus::actionStatus).toList())));
+            } catch (final RuntimeException e) {
+                log.debug("Failed to add {} action status updates of tenant {} together, adding them one by one",
+                        statuses.size(), tenant, e);
+                statuses.forEach(status -> handle(status.message(), virtualHost, updateCommands));
+                return;
+            }
+
+            updatedActions.stream().filter(AmqpMessageHandlerService::shouldTargetProceed)
+                    .forEach(action -> collect(updateCommands, tenant, action.getTarget()));
+        }
+    }
+
+    private record PendingStatus(Message message, ActionStatusCreate actionStatus) {
+    }
+}
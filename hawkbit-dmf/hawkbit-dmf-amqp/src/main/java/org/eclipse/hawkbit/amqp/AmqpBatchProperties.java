@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the consumption of the DMF receiver queue in batches by
+ * the {@link AmqpBatchMessageHandlerService}.
+ */
+@Data
+@ConfigurationProperties("hawkbit.dmf.rabbitmq.batch")
+public class AmqpBatchProperties {
+
+    /**
+     * Consume the DMF messages in batches.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of messages of a batch. Must not exceed the prefetch
+     * count (<code>spring.rabbitmq.listener.simple.prefetch</code>).
+     */
+    private int size = 100;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} to wait for further messages
+     * before an incomplete batch is handled.
+     */
+    private long receiveTimeout = 100;
+}
@@ -24,6 +24,7 @@ import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
@@ -34,6 +35,7 @@ import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler
 import org.springframework.amqp.rabbit.listener.RabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -56,7 +58,8 @@ import java.util.Map;
  * integration.
  */
 @Slf4j
-@EnableConfigurationProperties({ AmqpProperties.class, AmqpDeadletterProperties.class })
+@EnableConfigurationProperties({ AmqpProperties.class, AmqpDeadletterProperties.class, AmqpRetryProperties.class,
+        AmqpBatchProperties.class, AmqpSenderProperties.class })
 @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq", name = "enabled", matchIfMissing = true)
 @PropertySource("classpath:/hawkbit-dmf-defaults.properties")
 public class AmqpConfiguration {
@@ -67,6 +70,9 @@ public class AmqpConfiguration {
     @Autowired
     private AmqpDeadletterProperties amqpDeadletterProperties;
 
+    @Autowired
+    private AmqpRetryProperties amqpRetryProperties;
+
     @Autowired
     private ConnectionFactory rabbitConnectionFactory;
 
@@ -84,6 +90,11 @@ public class AmqpConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ErrorHandler errorHandler(final List<AmqpErrorHandler> handlers) {
+        if (amqpRetryProperties.isEnabled()) {
+            return new DelegatingConditionalErrorHandler(handlers,
+                    new DelayedRedeliveryErrorHandler(new DelayedRequeueExceptionStrategy(0), rabbitTemplate(),
+                            amqpRetryProperties, amqpProperties.getReceiverQueue()));
+        }
         return new DelegatingConditionalErrorHandler(handlers, new ConditionalRejectingErrorHandler(
                 new DelayedRequeueExceptionStrategy(amqpProperties.getRequeueDelay())));
     }
@@ -166,6 +177,18 @@ public class AmqpConfiguration {
                 amqpDeadletterProperties.getDeadLetterExchangeArgs(amqpProperties.getDeadLetterExchange()));
     }
 
+    /**
+     * Create the delay queues for the redelivery of failed DMF messages into
+     * the {@link AmqpConfiguration#dmfReceiverQueue()}.
+     *
+     * @return the delay queues
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq.retry", name = "enabled", matchIfMissing = true)
+    public Declarables dmfReceiverDelayQueues() {
+        return new Declarables(amqpRetryProperties.createDelayQueues(amqpProperties.getReceiverQueue()));
+    }
+
     /**
      * Create the DMF API receiver queue for authentication requests called by 3rd
      * party artifact storages for download authorization by devices.
@@ -276,14 +299,48 @@ public class AmqpConfiguration {
                 entityFactory, systemSecurityContext, tenantConfigurationManagement, confirmationManagement);
     }
 
+    /**
+     * Create the AMQP batch handler service bean, which consumes the DMF
+     * messages instead of the {@link AmqpMessageHandlerService} if enabled.
+     *
+     * @param amqpMessageHandlerService
+     *            handles the messages which are not grouped
+     * @param controllerManagement
+     *            for target repo access
+     * @param errorHandler
+     *            for the failed messages
+     * @return batch handler service bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq.batch", name = "enabled", havingValue = "true")
+    public AmqpBatchMessageHandlerService amqpBatchMessageHandlerService(
+            final AmqpMessageHandlerService amqpMessageHandlerService,
+            final ControllerManagement controllerManagement, final ErrorHandler errorHandler) {
+        return new AmqpBatchMessageHandlerService(amqpMessageHandlerService, controllerManagement, rabbitTemplate(),
+                errorHandler, amqpProperties);
+    }
+
     /**
      * Create default amqp sender service bean.
      *
+     * @param senderProperties
+     *            the sender configuration
+     * @param unconfirmedMessageCallback
+     *            the optional callback for unconfirmed messages of the
+     *            pipelined sender
      * @return the default amqp sender service bean
      */
     @Bean
     @ConditionalOnMissingBean
-    public AmqpMessageSenderService amqpSenderServiceBean() {
+    public AmqpMessageSenderService amqpSenderServiceBean(final AmqpSenderProperties senderProperties,
+            final ObjectProvider<PipelinedAmqpMessageSenderService.UnconfirmedMessageCallback> unconfirmedMessageCallback) {
+        if (senderProperties.isPipelined()) {
+            final PipelinedAmqpMessageSenderService.UnconfirmedMessageCallback callback = unconfirmedMessageCallback
+                    .getIfUnique();
+            return callback == null ? new PipelinedAmqpMessageSenderService(rabbitTemplate(), senderProperties)
+                    : new PipelinedAmqpMessageSenderService(rabbitTemplate(), senderProperties, callback);
+        }
         return new DefaultAmqpMessageSenderService(rabbitTemplate());
     }
 
@@ -303,6 +360,30 @@ public class AmqpConfiguration {
         return factory;
     }
 
+    /**
+     * Create RabbitListenerContainerFactory bean for the consumption of the
+     * DMF messages in batches if no batchListenerContainerFactory bean found
+     *
+     * @param batchProperties
+     *            the batch configuration
+     * @return RabbitListenerContainerFactory bean
+     */
+    @Bean
+    @ConditionalOnMissingBean(name = "batchListenerContainerFactory")
+    @ConditionalOnProperty(prefix = "hawkbit.dmf.rabbitmq.batch", name = "enabled", havingValue = "true")
+    public RabbitListenerContainerFactory<SimpleMessageListenerContainer> batchListenerContainerFactory(
+            final SimpleRabbitListenerContainerFactoryConfigurer configurer, final ErrorHandler errorHandler,
+            final AmqpBatchProperties batchProperties) {
+        final ConfigurableRabbitListenerContainerFactory factory = new ConfigurableRabbitListenerContainerFactory(
+                amqpProperties.isMissingQueuesFatal(), amqpProperties.getDeclarationRetries(), errorHandler);
+        configurer.configure(factory, rabbitConnectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchProperties.getSize());
+        factory.setReceiveTimeout(batchProperties.getReceiveTimeout());
+        return factory;
+    }
+
     @Bean
     @ConditionalOnMissingBean(AmqpMessageDispatcherService.class)
     AmqpMessageDispatcherService amqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
@@ -313,7 +394,8 @@ public class AmqpConfiguration {
             final TenantConfigurationManagement tenantConfigurationManagement) {
         return new AmqpMessageDispatcherService(rabbitTemplate, amqpSenderService, artifactUrlHandler,
                 systemSecurityContext, systemManagement, targetManagement, serviceMatcher, distributionSetManagement,
-                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement);
+                softwareModuleManagement, deploymentManagement, tenantConfigurationManagement,
+                amqpProperties.getDispatcherThreads());
     }
 
     private static Map<String, Object> getTTLMaxArgsAuthenticationQueue() {
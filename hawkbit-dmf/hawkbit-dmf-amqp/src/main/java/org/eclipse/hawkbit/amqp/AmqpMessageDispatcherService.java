@@ -16,14 +16,24 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Locale;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.IterableUtils;
@@ -90,6 +100,8 @@ import org.springframework.util.CollectionUtils;
 @Slf4j
 public class AmqpMessageDispatcherService extends BaseAmqpService {
 
+    static final int DEFAULT_DISPATCHER_THREADS = 4;
+
     private static final int MAX_PROCESSING_SIZE = 1000;
 
     private final ArtifactUrlHandler artifactUrlHandler;
@@ -102,6 +114,7 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private final DeploymentManagement deploymentManagement;
     private final SoftwareModuleManagement softwareModuleManagement;
     private final TenantConfigurationManagement tenantConfigurationManagement;
+    private final ExecutorService dispatcherExecutor;
 
     /**
      * Constructor.
@@ -134,6 +147,45 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             final DistributionSetManagement distributionSetManagement,
             final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
             final TenantConfigurationManagement tenantConfigurationManagement) {
+        this(rabbitTemplate, amqpSenderService, artifactUrlHandler, systemSecurityContext, systemManagement,
+                targetManagement, serviceMatcher, distributionSetManagement, softwareModuleManagement,
+                deploymentManagement, tenantConfigurationManagement, DEFAULT_DISPATCHER_THREADS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            the rabbitTemplate
+     * @param amqpSenderService
+     *            to send AMQP message
+     * @param artifactUrlHandler
+     *            for generating download URLs
+     * @param systemSecurityContext
+     *            for execution with system permissions
+     * @param systemManagement
+     *            the systemManagement
+     * @param targetManagement
+     *            to access target information
+     * @param serviceMatcher
+     *            to check in cluster case if the message is from the same
+     *            cluster node
+     * @param distributionSetManagement
+     *            to retrieve modules
+     * @param tenantConfigurationManagement
+     *            to access tenant configuration
+     * @param dispatcherThreads
+     *            maximum number of threads loading the targets of events with
+     *            more than {@value #MAX_PROCESSING_SIZE} targets in parallel,
+     *            loaded in the event thread if not greater than 1
+     */
+    protected AmqpMessageDispatcherService(final RabbitTemplate rabbitTemplate,
+            final AmqpMessageSenderService amqpSenderService, final ArtifactUrlHandler artifactUrlHandler,
+            final SystemSecurityContext systemSecurityContext, final SystemManagement systemManagement,
+            final TargetManagement targetManagement, final ServiceMatcher serviceMatcher,
+            final DistributionSetManagement distributionSetManagement,
+            final SoftwareModuleManagement softwareModuleManagement, final DeploymentManagement deploymentManagement,
+            final TenantConfigurationManagement tenantConfigurationManagement, final int dispatcherThreads) {
         super(rabbitTemplate);
         this.artifactUrlHandler = artifactUrlHandler;
         this.amqpSenderService = amqpSenderService;
@@ -145,6 +197,16 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         this.softwareModuleManagement = softwareModuleManagement;
         this.deploymentManagement = deploymentManagement;
         this.tenantConfigurationManagement = tenantConfigurationManagement;
+        dispatcherExecutor = dispatcherThreads > 1 ? dispatcherExecutor(dispatcherThreads) : null;
+    }
+
+    /**
+     * Stops the threads loading the targets of big events.
+     */
+    public void shutdown() {
+        if (dispatcherExecutor != null) {
+            dispatcherExecutor.shutdown();
+        }
     }
 
     /**
@@ -186,16 +248,13 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     }
 
     private List<Target> getTargetsWithoutPendingCancellations(final Set<String> controllerIds) {
-        return partitionedParallelExecution(controllerIds, partition -> {
-            return targetManagement.getByControllerID(partition).stream().filter(target -> {
-                if (hasPendingCancellations(target.getId())) {
-                    log.debug("Target {} has pending cancellations. Will not send update message to it.",
-                            target.getControllerId());
-                    return false;
-                }
-                return true;
-            }).collect(Collectors.toList());
-        });
+        final List<Target> targets = partitionedParallelExecution(controllerIds,
+                targetManagement::getByControllerIDWithoutPendingCancellations);
+        if (log.isDebugEnabled() && targets.size() < controllerIds.size()) {
+            log.debug("{} of {} targets have pending cancellations or do not exist. Will not send update message to them.",
+                    controllerIds.size() - targets.size(), controllerIds.size());
+        }
+        return targets;
     }
 
     private void sendUpdateMessageToTargets(final Long dsId, final Map<String, ActionProperties> actionsPropsByTargetId,
@@ -219,11 +278,17 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
 
         if (!targets.isEmpty() && isBatchAssignmentsEnabled()) {
             sendBatchUpdateMessage(actionsPropsByTargetId, targets, softwareModules);
+        } else if (targets.size() == 1) {
+            final Target target = targets.get(0);
+            sendSingleUpdateMessage(actionsPropsByTargetId.get(target.getControllerId()), target, softwareModules);
         } else {
-            targets.forEach(target -> {
-                final ActionProperties actionProp = actionsPropsByTargetId.get(target.getControllerId());
-                sendSingleUpdateMessage(actionProp, target, softwareModules);
-            });
+            // fan-out is handed over to the sender grouped by exchange
+            targets.stream().filter(target -> IpUtil.isAmqpUri(target.getAddress()))
+                    .collect(Collectors.groupingBy(Target::getAddress, LinkedHashMap::new, Collectors.toList()))
+                    .forEach((address, addressTargets) -> amqpSenderService.sendMessages(addressTargets.stream()
+                            .map(target -> createSingleUpdateMessage(actionsPropsByTargetId.get(target.getControllerId()),
+                                    target, softwareModules))
+                            .toList(), address));
         }
     }
 
@@ -361,23 +426,57 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         });
     }
 
-    private static <T, R> List<R> partitionedParallelExecution(final Collection<T> controllerIds,
+    private <T, R> List<R> partitionedParallelExecution(final Collection<T> controllerIds,
             final Function<Collection<T>, List<R>> loadingFunction) {
         // Ensure not exceeding the max value of MAX_PROCESSING_SIZE
         if (controllerIds.size() > MAX_PROCESSING_SIZE) {
             // Split the provided collection
-            final Iterable<List<T>> partitions = ListUtils.partition(IterableUtils.toList(controllerIds), MAX_PROCESSING_SIZE);
+            final List<List<T>> partitions = ListUtils.partition(IterableUtils.toList(controllerIds), MAX_PROCESSING_SIZE);
+            if (dispatcherExecutor == null) {
+                return partitions.stream().flatMap(partition -> loadingFunction.apply(partition).stream())
+                        .collect(Collectors.toList());
+            }
             // Preserve the security context because it gets lost when executing
             // loading calls in new threads
             final SecurityContext context = SecurityContextHolder.getContext();
-            // Handling remote request in parallel streams
-            return StreamSupport.stream(partitions.spliterator(), true) //
-                    .flatMap(partition -> withSecurityContext(() -> loadingFunction.apply(partition), context).stream())
-                    .collect(Collectors.toList());
+            // Handling remote request in the dedicated executor, not in the
+            // common pool shared with all parallel streams of the JVM
+            final List<CompletableFuture<List<R>>> futures = partitions.stream()
+                    .map(partition -> CompletableFuture.supplyAsync(
+                            () -> withSecurityContext(() -> loadingFunction.apply(partition), context),
+                            dispatcherExecutor))
+                    .toList();
+            try {
+                return futures.stream().flatMap(future -> future.join().stream()).collect(Collectors.toList());
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
         }
         return loadingFunction.apply(controllerIds);
     }
 
+    private static ExecutorService dispatcherExecutor(final int threads) {
+        // bounded in threads and queued partitions, the event thread loads
+        // the partitions itself if the executor is saturated
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(threads), threadFactory("dmf-dispatcher-pool-%d"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ThreadFactory threadFactory(final String format) {
+        final AtomicLong count = new AtomicLong(0);
+        return runnable -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName(String.format(Locale.ROOT, format, count.getAndIncrement()));
+            return thread;
+        };
+    }
+
     private static <T> T withSecurityContext(final Supplier<T> callable, final SecurityContext securityContext) {
         final SecurityContext oldContext = SecurityContextHolder.getContext();
         try {
@@ -413,13 +512,18 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
     private void sendSingleUpdateMessage(final ActionProperties action, final Target target,
             final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
 
-        final String tenant = action.getTenant();
-
         final URI targetAddress = target.getAddress();
         if (!IpUtil.isAmqpUri(targetAddress)) {
             return;
         }
 
+        amqpSenderService.sendMessage(createSingleUpdateMessage(action, target, modules), targetAddress);
+    }
+
+    private Message createSingleUpdateMessage(final ActionProperties action, final Target target,
+            final Map<SoftwareModule, List<SoftwareModuleMetadata>> modules) {
+        final String tenant = action.getTenant();
+
         DmfActionRequest request;
         if (action.isWaitingConfirmation()) {
             // For the moment the confirmation request is the same as download and update request.
@@ -429,9 +533,8 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
             request = createDownloadAndUpdateRequest(target, action.getId(), modules);
         }
 
-        final Message message = getMessageConverter().toMessage(request,
+        return getMessageConverter().toMessage(request,
                 createConnectorMessagePropertiesEvent(tenant, target.getControllerId(), getEventTypeForTarget(action)));
-        amqpSenderService.sendMessage(message, targetAddress);
     }
 
     protected void sendPingReponseToDmfReceiver(final Message ping, final String tenant, final String virtualHost) {
@@ -467,10 +570,6 @@ public class AmqpMessageDispatcherService extends BaseAmqpService {
         return serviceMatcher == null || serviceMatcher.isFromSelf(event);
     }
 
-    private boolean hasPendingCancellations(final Long targetId) {
-        return deploymentManagement.hasPendingCancellations(targetId);
-    }
-
     protected void sendCancelMessageToTarget(final String tenant, final String controllerId, final Long actionId,
             final URI address) {
         if (!IpUtil.isAmqpUri(address)) {
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -54,6 +55,7 @@ import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.util.IpUtil;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.messaging.handler.annotation.Header;
@@ -88,6 +90,10 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
 
     private static final String EMPTY_MESSAGE_BODY = "\"\"";
 
+    private static final Set<DmfActionStatus> BATCHABLE_STATUS = Set.of(DmfActionStatus.DOWNLOAD,
+            DmfActionStatus.RETRIEVED, DmfActionStatus.RUNNING, DmfActionStatus.FINISHED, DmfActionStatus.ERROR,
+            DmfActionStatus.WARNING, DmfActionStatus.DOWNLOADED);
+
     /**
      * Constructor.
      * 
@@ -131,7 +137,9 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *            the contentType of the message
      * @return a message if <null> no message is send back to sender
      */
-    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory")
+    // not started if the messages are consumed in batches by the
+    // AmqpBatchMessageHandlerService
+    @RabbitListener(queues = "${hawkbit.dmf.rabbitmq.receiverQueue:dmf_receiver}", containerFactory = "listenerContainerFactory", autoStartup = "#{!${hawkbit.dmf.rabbitmq.batch.enabled:false}}")
     public Message onMessage(final Message message,
             @Header(name = MessageHeaderKey.TYPE, required = false) final String type,
             @Header(name = MessageHeaderKey.TENANT, required = false) final String tenant) {
@@ -152,6 +160,27 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      * @return the rpc message back to supplier.
      */
     public Message onMessage(final Message message, final String type, final String tenant, final String virtualHost) {
+        return onMessage(message, type, tenant, virtualHost, this::sendUpdateCommandToTarget);
+    }
+
+    /**
+     * Executed if a amqp message arrives.
+     *
+     * @param message
+     *            the message
+     * @param type
+     *            the type
+     * @param tenant
+     *            the tenant
+     * @param virtualHost
+     *            the virtual host
+     * @param updateCommandSender
+     *            sends the current actions to a target which has been
+     *            registered or has to proceed with its actions
+     * @return the rpc message back to supplier.
+     */
+    Message onMessage(final Message message, final String type, final String tenant, final String virtualHost,
+            final Consumer<Target> updateCommandSender) {
         if (StringUtils.isEmpty(type) || StringUtils.isEmpty(tenant)) {
             throw new AmqpRejectAndDontRequeueException("Invalid message! tenant and type header are mandatory!");
         }
@@ -162,7 +191,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             switch (messageType) {
             case THING_CREATED:
                 setTenantSecurityContext(tenant);
-                registerTarget(message, virtualHost);
+                updateCommandSender.accept(registerTarget(message, virtualHost));
                 break;
             case THING_REMOVED:
                 setTenantSecurityContext(tenant);
@@ -171,7 +200,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
             case EVENT:
                 checkContentTypeJson(message);
                 setTenantSecurityContext(tenant);
-                handleIncomingEvent(message);
+                handleIncomingEvent(message, updateCommandSender);
                 break;
             case PING:
                 if (isCorrelationIdNotEmpty(message)) {
@@ -191,6 +220,79 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
         return null;
     }
 
+    /**
+     * Converts an <code>UPDATE_ACTION_STATUS</code> event into the action
+     * status, if it can be added together with the status of other events by
+     * {@link ControllerManagement#addUpdateActionStatuses(List)}.
+     *
+     * @param message
+     *            the message
+     * @param type
+     *            the message type
+     * @return the action status, empty if the message is no update action
+     *         status event or the status has to be handled by the
+     *         confirmation or cancellation
+     */
+    Optional<ActionStatusCreate> getBatchableActionStatus(final Message message, final String type) {
+        final MessageProperties properties = message.getMessageProperties();
+        if (!MessageType.EVENT.name().equals(type)
+                || !EventTopic.UPDATE_ACTION_STATUS.name().equals(properties.getHeader(MessageHeaderKey.TOPIC))
+                || properties.getContentType() == null || !properties.getContentType().contains("json")) {
+            return Optional.empty();
+        }
+
+        final DmfActionUpdateStatus actionUpdateStatus;
+        try {
+            actionUpdateStatus = convertMessage(message, DmfActionUpdateStatus.class);
+        } catch (final RuntimeException e) {
+            // rejected by the handling of the single message
+            return Optional.empty();
+        }
+        if (actionUpdateStatus.getActionId() == null
+                || !BATCHABLE_STATUS.contains(actionUpdateStatus.getActionStatus())) {
+            return Optional.empty();
+        }
+        return Optional.of(createActionStatus(message, actionUpdateStatus, actionUpdateStatus.getActionId(),
+                mapStatus(message, actionUpdateStatus, null)));
+    }
+
+    /**
+     * Sends the current actions to a target.
+     *
+     * @param tenant
+     *            the tenant of the target
+     * @param target
+     *            the target
+     */
+    void sendUpdateCommandToTarget(final String tenant, final Target target) {
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(tenant);
+            sendUpdateCommandToTarget(target);
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
+    /**
+     * Runs the given handling in the security context of a DMF controller of
+     * the tenant.
+     *
+     * @param tenant
+     *            the tenant
+     * @param handling
+     *            the handling
+     */
+    static void runAsController(final String tenant, final Runnable handling) {
+        final SecurityContext oldContext = SecurityContextHolder.getContext();
+        try {
+            setTenantSecurityContext(tenant);
+            handling.run();
+        } finally {
+            SecurityContextHolder.setContext(oldContext);
+        }
+    }
+
     private static void setSecurityContext(final Authentication authentication) {
         final SecurityContextImpl securityContextImpl = new SecurityContextImpl();
         securityContextImpl.setAuthentication(authentication);
@@ -215,7 +317,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      * @param virtualHost
      *            the virtual host
      */
-    private void registerTarget(final Message message, final String virtualHost) {
+    private Target registerTarget(final Message message, final String virtualHost) {
         final String thingId = getStringHeaderKey(message, MessageHeaderKey.THING_ID, THING_ID_NULL);
         final String replyTo = message.getMessageProperties().getReplyTo();
 
@@ -246,7 +348,7 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
                 }
             }
             log.debug("Target {} reported online state.", thingId);
-            sendUpdateCommandToTarget(target);
+            return target;
         } catch (final EntityAlreadyExistsException e) {
             throw new AmqpRejectAndDontRequeueException(
                     "Tried to register previously registered target, message will be ignored!", e);
@@ -316,11 +418,13 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *
      * @param message
      *            the incoming event message.
+     * @param updateCommandSender
+     *            sends the current actions to a target
      */
-    private void handleIncomingEvent(final Message message) {
+    private void handleIncomingEvent(final Message message, final Consumer<Target> updateCommandSender) {
         switch (EventTopic.valueOf(getStringHeaderKey(message, MessageHeaderKey.TOPIC, "EventTopic is null"))) {
         case UPDATE_ACTION_STATUS:
-            updateActionStatus(message);
+            updateActionStatus(message, updateCommandSender);
             break;
         case UPDATE_ATTRIBUTES:
             updateAttributes(message);
@@ -369,46 +473,64 @@ public class AmqpMessageHandlerService extends BaseAmqpService {
      *
      * @param message
      *            the object form the ampq message
+     * @param updateCommandSender
+     *            sends the current actions to the target if it has to proceed
      */
-    private void updateActionStatus(final Message message) {
+    private void updateActionStatus(final Message message, final Consumer<Target> updateCommandSender) {
         final DmfActionUpdateStatus actionUpdateStatus = convertMessage(message, DmfActionUpdateStatus.class);
         final Action action = checkActionExist(message, actionUpdateStatus);
 
-        final List<String> messages = actionUpdateStatus.getMessage();
-
-        if (isCorrelationIdNotEmpty(message)) {
-            messages.add(RepositoryConstants.SERVER_MESSAGE_PREFIX + "DMF message correlation-id "
-                    + message.getMessageProperties().getCorrelationId());
-        }
-
         final Status status = mapStatus(message, actionUpdateStatus, action);
 
         final Action updatedAction;
 
         if (actionUpdateStatus.getActionStatus() == DmfActionStatus.CONFIRMED) {
             updatedAction = confirmationManagement.confirmAction(action.getId(),
-                    actionUpdateStatus.getCode().orElse(null), messages);
+                    actionUpdateStatus.getCode().orElse(null), getMessages(message, actionUpdateStatus));
         } else if (actionUpdateStatus.getActionStatus() == DmfActionStatus.DENIED) {
             updatedAction = confirmationManagement.denyAction(action.getId(), actionUpdateStatus.getCode().orElse(null),
-                    messages);
+                    getMessages(message, actionUpdateStatus));
         } else {
-            final ActionStatusCreate actionStatus = entityFactory.actionStatus().create(action.getId()).status(status)
-                    .messages(messages);
-            actionUpdateStatus.getCode().ifPresent(code -> {
-                actionStatus.code(code);
-                actionStatus.message("Device reported status code: " + code);
-            });
+            final ActionStatusCreate actionStatus = createActionStatus(message, actionUpdateStatus, action.getId(),
+                    status);
             updatedAction = ((Status.CANCELED == status) || (Status.CANCEL_REJECTED == status)) ?
                     controllerManagement.addCancelActionStatus(actionStatus)
                     : controllerManagement.addUpdateActionStatus(actionStatus);
         }
 
         if (shouldTargetProceed(updatedAction) || actionUpdateStatus.getActionStatus() == DmfActionStatus.CONFIRMED) {
-            sendUpdateCommandToTarget(action.getTarget());
+            updateCommandSender.accept(action.getTarget());
+        }
+    }
+
+    private ActionStatusCreate createActionStatus(final Message message,
+            final DmfActionUpdateStatus actionUpdateStatus, final long actionId, final Status status) {
+        final ActionStatusCreate actionStatus = entityFactory.actionStatus().create(actionId).status(status)
+                .messages(getMessages(message, actionUpdateStatus));
+        actionUpdateStatus.getCode().ifPresent(code -> {
+            actionStatus.code(code);
+            actionStatus.message("Device reported status code: " + code);
+        });
+        return actionStatus;
+    }
+
+    private static List<String> getMessages(final Message message, final DmfActionUpdateStatus actionUpdateStatus) {
+        final List<String> messages = actionUpdateStatus.getMessage();
+
+        if (isCorrelationIdNotEmpty(message)) {
+            messages.add(RepositoryConstants.SERVER_MESSAGE_PREFIX + "DMF message correlation-id "
+                    + message.getMessageProperties().getCorrelationId());
         }
+        return messages;
     }
 
-    private static boolean shouldTargetProceed(final Action action) {
+    /**
+     * @param action
+     *            the action after adding a status
+     * @return <code>true</code> if the target has to be informed about its
+     *         actions
+     */
+    static boolean shouldTargetProceed(final Action action) {
         return !action.isActive() || (action.hasMaintenanceSchedule() && action.isMaintenanceWindowAvailable());
     }
 
@@ -10,6 +10,7 @@
 package org.eclipse.hawkbit.amqp;
 
 import java.net.URI;
+import java.util.List;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -31,4 +32,17 @@ public interface AmqpMessageSenderService {
      *            the reply to uri
      */
     void sendMessage(@NotNull final Message message, @NotNull final URI replyTo);
+
+    /**
+     * Send the given messages to the given uri. Implementations may publish
+     * the messages to the same exchange together.
+     *
+     * @param messages
+     *            the amqp messages
+     * @param replyTo
+     *            the reply to uri
+     */
+    default void sendMessages(@NotNull final List<Message> messages, @NotNull final URI replyTo) {
+        messages.forEach(message -> sendMessage(message, replyTo));
+    }
 }
\ No newline at end of file
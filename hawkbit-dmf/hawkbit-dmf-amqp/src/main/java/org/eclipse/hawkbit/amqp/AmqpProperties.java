@@ -65,7 +65,16 @@ public class AmqpProperties {
     private int declarationRetries = DEFAULT_QUEUE_DECLARATION_RETRIES;
 
     /**
-     * Delay for messages that are requeued in milliseconds.
+     * Delay for messages that are requeued in milliseconds. Blocks the
+     * listener thread, only used if the delayed redelivery
+     * (<code>hawkbit.dmf.rabbitmq.retry.enabled</code>) is disabled.
      */
     private long requeueDelay = DEFAULT_REQUEUE_DELAY;
+
+    /**
+     * Maximum number of threads loading the targets of assignment and
+     * cancellation events for more than 1000 targets in parallel. The targets
+     * are loaded in the event thread if not greater than 1.
+     */
+    private int dispatcherThreads = AmqpMessageDispatcherService.DEFAULT_DISPATCHER_THREADS;
 }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import lombok.Data;
+import org.springframework.amqp.core.Queue;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the delayed redelivery of DMF messages which processing
+ * failed for a non fatal reason. The messages wait in delay queues, which
+ * dead letter them back into the receiver queue after their time to live. The
+ * delay grows exponentially with the number of attempts.
+ */
+@Data
+@ConfigurationProperties("hawkbit.dmf.rabbitmq.retry")
+public class AmqpRetryProperties {
+
+    /**
+     * Enable the delayed redelivery. If disabled failed messages are requeued
+     * after blocking the listener thread for
+     * <code>hawkbit.dmf.rabbitmq.requeue-delay</code>.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of redeliveries of a message. The message is rejected
+     * into the dead letter queue if exceeded.
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * Delay in {@link TimeUnit#MILLISECONDS} before the first redelivery.
+     */
+    private long initialDelay = TimeUnit.SECONDS.toMillis(1);
+
+    /**
+     * Factor the delay grows with every further redelivery.
+     */
+    private double multiplier = 2;
+
+    /**
+     * Maximum delay in {@link TimeUnit#MILLISECONDS} before a redelivery.
+     */
+    private long maxDelay = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Maximum time in {@link TimeUnit#MILLISECONDS} to wait for the publisher
+     * confirm of a message published into a delay queue. If not confirmed in
+     * time, the message is rejected into the dead letter queue.
+     */
+    private long confirmTimeout = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * @param attempt
+     *            the redelivery attempt, starting with 1
+     * @return delay in {@link TimeUnit#MILLISECONDS} before the attempt
+     */
+    public long getDelay(final int attempt) {
+        return (long) Math.min(maxDelay, initialDelay * Math.pow(multiplier, attempt - 1.0));
+    }
+
+    /**
+     * @param queueName
+     *            the queue the messages are redelivered to
+     * @param delay
+     *            the delay in {@link TimeUnit#MILLISECONDS}
+     * @return the name of the delay queue
+     */
+    public String getDelayQueueName(final String queueName, final long delay) {
+        return queueName + ".retry." + delay;
+    }
+
+    /**
+     * Create the delay queues, one per distinct delay.
+     *
+     * @param queueName
+     *            the queue the messages are redelivered to
+     * @return the delay queues
+     */
+    public List<Queue> createDelayQueues(final String queueName) {
+        return IntStream.rangeClosed(1, maxAttempts).mapToLong(this::getDelay).distinct()
+                .mapToObj(delay -> new Queue(getDelayQueueName(queueName, delay), true, false, false,
+                        getDelayArgs(queueName, delay)))
+                .toList();
+    }
+
+    private static Map<String, Object> getDelayArgs(final String queueName, final long delay) {
+        final Map<String, Object> args = new HashMap<>(3);
+        args.put("x-message-ttl", delay);
+        // back into the receiver queue by means of the default exchange
+        args.put("x-dead-letter-exchange", "");
+        args.put("x-dead-letter-routing-key", queueName);
+        return args;
+    }
+}
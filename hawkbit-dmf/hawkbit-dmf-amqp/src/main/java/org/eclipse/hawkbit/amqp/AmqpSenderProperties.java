@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the {@link PipelinedAmqpMessageSenderService}.
+ */
+@Data
+@ConfigurationProperties("hawkbit.dmf.rabbitmq.sender")
+public class AmqpSenderProperties {
+
+    /**
+     * Send the DMF messages with the {@link PipelinedAmqpMessageSenderService}
+     * instead of the {@link DefaultAmqpMessageSenderService}. Publisher
+     * confirms should be enabled
+     * (<code>spring.rabbitmq.publisher-confirm-type=correlated</code>),
+     * otherwise sent messages are not tracked until confirmed.
+     */
+    private boolean pipelined;
+
+    /**
+     * Maximum number of sent but not yet confirmed messages. Sending blocks if
+     * exceeded.
+     */
+    private int maxInFlight = 1_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} to wait for the confirmation of a
+     * sent message or for a free slot in the in flight window.
+     */
+    private long confirmTimeout = TimeUnit.SECONDS.toMillis(30);
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.listener.ConditionalRejectingErrorHandler;
+import org.springframework.amqp.rabbit.listener.FatalExceptionStrategy;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+/**
+ * Error handler that redelivers messages which processing failed for a non
+ * fatal reason by means of delay queues (see {@link AmqpRetryProperties})
+ * instead of requeueing them. The message is acknowledged as soon as the
+ * broker has confirmed its publishing into the delay queue, hence the listener
+ * thread continues with the next message without waiting for the delay. If the
+ * publishing fails or is not confirmed in time, the message is rejected into
+ * the dead letter queue, since requeueing would redeliver it immediately. The
+ * number of redeliveries is kept in the {@link #RETRY_COUNT_HEADER} and the
+ * message is rejected into the dead letter queue if the maximum number of
+ * attempts is exceeded.
+ */
+@Slf4j
+public class DelayedRedeliveryErrorHandler extends ConditionalRejectingErrorHandler {
+
+    /**
+     * Header with the number of redeliveries of a message.
+     */
+    public static final String RETRY_COUNT_HEADER = "hawkbit_retry_count";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final AmqpRetryProperties retryProperties;
+    private final String queueName;
+    private final boolean publisherConfirms;
+
+    /**
+     * Constructor.
+     *
+     * @param exceptionStrategy
+     *            decides if the failure is fatal, i.e. the message is rejected
+     *            without redelivery
+     * @param rabbitTemplate
+     *            to publish the messages into the delay queues
+     * @param retryProperties
+     *            the redelivery configuration
+     * @param queueName
+     *            the queue which messages are redelivered, messages of other
+     *            queues are requeued
+     */
+    public DelayedRedeliveryErrorHandler(final FatalExceptionStrategy exceptionStrategy,
+            final RabbitTemplate rabbitTemplate, final AmqpRetryProperties retryProperties, final String queueName) {
+        super(exceptionStrategy);
+        this.rabbitTemplate = rabbitTemplate;
+        this.retryProperties = retryProperties;
+        this.queueName = queueName;
+        this.publisherConfirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        if (!publisherConfirms) {
+            log.warn("Publisher confirms are not enabled, failed messages could be lost if their redelivery is not "
+                    + "published.");
+        }
+    }
+
+    @Override
+    public void handleError(final Throwable t) {
+        if (!(t instanceof ListenerExecutionFailedException executionFailed)
+                || executionFailed.getFailedMessage() == null || !queueName.equals(executionFailed.getFailedMessage().getMessageProperties().getConsumerQueue())
+                || getExceptionStrategy().isFatal(t)) {
+            super.handleError(t);
+            return;
+        }
+
+        final Message failed = executionFailed.getFailedMessage();
+        final int attempt = getRetryCount(failed) + 1;
+        if (attempt > retryProperties.getMaxAttempts()) {
+            throw new AmqpRejectAndDontRequeueException(
+                    "Message processing failed after " + retryProperties.getMaxAttempts() + " redeliveries", t);
+        }
+
+        final long delay = retryProperties.getDelay(attempt);
+        publish(MessageBuilder.fromClonedMessage(failed).setHeader(RETRY_COUNT_HEADER, attempt).build(),
+                retryProperties.getDelayQueueName(queueName, delay));
+
+        log.warn("Message processing failed, redelivery {} of {} in {}ms: {}", attempt,
+                retryProperties.getMaxAttempts(), delay, t.getCause() == null ? t : t.getCause().toString());
+        throw new ImmediateAcknowledgeAmqpException("Message redelivery scheduled in " + delay + "ms");
+    }
+
+    // the original message is acknowledged only if the redelivery is confirmed
+    private void publish(final Message message, final String delayQueue) {
+        final CorrelationData correlationData = new CorrelationData(UUID.randomUUID().toString());
+        try {
+            rabbitTemplate.send("", delayQueue, message, correlationData);
+            if (!publisherConfirms) {
+                return;
+            }
+            final CorrelationData.Confirm confirm = correlationData.getFuture()
+                    .get(retryProperties.getConfirmTimeout(), TimeUnit.MILLISECONDS);
+            if (!confirm.isAck()) {
+                throw new AmqpRejectAndDontRequeueException(
+                        "Redelivery of the message is not confirmed: " + confirm.getReason());
+            }
+        } catch (final AmqpRejectAndDontRequeueException e) {
+            throw e;
+        } catch (final AmqpException | ExecutionException | TimeoutException e) {
+            throw new AmqpRejectAndDontRequeueException("Failed to schedule the redelivery of the message", e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpRejectAndDontRequeueException("Interrupted while scheduling the redelivery of the message",
+                    e);
+        }
+    }
+
+    private static int getRetryCount(final Message message) {
+        final Object retryCount = message.getMessageProperties().getHeader(RETRY_COUNT_HEADER);
+        return retryCount instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -49,6 +49,10 @@ public class DelayedRequeueExceptionStrategy extends ConditionalRejectingErrorHa
             return true;
         }
 
+        if (delay <= 0) {
+            return false;
+        }
+
         log.error("Found a message that has to be requeued. Processing with delay of {}ms: ", delay, cause);
 
         try {
@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.util.IpUtil;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * {@link AmqpMessageSenderService} for high throughput. The messages are sent
+ * without waiting for the publisher confirms of the previously sent ones, the
+ * number of messages in flight, i.e. not yet confirmed, is bounded by
+ * {@link AmqpSenderProperties#getMaxInFlight()}. Messages to the same exchange
+ * are published on the same channel. Messages which are sent but not
+ * confirmed, i.e. rejected by the broker or not confirmed in time, are reported
+ * to the {@link UnconfirmedMessageCallback}. Sending a group of messages
+ * waits for free slots in the in flight window for at most
+ * {@link AmqpSenderProperties#getConfirmTimeout()}, then the rest of the group
+ * is not sent and a {@link InFlightWindowExhaustedException} with these
+ * messages is thrown.
+ */
+@Slf4j
+public class PipelinedAmqpMessageSenderService extends DefaultAmqpMessageSenderService {
+
+    private final Semaphore inFlight;
+    private final long confirmTimeout;
+    private final boolean publisherConfirms;
+    private final UnconfirmedMessageCallback unconfirmedMessageCallback;
+
+    /**
+     * Constructor.
+     *
+     * @param rabbitTemplate
+     *            the AMQP template
+     * @param senderProperties
+     *            the in flight window configuration
+     * @param unconfirmedMessageCallback
+     *            called for all messages which are not confirmed by the broker
+     */
+    public PipelinedAmqpMessageSenderService(final RabbitTemplate rabbitTemplate,
+            final AmqpSenderProperties senderProperties, final UnconfirmedMessageCallback unconfirmedMessageCallback) {
+        super(rabbitTemplate);
+        this.inFlight = new Semaphore(senderProperties.getMaxInFlight());
+        this.confirmTimeout = senderProperties.getConfirmTimeout();
+        this.publisherConfirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        this.unconfirmedMessageCallback = unconfirmedMessageCallback;
+        if (!publisherConfirms) {
+            log.warn("Publisher confirms are not enabled, sent messages are not tracked until confirmed.");
+        }
+    }
+
+    /**
+     * Constructor with a callback which logs the unconfirmed messages.
+     *
+     * @param rabbitTemplate
+     *            the AMQP template
+     * @param senderProperties
+     *            the in flight window configuration
+     */
+    public PipelinedAmqpMessageSenderService(final RabbitTemplate rabbitTemplate,
+            final AmqpSenderProperties senderProperties) {
+        this(rabbitTemplate, senderProperties, (message, exchange, cause) -> log.error(
+                "Message with correlationId {} to exchange {} is not confirmed: {}",
+                message.getMessageProperties().getCorrelationId(), exchange, cause));
+    }
+
+    @Override
+    public void sendMessage(final Message message, final URI sendTo) {
+        sendMessages(Collections.singletonList(message), sendTo);
+    }
+
+    /**
+     * Sends the messages to the exchange of the given {@link URI}.
+     *
+     * @throws InFlightWindowExhaustedException
+     *             if the in flight window stayed exhausted, i.e. not all
+     *             messages are sent
+     */
+    @Override
+    public void sendMessages(final List<Message> messages, final URI sendTo) {
+        if (!IpUtil.isAmqpUri(sendTo) || messages.isEmpty()) {
+            return;
+        }
+
+        final String exchange = sendTo.getPath().substring(1);
+        log.debug("Sending {} messages to exchange {}", messages.size(), exchange);
+        // all messages of the group are published on the same channel
+        // the whole group waits at most once for the in flight window
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeout);
+        final int sent = getRabbitTemplate().invoke(operations -> {
+            for (int i = 0; i < messages.size(); i++) {
+                if (!send(operations, exchange, messages.get(i), deadline)) {
+                    return i;
+                }
+            }
+            return messages.size();
+        });
+
+        if (sent < messages.size()) {
+            throw new InFlightWindowExhaustedException(exchange, confirmTimeout,
+                    messages.subList(sent, messages.size()));
+        }
+    }
+
+    /**
+     * @return the number of messages which can be sent before the in flight
+     *         window is exhausted
+     */
+    public int getAvailableInFlight() {
+        return inFlight.availablePermits();
+    }
+
+    private boolean send(final RabbitOperations operations, final String exchange, final Message message,
+            final long deadline) {
+        if (isCorrelationIdEmpty(message)) {
+            message.getMessageProperties().setCorrelationId(UUID.randomUUID().toString());
+        }
+        final String correlationId = message.getMessageProperties().getCorrelationId();
+
+        if (!acquireInFlight(deadline)) {
+            return false;
+        }
+
+        final CorrelationData correlationData = new CorrelationData(correlationId);
+        try {
+            operations.send(exchange, "", message, correlationData);
+        } catch (final RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        if (!publisherConfirms) {
+            inFlight.release();
+            return true;
+        }
+        correlationData.getFuture().orTimeout(confirmTimeout, TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    try {
+                        if (error != null) {
+                            unconfirmedMessageCallback.onUnconfirmed(message, exchange,
+                                    "Not confirmed within " + confirmTimeout + " ms");
+                        } else if (!confirm.isAck()) {
+                            unconfirmedMessageCallback.onUnconfirmed(message, exchange, confirm.getReason());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+        return true;
+    }
+
+    private boolean acquireInFlight(final long deadline) {
+        try {
+            return inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Thrown if messages are not sent because the in flight window stayed
+     * exhausted.
+     */
+    public static class InFlightWindowExhaustedException extends AmqpException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Message> unsentMessages;
+
+        InFlightWindowExhaustedException(final String exchange, final long timeout,
+                final List<Message> unsentMessages) {
+            super(unsentMessages.size() + " messages to exchange " + exchange
+                    + " are not sent, in flight window exhausted for " + timeout + " ms");
+            this.unsentMessages = List.copyOf(unsentMessages);
+        }
+
+        /**
+         * @return the messages which are not sent
+         */
+        public List<Message> getUnsentMessages() {
+            return unsentMessages;
+        }
+    }
+
+    /**
+     * Callback for messages which are not confirmed by the broker.
+     */
+    @FunctionalInterface
+    public interface UnconfirmedMessageCallback {
+
+        /**
+         * Called for a message which is not confirmed by the broker.
+         *
+         * @param message
+         *            the unconfirmed message
+         * @param exchange
+         *            the exchange the message was sent to
+         * @param cause
+         *            the reason why the message is not confirmed
+         */
+        void onUnconfirmed(Message message, String exchange, String cause);
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageHeaderKey;
+import org.eclipse.hawkbit.dmf.amqp.api.MessageType;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.builder.ActionStatusCreate;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.util.ErrorHandler;
+
+@Feature("Unit Tests - Amqp Batch Message Handler Service")
+@Story("Amqp Batch Message Handler Service")
+class AmqpBatchMessageHandlerServiceTest {
+
+    private static final String TENANT = "DEFAULT";
+    private static final String VIRTUAL_HOST = "vhost";
+
+    private final AmqpMessageHandlerService messageHandlerService = mock(AmqpMessageHandlerService.class);
+    private final ControllerManagement controllerManagement = mock(ControllerManagement.class);
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AmqpProperties amqpProperties = new AmqpProperties();
+    private AmqpBatchMessageHandlerService batchHandler;
+
+    @BeforeEach
+    void setup() {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.getVirtualHost()).thenReturn(VIRTUAL_HOST);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        batchHandler = new AmqpBatchMessageHandlerService(messageHandlerService, controllerManagement,
+                rabbitTemplate, errorHandler, amqpProperties);
+    }
+
+    @Test
+    @Description("Verifies that status updates are added together, but not across other messages of the tenant, "
+            + "and that the actions are sent once per target after the batch.")
+    void statusUpdatesAreAddedTogetherInOrder() {
+        final Message status1 = statusMessage(TENANT, 1);
+        final Message status2 = statusMessage(TENANT, 2);
+        final Message register = message(TENANT, MessageType.THING_CREATED);
+        final Message status3 = statusMessage(TENANT, 3);
+        final Action finished = finishedAction("target");
+        when(controllerManagement.addUpdateActionStatuses(anyList())).thenReturn(List.of(finished, finished));
+
+        batchHandler.onMessages(List.of(status1, status2, register, status3));
+
+        final InOrder inOrder = inOrder(controllerManagement, messageHandlerService);
+        inOrder.verify(controllerManagement).addUpdateActionStatuses(List.of(actionStatus(status1),
+                actionStatus(status2)));
+        inOrder.verify(messageHandlerService).onMessage(eq(register), eq(MessageType.THING_CREATED.name()),
+                eq(TENANT), eq(VIRTUAL_HOST), any());
+        inOrder.verify(controllerManagement).addUpdateActionStatuses(List.of(actionStatus(status3)));
+        inOrder.verify(messageHandlerService).sendUpdateCommandToTarget(TENANT, finished.getTarget());
+        verify(messageHandlerService).sendUpdateCommandToTarget(any(), any());
+    }
+
+    @Test
+    @Description("Verifies that the status updates are handled one by one if they fail together and that a "
+            + "rejected message is published into the dead letter exchange.")
+    void failedStatusUpdatesAreHandledOneByOne() {
+        final Message status1 = statusMessage(TENANT, 1);
+        final Message status2 = statusMessage(TENANT, 2);
+        when(controllerManagement.addUpdateActionStatuses(anyList()))
+                .thenThrow(new EntityNotFoundException(Action.class, 2L));
+        when(messageHandlerService.onMessage(eq(status2), any(), any(), any(), any()))
+                .thenThrow(new AmqpRejectAndDontRequeueException("Action does not exist"));
+
+        batchHandler.onMessages(List.of(status1, status2));
+
+        verify(messageHandlerService).onMessage(eq(status1), eq(MessageType.EVENT.name()), eq(TENANT),
+                eq(VIRTUAL_HOST), any());
+        verify(rabbitTemplate).send(amqpProperties.getDeadLetterExchange(), amqpProperties.getReceiverQueue(),
+                status2);
+        verify(rabbitTemplate, never()).send(eq(""), any(), eq(status1));
+    }
+
+    @Test
+    @Description("Verifies that a message that failed for a non fatal reason is republished into the receiver queue.")
+    void requeuedMessageIsRepublished() {
+        final Message register = message(TENANT, MessageType.THING_CREATED);
+        when(messageHandlerService.onMessage(eq(register), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("database not available"));
+
+        batchHandler.onMessages(List.of(register));
+
+        verify(errorHandler).handleError(any());
+        verify(rabbitTemplate, times(1)).send("", amqpProperties.getReceiverQueue(), register);
+    }
+
+    private Message statusMessage(final String tenant, final long actionId) {
+        final Message message = message(tenant, MessageType.EVENT);
+        message.getMessageProperties().setMessageId(String.valueOf(actionId));
+        final ActionStatusCreate actionStatus = mock(ActionStatusCreate.class, "status" + actionId);
+        when(messageHandlerService.getBatchableActionStatus(message, MessageType.EVENT.name()))
+                .thenReturn(Optional.of(actionStatus));
+        return message;
+    }
+
+    private ActionStatusCreate actionStatus(final Message message) {
+        return messageHandlerService.getBatchableActionStatus(message, MessageType.EVENT.name()).get();
+    }
+
+    private static Message message(final String tenant, final MessageType type) {
+        final MessageProperties properties = new MessageProperties();
+        properties.setHeader(MessageHeaderKey.TENANT, tenant);
+        properties.setHeader(MessageHeaderKey.TYPE, type.name());
+        return new Message(new byte[0], properties);
+    }
+
+    private static Action finishedAction(final String controllerId) {
+        final Target target = mock(Target.class);
+        when(target.getControllerId()).thenReturn(controllerId);
+        final Action action = mock(Action.class);
+        when(action.isActive()).thenReturn(false);
+        when(action.getTarget()).thenReturn(target);
+        return action;
+    }
+}
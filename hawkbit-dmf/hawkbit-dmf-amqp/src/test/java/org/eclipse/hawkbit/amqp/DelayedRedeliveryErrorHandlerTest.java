@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateAcknowledgeAmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.dao.TransientDataAccessResourceException;
+
+@Feature("Unit Tests - Delayed Redelivery Error Handler")
+@Story("Delayed Redelivery Error Handler")
+class DelayedRedeliveryErrorHandlerTest {
+
+    private static final String QUEUE = "dmf_receiver";
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final AmqpRetryProperties retryProperties = new AmqpRetryProperties();
+    private DelayedRedeliveryErrorHandler errorHandler;
+
+    @BeforeEach
+    void setup() {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        confirmWith(new CorrelationData.Confirm(true, null));
+        errorHandler = new DelayedRedeliveryErrorHandler(new DelayedRequeueExceptionStrategy(0), rabbitTemplate,
+                retryProperties, QUEUE);
+    }
+
+    @Test
+    @Description("Verifies that a failed message is published into the delay queue of its attempt and acknowledged.")
+    void failedMessageIsRedeliveredWithBackoff() {
+        final Message message = message(null);
+
+        assertThatExceptionOfType(ImmediateAcknowledgeAmqpException.class)
+                .isThrownBy(() -> errorHandler.handleError(
+                        failed(message, new TransientDataAccessResourceException("db"))));
+        final Message redelivered = verifySent(QUEUE + ".retry.1000");
+        assertThat((Integer) redelivered.getMessageProperties()
+                .getHeader(DelayedRedeliveryErrorHandler.RETRY_COUNT_HEADER)).isEqualTo(1);
+        assertThat(redelivered.getBody()).isEqualTo(message.getBody());
+        assertThat((String) redelivered.getMessageProperties().getHeader("tenant")).isEqualTo("DEFAULT");
+
+        assertThatExceptionOfType(ImmediateAcknowledgeAmqpException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed(message(3), new IllegalStateException())));
+        verifySent(QUEUE + ".retry.8000");
+    }
+
+    @Test
+    @Description("Verifies that a message is rejected if the maximum number of redeliveries is exceeded.")
+    void messageIsRejectedAfterMaxAttempts() {
+        final ListenerExecutionFailedException failed = failed(message(retryProperties.getMaxAttempts()),
+                new IllegalStateException());
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed));
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any());
+    }
+
+    @Test
+    @Description("Verifies that a message is rejected instead of requeued if its redelivery is not published or not "
+            + "confirmed.")
+    void messageIsRejectedIfRedeliveryFails() {
+        confirmWith(new CorrelationData.Confirm(false, "nack"));
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed(message(null), new IllegalStateException())));
+
+        doThrow(new AmqpConnectException(new IOException("broker down"))).when(rabbitTemplate)
+                .send(anyString(), anyString(), any(Message.class), any());
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed(message(null), new IllegalStateException())));
+
+        // never confirmed
+        doNothing().when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any());
+        retryProperties.setConfirmTimeout(10);
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed(message(null), new IllegalStateException())));
+    }
+
+    @Test
+    @Description("Verifies that messages failed for a fatal reason are rejected without redelivery.")
+    void fatalFailureIsNotRedelivered() {
+        final ListenerExecutionFailedException failed = failed(message(null),
+                new EntityNotFoundException(Target.class, 1L));
+        assertThatExceptionOfType(AmqpRejectAndDontRequeueException.class)
+                .isThrownBy(() -> errorHandler.handleError(failed));
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class), any());
+    }
+
+    @Test
+    @Description("Verifies that the delay queues dead letter the messages back into the receiver queue.")
+    void delayQueuesForDistinctDelays() {
+        retryProperties.setMaxAttempts(5);
+        retryProperties.setMaxDelay(5_000);
+
+        assertThat(retryProperties.createDelayQueues(QUEUE)).extracting(Queue::getName).containsExactly(
+                QUEUE + ".retry.1000", QUEUE + ".retry.2000", QUEUE + ".retry.4000", QUEUE + ".retry.5000");
+        final Queue queue = retryProperties.createDelayQueues(QUEUE).get(0);
+        assertThat(queue.getArguments()).containsEntry("x-message-ttl", 1000L)
+                .containsEntry("x-dead-letter-exchange", "").containsEntry("x-dead-letter-routing-key", QUEUE);
+    }
+
+    private Message verifySent(final String delayQueue) {
+        final ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq(delayQueue), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    private void confirmWith(final CorrelationData.Confirm confirm) {
+        doAnswer(invocation -> {
+            invocation.getArgument(3, CorrelationData.class).getFuture().complete(confirm);
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any());
+    }
+
+    private static Message message(final Integer retryCount) {
+        final MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        properties.setHeader("tenant", "DEFAULT");
+        if (retryCount != null) {
+            properties.setHeader(DelayedRedeliveryErrorHandler.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private static ListenerExecutionFailedException failed(final Message message, final Throwable cause) {
+        return new ListenerExecutionFailedException("Listener failed", cause, message);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.amqp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.amqp.PipelinedAmqpMessageSenderService.InFlightWindowExhaustedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitOperations.OperationsCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+@Feature("Unit Tests - Pipelined AMQP Message Sender")
+@Story("Pipelined AMQP Message Sender")
+class PipelinedAmqpMessageSenderServiceTest {
+
+    private static final URI ADDRESS = URI.create("amqp://localhost/dmf.exchange");
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final RabbitOperations operations = mock(RabbitOperations.class);
+    private final AmqpSenderProperties senderProperties = new AmqpSenderProperties();
+    private final List<String> unconfirmed = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(rabbitTemplate.invoke(any(OperationsCallback.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0, OperationsCallback.class).doInRabbit(operations));
+        senderProperties.setMaxInFlight(2);
+        senderProperties.setConfirmTimeout(10_000);
+    }
+
+    @Test
+    @Description("Verifies that messages to the same exchange are published on one channel and the in flight "
+            + "window is released on confirmation.")
+    void messagesArePublishedTogetherAndConfirmed() {
+        final PipelinedAmqpMessageSenderService sender = sender();
+
+        sender.sendMessages(List.of(message(), message()), ADDRESS);
+
+        verify(rabbitTemplate).invoke(any());
+        final List<CorrelationData> correlations = verifySent(2);
+        assertThat(sender.getAvailableInFlight()).isZero();
+        correlations.forEach(correlation -> correlation.getFuture().complete(new CorrelationData.Confirm(true, null)));
+        assertThat(sender.getAvailableInFlight()).isEqualTo(2);
+        assertThat(unconfirmed).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that messages rejected by the broker or not confirmed in time are reported.")
+    void unconfirmedMessagesAreReported() {
+        final PipelinedAmqpMessageSenderService sender = sender();
+
+        sender.sendMessages(List.of(message(), message()), ADDRESS);
+        final List<CorrelationData> correlations = verifySent(2);
+        correlations.get(0).getFuture().complete(new CorrelationData.Confirm(false, "rejected"));
+        assertThat(unconfirmed).containsExactly("rejected");
+        assertThat(sender.getAvailableInFlight()).isEqualTo(1);
+
+        // the second message is never confirmed
+        senderProperties.setConfirmTimeout(100);
+        final PipelinedAmqpMessageSenderService timingOutSender = sender();
+        timingOutSender.sendMessage(message(), ADDRESS);
+        await().atMost(Duration.ofSeconds(10)).until(() -> timingOutSender.getAvailableInFlight() == 2);
+        assertThat(unconfirmed).hasSize(2).last().asString().startsWith("Not confirmed");
+    }
+
+    @Test
+    @Description("Verifies that sending blocks while the in flight window is exhausted.")
+    void sendingBlocksWhileInFlightWindowIsExhausted() throws InterruptedException {
+        final PipelinedAmqpMessageSenderService sender = sender();
+        sender.sendMessages(List.of(message(), message()), ADDRESS);
+        final CorrelationData first = verifySent(2).get(0);
+
+        final Thread blocked = new Thread(() -> sender.sendMessage(message(), ADDRESS));
+        blocked.start();
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> blocked.getState() == Thread.State.TIMED_WAITING);
+        verifySent(2);
+
+        first.getFuture().complete(new CorrelationData.Confirm(true, null));
+        blocked.join(10_000);
+        verifySent(3);
+        assertThat(unconfirmed).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that a group of messages waits at most once for the in flight window and that the "
+            + "messages which are not sent are surfaced.")
+    void unsentMessagesAreThrownIfInFlightWindowStaysExhausted() {
+        senderProperties.setConfirmTimeout(1_000);
+        final PipelinedAmqpMessageSenderService sender = sender();
+        sender.sendMessages(List.of(message(), message()), ADDRESS);
+        final List<Message> messages = List.of(message(), message(), message(), message(), message());
+
+        final long start = System.nanoTime();
+        final InFlightWindowExhaustedException exception = catchThrowableOfType(
+                () -> sender.sendMessages(messages, ADDRESS), InFlightWindowExhaustedException.class);
+        // not waited again for each of the unsent messages
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2_500));
+
+        assertThat(exception).isNotNull();
+        final List<Message> unsent = exception.getUnsentMessages();
+        assertThat(unsent).isNotEmpty().isEqualTo(messages.subList(messages.size() - unsent.size(), messages.size()));
+        verifySent(2 + messages.size() - unsent.size());
+    }
+
+    private PipelinedAmqpMessageSenderService sender() {
+        return new PipelinedAmqpMessageSenderService(rabbitTemplate, senderProperties,
+                (message, exchange, cause) -> unconfirmed.add(cause));
+    }
+
+    private List<CorrelationData> verifySent(final int count) {
+        final ArgumentCaptor<CorrelationData> correlations = ArgumentCaptor.forClass(CorrelationData.class);
+        verify(operations, times(count)).send(eq("dmf.exchange"), eq(""), any(Message.class), correlations.capture());
+        return correlations.getAllValues();
+    }
+
+    private static Message message() {
+        return new Message("{}".getBytes(), new MessageProperties());
+    }
+}
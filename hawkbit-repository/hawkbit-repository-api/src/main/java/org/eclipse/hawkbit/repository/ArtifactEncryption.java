@@ -9,11 +9,13 @@
  */
 package org.eclipse.hawkbit.repository;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.hawkbit.repository.exception.ArtifactEncryptionFailedException;
+import org.eclipse.hawkbit.repository.exception.ArtifactEncryptionFailedException.EncryptionOperation;
 
 /**
  * Interface definition for artifact encryption.
@@ -63,10 +65,54 @@ public interface ArtifactEncryption {
      */
     InputStream decryptStream(final Map<String, String> secrets, final InputStream stream);
 
+    /**
+     * Decrypts encrypted artifact stream based on provided secrets starting at
+     * the given offset of the decrypted artifact, e.g. for range requests.
+     * Encryption formats that consist of independently decryptable blocks
+     * should override this to skip the encrypted blocks before the offset
+     * instead of decrypting them. The default implementation decrypts and
+     * discards the bytes before the offset.
+     *
+     * @param secrets
+     *            secrets key/value pairs to be used for decryption
+     * @param stream
+     *            artifact stream to decrypt, positioned at the beginning of
+     *            the encrypted artifact
+     * @param offset
+     *            of the first decrypted byte to return
+     * @return decrypted input stream starting at offset
+     * @throws ArtifactEncryptionFailedException
+     *             thrown in case of an error while decrypting the provided stream
+     */
+    default InputStream decryptStream(final Map<String, String> secrets, final InputStream stream, final long offset) {
+        final InputStream decrypted = decryptStream(secrets, stream);
+        try {
+            decrypted.skipNBytes(offset);
+        } catch (final IOException e) {
+            throw new ArtifactEncryptionFailedException(EncryptionOperation.DECRYPT,
+                    "Failed to skip to offset " + offset + " of the decrypted stream", e);
+        }
+        return decrypted;
+    }
+
     /**
      * Size of the underlying encryption algorithm overhead in bytes
      * 
      * @return encryption overhead in byte
      */
     int encryptionSizeOverhead();
+
+    /**
+     * Calculates the size of the decrypted artifact. The default
+     * implementation subtracts the constant {@link #encryptionSizeOverhead()},
+     * formats with an overhead depending on the size (e.g. per block) have to
+     * override this.
+     *
+     * @param encryptedSize
+     *            size of the encrypted artifact in bytes
+     * @return size of the decrypted artifact in bytes
+     */
+    default long decryptedSize(final long encryptedSize) {
+        return encryptedSize - encryptionSizeOverhead();
+    }
 }
@@ -117,6 +117,40 @@ public final class ArtifactEncryptionService {
         return artifactEncryption.decryptStream(getSoftwareModuleEncryptionSecrets(smId), encryptedArtifactStream);
     }
 
+    /**
+     * Decrypts artifact stream using the keys retrieved from secrets store by
+     * software module id reference, starting at the given offset of the
+     * decrypted artifact.
+     *
+     * @param smId
+     *            software module id
+     * @param encryptedArtifactStream
+     *            artifact stream to decrypt
+     * @param offset
+     *            of the first decrypted byte to return
+     * @return decrypted input stream starting at offset
+     */
+    public InputStream decryptSoftwareModuleArtifact(final long smId, final InputStream encryptedArtifactStream,
+            final long offset) {
+        if (!isEncryptionSupported()) {
+            throw new ArtifactEncryptionUnsupportedException("Artifact decryption is not supported.");
+        }
+
+        return artifactEncryption.decryptStream(getSoftwareModuleEncryptionSecrets(smId), encryptedArtifactStream,
+                offset);
+    }
+
+    /**
+     * Size of the decrypted artifact in bytes
+     *
+     * @param encryptedSize
+     *            size of the encrypted artifact in bytes
+     * @return decrypted size in byte
+     */
+    public long decryptedSize(final long encryptedSize) {
+        return artifactEncryption.decryptedSize(encryptedSize);
+    }
+
     /**
      * Size of the underlying encryption algorithm overhead in bytes
      *
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.hawkbit.repository.exception.ArtifactEncryptionFailedException;
+import org.eclipse.hawkbit.repository.exception.ArtifactEncryptionFailedException.EncryptionOperation;
+
+/**
+ * {@link ArtifactEncryption} with AES-256-GCM in independently decryptable
+ * blocks of {@link #BLOCK_SIZE} bytes, so that a range of the artifact is
+ * decrypted without decrypting the blocks before it.
+ * <p/>
+ * The encrypted artifact starts with a header of {@value #HEADER_SIZE} bytes:
+ * the format magic (4 bytes), the block size (4 bytes) and a random nonce
+ * prefix of the artifact (8 bytes). It is followed by the encrypted blocks,
+ * each with an authentication tag of {@value #TAG_SIZE} bytes. The nonce of a
+ * block consists of the nonce prefix and the block index, the block marks
+ * itself as last block of the artifact in its associated data. Hence
+ * reordered, exchanged or truncated blocks are detected on decryption.
+ */
+public class ChunkedAesGcmArtifactEncryption implements ArtifactEncryption {
+
+    /**
+     * Secret key of the (Base64 encoded) AES key.
+     */
+    public static final String KEY_SECRET = "chunked-aes-gcm-key";
+
+    /**
+     * Size of the plain blocks in bytes.
+     */
+    public static final int BLOCK_SIZE = 0x10000; // 64k
+
+    static final int HEADER_SIZE = 16;
+    static final int TAG_SIZE = 16;
+
+    private static final byte[] MAGIC = { 'H', 'B', 'C', 1 };
+    private static final int NONCE_PREFIX_SIZE = 8;
+    private static final int KEY_SIZE = 32;
+    private static final int ENCRYPTED_BLOCK_SIZE = BLOCK_SIZE + TAG_SIZE;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Override
+    public Set<String> requiredSecretKeys() {
+        return Set.of(KEY_SECRET);
+    }
+
+    @Override
+    public Map<String, String> generateSecrets() {
+        final byte[] key = new byte[KEY_SIZE];
+        random.nextBytes(key);
+        final Map<String, String> secrets = new HashMap<>();
+        secrets.put(KEY_SECRET, Base64.getEncoder().encodeToString(key));
+        return secrets;
+    }
+
+    @Override
+    public InputStream encryptStream(final Map<String, String> secrets, final InputStream stream) {
+        final byte[] noncePrefix = new byte[NONCE_PREFIX_SIZE];
+        random.nextBytes(noncePrefix);
+        return new EncryptingInputStream(key(secrets, EncryptionOperation.ENCRYPT), noncePrefix, stream);
+    }
+
+    @Override
+    public InputStream decryptStream(final Map<String, String> secrets, final InputStream stream) {
+        return decryptStream(secrets, stream, 0);
+    }
+
+    @Override
+    public InputStream decryptStream(final Map<String, String> secrets, final InputStream stream, final long offset) {
+        final SecretKeySpec key = key(secrets, EncryptionOperation.DECRYPT);
+        try {
+            final byte[] header = stream.readNBytes(HEADER_SIZE);
+            final ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+            if (header.length < HEADER_SIZE || !Arrays.equals(header, 0, MAGIC.length, MAGIC, 0, MAGIC.length)
+                    || headerBuffer.getInt(MAGIC.length) != BLOCK_SIZE) {
+                throw new ArtifactEncryptionFailedException(EncryptionOperation.DECRYPT,
+                        "Artifact is not encrypted in the chunked AES-GCM format");
+            }
+
+            final long firstBlock = offset / BLOCK_SIZE;
+            // the blocks before the offset are skipped, not decrypted
+            stream.skipNBytes(firstBlock * ENCRYPTED_BLOCK_SIZE);
+            return new DecryptingInputStream(key, Arrays.copyOfRange(header, HEADER_SIZE - NONCE_PREFIX_SIZE,
+                    HEADER_SIZE), stream, firstBlock, (int) (offset % BLOCK_SIZE));
+        } catch (final IOException e) {
+            throw new ArtifactEncryptionFailedException(EncryptionOperation.DECRYPT,
+                    "Failed to position the encrypted artifact at offset " + offset, e);
+        }
+    }
+
+    /**
+     * @return the minimal overhead, i.e. of an artifact with a single block.
+     *         Use {@link #decryptedSize(long)} to calculate the decrypted size.
+     */
+    @Override
+    public int encryptionSizeOverhead() {
+        return HEADER_SIZE + TAG_SIZE;
+    }
+
+    @Override
+    public long decryptedSize(final long encryptedSize) {
+        final long blocksSize = encryptedSize - HEADER_SIZE;
+        final long blocks = Math.max(1, (blocksSize + ENCRYPTED_BLOCK_SIZE - 1) / ENCRYPTED_BLOCK_SIZE);
+        return blocksSize - blocks * TAG_SIZE;
+    }
+
+    private static SecretKeySpec key(final Map<String, String> secrets, final EncryptionOperation operation) {
+        final String key = secrets.get(KEY_SECRET);
+        if (key == null) {
+            throw new ArtifactEncryptionFailedException(operation, "Secret " + KEY_SECRET + " is missing");
+        }
+        return new SecretKeySpec(Base64.getDecoder().decode(key), "AES");
+    }
+
+    private static byte[] crypt(final int mode, final SecretKeySpec key, final byte[] noncePrefix, final long block,
+            final boolean last, final byte[] input) throws GeneralSecurityException {
+        final Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        final byte[] nonce = ByteBuffer.allocate(NONCE_PREFIX_SIZE + Integer.BYTES).put(noncePrefix)
+                .putInt(Math.toIntExact(block)).array();
+        cipher.init(mode, key, new GCMParameterSpec(TAG_SIZE * Byte.SIZE, nonce));
+        cipher.updateAAD(new byte[] { (byte) (last ? 1 : 0) });
+        return cipher.doFinal(input);
+    }
+
+    private static boolean isEnd(final PushbackInputStream stream) throws IOException {
+        final int next = stream.read();
+        if (next == -1) {
+            return true;
+        }
+        stream.unread(next);
+        return false;
+    }
+
+    /**
+     * Stream that serves the blocks one after another.
+     */
+    private abstract static class BlockInputStream extends InputStream {
+
+        protected final PushbackInputStream in;
+        private byte[] block = new byte[0];
+        private int position;
+
+        private BlockInputStream(final InputStream in) {
+            this.in = new PushbackInputStream(in);
+        }
+
+        /**
+         * @return the next block, <code>null</code> if there are no more
+         *         blocks
+         */
+        protected abstract byte[] nextBlock() throws IOException;
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (position == block.length) {
+                final byte[] next = nextBlock();
+                if (next == null) {
+                    return -1;
+                }
+                block = next;
+                position = 0;
+            }
+            final int read = Math.min(len, block.length - position);
+            System.arraycopy(block, position, b, off, read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class EncryptingInputStream extends BlockInputStream {
+
+        private final SecretKeySpec key;
+        private final byte[] noncePrefix;
+        private long blockIndex = -1;
+        private boolean done;
+
+        private EncryptingInputStream(final SecretKeySpec key, final byte[] noncePrefix, final InputStream in) {
+            super(in);
+            this.key = key;
+            this.noncePrefix = noncePrefix;
+        }
+
+        @Override
+        protected byte[] nextBlock() throws IOException {
+            if (done) {
+                return null;
+            }
+            if (blockIndex < 0) {
+                blockIndex = 0;
+                return ByteBuffer.allocate(HEADER_SIZE).put(MAGIC).putInt(BLOCK_SIZE).put(noncePrefix).array();
+            }
+
+            final byte[] plain = in.readNBytes(BLOCK_SIZE);
+            done = plain.length < BLOCK_SIZE || isEnd(in);
+            try {
+                return crypt(Cipher.ENCRYPT_MODE, key, noncePrefix, blockIndex++, done, plain);
+            } catch (final GeneralSecurityException e) {
+                throw new ArtifactEncryptionFailedException(EncryptionOperation.ENCRYPT,
+                        "Failed to encrypt artifact block " + (blockIndex - 1), e);
+            }
+        }
+    }
+
+    private static final class DecryptingInputStream extends BlockInputStream {
+
+        private final SecretKeySpec key;
+        private final byte[] noncePrefix;
+        private final long firstBlock;
+        private long blockIndex;
+        private int skipInFirstBlock;
+        private boolean done;
+
+        private DecryptingInputStream(final SecretKeySpec key, final byte[] noncePrefix, final InputStream in,
+                final long firstBlock, final int skipInFirstBlock) {
+            super(in);
+            this.key = key;
+            this.noncePrefix = noncePrefix;
+            this.firstBlock = firstBlock;
+            this.blockIndex = firstBlock;
+            this.skipInFirstBlock = skipInFirstBlock;
+        }
+
+        @Override
+        protected byte[] nextBlock() throws IOException {
+            if (done) {
+                return null;
+            }
+
+            final byte[] encrypted = in.readNBytes(ENCRYPTED_BLOCK_SIZE);
+            if (encrypted.length == 0 && blockIndex == firstBlock && firstBlock > 0) {
+                // offset at the end of an artifact of complete blocks
+                done = true;
+                return null;
+            }
+            done = encrypted.length < ENCRYPTED_BLOCK_SIZE || isEnd(in);
+            final byte[] plain;
+            try {
+                plain = crypt(Cipher.DECRYPT_MODE, key, noncePrefix, blockIndex++, done, encrypted);
+            } catch (final GeneralSecurityException e) {
+                // tampered, reordered or truncated
+                throw new IOException("Failed to decrypt artifact block " + (blockIndex - 1), e);
+            }
+            if (skipInFirstBlock > 0) {
+                final int skip = skipInFirstBlock;
+                skipInFirstBlock = 0;
+                return Arrays.copyOfRange(plain, Math.min(skip, plain.length), plain.length);
+            }
+            return plain;
+        }
+    }
+}
@@ -137,6 +137,28 @@ public interface ControllerManagement {
     @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
     Action addUpdateActionStatus(@NotNull @Valid ActionStatusCreate create);
 
+    /**
+     * Adds multiple {@link ActionStatus} entries for update {@link Action}s in
+     * one transaction, see {@link #addUpdateActionStatus(ActionStatusCreate)}.
+     * The entries are added in the given order. If one of them fails none is
+     * added.
+     *
+     * @param creates
+     *            to be added
+     * @return the updated {@link Action}s in the order of the given entries
+     *
+     * @throws AssignmentQuotaExceededException
+     *             if more than the allowed number of status entries or messages
+     *             per entry are inserted
+     * @throws EntityNotFoundException
+     *             if an action does not exist
+     * @throws ConstraintViolationException
+     *             if fields are not filled as specified. Check
+     *             {@link ActionStatusCreate} for field constraints.
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    List<Action> addUpdateActionStatuses(@NotEmpty List<@NotNull @Valid ActionStatusCreate> creates);
+
     /**
      * Retrieves active {@link Action} with highest priority that is assigned to
      * a {@link Target}.
@@ -242,6 +264,24 @@ public interface ControllerManagement {
     Target findOrRegisterTargetIfItDoesNotExist(@NotEmpty String controllerId, @NotNull URI address, String name,
             String type);
 
+    /**
+     * Registers a poll of an existing target without reading it, i.e.
+     * updates {@link Target#getLastTargetQuery()} lazily. Could be used only
+     * if the target has been returned by
+     * {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)} before and
+     * its address and {@link TargetUpdateStatus} haven't changed since.
+     *
+     * @param controllerId
+     *            reference
+     * @return <code>true</code> if the poll has been registered,
+     *         <code>false</code> if not supported (e.g. eager poll persistence
+     *         is configured) - then
+     *         {@link #findOrRegisterTargetIfItDoesNotExist(String, URI)} has
+     *         to be used
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_CONTROLLER)
+    boolean registerPollOfExistingTarget(@NotEmpty String controllerId);
+
     /**
      * Retrieves last {@link Action} for a download of an artifact of given
      * module and target if exists and is not canceled.
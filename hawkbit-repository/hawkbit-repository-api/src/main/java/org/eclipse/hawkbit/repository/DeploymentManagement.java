@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
@@ -549,6 +550,95 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
     int deleteActionsByStatusAndLastModifiedBefore(@NotNull Set<Action.Status> status, long lastModified);
 
+    /**
+     * Moves inactive actions which match one of the given action status and
+     * which have not been modified since the given (absolute) time-stamp into
+     * the action archive, together with their {@link ActionStatus} entries and
+     * messages. At most {@link RepositoryProperties#getActionArchiveChunkSize()}
+     * actions are archived. Used for obsolete actions cleanup.
+     * <p/>
+     * No entity based access control applied.
+     *
+     * @param status
+     *            Set of action status.
+     * @param lastModified
+     *            A time-stamp in milliseconds.
+     *
+     * @return The number of actions that were archived.
+     */
+    @PreAuthorize(SpringEvalExpressions.IS_SYSTEM_CODE)
+    int archiveActionsByStatusAndLastModifiedBefore(@NotNull Set<Action.Status> status, long lastModified);
+
+    /**
+     * Get an archived {@link Action}, see
+     * {@link #archiveActionsByStatusAndLastModifiedBefore(Set, long)}.
+     *
+     * @param actionId
+     *            the ID of the archived action
+     * @return the archived action, empty if there is none with the given ID
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Optional<Action> findArchivedAction(long actionId);
+
+    /**
+     * Retrieves the archived actions of a specific target.
+     *
+     * @param controllerId
+     *            the target associated with the actions
+     * @param pageable
+     *            the page request parameter for paging and sorting the result
+     * @return a slice of archived actions of the target
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Slice<Action> findArchivedActionsByTarget(@NotEmpty String controllerId, @NotNull Pageable pageable);
+
+    /**
+     * Counts the archived actions of a specific target.
+     *
+     * @param controllerId
+     *            the target associated with the actions
+     * @return the number of archived actions of the target
+     *
+     * @throws EntityNotFoundException
+     *             if target with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    long countArchivedActionsByTarget(@NotEmpty String controllerId);
+
+    /**
+     * Retrieves the {@link ActionStatus} entries of an archived
+     * {@link Action}.
+     *
+     * @param pageReq
+     *            pagination parameter
+     * @param actionId
+     *            the ID of the archived action
+     * @return the corresponding {@link Page} of {@link ActionStatus}
+     *
+     * @throws EntityNotFoundException
+     *             if archived action with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Page<ActionStatus> findArchivedActionStatusByAction(@NotNull Pageable pageReq, long actionId);
+
+    /**
+     * Retrieves the messages of the {@link ActionStatus} entries of an
+     * archived {@link Action}.
+     *
+     * @param actionId
+     *            the ID of the archived action
+     * @return the messages by {@link ActionStatus} ID, without the entries
+     *         that have no messages
+     *
+     * @throws EntityNotFoundException
+     *             if archived action with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Map<Long, List<String>> findArchivedActionStatusMessages(long actionId);
+
     /**
      * Checks if there is an action for the device with the given controller ID
      * that is in the {@link Action.Status#CANCELING} state.
@@ -571,4 +661,29 @@ public interface DeploymentManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_UPDATE_TARGET)
     void cancelActionsForDistributionSet(final CancelationType cancelationType, final DistributionSet set);
 
+    /**
+     * Cancels a chunk of the active actions that refer to a given
+     * distribution set, ordered by their IDs. The actions are switched to
+     * {@link Status#CANCELING} by one statement for the whole chunk, so no
+     * action updated events are sent for them (but the cancel events to the
+     * controllers). On {@link CancelationType#FORCE} they are force quit
+     * afterwards.
+     *
+     * @param cancelationType
+     *            defines if a force or soft cancel is executed
+     * @param distributionSetId
+     *            the ID of the distribution set for that the actions should
+     *            be canceled
+     * @param afterActionId
+     *            only actions with a greater ID are canceled, i.e. the last
+     *            ID returned for the previous chunk
+     * @param limit
+     *            the maximum number of actions in the chunk
+     * @return the IDs of the actions of the chunk in ascending order, empty if
+     *         there are no more actions to cancel
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_UPDATE_TARGET)
+    List<Long> cancelActionsForDistributionSet(@NotNull CancelationType cancelationType, long distributionSetId,
+            long afterActionId, int limit);
+
 }
@@ -9,9 +9,14 @@
  */
 package org.eclipse.hawkbit.repository;
 
+import java.util.Optional;
+
+import org.eclipse.hawkbit.im.authentication.SpPermission.SpringEvalExpressions;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationCount;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
+import org.springframework.security.access.prepost.PreAuthorize;
 
 /**
  * A DistributionSetInvalidationManagement service provides operations to
@@ -25,6 +30,11 @@ public interface DistributionSetInvalidationManagement {
      * cancels all auto assignments referring this {@link DistributionSet} and
      * can not be undone. Optionally, all rollouts and actions referring this
      * {@link DistributionSet} can be canceled.
+     * <p/>
+     * The actions are canceled by a {@link DistributionSetInvalidationJob} in
+     * chunks. The job is processed within the call as long as it doesn't
+     * exceed {@link RepositoryProperties#getDsInvalidationInlineTimeout()},
+     * the remaining actions are canceled in the background afterwards.
      *
      * @param distributionSetInvalidation
      *            defines the {@link DistributionSet} and options what should be
@@ -47,4 +57,23 @@ public interface DistributionSetInvalidationManagement {
     DistributionSetInvalidationCount countEntitiesForInvalidation(
             final DistributionSetInvalidation distributionSetInvalidation);
 
+    /**
+     * Returns the job canceling the actions of an invalidated
+     * {@link DistributionSet}.
+     *
+     * @param distributionSetId
+     *            the ID of the invalidated {@link DistributionSet}
+     * @return the job or empty if no actions have been canceled by the
+     *         invalidation
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY)
+    Optional<DistributionSetInvalidationJob> getInvalidationJob(long distributionSetId);
+
+    /**
+     * Continues the running {@link DistributionSetInvalidationJob}s of the
+     * current tenant, e.g. the jobs that have exceeded the time of the
+     * invalidation request or have been interrupted by a restart. Called by
+     * the scheduler.
+     */
+    void handleInvalidationJobs();
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.lang.Nullable;
+
+/**
+ * A {@link PageRequest} for keyset (seek) pagination. Instead of skipping a
+ * number of entries, the page starts after the entry with the given sort key
+ * value and ID, i.e. the last entry of the previous page. The entries are
+ * sorted by the (optional) sort key and the ID as tiebreaker, both in the same
+ * direction. So the costs of a page don't depend on its position.
+ * <p/>
+ * Keyset page requests are always served without a total count. The sort key
+ * must be a single valued attribute which is never <code>null</code>.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public final class KeysetPageRequest extends PageRequest {
+
+    /**
+     * The name of the ID attribute used as tiebreaker.
+     */
+    public static final String ID = "id";
+
+    private static final long serialVersionUID = 1L;
+
+    private final String sortKey;
+    private final Direction direction;
+    private final Long afterId;
+    private final String afterValue;
+
+    private KeysetPageRequest(final int limit, @Nullable final String sortKey, final Direction direction,
+            @Nullable final Long afterId, @Nullable final String afterValue) {
+        super(0, limit, sortKey == null ? Sort.by(direction, ID) : Sort.by(direction, sortKey, ID));
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.afterId = afterId;
+        this.afterValue = afterValue;
+    }
+
+    /**
+     * Creates the request for the first page.
+     *
+     * @param limit
+     *            the maximum number of entries of the page
+     * @param sortKey
+     *            the attribute to sort by, <code>null</code> to sort by ID
+     *            only
+     * @param direction
+     *            the sort direction
+     * @return the request
+     */
+    public static KeysetPageRequest firstPage(final int limit, @Nullable final String sortKey,
+            final Direction direction) {
+        return new KeysetPageRequest(limit, ID.equals(sortKey) ? null : sortKey, direction, null, null);
+    }
+
+    /**
+     * Creates the request for the page after the given entry.
+     *
+     * @param limit
+     *            the maximum number of entries of the page
+     * @param sortKey
+     *            the attribute to sort by, <code>null</code> to sort by ID
+     *            only
+     * @param direction
+     *            the sort direction
+     * @param afterId
+     *            the ID of the last entry of the previous page
+     * @param afterValue
+     *            the sort key value of the last entry of the previous page,
+     *            ignored if sorted by ID only
+     * @return the request
+     */
+    public static KeysetPageRequest pageAfter(final int limit, @Nullable final String sortKey, final Direction direction,
+            final long afterId, @Nullable final String afterValue) {
+        final String key = ID.equals(sortKey) ? null : sortKey;
+        if (key != null && afterValue == null) {
+            throw new IllegalArgumentException("Sort key value is required if sorted by " + key);
+        }
+        return new KeysetPageRequest(limit, key, direction, afterId, key == null ? null : afterValue);
+    }
+
+    /**
+     * @return <code>true</code> if this is the request for the first page
+     */
+    public boolean isFirstPage() {
+        return afterId == null;
+    }
+}
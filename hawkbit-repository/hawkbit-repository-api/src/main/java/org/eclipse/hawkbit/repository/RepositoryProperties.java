@@ -43,7 +43,8 @@ public class RepositoryProperties {
     private boolean publishTargetPollEvent = true;
 
     /**
-     * Maximum number of poll operations queued before flush.
+     * Maximum number of distinct targets which polls are queued before flush.
+     * Repeated polls of the same target are coalesced and don't count.
      */
     private int pollPersistenceQueueSize = 10_000;
 
@@ -52,6 +53,19 @@ public class RepositoryProperties {
      */
     private long pollPersistenceFlushTime = TimeUnit.SECONDS.toMillis(10);
 
+    /**
+     * Maximum number of targets updated with one statement when the poll queue
+     * is flushed. The effective chunk size is adapted to the database latency.
+     */
+    private int pollPersistenceMaxBatchSize = 999;
+
+    /**
+     * Target latency in {@link TimeUnit#MILLISECONDS} of a single flush chunk.
+     * Chunks are made smaller if exceeded and bigger again if the database is
+     * fast.
+     */
+    private long pollPersistenceBatchLatencyTarget = 500;
+
     /**
      * Set to true to persist polls immediately.
      */
@@ -68,6 +82,50 @@ public class RepositoryProperties {
      */
     private long dsInvalidationLockTimeout = 5;
 
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the actions of invalidated
+     * distribution sets are canceled within the invalidation request. The
+     * remaining actions are canceled in the background by the invalidation
+     * scheduler.
+     */
+    private long dsInvalidationInlineTimeout = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Number of actions canceled in one transaction during the invalidation
+     * of a distribution set.
+     */
+    private int dsInvalidationChunkSize = 500;
+
+    /**
+     * Number of actions moved into the action archive in one transaction if
+     * the action cleanup of a tenant archives the actions instead of deleting
+     * them.
+     */
+    private int actionArchiveChunkSize = 500;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the action cleanup of a tenant
+     * archives actions in one run. The remaining actions are archived in the
+     * next run.
+     */
+    private long actionArchiveTimeBudget = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Set to <code>true</code> if the locks of the schedulers (rollout
+     * handling, auto assignment, auto cleanup) and of the distribution set
+     * invalidation shall be held in the database instead of the JVM. This is
+     * necessary if more than one node shares the database, so that the work
+     * of a tenant is done by one node at a time.
+     */
+    private boolean distributedLock;
+
+    /**
+     * Lease time of a distributed lock in {@link TimeUnit#MILLISECONDS}. A lock
+     * that is not renewed or released within this time is considered as
+     * abandoned (e.g. node crashed) and may be obtained by another node.
+     */
+    private int distributedLockTimeToLive = 60_000;
+
     private boolean implicitTenantCreateAllowed;
 
     private List<String> skipImplicitLockForTags =
@@ -78,4 +136,77 @@ public class RepositoryProperties {
      * new targets
      */
     private long dynamicRolloutsMinInvolvePeriodMS = 60_000;
-}
\ No newline at end of file
+
+    /**
+     * Number of tenants which rollouts are handled in parallel. With
+     * <code>1</code> the tenants are handled one after another by the rollout
+     * scheduler thread.
+     */
+    private int rolloutSchedulerThreads = 1;
+
+    /**
+     * Maximum number of rollouts of one tenant handled in parallel. Note:
+     * rollouts that share targets may conflict when handled in parallel; the
+     * conflicting handling is then repeated in the next scheduler run.
+     */
+    private int rolloutMaxParallelPerTenant = 1;
+
+    /**
+     * Time budget in {@link TimeUnit#MILLISECONDS} of the handling of a single
+     * rollout in one scheduler run. If exceeded the assignment of targets to
+     * groups and the creation of actions is continued in the next run, so that
+     * a huge rollout doesn't delay the other rollouts. <code>0</code> (default)
+     * for no limit. With {@link #isDistributedLock()} the budget is at most
+     * half of {@link #getDistributedLockTimeToLive()}.
+     */
+    private long rolloutTimeBudget;
+
+    /**
+     * Set to <code>true</code> if the rollout executor shall write the rollout
+     * group assignments and the actions of a rollout with multi-row INSERT
+     * statements instead of persisting them one by one. Entity listeners and
+     * entity interceptors are not called for these rows.
+     */
+    private boolean rolloutBulkPersistence;
+
+    /**
+     * Set to <code>true</code> to maintain the number of actions per status of
+     * the rollout groups in a counter table, updated in the transaction of the
+     * status change. The rollout group conditions and the rollout status views
+     * then read the counters instead of counting the actions. Drift (e.g. by
+     * the action cleanup) is corrected periodically for the active rollouts.
+     */
+    private boolean rolloutStatusCounters;
+
+    /**
+     * Set to <code>true</code> if the auto assign scheduler shall check only
+     * the targets created or updated since its last run instead of all
+     * targets. All targets are still checked if a target filter query is
+     * created or updated and periodically with
+     * {@link #autoAssignFullSweepInterval}. The changed targets are collected
+     * from the target events, so in a cluster the remote events have to be
+     * distributed to all nodes (e.g. by Spring Cloud Bus). Otherwise enable it
+     * on single node installations only.
+     */
+    private boolean autoAssignIncremental;
+
+    /**
+     * Interval in {@link TimeUnit#MILLISECONDS} of the check of all targets
+     * if {@link #autoAssignIncremental} is enabled, e.g. to catch the changes
+     * that don't result in a target event like the cleanup of actions.
+     */
+    private long autoAssignFullSweepInterval = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * Number of changed targets checked together if
+     * {@link #autoAssignIncremental} is enabled.
+     */
+    private int autoAssignIncrementalBatchSize = 500;
+
+    /**
+     * Maximum number of changed targets tracked per tenant if
+     * {@link #autoAssignIncremental} is enabled. If exceeded, all targets of
+     * the tenant are checked in the next run.
+     */
+    private int autoAssignMaxChangedTargets = 100_000;
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
@@ -28,6 +29,7 @@ import org.eclipse.hawkbit.repository.exception.EntityAlreadyExistsException;
 import org.eclipse.hawkbit.repository.exception.EntityNotFoundException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterSyntaxException;
 import org.eclipse.hawkbit.repository.exception.RSQLParameterUnsupportedFieldException;
+import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.MetaData;
@@ -285,6 +287,28 @@ public interface TargetManagement {
     Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(@NotNull Pageable pageRequest,
             long distributionSetId, @NotNull String rsqlParam);
 
+    /**
+     * Finds the targets with the given IDs that match the given
+     * {@link TargetFilterQuery}, don't have the specified distribution set in
+     * their action history and are compatible with it.
+     *
+     * @param pageRequest
+     *            the pageRequest to enhance the query for paging and sorting
+     * @param targetIds
+     *            IDs of the targets to consider
+     * @param distributionSetId
+     *            id of the {@link DistributionSet}
+     * @param rsqlParam
+     *            filter definition in RSQL syntax
+     * @return a page of the found {@link Target}s
+     *
+     * @throws EntityNotFoundException
+     *             if distribution set with given ID does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_UPDATE_TARGET)
+    Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(@NotNull Pageable pageRequest,
+            @NotEmpty Collection<Long> targetIds, long distributionSetId, @NotNull String rsqlParam);
+
     /**
      * Counts all targets for all the given parameter {@link TargetFilterQuery} and
      * that don't have the specified distribution set in their action history and
@@ -447,6 +471,18 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     List<Target> getByControllerID(@NotEmpty Collection<String> controllerIDs);
 
+    /**
+     * Find {@link Target}s based a given IDs which have no pending
+     * cancellations, i.e. no active {@link Action} in
+     * {@link Action.Status#CANCELING} state.
+     *
+     * @param controllerIDs
+     *            to look for.
+     * @return List of found {@link Target}s without pending cancellations
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    List<Target> getByControllerIDWithoutPendingCancellations(@NotEmpty Collection<String> controllerIDs);
+
     /**
      * Find a {@link Target} based a given ID.
      *
@@ -559,6 +595,28 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Slice<Target> findByRsql(@NotNull Pageable pageable, @NotNull String rsqlParam);
 
+    /**
+     * Iterates over all targets (matching the given RSQL filter) in batches
+     * ordered by ID. Every batch is read with its own keyset page query, so
+     * the costs of a batch don't depend on its position and the entities of
+     * the previous batches are not kept in memory.
+     *
+     * @param rsqlParam
+     *            in RSQL notation, <code>null</code> for all targets
+     * @param batchSize
+     *            the maximum number of targets of a batch
+     * @param batchConsumer
+     *            called with each batch of targets
+     *
+     * @throws RSQLParameterUnsupportedFieldException
+     *             if a field in the RSQL string is used but not provided by the
+     *             given {@code fieldNameProvider}
+     * @throws RSQLParameterSyntaxException
+     *             if the RSQL syntax is wrong
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    void forEachByRsql(String rsqlParam, int batchSize, @NotNull Consumer<List<Target>> batchConsumer);
+
     /**
      * Retrieves all target based on {@link TargetFilterQuery}.
      * 
@@ -786,6 +844,18 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Map<String, String> getControllerAttributes(@NotEmpty String controllerId);
 
+    /**
+     * Get controller attributes of the given {@link Target}s with one query
+     * per (up to 999) targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return controller attributes as key/value pairs by target ID, targets
+     *         without attributes are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Map<Long, Map<String, String>> getControllerAttributesByTargetIds(@NotNull Collection<Long> targetIds);
+
     /**
      * Trigger given {@link Target} to update its attributes.
      *
@@ -852,6 +922,25 @@ public interface TargetManagement {
     boolean isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(@NotNull String controllerId,
             long distributionSetId, @NotNull String targetFilterQuery);
 
+    /**
+     * Evaluates the given target filter queries in memory against the target,
+     * i.e. without a query per target filter query, and returns the ones which
+     * might match the target. They have to be verified, e.g. with
+     * {@link #isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(String, long, String)},
+     * while the other ones don't match the target for sure.
+     *
+     * @param controllerId
+     *            of the {@link org.eclipse.hawkbit.repository.model.Target} to
+     *            check
+     * @param targetFilterQueries
+     *            to evaluate
+     * @return the target filter queries which might match the target, all of
+     *         them if the target does not exist
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Set<String> findPossiblyMatchingQueries(@NotNull String controllerId,
+            @NotNull Collection<String> targetFilterQueries);
+
     /**
      * Finds a single target tags its id.
      *
@@ -862,6 +951,53 @@ public interface TargetManagement {
     @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
     Set<TargetTag> getTagsByControllerId(@NotEmpty String controllerId);
 
+    /**
+     * Get the tags of the given {@link Target}s with one query per (up to
+     * 999) targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return the tags by target ID, targets without tags are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Map<Long, Set<TargetTag>> getTagsByTargetIds(@NotNull Collection<Long> targetIds);
+
+    /**
+     * Get the meta data of the given {@link Target}s with one query per (up
+     * to 999) targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return the meta data as key/value pairs by target ID, targets without
+     *         meta data are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_TARGET)
+    Map<Long, Map<String, String>> getMetaDataByTargetIds(@NotNull Collection<Long> targetIds);
+
+    /**
+     * Get the assigned {@link DistributionSet}s of the given {@link Target}s
+     * with one query per (up to 999) targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return the assigned distribution set by target ID, targets without
+     *         assigned distribution set are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY_AND_READ_TARGET)
+    Map<Long, DistributionSet> getAssignedDistributionSetsByTargetIds(@NotNull Collection<Long> targetIds);
+
+    /**
+     * Get the installed {@link DistributionSet}s of the given {@link Target}s
+     * with one query per (up to 999) targets.
+     *
+     * @param targetIds
+     *            the IDs of the targets
+     * @return the installed distribution set by target ID, targets without
+     *         installed distribution set are not contained
+     */
+    @PreAuthorize(SpringEvalExpressions.HAS_AUTH_READ_REPOSITORY_AND_READ_TARGET)
+    Map<Long, DistributionSet> getInstalledDistributionSetsByTargetIds(@NotNull Collection<Long> targetIds);
+
     /**
      * Creates a list of target meta data entries.
      *
@@ -9,6 +9,8 @@
  */
 package org.eclipse.hawkbit.repository.autoassign;
 
+import java.util.List;
+
 /**
  * An interface declaration which contains the check for the auto assignment
  * logic.
@@ -22,6 +24,18 @@ public interface AutoAssignExecutor {
      */
     void checkAllTargets();
 
+    /**
+     * As {@link #checkAllTargets()}, but calls the given callback each time a
+     * chunk of targets is checked, e.g. to renew the lock of the caller. By
+     * default, the callback is not called.
+     *
+     * @param afterEachChunk
+     *            called in the calling thread after each checked chunk
+     */
+    default void checkAllTargets(final Runnable afterEachChunk) {
+        checkAllTargets();
+    }
+
     /**
      * Method performs an auto assign check for a specific device only
      *
@@ -30,4 +44,30 @@ public interface AutoAssignExecutor {
      */
     void checkSingleTarget(String controllerId);
 
+    /**
+     * Performs an auto assign check for the given targets only, e.g. for the
+     * targets created or changed since the last check. By default, all targets
+     * are checked.
+     *
+     * @param targetIds
+     *            of the targets to check
+     */
+    default void checkTargets(final List<Long> targetIds) {
+        checkAllTargets();
+    }
+
+    /**
+     * As {@link #checkTargets(List)}, but calls the given callback each time a
+     * chunk of targets is checked, e.g. to renew the lock of the caller. By
+     * default, the callback is not called.
+     *
+     * @param targetIds
+     *            of the targets to check
+     * @param afterEachChunk
+     *            called in the calling thread after each checked chunk
+     */
+    default void checkTargets(final List<Long> targetIds, final Runnable afterEachChunk) {
+        checkTargets(targetIds);
+    }
+
 }
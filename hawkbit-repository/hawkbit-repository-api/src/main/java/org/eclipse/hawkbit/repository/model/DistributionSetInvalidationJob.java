@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.model;
+
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
+
+/**
+ * The cancellation of the actions of an invalidated {@link DistributionSet}.
+ * The actions are canceled in chunks, each in its own transaction, so the job
+ * is continued in the background (e.g. after a restart) if it isn't finished
+ * within the invalidation request.
+ */
+public interface DistributionSetInvalidationJob extends TenantAwareBaseEntity {
+
+    /**
+     * State of the job.
+     */
+    enum Status {
+        /**
+         * Actions are still to be canceled.
+         */
+        RUNNING,
+
+        /**
+         * All actions are canceled.
+         */
+        FINISHED
+    }
+
+    /**
+     * @return the ID of the invalidated {@link DistributionSet}
+     */
+    long getDistributionSetId();
+
+    /**
+     * @return how the actions are canceled, never {@link CancelationType#NONE}
+     */
+    CancelationType getCancelationType();
+
+    /**
+     * @return the state of the job
+     */
+    Status getStatus();
+
+    /**
+     * @return the number of active actions when the job has been created
+     */
+    long getTotalActions();
+
+    /**
+     * @return the number of actions processed so far
+     */
+    long getProcessedActions();
+}
@@ -140,6 +140,12 @@ public class TenantConfigurationProperties {
          */
         public static final String ACTION_CLEANUP_ACTION_STATUS = "action.cleanup.actionStatus";
 
+        /**
+         * Switch to move the actions into the action archive instead of
+         * deleting them on cleanup.
+         */
+        public static final String ACTION_CLEANUP_ARCHIVE = "action.cleanup.archive";
+
         /**
          * Switch to enable/disable the multi-assignment feature.
          */
@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.hawkbit.repository.exception.ArtifactEncryptionFailedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Artifact Encryption")
+class ChunkedAesGcmArtifactEncryptionTest {
+
+    private static final int BLOCK_SIZE = ChunkedAesGcmArtifactEncryption.BLOCK_SIZE;
+
+    private final ChunkedAesGcmArtifactEncryption encryption = new ChunkedAesGcmArtifactEncryption();
+    private final Map<String, String> secrets = encryption.generateSecrets();
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, BLOCK_SIZE + 1, 3 * BLOCK_SIZE + 17 })
+    @Description("Verifies that artifacts of different sizes are decrypted and their decrypted size is calculated.")
+    void encryptAndDecrypt(final int size) throws IOException {
+        final byte[] plain = randomBytes(size);
+        final byte[] encrypted = encrypt(plain);
+
+        assertThat(encryption.decryptedSize(encrypted.length)).isEqualTo(size);
+        assertThat(encryption.decryptStream(secrets, new ByteArrayInputStream(encrypted)).readAllBytes())
+                .isEqualTo(plain);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, BLOCK_SIZE - 1, BLOCK_SIZE, 2 * BLOCK_SIZE + 5, 3 * BLOCK_SIZE + 16,
+            3 * BLOCK_SIZE + 17 })
+    @Description("Verifies that decryption from an offset decrypts only the blocks from the offset on.")
+    void decryptFromOffset(final int offset) throws IOException {
+        final byte[] plain = randomBytes(3 * BLOCK_SIZE + 17);
+        final byte[] encrypted = encrypt(plain);
+
+        final CountingInputStream stream = new CountingInputStream(new ByteArrayInputStream(encrypted));
+        try (final InputStream decrypted = encryption.decryptStream(secrets, stream, offset)) {
+            assertThat(decrypted.readAllBytes()).isEqualTo(Arrays.copyOfRange(plain, offset, plain.length));
+        }
+        // header and the blocks from the offset on are read, the others skipped
+        final int blockSizeEncrypted = BLOCK_SIZE + ChunkedAesGcmArtifactEncryption.TAG_SIZE;
+        assertThat(stream.read).isEqualTo(
+                encrypted.length - (long) (offset / BLOCK_SIZE) * blockSizeEncrypted);
+    }
+
+    @Test
+    @Description("Verifies that modified and truncated artifacts are detected.")
+    void detectTampering() {
+        final byte[] encrypted = encrypt(randomBytes(2 * BLOCK_SIZE + 100));
+
+        final byte[] modified = encrypted.clone();
+        modified[ChunkedAesGcmArtifactEncryption.HEADER_SIZE + 10] ^= 1;
+        assertThatExceptionOfType(IOException.class).isThrownBy(
+                () -> encryption.decryptStream(secrets, new ByteArrayInputStream(modified)).readAllBytes());
+
+        // without the last block the second block is not marked as last block
+        final byte[] truncated = Arrays.copyOf(encrypted,
+                ChunkedAesGcmArtifactEncryption.HEADER_SIZE + 2 * (BLOCK_SIZE + ChunkedAesGcmArtifactEncryption.TAG_SIZE));
+        assertThatExceptionOfType(IOException.class).isThrownBy(
+                () -> encryption.decryptStream(secrets, new ByteArrayInputStream(truncated)).readAllBytes());
+
+        final Map<String, String> otherSecrets = encryption.generateSecrets();
+        assertThatExceptionOfType(IOException.class).isThrownBy(
+                () -> encryption.decryptStream(otherSecrets, new ByteArrayInputStream(encrypted)).readAllBytes());
+    }
+
+    @Test
+    @Description("Verifies that artifacts in another format are rejected.")
+    void rejectUnknownFormat() {
+        final ByteArrayInputStream stream = new ByteArrayInputStream(randomBytes(100));
+        assertThatExceptionOfType(ArtifactEncryptionFailedException.class)
+                .isThrownBy(() -> encryption.decryptStream(secrets, stream));
+    }
+
+    private byte[] encrypt(final byte[] plain) {
+        try (final InputStream encrypted = encryption.encryptStream(secrets, new ByteArrayInputStream(plain))) {
+            return encrypted.readAllBytes();
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long read;
+
+        private CountingInputStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int count = super.read(b, off, len);
+            if (count > 0) {
+                read += count;
+            }
+            return count;
+        }
+    }
+}
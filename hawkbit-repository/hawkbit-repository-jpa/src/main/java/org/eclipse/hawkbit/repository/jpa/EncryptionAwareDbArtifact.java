@@ -9,7 +9,10 @@
  */
 package org.eclipse.hawkbit.repository.jpa;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
@@ -22,21 +25,37 @@ import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 public class EncryptionAwareDbArtifact implements DbArtifact {
 
     private final DbArtifact encryptedDbArtifact;
-    private final UnaryOperator<InputStream> decryptionFunction;
-    private final int encryptionOverhead;
+    private final BiFunction<InputStream, Long, InputStream> decryptionFunction;
+    private final long size;
 
     public EncryptionAwareDbArtifact(final DbArtifact encryptedDbArtifact,
             final UnaryOperator<InputStream> decryptionFunction) {
-        this.encryptedDbArtifact = encryptedDbArtifact;
-        this.decryptionFunction = decryptionFunction;
-        this.encryptionOverhead = 0;
+        this(encryptedDbArtifact, decryptionFunction, 0);
     }
 
     public EncryptionAwareDbArtifact(final DbArtifact encryptedDbArtifact,
             final UnaryOperator<InputStream> decryptionFunction, final int encryptionOverhead) {
+        this(encryptedDbArtifact, (stream, offset) -> skip(decryptionFunction.apply(stream), offset),
+                encryptedDbArtifact.getSize() - encryptionOverhead);
+    }
+
+    /**
+     * Constructor for encryption formats that are able to decrypt from an
+     * offset without decrypting the artifact up to the offset.
+     *
+     * @param encryptedDbArtifact
+     *            the encrypted artifact
+     * @param decryptionFunction
+     *            decrypts the stream of the encrypted artifact starting at the
+     *            given offset of the decrypted artifact
+     * @param size
+     *            of the decrypted artifact
+     */
+    public EncryptionAwareDbArtifact(final DbArtifact encryptedDbArtifact,
+            final BiFunction<InputStream, Long, InputStream> decryptionFunction, final long size) {
         this.encryptedDbArtifact = encryptedDbArtifact;
         this.decryptionFunction = decryptionFunction;
-        this.encryptionOverhead = encryptionOverhead;
+        this.size = size;
     }
 
     @Override
@@ -51,7 +70,7 @@ public class EncryptionAwareDbArtifact implements DbArtifact {
 
     @Override
     public long getSize() {
-        return encryptedDbArtifact.getSize() - encryptionOverhead;
+        return size;
     }
 
     @Override
@@ -61,6 +80,20 @@ public class EncryptionAwareDbArtifact implements DbArtifact {
 
     @Override
     public InputStream getFileInputStream() {
-        return decryptionFunction.apply(encryptedDbArtifact.getFileInputStream());
+        return decryptionFunction.apply(encryptedDbArtifact.getFileInputStream(), 0L);
+    }
+
+    @Override
+    public InputStream getFileInputStream(final long offset) {
+        return decryptionFunction.apply(encryptedDbArtifact.getFileInputStream(), offset);
+    }
+
+    private static InputStream skip(final InputStream stream, final long offset) {
+        try {
+            stream.skipNBytes(offset);
+            return stream;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -14,6 +14,7 @@ import java.lang.reflect.Proxy;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,6 +25,7 @@ import java.util.stream.StreamSupport;
 import jakarta.persistence.EntityManager;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
@@ -38,6 +40,7 @@ import org.eclipse.hawkbit.repository.event.remote.RolloutStoppedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.RolloutIllegalStateException;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
 import org.eclipse.hawkbit.repository.jpa.management.JpaRolloutManagement;
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
@@ -48,6 +51,7 @@ import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutTargetGroupRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.EvaluatorNotConfiguredException;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupEvaluationManager;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
@@ -66,6 +70,7 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.model.helper.EventPublisherHolder;
 import org.eclipse.hawkbit.security.SpringSecurityAuditorAware;
 import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
@@ -124,6 +129,9 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     private final TenantAware tenantAware;
     private final RepositoryProperties repositoryProperties;
 
+    private final RolloutBulkWriter bulkWriter;
+    private final RolloutStatusCounter rolloutStatusCounter;
+
     public JpaRolloutExecutor(
             final ActionRepository actionRepository, final RolloutGroupRepository rolloutGroupRepository,
             final RolloutTargetGroupRepository rolloutTargetGroupRepository,
@@ -133,7 +141,8 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             final RolloutGroupEvaluationManager evaluationManager, final RolloutApprovalStrategy rolloutApprovalStrategy,
             final EntityManager entityManager, final PlatformTransactionManager txManager,
             final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder,
-            final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties,
+            final AuditorAware<String> auditorAware, final RolloutStatusCounter rolloutStatusCounter) {
         this.actionRepository = actionRepository;
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutTargetGroupRepository = rolloutTargetGroupRepository;
@@ -151,15 +160,22 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         this.eventPublisherHolder = eventPublisherHolder;
         this.tenantAware = tenantAware;
         this.repositoryProperties = repositoryProperties;
+        this.rolloutStatusCounter = rolloutStatusCounter;
+        bulkWriter = new RolloutBulkWriter(entityManager, actionRepository, afterCommit, tenantAware, auditorAware,
+                rolloutStatusCounter);
     }
 
     @Override
     public void execute(final Rollout rollout) {
         log.debug("Processing rollout {}", rollout.getId());
 
+        // the creation of groups and actions is continued in the next run if
+        // the time budget is exceeded
+        final long deadline = deadline();
+
         switch (rollout.getStatus()) {
         case CREATING:
-            handleCreateRollout((JpaRollout) rollout);
+            handleCreateRollout((JpaRollout) rollout, deadline);
             break;
         case READY:
             handleReadyRollout(rollout);
@@ -168,7 +184,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             // the lastModifiedBy user is probably the user that has actually called the rollout start (unless overridden) - not the creator
             SpringSecurityAuditorAware.setAuditorOverride(rollout.getLastModifiedBy());
             try {
-                handleStartingRollout(rollout);
+                handleStartingRollout(rollout, deadline);
             } finally {
                 // clear, ALWAYS, the set auditor override
                 SpringSecurityAuditorAware.clearAuditorOverride();
@@ -205,7 +221,19 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         log.debug("Rollout {} processed", rollout.getId());
     }
 
-    private void handleCreateRollout(final JpaRollout rollout) {
+    // a distributed lock is renewed by the handler only between the rollouts,
+    // so a rollout is handled at most half of the lease time of the lock
+    private long deadline() {
+        long timeBudget = repositoryProperties.getRolloutTimeBudget() > 0
+                ? repositoryProperties.getRolloutTimeBudget()
+                : Long.MAX_VALUE;
+        if (repositoryProperties.isDistributedLock()) {
+            timeBudget = Math.min(timeBudget, repositoryProperties.getDistributedLockTimeToLive() / 2);
+        }
+        return timeBudget == Long.MAX_VALUE ? Long.MAX_VALUE : System.currentTimeMillis() + timeBudget;
+    }
+
+    private void handleCreateRollout(final JpaRollout rollout, final long deadline) {
         log.debug("handleCreateRollout called for rollout {}", rollout.getId());
 
         final List<RolloutGroup> rolloutGroups = rolloutGroupManagement.findByRollout(
@@ -214,6 +242,7 @@ public class JpaRolloutExecutor implements RolloutExecutor {
 
         int readyGroups = 0;
         int totalTargets = 0;
+        boolean filled = false;
         for (final RolloutGroup group : rolloutGroups) {
             if (RolloutGroupStatus.READY == group.getStatus()) {
                 readyGroups++;
@@ -221,8 +250,16 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 continue;
             }
 
+            // at least one group is processed per run, so the creation
+            // progresses even with a tiny time budget
+            if (filled && System.currentTimeMillis() > deadline) {
+                log.debug("Time budget of rollout {} exceeded, continue creation in next run.", rollout.getId());
+                break;
+            }
+            filled = true;
+
             final RolloutGroup filledGroup = fillRolloutGroupWithTargets(rollout, (JpaRolloutGroup) group,
-                    rolloutGroups);
+                    rolloutGroups, deadline);
             if (RolloutGroupStatus.READY == filledGroup.getStatus()) {
                 readyGroups++;
                 totalTargets += filledGroup.getTotalTargets();
@@ -336,10 +373,10 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         }
     }
 
-    private void handleStartingRollout(final Rollout rollout) {
+    private void handleStartingRollout(final Rollout rollout, final long deadline) {
         log.debug("handleStartingRollout called for rollout {}", rollout.getId());
 
-        if (ensureAllGroupsAreScheduled(rollout)) {
+        if (ensureAllGroupsAreScheduled(rollout, deadline)) {
             startFirstRolloutGroup(rollout);
         }
     }
@@ -391,6 +428,13 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 final Iterable<JpaAction> iterable = scheduledActions::iterator;
                 final List<Long> actionIds = StreamSupport.stream(iterable.spliterator(), false).map(Action::getId)
                         .collect(Collectors.toList());
+                if (rolloutStatusCounter.isEnabled()) {
+                    scheduledActions.stream().filter(action -> action.getRolloutGroup() != null)
+                            .collect(Collectors.groupingBy(action -> action.getRolloutGroup().getId(),
+                                    Collectors.groupingBy(JpaAction::getStatus, Collectors.counting())))
+                            .forEach((groupId, countByStatus) -> countByStatus
+                                    .forEach((status, count) -> rolloutStatusCounter.add(groupId, status, -count)));
+                }
                 actionRepository.deleteByIdIn(actionIds);
                 afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
                         .publishEvent(new RolloutUpdatedEvent(rollout, eventPublisherHolder.getApplicationId())));
@@ -582,19 +626,19 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         rolloutRepository.save(jpaRollout);
     }
 
-    private boolean ensureAllGroupsAreScheduled(final Rollout rollout) {
+    private boolean ensureAllGroupsAreScheduled(final Rollout rollout, final long deadline) {
         final JpaRollout jpaRollout = (JpaRollout) rollout;
 
         final List<JpaRolloutGroup> groupsToBeScheduled = rolloutGroupRepository.findByRolloutAndStatus(rollout,
                 RolloutGroupStatus.READY);
         final long scheduledGroups = groupsToBeScheduled.stream()
-                .filter(group -> scheduleRolloutGroup(jpaRollout, group)).count();
+                .filter(group -> scheduleRolloutGroup(jpaRollout, group, deadline)).count();
 
         return scheduledGroups == groupsToBeScheduled.size();
     }
 
     private RolloutGroup fillRolloutGroupWithTargets(final JpaRollout rollout, final JpaRolloutGroup group,
-            final List<RolloutGroup> rolloutGroups) {
+            final List<RolloutGroup> rolloutGroups, final long deadline) {
         RolloutHelper.verifyRolloutInStatus(rollout, RolloutStatus.CREATING);
 
         final String groupTargetFilter = RolloutHelper.getGroupTargetFilter(
@@ -623,10 +667,13 @@ public class JpaRolloutExecutor implements RolloutExecutor {
             percentFromTheRest = group.getTargetPercentage();
         }
 
-        final long expectedInGroup = Math.round(percentFromTheRest * targetsInGroupFilter / 100);
         final long currentlyInGroup = DeploymentHelper.runInNewTransaction(txManager,
                 "countRolloutTargetGroupByRolloutGroup",
                 count -> rolloutTargetGroupRepository.countByRolloutGroup(group));
+        // the count above excludes the targets of the group itself, they are
+        // added so that a partially filled group (e.g. stopped by the time
+        // budget) keeps its expected size when the filling is continued
+        final long expectedInGroup = Math.round(percentFromTheRest * (targetsInGroupFilter + currentlyInGroup) / 100);
 
         // Switch the Group status to READY, when there are enough Targets in the Group
         if (currentlyInGroup >= expectedInGroup) {
@@ -647,6 +694,12 @@ public class JpaRolloutExecutor implements RolloutExecutor {
                 } else {
                     targetsLeftToAdd -= assigned;
                 }
+
+                if (targetsLeftToAdd > 0 && System.currentTimeMillis() > deadline) {
+                    log.debug("Time budget of rollout {} exceeded, continue filling group {} in next run.",
+                            rollout.getId(), group.getId());
+                    return group;
+                }
             } while (targetsLeftToAdd > 0);
 
             group.setStatus(RolloutGroupStatus.READY);
@@ -817,13 +870,13 @@ public class JpaRolloutExecutor implements RolloutExecutor {
      * Schedules a group of the rollout. Scheduled Actions are created to
      * achieve this. The creation of those Actions is allowed to fail.
      */
-    private boolean scheduleRolloutGroup(final JpaRollout rollout, final JpaRolloutGroup group) {
+    private boolean scheduleRolloutGroup(final JpaRollout rollout, final JpaRolloutGroup group, final long deadline) {
         final long targetsInGroup = rolloutTargetGroupRepository.countByRolloutGroup(group);
         final long countOfActions = actionRepository.countByRolloutAndRolloutGroup(rollout, group);
 
         long actionsLeft = targetsInGroup - countOfActions;
         if (actionsLeft > 0) {
-            actionsLeft -= createActionsForRolloutGroup(rollout, group);
+            actionsLeft -= createActionsForRolloutGroup(rollout, group, deadline);
         }
 
         if (actionsLeft <= 0) {
@@ -836,14 +889,14 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         return false;
     }
 
-    private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group) {
+    private long createActionsForRolloutGroup(final Rollout rollout, final RolloutGroup group, final long deadline) {
         long totalActionsCreated = 0;
         try {
             long actionsCreated;
             do {
                 actionsCreated = createActionsForTargetsInNewTransaction(rollout, group, TRANSACTION_TARGETS);
                 totalActionsCreated += actionsCreated;
-            } while (actionsCreated > 0);
+            } while (actionsCreated > 0 && System.currentTimeMillis() <= deadline);
 
         } catch (final TransactionException e) {
             log.warn("Transaction assigning Targets to RolloutGroup failed", e);
@@ -870,7 +923,11 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     }
 
     private void createAssignmentOfTargetsToGroup(final Slice<Target> targets, final RolloutGroup group) {
-        targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+        if (repositoryProperties.isRolloutBulkPersistence()) {
+            bulkWriter.insertRolloutTargetGroups(group, targets.stream().map(Target::getId).toList());
+        } else {
+            targets.forEach(target -> rolloutTargetGroupRepository.save(new RolloutTargetGroup(group, target)));
+        }
     }
 
     /**
@@ -887,10 +944,14 @@ public class JpaRolloutExecutor implements RolloutExecutor {
         // created.
         final List<Long> targetIds = targets.stream().map(Target::getId).collect(Collectors.toList());
         deploymentManagement.cancelInactiveScheduledActionsForTargets(targetIds);
+        assertActionsPerTargetQuota(targetIds, 1);
+
+        if (repositoryProperties.isRolloutBulkPersistence()) {
+            return bulkWriter.insertActions(targetIds, distributionSet, actionType, forcedTime, rollout, rolloutGroup);
+        }
+
         return targets.stream()
                 .map(target -> {
-                    assertActionsPerTargetQuota(target, 1);
-
                     final JpaAction action = new JpaAction();
                     action.setTarget(target);
                     action.setActive(false);
@@ -911,14 +972,23 @@ public class JpaRolloutExecutor implements RolloutExecutor {
     }
 
     /**
-     * Enforces the quota defining the maximum number of {@link Action}s per {@link Target}.
+     * Enforces the quota defining the maximum number of {@link Action}s per {@link Target}. The current
+     * action counts are retrieved with one grouped query per chunk of targets.
      *
-     * @param target the target
-     * @param requested number of actions to check
+     * @param targetIds the targets
+     * @param requested number of actions to check per target
      */
-    private void assertActionsPerTargetQuota(final Target target, final int requested) {
+    private void assertActionsPerTargetQuota(final List<Long> targetIds, final int requested) {
         final int quota = quotaManagement.getMaxActionsPerTarget();
-        QuotaHelper.assertAssignmentQuota(target.getId(), requested, quota, Action.class, Target.class,
-                actionRepository::countByTargetId);
+        if (quota <= 0) {
+            return;
+        }
+
+        final Map<Long, Long> actionsPerTarget = new HashMap<>(targetIds.size());
+        ListUtils.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(
+                chunk -> actionRepository.countByTargetIdInGroupByTargetId(chunk)
+                        .forEach(count -> actionsPerTarget.put((Long) count[0], (Long) count[1])));
+        targetIds.forEach(targetId -> QuotaHelper.assertAssignmentQuota(targetId, requested, quota, Action.class,
+                Target.class, id -> actionsPerTarget.getOrDefault(id, 0L)));
     }
-}
\ No newline at end of file
+}
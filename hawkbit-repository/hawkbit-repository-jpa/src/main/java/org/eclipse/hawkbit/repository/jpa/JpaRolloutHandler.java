@@ -17,9 +17,11 @@ import org.eclipse.hawkbit.ContextAware;
 import org.eclipse.hawkbit.repository.RolloutExecutor;
 import org.eclipse.hawkbit.repository.RolloutHandler;
 import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutExecutionEngine;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.support.locks.RenewableLockRegistry;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
@@ -34,6 +36,7 @@ public class JpaRolloutHandler implements RolloutHandler {
     private final LockRegistry lockRegistry;
     private final PlatformTransactionManager txManager;
     private final ContextAware contextAware;
+    private final RolloutExecutionEngine executionEngine;
 
     /**
      * Constructor
@@ -48,27 +51,34 @@ public class JpaRolloutHandler implements RolloutHandler {
      *            to lock processes
      * @param txManager
      *            transaction manager interface
+     * @param contextAware
+     *            to run the rollouts in their context
+     * @param executionEngine
+     *            to handle the rollouts of a tenant in parallel
      */
     public JpaRolloutHandler(final TenantAware tenantAware, final RolloutManagement rolloutManagement,
             final RolloutExecutor rolloutExecutor, final LockRegistry lockRegistry,
             final PlatformTransactionManager txManager,
-            final ContextAware contextAware) {
+            final ContextAware contextAware, final RolloutExecutionEngine executionEngine) {
         this.tenantAware = tenantAware;
         this.rolloutManagement = rolloutManagement;
         this.rolloutExecutor = rolloutExecutor;
         this.lockRegistry = lockRegistry;
         this.txManager = txManager;
         this.contextAware = contextAware;
+        this.executionEngine = executionEngine;
     }
 
     @Override
     public void handleAll() {
+        final String tenant = tenantAware.getCurrentTenant();
         final List<Long> rollouts = rolloutManagement.findActiveRollouts();
+        executionEngine.retainRollouts(tenant, rollouts);
         if (rollouts.isEmpty()) {
             return;
         }
 
-        final String handlerId = createRolloutLockKey(tenantAware.getCurrentTenant());
+        final String handlerId = createRolloutLockKey(tenant);
         final Lock lock = lockRegistry.obtain(handlerId);
         if (!lock.tryLock()) {
             if (log.isTraceEnabled()) {
@@ -79,12 +89,13 @@ public class JpaRolloutHandler implements RolloutHandler {
 
         try {
             log.debug("Trigger handling {} rollouts.", rollouts.size());
-            rollouts.forEach(rolloutId -> {
+            executionEngine.executeRollouts(tenant, rollouts, rolloutId -> {
                 try {
                     handleRolloutInNewTransaction(rolloutId, handlerId);
                 } catch (final Throwable throwable) {
                     log.error("Failed to process rollout with id {}", rolloutId , throwable);
-                }});
+                }
+            }, () -> renewLock(handlerId));
             log.debug("Finished handling of the rollouts.");
         } finally {
             if (log.isTraceEnabled()) {
@@ -94,6 +105,14 @@ public class JpaRolloutHandler implements RolloutHandler {
         }
     }
 
+    // extends the lease of a lock that expires (e.g. distributed lock) so that
+    // it is not taken over by another node while the rollouts are handled
+    private void renewLock(final String handlerId) {
+        if (lockRegistry instanceof RenewableLockRegistry renewableLockRegistry) {
+            renewableLockRegistry.renewLock(handlerId);
+        }
+    }
+
     private static String createRolloutLockKey(final String tenant) {
         return tenant + "-rollout";
     }
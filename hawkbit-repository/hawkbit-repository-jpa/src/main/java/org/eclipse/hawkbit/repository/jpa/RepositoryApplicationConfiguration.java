@@ -25,9 +25,11 @@ import org.eclipse.hawkbit.repository.ArtifactEncryptionSecretsStore;
 import org.eclipse.hawkbit.repository.ArtifactEncryptionService;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.BaseRepositoryTypeProvider;
+import org.eclipse.hawkbit.repository.ChunkedAesGcmArtifactEncryption;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.DistributionSetInvalidationManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTagManagement;
 import org.eclipse.hawkbit.repository.DistributionSetTypeManagement;
@@ -66,6 +68,7 @@ import org.eclipse.hawkbit.repository.event.remote.EventEntityManagerHolder;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.jpa.acm.AccessController;
 import org.eclipse.hawkbit.repository.jpa.aspects.ExceptionMappingAspectHandler;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChangedTargets;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignChecker;
 import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
 import org.eclipse.hawkbit.repository.jpa.autocleanup.AutoActionCleanup;
@@ -83,6 +86,7 @@ import org.eclipse.hawkbit.repository.jpa.configuration.MultiTenantJpaTransactio
 import org.eclipse.hawkbit.repository.jpa.event.JpaEventEntityManager;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitDefaultServiceExecutor;
 import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.invalidation.DistributionSetInvalidationScheduler;
 import org.eclipse.hawkbit.repository.jpa.management.JpaArtifactManagement;
 import org.eclipse.hawkbit.repository.jpa.management.JpaConfirmationManagement;
 import org.eclipse.hawkbit.repository.jpa.management.JpaControllerManagement;
@@ -112,10 +116,13 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetType;
 import org.eclipse.hawkbit.repository.jpa.model.helper.AfterTransactionCommitExecutorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.EntityInterceptorHolder;
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutStatusCounterHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.SecurityTokenGeneratorHolder;
 import org.eclipse.hawkbit.repository.jpa.model.helper.TenantAwareHolder;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionStatusRepository;
+import org.eclipse.hawkbit.repository.jpa.repository.ArchivedActionRepository;
+import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetInvalidationJobRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetMetadataRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetTagRepository;
@@ -133,7 +140,10 @@ import org.eclipse.hawkbit.repository.jpa.repository.TargetMetadataRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTagRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTypeRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutExecutionEngine;
 import org.eclipse.hawkbit.repository.jpa.rollout.RolloutScheduler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCountReconciler;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.PauseRolloutGroupAction;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupActionEvaluator;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.RolloutGroupConditionEvaluator;
@@ -241,15 +251,16 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupErrorCondition(actionRepository);
+    ThresholdRolloutGroupErrorCondition thresholdRolloutGroupErrorCondition(final ActionRepository actionRepository,
+            final RolloutStatusCounter rolloutStatusCounter) {
+        return new ThresholdRolloutGroupErrorCondition(actionRepository, rolloutStatusCounter);
     }
 
     @Bean
     @ConditionalOnMissingBean
     ThresholdRolloutGroupSuccessCondition thresholdRolloutGroupSuccessCondition(
-            final ActionRepository actionRepository) {
-        return new ThresholdRolloutGroupSuccessCondition(actionRepository);
+            final ActionRepository actionRepository, final RolloutStatusCounter rolloutStatusCounter) {
+        return new ThresholdRolloutGroupSuccessCondition(actionRepository, rolloutStatusCounter);
     }
 
     @Bean
@@ -443,6 +454,14 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return AfterTransactionCommitExecutorHolder.getInstance();
     }
 
+    /**
+     * @return the singleton instance of the {@link RolloutStatusCounterHolder}
+     */
+    @Bean
+    RolloutStatusCounterHolder rolloutStatusCounterHolder() {
+        return RolloutStatusCounterHolder.getInstance();
+    }
+
     /**
      * Defines the validation processor bean.
      *
@@ -728,13 +747,43 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
                 properties.getDatabase());
     }
 
+    /**
+     * {@link RolloutExecutionEngine} bean.
+     *
+     * @param repositoryProperties
+     *            for the thread pool sizes
+     * @return a new {@link RolloutExecutionEngine}
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnMissingBean
+    RolloutExecutionEngine rolloutExecutionEngine(final RepositoryProperties repositoryProperties) {
+        return new RolloutExecutionEngine(repositoryProperties.getRolloutSchedulerThreads(),
+                repositoryProperties.getRolloutMaxParallelPerTenant());
+    }
+
+    /**
+     * @param entityManager
+     *            to maintain the counters in the current transaction
+     * @param repositoryProperties
+     *            to check if the counters are enabled
+     * @return the {@link RolloutStatusCounter} which maintains the number of
+     *         actions per status of the rollout groups
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    RolloutStatusCounter rolloutStatusCounter(final EntityManager entityManager,
+            final RepositoryProperties repositoryProperties) {
+        return new RolloutStatusCounter(entityManager, repositoryProperties.isRolloutStatusCounters());
+    }
+
     @Bean
     @ConditionalOnMissingBean
     RolloutHandler rolloutHandler(final TenantAware tenantAware, final RolloutManagement rolloutManagement,
             final RolloutExecutor rolloutExecutor, final LockRegistry lockRegistry,
-            final PlatformTransactionManager txManager, final ContextAware contextAware) {
+            final PlatformTransactionManager txManager, final ContextAware contextAware,
+            final RolloutExecutionEngine rolloutExecutionEngine) {
         return new JpaRolloutHandler(tenantAware, rolloutManagement, rolloutExecutor, lockRegistry, txManager,
-                contextAware);
+                contextAware, rolloutExecutionEngine);
     }
 
     @Bean
@@ -748,11 +797,12 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final RolloutGroupEvaluationManager evaluationManager, final RolloutApprovalStrategy rolloutApprovalStrategy,
             final EntityManager entityManager, final PlatformTransactionManager txManager,
             final AfterTransactionCommitExecutor afterCommit, final EventPublisherHolder eventPublisherHolder,
-            final TenantAware tenantAware, final RepositoryProperties repositoryProperties) {
+            final TenantAware tenantAware, final RepositoryProperties repositoryProperties,
+            final AuditorAware<String> auditorAware, final RolloutStatusCounter rolloutStatusCounter) {
         return new JpaRolloutExecutor(actionRepository, rolloutGroupRepository, rolloutTargetGroupRepository,
                 rolloutRepository, targetManagement, deploymentManagement, rolloutGroupManagement, rolloutManagement,
                 quotaManagement, evaluationManager, rolloutApprovalStrategy, entityManager, txManager, afterCommit,
-                eventPublisherHolder, tenantAware, repositoryProperties);
+                eventPublisherHolder, tenantAware, repositoryProperties, auditorAware, rolloutStatusCounter);
     }
 
     @Bean
@@ -795,9 +845,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
                                                   final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
                                                   final TargetRepository targetRepository, final EntityManager entityManager,
                                                   final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
-                                                  final JpaProperties properties) {
+                                                  final RolloutStatusCounter rolloutStatusCounter, final JpaProperties properties) {
         return new JpaRolloutGroupManagement(rolloutGroupRepository, rolloutRepository, actionRepository,
-                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, properties.getDatabase());
+                targetRepository, entityManager, virtualPropertyReplacer, rolloutStatusCache, rolloutStatusCounter,
+                properties.getDatabase());
     }
 
     /**
@@ -815,10 +866,13 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
                                               final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
                                               final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
                                               final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final AuditorAware<String> auditorAware,
-                                              final JpaProperties properties, final RepositoryProperties repositoryProperties) {
+                                              final JpaProperties properties, final RepositoryProperties repositoryProperties,
+                                              final RolloutStatusCounter rolloutStatusCounter,
+                                              final ArchivedActionRepository archivedActionRepository) {
         return new JpaDeploymentManagement(entityManager, actionRepository, distributionSetManagement, targetRepository, actionStatusRepository, auditorProvider,
                 eventPublisherHolder, afterCommit, virtualPropertyReplacer, txManager, tenantConfigurationManagement,
-                quotaManagement, systemSecurityContext, tenantAware, auditorAware, properties.getDatabase(), repositoryProperties);
+                quotaManagement, systemSecurityContext, tenantAware, auditorAware, properties.getDatabase(), repositoryProperties,
+                rolloutStatusCounter, archivedActionRepository);
     }
 
     @Bean
@@ -928,6 +982,10 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run a check as tenant
      * @param lockRegistry
      *            to lock the tenant for auto assignment
+     * @param changedTargets
+     *            the targets changed since the last auto assign check
+     * @param repositoryProperties
+     *            to configure the incremental auto assign check
      * @return a new {@link AutoAssignChecker}
      */
     @Bean
@@ -938,8 +996,23 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @ConditionalOnProperty(prefix = "hawkbit.autoassign.scheduler", name = "enabled", matchIfMissing = true)
     AutoAssignScheduler autoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
-            final LockRegistry lockRegistry) {
-        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry);
+            final LockRegistry lockRegistry, final AutoAssignChangedTargets changedTargets,
+            final RepositoryProperties repositoryProperties) {
+        return new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry,
+                changedTargets, repositoryProperties);
+    }
+
+    /**
+     * {@link AutoAssignChangedTargets} bean.
+     *
+     * @param repositoryProperties
+     *            to check if the incremental auto assign check is enabled
+     * @return a new {@link AutoAssignChangedTargets}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    AutoAssignChangedTargets autoAssignChangedTargets(final RepositoryProperties repositoryProperties) {
+        return new AutoAssignChangedTargets(repositoryProperties);
     }
 
     /**
@@ -949,13 +1022,15 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            Deployment management service
      * @param configManagement
      *            Tenant configuration service
+     * @param repositoryProperties
+     *            properties of the repository
      *
      * @return a new {@link AutoActionCleanup} bean
      */
     @Bean
     CleanupTask actionCleanup(final DeploymentManagement deploymentManagement,
-            final TenantConfigurationManagement configManagement) {
-        return new AutoActionCleanup(deploymentManagement, configManagement);
+            final TenantConfigurationManagement configManagement, final RepositoryProperties repositoryProperties) {
+        return new AutoActionCleanup(deploymentManagement, configManagement, repositoryProperties);
     }
 
     /**
@@ -994,6 +1069,8 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param rolloutExecutionEngine
+     *            to handle the tenants in parallel
      * @return a new {@link RolloutScheduler} bean.
      */
     @Bean
@@ -1001,8 +1078,40 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
     @Profile("!test")
     @ConditionalOnProperty(prefix = "hawkbit.rollout.scheduler", name = "enabled", matchIfMissing = true)
     RolloutScheduler rolloutScheduler(final SystemManagement systemManagement,
-            final RolloutHandler rolloutHandler, final SystemSecurityContext systemSecurityContext) {
-        return new RolloutScheduler(systemManagement, rolloutHandler, systemSecurityContext);
+            final RolloutHandler rolloutHandler, final SystemSecurityContext systemSecurityContext,
+            final RolloutExecutionEngine rolloutExecutionEngine) {
+        return new RolloutScheduler(systemManagement, rolloutHandler, systemSecurityContext, rolloutExecutionEngine);
+    }
+
+    /**
+     * {@link RolloutStatusCountReconciler} bean.
+     * <p/>
+     * Note: does not activate in test profile.
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param rolloutStatusCounter
+     *            to reconcile
+     * @param txManager
+     *            to reconcile each rollout in a new transaction
+     * @param lockRegistry
+     *            to lock the tenant for reconciliation
+     * @return a new {@link RolloutStatusCountReconciler} bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.server.repository", name = "rollout-status-counters", havingValue = "true")
+    RolloutStatusCountReconciler rolloutStatusCountReconciler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final RolloutManagement rolloutManagement,
+            final RolloutStatusCounter rolloutStatusCounter, final PlatformTransactionManager txManager,
+            final LockRegistry lockRegistry) {
+        return new RolloutStatusCountReconciler(systemManagement, systemSecurityContext, rolloutManagement,
+                rolloutStatusCounter, txManager, lockRegistry);
     }
 
     /**
@@ -1037,12 +1146,39 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
             final DistributionSetManagement distributionSetManagement, final RolloutManagement rolloutManagement,
             final DeploymentManagement deploymentManagement,
             final TargetFilterQueryManagement targetFilterQueryManagement, final ActionRepository actionRepository,
+            final DistributionSetInvalidationJobRepository invalidationJobRepository,
             final PlatformTransactionManager txManager, final RepositoryProperties repositoryProperties,
             final TenantAware tenantAware, final LockRegistry lockRegistry,
             final SystemSecurityContext systemSecurityContext) {
         return new JpaDistributionSetInvalidationManagement(distributionSetManagement, rolloutManagement,
-                deploymentManagement, targetFilterQueryManagement, actionRepository, txManager, repositoryProperties,
-                tenantAware, lockRegistry, systemSecurityContext);
+                deploymentManagement, targetFilterQueryManagement, actionRepository, invalidationJobRepository,
+                txManager, repositoryProperties, tenantAware, lockRegistry, systemSecurityContext);
+    }
+
+    /**
+     * {@link DistributionSetInvalidationScheduler} bean.
+     * <p/>
+     * Note: does not activate in test profile, the invalidation jobs are
+     * processed within the invalidation in the tests.
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param distributionSetInvalidationManagement
+     *            to continue the invalidation jobs
+     * @param systemSecurityContext
+     *            to run as system
+     * @return a new {@link DistributionSetInvalidationScheduler} bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "hawkbit.dsinvalidation.scheduler", name = "enabled", matchIfMissing = true)
+    DistributionSetInvalidationScheduler distributionSetInvalidationScheduler(
+            final SystemManagement systemManagement,
+            final DistributionSetInvalidationManagement distributionSetInvalidationManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        return new DistributionSetInvalidationScheduler(systemManagement, distributionSetInvalidationManagement,
+                systemSecurityContext);
     }
 
     /**
@@ -1057,6 +1193,20 @@ public class RepositoryApplicationConfiguration extends JpaBaseConfiguration {
         return new HawkBitBaseRepository.RepositoryTypeProvider();
     }
 
+    /**
+     * {@link ArtifactEncryption} bean with the chunked AES-GCM format which
+     * supports range requests without decrypting the artifact up to the range
+     * start. Requires an {@link ArtifactEncryptionSecretsStore} bean.
+     *
+     * @return a {@link ChunkedAesGcmArtifactEncryption} bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "hawkbit.artifact.encryption", name = "format", havingValue = "chunked-aes-gcm")
+    ArtifactEncryption chunkedAesGcmArtifactEncryption() {
+        return new ChunkedAesGcmArtifactEncryption();
+    }
+
     /**
      * Default artifact encryption service bean that internally uses
      * {@link ArtifactEncryption} and {@link ArtifactEncryptionSecretsStore} beans
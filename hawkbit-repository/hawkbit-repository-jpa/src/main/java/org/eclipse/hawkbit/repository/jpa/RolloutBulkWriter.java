@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
+import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecutor;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.jpa.model.RolloutTargetGroup;
+import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.eclipse.persistence.sessions.Session;
+import org.springframework.data.domain.AuditorAware;
+
+/**
+ * Writes the {@link RolloutTargetGroup} and {@link JpaAction} rows of a rollout
+ * with multi-row INSERT statements instead of persisting them entity by
+ * entity.
+ * <p/>
+ * Note: entity listeners are not called for the inserted rows. The
+ * {@link org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent}s
+ * are published explicitly after commit and the {@link RolloutStatusCounter} is
+ * updated explicitly.
+ */
+@Slf4j
+class RolloutBulkWriter {
+
+    /**
+     * Rows per action INSERT statement. Five parameters are bound per row, so
+     * the statement stays below the parameter limits of the supported
+     * databases (e.g. 2100 of SQL Server).
+     */
+    private static final int ACTION_ROWS_PER_STATEMENT = 200;
+
+    private final EntityManager entityManager;
+    private final ActionRepository actionRepository;
+    private final AfterTransactionCommitExecutor afterCommit;
+    private final TenantAware tenantAware;
+    private final AuditorAware<String> auditorAware;
+    private final RolloutStatusCounter rolloutStatusCounter;
+
+    RolloutBulkWriter(final EntityManager entityManager, final ActionRepository actionRepository,
+            final AfterTransactionCommitExecutor afterCommit, final TenantAware tenantAware,
+            final AuditorAware<String> auditorAware, final RolloutStatusCounter rolloutStatusCounter) {
+        this.entityManager = entityManager;
+        this.actionRepository = actionRepository;
+        this.afterCommit = afterCommit;
+        this.tenantAware = tenantAware;
+        this.auditorAware = auditorAware;
+        this.rolloutStatusCounter = rolloutStatusCounter;
+    }
+
+    /**
+     * Assigns the targets to the rollout group.
+     *
+     * @param group
+     *            the rollout group
+     * @param targetIds
+     *            of the targets to assign
+     */
+    void insertRolloutTargetGroups(final RolloutGroup group, final List<Long> targetIds) {
+        ListUtils.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT).forEach(chunk -> {
+            final StringBuilder sql = new StringBuilder(
+                    "INSERT INTO sp_rollouttargetgroup (rolloutGroup_Id, target_id) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append('(').append(group.getId().longValue()).append(',').append(chunk.get(i).longValue())
+                        .append(')');
+            }
+            final int inserted = entityManager.createNativeQuery(sql.toString()).executeUpdate();
+            log.debug("Inserted {} targets into rollout group {}", inserted, group.getId());
+        });
+    }
+
+    /**
+     * Creates scheduled, inactive actions for the targets.
+     *
+     * @return the created actions
+     */
+    List<Action> insertActions(final List<Long> targetIds, final DistributionSet distributionSet,
+            final ActionType actionType, final Long forcedTime, final Rollout rollout,
+            final RolloutGroup rolloutGroup) {
+        final Session session = entityManager.unwrap(JpaEntityManager.class).getServerSession();
+        final Object actionTypeValue = toDataValue(session, JpaAction_.ACTION_TYPE, actionType);
+        final Object statusValue = toDataValue(session, JpaAction_.STATUS, Status.SCHEDULED);
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        final String initiatedBy = rollout.getCreatedBy();
+        final String auditor = auditorAware.getCurrentAuditor().orElse(initiatedBy);
+        final long now = System.currentTimeMillis();
+        final String weight = rollout.getWeight().map(String::valueOf).orElse("NULL");
+
+        final List<Action> created = new ArrayList<>(targetIds.size());
+        ListUtils.partition(targetIds, ACTION_ROWS_PER_STATEMENT).forEach(chunk -> {
+            final StringBuilder sql = new StringBuilder("INSERT INTO sp_action (tenant, created_at, created_by, "
+                    + "last_modified_at, last_modified_by, optlock_revision, action_type, active, forced_time, status, "
+                    + "distribution_set, target, rollout, rolloutgroup, weight, initiated_by) VALUES ");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    sql.append(',');
+                }
+                sql.append("(#tenant").append(i).append(',').append(now).append(",#auditor").append(i).append(',')
+                        .append(now).append(",#auditor").append(i).append(",1,").append(actionTypeValue)
+                        .append(",#active").append(i).append(',').append(forcedTime == null ? 0 : forcedTime)
+                        .append(',').append(statusValue).append(',').append(distributionSet.getId().longValue())
+                        .append(',').append(chunk.get(i).longValue()).append(',').append(rollout.getId().longValue())
+                        .append(',').append(rolloutGroup.getId().longValue()).append(',').append(weight)
+                        .append(",#initiatedBy").append(i).append(')');
+            }
+
+            final Query insert = entityManager.createNativeQuery(sql.toString());
+            for (int i = 0; i < chunk.size(); i++) {
+                insert.setParameter("tenant" + i, tenant);
+                insert.setParameter("auditor" + i, auditor);
+                insert.setParameter("active" + i, Boolean.FALSE);
+                insert.setParameter("initiatedBy" + i, initiatedBy);
+            }
+            insert.executeUpdate();
+
+            final List<JpaAction> actions = actionRepository.findByRolloutGroupIdAndTargetIdIn(rolloutGroup.getId(),
+                    chunk);
+            actions.forEach(action -> afterCommit.afterCommit(() -> action.fireCreateEvent(null)));
+            created.addAll(actions);
+        });
+
+        rolloutStatusCounter.add(rolloutGroup.getId(), Status.SCHEDULED, created.size());
+        log.debug("Inserted {} actions for rollout group {}", created.size(), rolloutGroup.getId());
+        return created;
+    }
+
+    private static Object toDataValue(final Session session, final String attribute, final Object value) {
+        return ((AbstractDirectMapping) session.getDescriptor(JpaAction.class).getMappingForAttributeName(attribute))
+                .getConverter().convertObjectValueToDataValue(value, session);
+    }
+}
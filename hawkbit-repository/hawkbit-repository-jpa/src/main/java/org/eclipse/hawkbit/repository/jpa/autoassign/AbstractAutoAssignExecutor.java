@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.autoassign;
 
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.hawkbit.ContextAware;
@@ -91,13 +92,20 @@ public abstract class AbstractAutoAssignExecutor implements AutoAssignExecutor {
     // otherwise in the tenant & user context built by createdBy
     // Note! It must be called in a tenant context, i.e. contextAware.getCurrentTenant() returns the tenant
     protected void forEachFilterWithAutoAssignDS(final Consumer<TargetFilterQuery> consumer) {
+        forEachFilterWithAutoAssignDS(UnaryOperator.identity(), consumer);
+    }
+
+    // as forEachFilterWithAutoAssignDS(Consumer) but the pageFilter, which runs in the current context, could
+    // exclude target filter queries of a page before the consumer is called for every one of them in its context
+    protected void forEachFilterWithAutoAssignDS(final UnaryOperator<List<TargetFilterQuery>> pageFilter,
+            final Consumer<TargetFilterQuery> consumer) {
         Slice<TargetFilterQuery> filterQueries;
         Pageable query = PageRequest.of(0, PAGE_SIZE);
 
         do {
             filterQueries = targetFilterQueryManagement.findWithAutoAssignDS(query);
 
-            filterQueries.forEach(filterQuery -> {
+            pageFilter.apply(filterQueries.getContent()).forEach(filterQuery -> {
                 try {
                     filterQuery.getAccessControlContext().ifPresentOrElse(
                         context -> // has stored context - executes it with it
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Collects per tenant the targets created or updated since the last auto
+ * assign check, so that the {@link AutoAssignScheduler} has to check only
+ * these targets. If a target filter query is created or updated, or too many
+ * targets are changed, a check of all targets is requested instead.
+ * <p/>
+ * The changed targets are collected in memory from the target events. So in a
+ * cluster every node collects all changes only if the remote events are
+ * distributed to all nodes (Spring Cloud Bus). Otherwise the incremental auto
+ * assignment must be used on a single node only.
+ */
+@Slf4j
+public class AutoAssignChangedTargets {
+
+    private final RepositoryProperties repositoryProperties;
+
+    private final Map<String, Set<Long>> changedTargets = new ConcurrentHashMap<>();
+    private final Set<String> fullCheckRequested = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param repositoryProperties
+     *            to check if the incremental auto assignment is enabled
+     */
+    public AutoAssignChangedTargets(final RepositoryProperties repositoryProperties) {
+        this.repositoryProperties = repositoryProperties;
+    }
+
+    @EventListener(classes = { TargetCreatedEvent.class, TargetUpdatedEvent.class })
+    public void onTargetChange(final RemoteIdEvent event) {
+        if (!repositoryProperties.isAutoAssignIncremental() || event.getEntityId() == null) {
+            return;
+        }
+
+        final String tenant = key(event.getTenant());
+        if (fullCheckRequested.contains(tenant)) {
+            return;
+        }
+        final Set<Long> targets = changedTargets.computeIfAbsent(tenant, k -> ConcurrentHashMap.newKeySet());
+        if (targets.size() >= repositoryProperties.getAutoAssignMaxChangedTargets()) {
+            log.debug("More than {} targets of tenant {} changed, check all targets.", targets.size(), tenant);
+            requestFullCheck(tenant);
+        } else {
+            targets.add(event.getEntityId());
+        }
+    }
+
+    @EventListener(classes = { TargetFilterQueryCreatedEvent.class, TargetFilterQueryUpdatedEvent.class })
+    public void onTargetFilterQueryChange(final RemoteIdEvent event) {
+        if (repositoryProperties.isAutoAssignIncremental()) {
+            requestFullCheck(key(event.getTenant()));
+        }
+    }
+
+    /**
+     * Returns and resets the request to check all targets of the tenant. The
+     * targets changed so far are discarded since they are covered by the check
+     * of all targets.
+     *
+     * @param tenant
+     *            the tenant
+     * @return <code>true</code> if all targets of the tenant shall be checked
+     */
+    public boolean pollFullCheckRequest(final String tenant) {
+        final String key = key(tenant);
+        if (fullCheckRequested.remove(key)) {
+            changedTargets.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Discards the targets changed so far, e.g. before a check of all targets.
+     *
+     * @param tenant
+     *            the tenant
+     */
+    public void clear(final String tenant) {
+        changedTargets.remove(key(tenant));
+    }
+
+    /**
+     * Requests a check of all targets of the tenant, e.g. if a requested check
+     * has failed.
+     *
+     * @param tenant
+     *            the tenant
+     */
+    public void requestFullCheck(final String tenant) {
+        final String key = key(tenant);
+        fullCheckRequested.add(key);
+        changedTargets.remove(key);
+    }
+
+    /**
+     * Adds targets returned by {@link #poll(String, int)} again, e.g. if their
+     * check has failed.
+     *
+     * @param tenant
+     *            the tenant
+     * @param targetIds
+     *            the IDs of the targets
+     */
+    public void requeue(final String tenant, final List<Long> targetIds) {
+        final String key = key(tenant);
+        if (fullCheckRequested.contains(key)) {
+            return;
+        }
+        final Set<Long> targets = changedTargets.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet());
+        if (targets.size() + targetIds.size() > repositoryProperties.getAutoAssignMaxChangedTargets()) {
+            requestFullCheck(key);
+        } else {
+            targets.addAll(targetIds);
+        }
+    }
+
+    /**
+     * Removes and returns up to the given number of changed targets.
+     *
+     * @param tenant
+     *            the tenant
+     * @param max
+     *            maximum number of returned targets
+     * @return the IDs of the changed targets, empty if there are none
+     */
+    public List<Long> poll(final String tenant, final int max) {
+        final Set<Long> targets = changedTargets.get(key(tenant));
+        if (targets == null) {
+            return List.of();
+        }
+
+        final List<Long> polled = new ArrayList<>(Math.min(max, targets.size()));
+        final Iterator<Long> iterator = targets.iterator();
+        while (polled.size() < max && iterator.hasNext()) {
+            polled.add(iterator.next());
+            iterator.remove();
+        }
+        return polled;
+    }
+
+    private static String key(final String tenant) {
+        return tenant.toUpperCase();
+    }
+}
@@ -11,10 +11,13 @@ package org.eclipse.hawkbit.repository.jpa.autoassign;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.PersistenceException;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.ListUtils;
 import org.eclipse.hawkbit.ContextAware;
 import org.eclipse.hawkbit.exception.AbstractServerRtException;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -64,16 +67,43 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
     @Override
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void checkAllTargets() {
+        checkAllTargets(() -> {});
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkAllTargets(final Runnable afterEachChunk) {
         log.debug("Auto assign check call for tenant {} started", getContextAware().getCurrentTenant());
-        forEachFilterWithAutoAssignDS(this::checkByTargetFilterQueryAndAssignDS);
+        forEachFilterWithAutoAssignDS(filter -> checkByTargetFilterQueryAndAssignDS(filter, afterEachChunk));
         log.debug("Auto assign check call for tenant {} finished", getContextAware().getCurrentTenant());
     }
 
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkTargets(final List<Long> targetIds) {
+        checkTargets(targetIds, () -> {});
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void checkTargets(final List<Long> targetIds, final Runnable afterEachChunk) {
+        log.debug("Auto assign check call for tenant {} and {} targets started", getContextAware().getCurrentTenant(),
+                targetIds.size());
+        final List<List<Long>> chunks = ListUtils.partition(targetIds, Constants.MAX_ENTRIES_IN_STATEMENT);
+        forEachFilterWithAutoAssignDS(filter -> chunks.forEach(chunk -> {
+            checkTargetsAndAssignDS(filter, chunk);
+            afterEachChunk.run();
+        }));
+        log.debug("Auto assign check call for tenant {} and {} targets finished", getContextAware().getCurrentTenant(),
+                targetIds.size());
+    }
+
     @Override
     public void checkSingleTarget(String controllerId) {
         log.debug("Auto assign check call for tenant {} and device {} started", getContextAware().getCurrentTenant(),
                 controllerId);
-        forEachFilterWithAutoAssignDS(filter -> checkForDevice(controllerId, filter));
+        forEachFilterWithAutoAssignDS(filters -> excludeNotMatching(controllerId, filters),
+                filter -> checkForDevice(controllerId, filter));
         log.debug("Auto assign check call for tenant {} and device {} finished", getContextAware().getCurrentTenant(),
                 controllerId);
     }
@@ -85,8 +115,11 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
      *
      * @param targetFilterQuery
      *            the target filter query
+     * @param afterEachChunk
+     *            called after each chunk of assigned targets
      */
-    private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery) {
+    private void checkByTargetFilterQueryAndAssignDS(final TargetFilterQuery targetFilterQuery,
+            final Runnable afterEachChunk) {
         log.debug("Auto assign check call for tenant {} and target filter query id {} started",
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId());
         try {
@@ -105,6 +138,7 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                 log.debug(
                         "Assignment for {} auto assign targets for tenant {} and target filter query id {} finished",
                         controllerIds.size(), getContextAware().getCurrentTenant(), targetFilterQuery.getId());
+                afterEachChunk.run();
             } while (count == Constants.MAX_ENTRIES_IN_STATEMENT);
         } catch (final PersistenceException | AbstractServerRtException e) {
             log.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
@@ -113,6 +147,54 @@ public class AutoAssignChecker extends AbstractAutoAssignExecutor {
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId());
     }
 
+    /**
+     * Evaluates the target filter queries in memory against the device, so that
+     * only the possibly matching ones are checked with a query per target
+     * filter query.
+     *
+     * @param controllerId
+     *            the device
+     * @param targetFilterQueries
+     *            the target filter queries to check
+     * @return the target filter queries which might match the device
+     */
+    private List<TargetFilterQuery> excludeNotMatching(final String controllerId,
+            final List<TargetFilterQuery> targetFilterQueries) {
+        if (targetFilterQueries.isEmpty()) {
+            return targetFilterQueries;
+        }
+        try {
+            final Set<String> possiblyMatching = targetManagement.findPossiblyMatchingQueries(controllerId,
+                    targetFilterQueries.stream().map(TargetFilterQuery::getQuery).collect(Collectors.toSet()));
+            log.debug("{} of {} target filter queries might match device {}", possiblyMatching.size(),
+                    targetFilterQueries.size(), controllerId);
+            return targetFilterQueries.stream()
+                    .filter(targetFilterQuery -> possiblyMatching.contains(targetFilterQuery.getQuery())).toList();
+        } catch (final RuntimeException e) {
+            log.warn("In memory evaluation of the target filter queries for device {} failed, checking all of them",
+                    controllerId, e);
+            return targetFilterQueries;
+        }
+    }
+
+    private void checkTargetsAndAssignDS(final TargetFilterQuery targetFilterQuery, final List<Long> targetIds) {
+        try {
+            final List<String> controllerIds = targetManagement
+                    .findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(
+                            PageRequest.of(0, Constants.MAX_ENTRIES_IN_STATEMENT), targetIds,
+                            targetFilterQuery.getAutoAssignDistributionSet().getId(), targetFilterQuery.getQuery())
+                    .getContent().stream().map(Target::getControllerId).toList();
+            if (!controllerIds.isEmpty()) {
+                log.debug("Assigning {} of {} checked targets for tenant {} and target filter query id {}",
+                        controllerIds.size(), targetIds.size(), getContextAware().getCurrentTenant(),
+                        targetFilterQuery.getId());
+                runTransactionalAssignment(targetFilterQuery, controllerIds);
+            }
+        } catch (final PersistenceException | AbstractServerRtException e) {
+            log.error("Error during auto assign check of target filter query id {}", targetFilterQuery.getId(), e);
+        }
+    }
+
     private void checkForDevice(final String controllerId, final TargetFilterQuery targetFilterQuery) {
         log.debug("Auto assign check call for tenant {} and target filter query id {} for device {} started",
                 getContextAware().getCurrentTenant(), targetFilterQuery.getId(), controllerId);
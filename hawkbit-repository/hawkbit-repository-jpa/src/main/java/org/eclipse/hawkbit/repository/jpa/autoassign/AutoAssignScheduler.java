@@ -9,13 +9,18 @@
  */
 package org.eclipse.hawkbit.repository.jpa.autoassign;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.SystemManagement;
 import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.integration.support.locks.RenewableLockRegistry;
 import org.springframework.scheduling.annotation.Scheduled;
 
 /**
@@ -34,6 +39,13 @@ public class AutoAssignScheduler {
 
     private final LockRegistry lockRegistry;
 
+    private final AutoAssignChangedTargets changedTargets;
+
+    private final RepositoryProperties repositoryProperties;
+
+    // time of the last check of all targets per tenant
+    private final Map<String, Long> lastFullCheck = new ConcurrentHashMap<>();
+
     /**
      * Instantiates a new AutoAssignScheduler
      * 
@@ -49,10 +61,37 @@ public class AutoAssignScheduler {
     public AutoAssignScheduler(final SystemManagement systemManagement,
             final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
             final LockRegistry lockRegistry) {
+        this(systemManagement, systemSecurityContext, autoAssignExecutor, lockRegistry, null, null);
+    }
+
+    /**
+     * Instantiates a new AutoAssignScheduler which checks only the changed
+     * targets if {@link RepositoryProperties#isAutoAssignIncremental()} is
+     * enabled.
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param autoAssignExecutor
+     *            to run a check as tenant
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     * @param changedTargets
+     *            the targets changed since the last check
+     * @param repositoryProperties
+     *            to configure the incremental check
+     */
+    public AutoAssignScheduler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final AutoAssignExecutor autoAssignExecutor,
+            final LockRegistry lockRegistry, final AutoAssignChangedTargets changedTargets,
+            final RepositoryProperties repositoryProperties) {
         this.systemManagement = systemManagement;
         this.systemSecurityContext = systemSecurityContext;
         this.autoAssignExecutor = autoAssignExecutor;
         this.lockRegistry = lockRegistry;
+        this.changedTargets = changedTargets;
+        this.repositoryProperties = repositoryProperties;
     }
 
     /**
@@ -76,19 +115,80 @@ public class AutoAssignScheduler {
         // https://bugs.eclipse.org/bugs/show_bug.cgi?id=355458. So
         // iterate through all tenants and execute the rollout check for
         // each tenant separately.
-        final Lock lock = lockRegistry.obtain("autoassign");
+        log.debug("Auto assign scheduled execution started for each tenant.");
+        systemManagement.forEachTenant(this::executeAutoAssign);
+        log.debug("Auto assign scheduled execution finished.");
+        return null;
+    }
+
+    // the lock is obtained per tenant, so if the lock registry is shared by
+    // several nodes the tenants are distributed between them
+    private void executeAutoAssign(final String tenant) {
+        final String lockKey = tenant + "-autoassign";
+        final Lock lock = lockRegistry.obtain(lockKey);
         if (!lock.tryLock()) {
-            return null;
+            log.trace("Auto assign of tenant {} is executed by another node.", tenant);
+            // the changes checked by the other node might not be known here,
+            // so all targets are checked when this node takes over again
+            lastFullCheck.remove(tenant);
+            return;
         }
 
         try {
-            log.debug("Auto assign scheduled execution has acquired lock and started for each tenant.");
-            systemManagement.forEachTenant(tenant -> autoAssignExecutor.checkAllTargets());
+            final Runnable renewLock = () -> renewLock(lockKey);
+            if (isIncremental()) {
+                checkChangedTargets(tenant, renewLock);
+            } else {
+                autoAssignExecutor.checkAllTargets(renewLock);
+            }
         } finally {
             lock.unlock();
-            log.debug("Auto assign scheduled execution has released lock and finished.");
         }
+    }
 
-        return null;
+    // extends the lease of a lock that expires (e.g. distributed lock) after
+    // each checked chunk, so that it is not taken over by another node while
+    // the check is in progress
+    private void renewLock(final String lockKey) {
+        if (lockRegistry instanceof RenewableLockRegistry renewableLockRegistry) {
+            renewableLockRegistry.renewLock(lockKey);
+        }
+    }
+
+    private boolean isIncremental() {
+        return changedTargets != null && repositoryProperties != null
+                && repositoryProperties.isAutoAssignIncremental();
+    }
+
+    private void checkChangedTargets(final String tenant, final Runnable renewLock) {
+        final long now = System.currentTimeMillis();
+        final Long lastFullCheckAt = lastFullCheck.get(tenant);
+        if (changedTargets.pollFullCheckRequest(tenant) || lastFullCheckAt == null
+                || now - lastFullCheckAt >= repositoryProperties.getAutoAssignFullSweepInterval()) {
+            // changes made during the check are tracked again and checked in
+            // the next run
+            changedTargets.clear(tenant);
+            try {
+                autoAssignExecutor.checkAllTargets(renewLock);
+            } catch (final RuntimeException e) {
+                changedTargets.requestFullCheck(tenant);
+                throw e;
+            }
+            lastFullCheck.put(tenant, now);
+            return;
+        }
+
+        List<Long> targetIds;
+        while (!(targetIds = changedTargets.poll(tenant,
+                repositoryProperties.getAutoAssignIncrementalBatchSize())).isEmpty()) {
+            log.debug("Auto assign check of {} changed targets of tenant {}", targetIds.size(), tenant);
+            try {
+                autoAssignExecutor.checkTargets(targetIds, renewLock);
+            } catch (final RuntimeException e) {
+                // checked again in the next run
+                changedTargets.requeue(tenant, targetIds);
+                throw e;
+            }
+        }
     }
 }
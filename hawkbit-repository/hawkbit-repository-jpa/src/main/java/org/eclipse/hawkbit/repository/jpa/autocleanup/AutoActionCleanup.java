@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.autocleanup;
 
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ACTION_EXPIRY;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ACTION_STATUS;
+import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ARCHIVE;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ENABLED;
 
 import java.io.Serializable;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
@@ -33,6 +35,12 @@ import org.eclipse.hawkbit.repository.model.TenantConfigurationValue;
  * only clean up actions which have terminated already (i.e. actions in status
  * CANCELLED or ERROR).
  * 
+ * If the archive is switched on, the actions are moved into the action archive
+ * in chunks of {@link RepositoryProperties#getActionArchiveChunkSize()} (as
+ * long as the run does not exceed
+ * {@link RepositoryProperties#getActionArchiveTimeBudget()}) instead of being
+ * deleted, so that their history stays readable.
+ * 
  * The cleanup task can be enabled /disabled and configured on a per tenant
  * basis.
  */
@@ -41,11 +49,13 @@ public class AutoActionCleanup implements CleanupTask {
 
     private static final String ID = "action-cleanup";
     private static final boolean ACTION_CLEANUP_ENABLED_DEFAULT = false;
+    private static final boolean ACTION_CLEANUP_ARCHIVE_DEFAULT = false;
     private static final long ACTION_CLEANUP_ACTION_EXPIRY_DEFAULT = TimeUnit.DAYS.toMillis(30);
     private static final EnumSet<Status> EMPTY_STATUS_SET = EnumSet.noneOf(Status.class);
 
     private final DeploymentManagement deploymentMgmt;
     private final TenantConfigurationManagement config;
+    private final RepositoryProperties repositoryProperties;
 
     /**
      * Constructs the action cleanup handler.
@@ -54,11 +64,14 @@ public class AutoActionCleanup implements CleanupTask {
      *            The {@link DeploymentManagement} to operate on.
      * @param configMgmt
      *            The {@link TenantConfigurationManagement} service.
+     * @param repositoryProperties
+     *            The {@link RepositoryProperties} with the archive limits.
      */
     public AutoActionCleanup(final DeploymentManagement deploymentMgmt,
-            final TenantConfigurationManagement configMgmt) {
+            final TenantConfigurationManagement configMgmt, final RepositoryProperties repositoryProperties) {
         this.deploymentMgmt = deploymentMgmt;
         this.config = configMgmt;
+        this.repositoryProperties = repositoryProperties;
     }
 
     @Override
@@ -72,12 +85,29 @@ public class AutoActionCleanup implements CleanupTask {
         final EnumSet<Status> status = getActionStatus();
         if (!status.isEmpty()) {
             final long lastModified = System.currentTimeMillis() - getExpiry();
+            if (isArchive()) {
+                archive(status, lastModified);
+                return;
+            }
             final int actionsCount = deploymentMgmt.deleteActionsByStatusAndLastModifiedBefore(status, lastModified);
             log.debug("Deleted {} actions in status {} which have not been modified since {} ({})", actionsCount,
                     status, Instant.ofEpochMilli(lastModified), lastModified);
         }
     }
 
+    private void archive(final EnumSet<Status> status, final long lastModified) {
+        final long deadline = System.currentTimeMillis() + repositoryProperties.getActionArchiveTimeBudget();
+        final int chunkSize = repositoryProperties.getActionArchiveChunkSize();
+        int actionsCount = 0;
+        int chunkCount;
+        do {
+            chunkCount = deploymentMgmt.archiveActionsByStatusAndLastModifiedBefore(status, lastModified);
+            actionsCount += chunkCount;
+        } while (chunkCount >= chunkSize && System.currentTimeMillis() < deadline);
+        log.debug("Archived {} actions in status {} which have not been modified since {} ({})", actionsCount,
+                status, Instant.ofEpochMilli(lastModified), lastModified);
+    }
+
     @Override
     public String getId() {
         return ID;
@@ -97,6 +127,11 @@ public class AutoActionCleanup implements CleanupTask {
         return EMPTY_STATUS_SET;
     }
 
+    private boolean isArchive() {
+        final TenantConfigurationValue<Boolean> isArchive = getConfigValue(ACTION_CLEANUP_ARCHIVE, Boolean.class);
+        return isArchive != null ? isArchive.getValue() : ACTION_CLEANUP_ARCHIVE_DEFAULT;
+    }
+
     private boolean isEnabled() {
         final TenantConfigurationValue<Boolean> isEnabled = getConfigValue(ACTION_CLEANUP_ENABLED, Boolean.class);
         return isEnabled != null ? isEnabled.getValue() : ACTION_CLEANUP_ENABLED_DEFAULT;
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.DistributionSetInvalidationManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Scheduler to continue the distribution set invalidation jobs which actions
+ * haven't been canceled completely within the invalidation request, or which
+ * have been interrupted (e.g. by a restart).
+ */
+@Slf4j
+public class DistributionSetInvalidationScheduler {
+
+    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.dsinvalidation.scheduler.fixedDelay:10000}";
+
+    private final SystemManagement systemManagement;
+    private final DistributionSetInvalidationManagement distributionSetInvalidationManagement;
+    private final SystemSecurityContext systemSecurityContext;
+
+    /**
+     * Instantiates a new DistributionSetInvalidationScheduler
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param distributionSetInvalidationManagement
+     *            to continue the jobs of a tenant
+     * @param systemSecurityContext
+     *            to run as system
+     */
+    public DistributionSetInvalidationScheduler(final SystemManagement systemManagement,
+            final DistributionSetInvalidationManagement distributionSetInvalidationManagement,
+            final SystemSecurityContext systemSecurityContext) {
+        this.systemManagement = systemManagement;
+        this.distributionSetInvalidationManagement = distributionSetInvalidationManagement;
+        this.systemSecurityContext = systemSecurityContext;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Retrieves all
+     * tenants and continues the running invalidation jobs of each tenant (the
+     * jobs of a tenant are locked by the management).
+     */
+    @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
+    public void runningJobsScheduler() {
+        log.debug("Distribution set invalidation scheduler has been triggered.");
+        // run this code in system code privileged to have the necessary
+        // permission to query and update entities
+        systemSecurityContext.runAsSystem(() -> {
+            systemManagement.forEachTenant(tenant -> {
+                try {
+                    distributionSetInvalidationManagement.handleInvalidationJobs();
+                } catch (final RuntimeException e) {
+                    log.error("Distribution set invalidation jobs of tenant {} failed.", tenant, e);
+                }
+            });
+            return null;
+        });
+    }
+}
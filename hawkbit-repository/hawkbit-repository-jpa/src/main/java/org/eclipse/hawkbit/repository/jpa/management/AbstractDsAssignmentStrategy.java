@@ -231,7 +231,14 @@ public abstract class AbstractDsAssignmentStrategy {
               new CancelTargetAssignmentEvent(action, eventPublisherHolder.getApplicationId())));
     }
 
-    private void cancelAssignDistributionSetEvent(final List<Action> actions) {
+    /**
+     * Sends one {@link CancelTargetAssignmentEvent} for several actions to the
+     * eventPublisher.
+     *
+     * @param actions
+     *            the actions of the assignments
+     */
+    protected void cancelAssignDistributionSetEvent(final List<Action> actions) {
         if (CollectionUtils.isEmpty(actions)) {
             return;
         }
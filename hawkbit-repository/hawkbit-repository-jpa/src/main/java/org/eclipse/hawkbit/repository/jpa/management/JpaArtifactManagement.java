@@ -224,7 +224,10 @@ public class JpaArtifactManagement implements ArtifactManagement {
                 accessController.assertOperationAllowed(AccessController.Operation.UPDATE,
                     (JpaSoftwareModule) toDelete.getSoftwareModule()));
         ((JpaSoftwareModule) toDelete.getSoftwareModule()).removeArtifact(toDelete);
-        softwareModuleRepository.save((JpaSoftwareModule) toDelete.getSoftwareModule());
+        // touch it to update the lock revision because we are modifying the
+        // DS indirectly
+        JpaManagementHelper.touch(entityManager, softwareModuleRepository,
+                (JpaSoftwareModule) toDelete.getSoftwareModule());
 
         localArtifactRepository.deleteById(id);
         clearArtifactBinary(toDelete.getSha1Hash());
@@ -299,8 +302,8 @@ public class JpaArtifactManagement implements ArtifactManagement {
         }
         final ArtifactEncryptionService encryptionService = ArtifactEncryptionService.getInstance();
         return new EncryptionAwareDbArtifact(dbArtifact,
-                stream -> encryptionService.decryptSoftwareModuleArtifact(softwareModuleId, stream),
-                encryptionService.encryptionSizeOverhead());
+                (stream, offset) -> encryptionService.decryptSoftwareModuleArtifact(softwareModuleId, stream, offset),
+                encryptionService.decryptedSize(dbArtifact.getSize()));
     }
 
     private Artifact storeArtifactMetadata(final SoftwareModule softwareModule, final String providedFilename,
@@ -16,7 +16,6 @@ import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.ListUtils;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.ControllerManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
@@ -95,16 +94,13 @@ import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -122,7 +118,7 @@ import static org.eclipse.hawkbit.repository.model.Target.CONTROLLER_ATTRIBUTE_V
 @Validated
 public class JpaControllerManagement extends JpaActionManagement implements ControllerManagement {
 
-    private final BlockingDeque<TargetPoll> queue;
+    private final TargetPollWriteBehind pollWriteBehind;
 
     @Autowired
     private EntityManager entityManager;
@@ -175,16 +171,27 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
 
         if (!repositoryProperties.isEagerPollPersistence()) {
+            pollWriteBehind = new TargetPollWriteBehind(this::persistPolls, executorService,
+                    repositoryProperties.getPollPersistenceQueueSize(),
+                    Math.min(repositoryProperties.getPollPersistenceMaxBatchSize(), Constants.MAX_ENTRIES_IN_STATEMENT),
+                    repositoryProperties.getPollPersistenceBatchLatencyTarget());
+
             executorService.scheduleWithFixedDelay(this::flushUpdateQueue,
                     repositoryProperties.getPollPersistenceFlushTime(),
                     repositoryProperties.getPollPersistenceFlushTime(), TimeUnit.MILLISECONDS);
-
-            queue = new LinkedBlockingDeque<>(repositoryProperties.getPollPersistenceQueueSize());
         } else {
-            queue = null;
+            pollWriteBehind = null;
         }
     }
 
+    /**
+     * @return the write-behind buffer of the target polls if lazy poll
+     *         persistence is enabled
+     */
+    public Optional<TargetPollWriteBehind> getPollWriteBehind() {
+        return Optional.ofNullable(pollWriteBehind);
+    }
+
     @Override
     public String getPollingTime() {
         return systemSecurityContext.runAsSystem(() -> tenantConfigurationManagement
@@ -408,6 +415,17 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                 .orElseGet(() -> createTarget(controllerId, address, name, type));
     }
 
+    @Override
+    public boolean registerPollOfExistingTarget(final String controllerId) {
+        if (pollWriteBehind == null) {
+            return false;
+        }
+
+        // the tenant is stored upper case, as by the polls of the read targets
+        pollWriteBehind.offer(tenantAware.getCurrentTenant().toUpperCase(), controllerId, System.currentTimeMillis());
+        return true;
+    }
+
     private Target createTarget(final String controllerId, final URI address, final String name, final String type) {
 
         log.debug("Creating target for thing ID \"{}\".", controllerId);
@@ -447,74 +465,63 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
     private void flushUpdateQueue() {
         log.debug("Run flushUpdateQueue.");
 
-        final int size = queue.size();
-        if (size <= 0) {
-            return;
-        }
-
-        log.debug("{} events in flushUpdateQueue.", size);
-
-        final Set<TargetPoll> events = new HashSet<>(queue.size());
-        final int drained = queue.drainTo(events);
-
-        if (drained <= 0) {
-            return;
-        }
-
         try {
-            events.stream().collect(Collectors.groupingBy(TargetPoll::getTenant)).forEach((tenant, polls) -> {
-                final TransactionCallback<Void> createTransaction = status -> updateLastTargetQueries(tenant, polls);
-                tenantAware.runAsTenant(tenant,
-                        () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
-            });
+            pollWriteBehind.flush();
         } catch (final RuntimeException ex) {
             log.error("Failed to persist UpdateQueue content.", ex);
-            return;
         }
-
-        log.debug("{} events persisted.", drained);
     }
 
-    private Void updateLastTargetQueries(final String tenant, final List<TargetPoll> polls) {
-        log.debug("Persist {} targetqueries.", polls.size());
-
-        final List<List<String>> pollChunks = ListUtils.partition(
-                polls.stream().map(TargetPoll::getControllerId).collect(Collectors.toList()),
-                Constants.MAX_ENTRIES_IN_STATEMENT);
-
-        pollChunks.forEach(chunk -> {
-            setLastTargetQuery(tenant, System.currentTimeMillis(), chunk);
-            chunk.forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
-                    .publishEvent(new TargetPollEvent(controllerId, tenant, eventPublisherHolder.getApplicationId()))));
-        });
+    private void persistPolls(final String tenant, final Map<Long, List<String>> controllerIdsByLastTargetQuery) {
+        log.debug("Persist targetqueries with {} distinct poll times.", controllerIdsByLastTargetQuery.size());
 
-        return null;
+        final TransactionCallback<Void> createTransaction = status -> {
+            setLastTargetQuery(tenant, controllerIdsByLastTargetQuery);
+            controllerIdsByLastTargetQuery.values().forEach(controllerIds -> controllerIds
+                    .forEach(controllerId -> afterCommit.afterCommit(() -> eventPublisherHolder.getEventPublisher()
+                            .publishEvent(new TargetPollEvent(controllerId, tenant,
+                                    eventPublisherHolder.getApplicationId())))));
+            return null;
+        };
+        tenantAware.runAsTenant(tenant,
+                () -> DeploymentHelper.runInNewTransaction(txManager, "flushUpdateQueue", createTransaction));
     }
 
     /**
      * Sets {@link Target#getLastTargetQuery()} by native SQL in order to avoid
      * raising opt lock revision as this update is not mission critical and in
      * fact only written by {@link ControllerManagement}, i.e. the target
-     * itself.
+     * itself. Each target gets its own poll time, the targets are updated with
+     * one statement.
      */
-    private void setLastTargetQuery(final String tenant, final long currentTimeMillis, final List<String> chunk) {
-        final Map<String, String> paramMapping = new HashMap<>(chunk.size());
-
-        for (int i = 0; i < chunk.size(); i++) {
-            paramMapping.put("cid" + i, chunk.get(i));
-        }
+    private void setLastTargetQuery(final String tenant,
+            final Map<Long, List<String>> controllerIdsByLastTargetQuery) {
+        final Map<String, String> paramMapping = new HashMap<>();
+        final StringBuilder lastTargetQuery = new StringBuilder("CASE");
+        controllerIdsByLastTargetQuery.forEach((currentTimeMillis, controllerIds) -> {
+            final List<String> paramNames = new ArrayList<>(controllerIds.size());
+            controllerIds.forEach(controllerId -> {
+                final String paramName = "cid" + paramMapping.size();
+                paramMapping.put(paramName, controllerId);
+                paramNames.add(paramName);
+            });
+            // the poll time is a number, bound parameters are not typed in a CASE on all databases
+            lastTargetQuery.append(" WHEN controller_id IN (").append(formatQueryInStatementParams(paramNames))
+                    .append(") THEN ").append(currentTimeMillis.longValue());
+        });
+        lastTargetQuery.append(" END");
 
-        final Query updateQuery = entityManager.createNativeQuery(
-                "UPDATE sp_target SET last_target_query = #last_target_query WHERE controller_id IN ("
-                        + formatQueryInStatementParams(paramMapping.keySet()) + ") AND tenant = #tenant");
+        final Query updateQuery = entityManager.createNativeQuery("UPDATE sp_target SET last_target_query = "
+                + lastTargetQuery + " WHERE controller_id IN (" + formatQueryInStatementParams(paramMapping.keySet())
+                + ") AND tenant = #tenant");
 
         paramMapping.forEach(updateQuery::setParameter);
-        updateQuery.setParameter("last_target_query", currentTimeMillis);
         updateQuery.setParameter("tenant", tenant);
 
         final int updated = updateQuery.executeUpdate();
-        if (updated < chunk.size()) {
-            log.error("Targets polls could not be applied completely ({} instead of {}).", updated, chunk.size());
+        if (updated < paramMapping.size()) {
+            log.error("Targets polls could not be applied completely ({} instead of {}).", updated,
+                    paramMapping.size());
         }
     }
 
@@ -524,12 +531,13 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
 
     /**
      * Stores target directly to DB in case either {@link Target#getAddress()}
-     * or {@link Target#getUpdateStatus()} or {@link Target#getName()} changes
-     * or the buffer queue is full.
+     * or {@link Target#getUpdateStatus()} or {@link Target#getName()} changes.
+     * Otherwise the poll is handed over to the write-behind buffer which
+     * drops it if saturated.
      *
      */
     private Target updateTarget(final JpaTarget toUpdate, final URI address, final String name, final String type) {
-        if (isStoreEager(toUpdate, address, name, type) || !queue.offer(new TargetPoll(toUpdate))) {
+        if (isStoreEager(toUpdate, address, name, type)) {
             if (isAddressChanged(toUpdate.getAddress(), address)) {
                 toUpdate.setAddress(address.toString());
             }
@@ -560,6 +568,7 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                     .publishEvent(new TargetPollEvent(toUpdate, eventPublisherHolder.getApplicationId())));
             return targetRepository.save(toUpdate);
         }
+        pollWriteBehind.offer(toUpdate.getTenant(), toUpdate.getControllerId(), System.currentTimeMillis());
         return toUpdate;
     }
 
@@ -639,6 +648,16 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
         return addActionStatus((JpaActionStatusCreate) statusCreate);
     }
 
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    @Retryable(include = {
+            ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
+    public List<Action> addUpdateActionStatuses(final List<ActionStatusCreate> statusCreates) {
+        // the inserts of the status entries are flushed as JDBC batch
+        return statusCreates.stream().map(statusCreate -> addActionStatus((JpaActionStatusCreate) statusCreate))
+                .toList();
+    }
+
     @Override
     protected void onActionStatusUpdate(final Action.Status updatedActionStatus, final JpaAction action) {
         switch (updatedActionStatus) {
@@ -954,64 +973,6 @@ public class JpaControllerManagement extends JpaActionManagement implements Cont
                         Collectors.mapping(o -> (SoftwareModuleMetadata) o[1], Collectors.toList())));
     }
 
-    private static class TargetPoll {
-
-        private final String tenant;
-        private final String controllerId;
-
-        TargetPoll(final Target target) {
-            this.tenant = target.getTenant();
-            this.controllerId = target.getControllerId();
-        }
-
-        public String getTenant() {
-            return tenant;
-        }
-
-        public String getControllerId() {
-            return controllerId;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + (controllerId == null ? 0 : controllerId.hashCode());
-            result = prime * result + (tenant == null ? 0 : tenant.hashCode());
-            return result;
-        }
-
-        @Override
-        public boolean equals(final Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            final TargetPoll other = (TargetPoll) obj;
-            if (controllerId == null) {
-                if (other.controllerId != null) {
-                    return false;
-                }
-            } else if (!controllerId.equals(other.controllerId)) {
-                return false;
-            }
-            if (tenant == null) {
-                if (other.tenant != null) {
-                    return false;
-                }
-            } else if (!tenant.equals(other.tenant)) {
-                return false;
-            }
-            return true;
-        }
-
-    }
-
     /**
      * Cancels given {@link Action} for this {@link Target}. The method will
      * immediately add a {@link Status#CANCELED} status to the action. However,
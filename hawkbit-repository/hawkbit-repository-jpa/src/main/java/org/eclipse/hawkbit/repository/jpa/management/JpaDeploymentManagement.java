@@ -16,7 +16,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,8 +41,11 @@ import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
 import org.eclipse.hawkbit.repository.ActionFields;
+import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.RepositoryConstants;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
@@ -60,14 +65,21 @@ import org.eclipse.hawkbit.repository.jpa.executor.AfterTransactionCommitExecuto
 import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus_;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.jpa.model.JpaArchivedAction;
 import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSet;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRollout;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionStatusRepository;
+import org.eclipse.hawkbit.repository.jpa.repository.ArchivedActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.ActionSpecifications;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
+import org.eclipse.hawkbit.repository.jpa.utils.ActionHistoryCodec;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
 import org.eclipse.hawkbit.repository.jpa.utils.WeightValidationHelper;
@@ -97,6 +109,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.retry.RetryCallback;
@@ -108,6 +121,7 @@ import org.springframework.retry.support.RetryTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ObjectUtils;
 import org.springframework.validation.annotation.Validated;
 
 /**
@@ -151,6 +165,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     private final AuditorAware<String> auditorAware;
     private final Database database;
     private final RetryTemplate retryTemplate;
+    private final RolloutStatusCounter rolloutStatusCounter;
+    private final ArchivedActionRepository archivedActionRepository;
 
     public JpaDeploymentManagement(final EntityManager entityManager, final ActionRepository actionRepository,
             final DistributionSetManagement distributionSetManagement, final TargetRepository targetRepository,
@@ -159,7 +175,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
             final VirtualPropertyReplacer virtualPropertyReplacer, final PlatformTransactionManager txManager,
             final TenantConfigurationManagement tenantConfigurationManagement, final QuotaManagement quotaManagement,
             final SystemSecurityContext systemSecurityContext, final TenantAware tenantAware, final AuditorAware<String> auditorAware,
-            final Database database, final RepositoryProperties repositoryProperties) {
+            final Database database, final RepositoryProperties repositoryProperties,
+            final RolloutStatusCounter rolloutStatusCounter, final ArchivedActionRepository archivedActionRepository) {
         super(actionRepository, actionStatusRepository, quotaManagement, repositoryProperties);
         this.entityManager = entityManager;
         this.distributionSetManagement = distributionSetManagement;
@@ -179,6 +196,8 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         this.auditorAware = auditorAware;
         this.database = database;
         this.retryTemplate = createRetryTemplate();
+        this.rolloutStatusCounter = rolloutStatusCounter;
+        this.archivedActionRepository = archivedActionRepository;
     }
 
     @Override
@@ -501,6 +520,12 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                     throw new EntityNotFoundException(Target.class, targetIds);
                 }
             });
+            if (rolloutStatusCounter.isEnabled()) {
+                rolloutStatusCounter.moved(actionRepository
+                        .countSwitchStatusByRolloutGroup(targetIds, false, Status.SCHEDULED).stream()
+                        .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1])), Status.SCHEDULED,
+                        Status.CANCELED);
+            }
             actionRepository.switchStatus(Status.CANCELED, targetIds, false, Status.SCHEDULED);
         } else {
             log.debug("The Multi Assignments feature is enabled: No need to cancel inactive scheduled actions.");
@@ -870,6 +895,13 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     public Page<ActionStatus> findActionStatusByAction(final Pageable pageReq, final long actionId) {
         assertActionExistsAndAccessible(actionId);
 
+        if (pageReq instanceof KeysetPageRequest) {
+            // derived queries don't support keyset pagination
+            return actionStatusRepository
+                    .findAll((root, query, cb) -> cb.equal(root.get(JpaActionStatus_.action).get(JpaAction_.id),
+                            actionId), pageReq)
+                    .map(ActionStatus.class::cast);
+        }
         return actionStatusRepository.findByActionId(pageReq, actionId);
     }
 
@@ -963,6 +995,19 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
          * the database.
          */
 
+        if (rolloutStatusCounter.isEnabled()) {
+            // the counters of the deleted actions have to be known, so the
+            // actions are selected before they are deleted
+            final List<Long> actionIds = actionRepository.findIdsByStatusAndLastModifiedBefore(status, lastModified,
+                    PageRequest.of(0, ACTION_PAGE_LIMIT));
+            if (actionIds.isEmpty()) {
+                return 0;
+            }
+            removeFromStatusCounters(actionIds);
+            actionRepository.deleteByIdIn(actionIds);
+            return actionIds.size();
+        }
+
         final int statusCount = status.size();
         final Status[] statusArr = status.toArray(new Status[statusCount]);
 
@@ -979,6 +1024,90 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
         return deleteQuery.executeUpdate();
     }
 
+    @Override
+    @Transactional(readOnly = false)
+    public int archiveActionsByStatusAndLastModifiedBefore(final Set<Status> status, final long lastModified) {
+        if (status.isEmpty()) {
+            return 0;
+        }
+        final List<Long> actionIds = actionRepository.findInactiveIdsByStatusAndLastModifiedBefore(status,
+                lastModified, PageRequest.of(0, repositoryProperties.getActionArchiveChunkSize()));
+        if (actionIds.isEmpty()) {
+            return 0;
+        }
+
+        final Map<Long, List<String>> messages = new HashMap<>();
+        actionStatusRepository.findMessagesByActionIdIn(actionIds).forEach(row -> messages
+                .computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((String) row[1]));
+        final Map<Long, List<ActionHistoryCodec.Entry>> history = new HashMap<>();
+        actionStatusRepository.findByActionIdIn(actionIds).forEach(row -> {
+            final JpaActionStatus actionStatus = (JpaActionStatus) row[1];
+            history.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(ActionHistoryCodec.Entry
+                    .of(actionStatus, messages.getOrDefault(actionStatus.getId(), Collections.emptyList())));
+        });
+
+        // the archive rows keep the IDs of the actions, so they are persisted
+        // directly instead of being merged
+        actionRepository.findWithReferenceIdsByIdIn(actionIds).forEach(row -> {
+            final JpaAction action = (JpaAction) row[0];
+            final List<ActionHistoryCodec.Entry> entries = history.getOrDefault(action.getId(),
+                    Collections.emptyList());
+            entityManager.persist(new JpaArchivedAction(action,
+                    entityManager.getReference(JpaTarget.class, row[1]),
+                    entityManager.getReference(JpaDistributionSet.class, row[2]), (Long) row[3], (Long) row[4],
+                    entries.size(), ActionHistoryCodec.encode(entries)));
+        });
+        entityManager.flush();
+
+        // status entries and their messages are removed by the database
+        // (on delete cascade)
+        removeFromStatusCounters(actionIds);
+        actionRepository.deleteByIdIn(actionIds);
+        log.debug("Action cleanup: {} actions archived", actionIds.size());
+        return actionIds.size();
+    }
+
+    @Override
+    public Optional<Action> findArchivedAction(final long actionId) {
+        return findArchivedActionEntity(actionId).map(this::restoreArchivedAction);
+    }
+
+    @Override
+    public Slice<Action> findArchivedActionsByTarget(final String controllerId, final Pageable pageable) {
+        assertTargetReadAllowed(controllerId);
+        return archivedActionRepository.findByTargetControllerId(controllerId, archivedActionPageable(pageable))
+                .map(this::restoreArchivedAction);
+    }
+
+    @Override
+    public long countArchivedActionsByTarget(final String controllerId) {
+        assertTargetReadAllowed(controllerId);
+        return archivedActionRepository.countByTargetControllerId(controllerId);
+    }
+
+    @Override
+    public Page<ActionStatus> findArchivedActionStatusByAction(final Pageable pageReq, final long actionId) {
+        final JpaArchivedAction archivedAction = findArchivedActionEntity(actionId)
+                .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
+        final JpaAction action = restoreArchivedAction(archivedAction);
+
+        final List<ActionStatus> actionStatus = ActionHistoryCodec.decode(archivedAction.getHistory()).stream()
+                .map(entry -> (ActionStatus) entry.toActionStatus(action))
+                .sorted(archivedActionStatusComparator(pageReq.getSort())).toList();
+        final int from = (int) Math.min(pageReq.getOffset(), actionStatus.size());
+        final int to = Math.min(from + pageReq.getPageSize(), actionStatus.size());
+        return new PageImpl<>(actionStatus.subList(from, to), pageReq, actionStatus.size());
+    }
+
+    @Override
+    public Map<Long, List<String>> findArchivedActionStatusMessages(final long actionId) {
+        final JpaArchivedAction archivedAction = findArchivedActionEntity(actionId)
+                .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
+        return ActionHistoryCodec.decode(archivedAction.getHistory()).stream()
+                .filter(entry -> !ObjectUtils.isEmpty(entry.messages()))
+                .collect(Collectors.toMap(ActionHistoryCodec.Entry::id, ActionHistoryCodec.Entry::messages));
+    }
+
     @Override
     public boolean hasPendingCancellations(final Long targetId) {
         // target access checked in assertTargetReadAllowed
@@ -987,6 +1116,55 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
                 .exists(ActionSpecifications.byTargetIdAndIsActiveAndStatus(targetId, Action.Status.CANCELING));
     }
 
+    private Optional<JpaArchivedAction> findArchivedActionEntity(final long actionId) {
+        return archivedActionRepository.findById(actionId)
+                .filter(archived -> targetRepository.exists(TargetSpecifications.hasId(archived.getTarget().getId())));
+    }
+
+    private JpaAction restoreArchivedAction(final JpaArchivedAction archivedAction) {
+        final JpaRollout rollout = archivedAction.getRollout() == null ? null
+                : entityManager.find(JpaRollout.class, archivedAction.getRollout());
+        final JpaRolloutGroup rolloutGroup = archivedAction.getRolloutGroup() == null ? null
+                : entityManager.find(JpaRolloutGroup.class, archivedAction.getRolloutGroup());
+        return archivedAction.toAction(tenantAware.getCurrentTenant().toUpperCase(), rollout, rolloutGroup);
+    }
+
+    // archived actions are never active, so sorting by the active flag is
+    // dropped
+    private static Pageable archivedActionPageable(final Pageable pageable) {
+        final Sort sort = Sort.by(pageable.getSort().stream()
+                .filter(order -> !ActionFields.STATUS.getJpaEntityFieldName().equals(order.getProperty()))
+                .toList());
+        return new OffsetBasedPageRequest(pageable.getOffset(), pageable.getPageSize(), sort);
+    }
+
+    private static Comparator<ActionStatus> archivedActionStatusComparator(final Sort sort) {
+        Comparator<ActionStatus> comparator = null;
+        for (final Sort.Order order : sort) {
+            Comparator<ActionStatus> next;
+            if (ActionStatusFields.REPORTEDAT.getJpaEntityFieldName().equals(order.getProperty())) {
+                next = Comparator.comparingLong(ActionStatus::getCreatedAt);
+            } else if (ActionStatusFields.ID.getJpaEntityFieldName().equals(order.getProperty())) {
+                next = Comparator.comparing(ActionStatus::getId);
+            } else {
+                continue;
+            }
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        final Comparator<ActionStatus> byId = Comparator.comparing(ActionStatus::getId);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    // the bulk deletes bypass the entity listener which maintains the counters
+    private void removeFromStatusCounters(final List<Long> actionIds) {
+        if (rolloutStatusCounter.isEnabled()) {
+            rolloutStatusCounter.removed(actionRepository.countByRolloutGroupAndStatusForIdIn(actionIds).stream()
+                    .collect(Collectors.groupingBy(row -> (Long) row[0],
+                            Collectors.toMap(row -> (Status) row[1], row -> (Long) row[2]))));
+        }
+    }
+
     private static String getQueryForDeleteActionsByStatusAndLastModifiedBeforeString(final Database database) {
         return QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED.getOrDefault(database,
                 QUERY_DELETE_ACTIONS_BY_STATE_AND_LAST_MODIFIED_DEFAULT);
@@ -1041,34 +1219,88 @@ public class JpaDeploymentManagement extends JpaActionManagement implements Depl
     @Transactional
     public void cancelActionsForDistributionSet(final CancelationType cancelationType,
             final DistributionSet distributionSet) {
-        actionRepository.findAll(ActionSpecifications
-                .byDistributionSetIdAndActiveAndStatusIsNot(distributionSet.getId(), Status.CANCELING))
-                .forEach(action -> {
-                    try {
-                        assertTargetUpdateAllowed(action);
-                        cancelAction(action.getId());
-                        log.debug("Action {} canceled", action.getId());
-                    } catch (final InsufficientPermissionException e) {
-                        log.trace("Could not cancel action {} due to insufficient permissions.", action.getId(), e);
-                    } catch (final EntityNotFoundException e) {
-                        log.trace("Could not cancel action {} due to entity not found exception.", action.getId(), e);
-                    }
-                });
+        long afterActionId = -1;
+        List<Long> canceledActionIds;
+        while (!(canceledActionIds = cancelActionsForDistributionSet(cancelationType, distributionSet.getId(),
+                afterActionId, ACTION_PAGE_LIMIT)).isEmpty()) {
+            afterActionId = canceledActionIds.get(canceledActionIds.size() - 1);
+        }
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public List<Long> cancelActionsForDistributionSet(final CancelationType cancelationType,
+            final long distributionSetId, final long afterActionId, final int limit) {
+        final List<JpaAction> actions = actionRepository.findActiveByDistributionSetIdAndIdGreaterThan(
+                distributionSetId, afterActionId, PageRequest.of(0, limit));
+        if (actions.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<JpaAction> updateAllowed = actions.stream().filter(this::isTargetUpdateAllowed).toList();
+        switchToCanceling(
+                updateAllowed.stream().filter(action -> action.getStatus() != Status.CANCELING).toList());
         if (cancelationType == CancelationType.FORCE) {
-            actionRepository.findAll(ActionSpecifications.byDistributionSetIdAndActive(distributionSet.getId()))
-                    .forEach(action -> {
-                        try {
-                            assertTargetUpdateAllowed(action);
-                            forceQuitAction(action.getId());
-                            log.debug("Action {} force canceled", action.getId());
-                        } catch (final InsufficientPermissionException e) {
-                            log.trace("Could not cancel action {} due to insufficient permissions.", action.getId(), e);
-                        } catch (final EntityNotFoundException e) {
-                            log.trace("Could not cancel action {} due to entity not found exception.", action.getId(),
-                                    e);
-                        }
-                    });
+            // read again as the actions have been updated by the JPQL query
+            actionRepository.findAllById(updateAllowed.stream().map(JpaAction::getId).toList())
+                    .forEach(this::forceQuitCanceling);
+        }
+
+        return actions.stream().map(JpaAction::getId).toList();
+    }
+
+    // switches the actions to CANCELING by one statement instead of saving them one by one
+    private void switchToCanceling(final List<JpaAction> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        final List<Long> actionIds = actions.stream().map(JpaAction::getId).toList();
+        final long now = System.currentTimeMillis();
+        // document that the status has been retrieved
+        actionStatusRepository.saveAll(actions.stream()
+                .map(action -> new JpaActionStatus(action, Status.CANCELING, now,
+                        RepositoryConstants.SERVER_MESSAGE_PREFIX + "cancelation due to invalidated distribution set"))
+                .toList());
+        if (rolloutStatusCounter.isEnabled()) {
+            actionRepository.countSwitchStatusOfActiveByRolloutGroup(actionIds, Status.CANCELING).stream()
+                    .collect(Collectors.groupingBy(row -> (Status) row[1],
+                            Collectors.toMap(row -> (Long) row[0], row -> (Long) row[2])))
+                    .forEach((oldStatus, countByRolloutGroup) -> rolloutStatusCounter.moved(countByRolloutGroup,
+                            oldStatus, Status.CANCELING));
+        }
+        entityManager.flush();
+        // detaching as the entities are updated by the JPQL query
+        actions.forEach(entityManager::detach);
+        actionRepository.switchStatusOfActive(Status.CANCELING, actionIds, now,
+                auditorAware.getCurrentAuditor().orElse(tenantAware.getCurrentUsername()));
+
+        // the cancel events contain the new status
+        actions.forEach(action -> action.setStatus(Status.CANCELING));
+        onlineDsAssignmentStrategy.cancelAssignments(actions);
+    }
+
+    private void forceQuitCanceling(final JpaAction action) {
+        log.debug("action ({}) was still active and has been force quit due to invalidation.", action);
+        actionStatusRepository.save(new JpaActionStatus(action, Status.CANCELED, System.currentTimeMillis(),
+                RepositoryConstants.SERVER_MESSAGE_PREFIX + "A force quit has been performed."));
+        DeploymentHelper.successCancellation(action, actionRepository, targetRepository);
+        actionRepository.save(action);
+    }
+
+    private boolean isTargetUpdateAllowed(final JpaAction action) {
+        if (targetRepository.getAccessController().isEmpty()) {
+            return true;
+        }
+        try {
+            assertTargetUpdateAllowed(action);
+            return true;
+        } catch (final InsufficientPermissionException e) {
+            log.trace("Could not cancel action {} due to insufficient permissions.", action.getId(), e);
+        } catch (final EntityNotFoundException e) {
+            log.trace("Could not cancel action {} due to entity not found exception.", action.getId(), e);
         }
+        return false;
     }
 
     private void assertTargetReadAllowed(final Long targetId) {
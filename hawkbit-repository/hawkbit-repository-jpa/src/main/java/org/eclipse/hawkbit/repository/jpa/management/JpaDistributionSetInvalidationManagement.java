@@ -10,6 +10,8 @@
 package org.eclipse.hawkbit.repository.jpa.management;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
@@ -22,20 +24,26 @@ import org.eclipse.hawkbit.repository.RolloutManagement;
 import org.eclipse.hawkbit.repository.TargetFilterQueryManagement;
 import org.eclipse.hawkbit.repository.exception.IncompleteDistributionSetException;
 import org.eclipse.hawkbit.repository.exception.StopRolloutException;
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetInvalidationJob;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.repository.DistributionSetInvalidationJobRepository;
 import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
 import org.eclipse.hawkbit.repository.model.Action.Status;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationCount;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
 import org.eclipse.hawkbit.security.SystemSecurityContext;
 import org.eclipse.hawkbit.tenancy.TenantAware;
 import org.springframework.integration.support.locks.LockRegistry;
 import org.springframework.transaction.PlatformTransactionManager;
 
 /**
- * Jpa implementation for {@link DistributionSetInvalidationManagement}
+ * Jpa implementation for {@link DistributionSetInvalidationManagement}. The
+ * distribution sets are invalidated in one transaction, the actions are
+ * canceled afterwards by a {@link DistributionSetInvalidationJob} per
+ * distribution set in chunks with a transaction each.
  */
 @Slf4j
 public class JpaDistributionSetInvalidationManagement implements DistributionSetInvalidationManagement {
@@ -45,6 +53,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
     private final DeploymentManagement deploymentManagement;
     private final TargetFilterQueryManagement targetFilterQueryManagement;
     private final ActionRepository actionRepository;
+    private final DistributionSetInvalidationJobRepository invalidationJobRepository;
     private final PlatformTransactionManager txManager;
     private final RepositoryProperties repositoryProperties;
     private final TenantAware tenantAware;
@@ -54,6 +63,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
     public JpaDistributionSetInvalidationManagement(final DistributionSetManagement distributionSetManagement,
             final RolloutManagement rolloutManagement, final DeploymentManagement deploymentManagement,
             final TargetFilterQueryManagement targetFilterQueryManagement, final ActionRepository actionRepository,
+            final DistributionSetInvalidationJobRepository invalidationJobRepository,
             final PlatformTransactionManager txManager, final RepositoryProperties repositoryProperties,
             final TenantAware tenantAware, final LockRegistry lockRegistry,
             final SystemSecurityContext systemSecurityContext) {
@@ -62,6 +72,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
         this.deploymentManagement = deploymentManagement;
         this.targetFilterQueryManagement = targetFilterQueryManagement;
         this.actionRepository = actionRepository;
+        this.invalidationJobRepository = invalidationJobRepository;
         this.txManager = txManager;
         this.repositoryProperties = repositoryProperties;
         this.tenantAware = tenantAware;
@@ -73,6 +84,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
     public void invalidateDistributionSet(final DistributionSetInvalidation distributionSetInvalidation) {
         log.debug("Invalidate distribution sets {}", distributionSetInvalidation.getDistributionSetIds());
         final String tenant = tenantAware.getCurrentTenant();
+        final List<Long> jobSetIds;
         if (shouldRolloutsBeCanceled(distributionSetInvalidation.getCancelationType(),
                 distributionSetInvalidation.isCancelRollouts())) {
             final String handlerId = JpaRolloutManagement.createRolloutLockKey(tenant);
@@ -82,7 +94,7 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
                     throw new StopRolloutException("Timeout while trying to invalidate distribution sets");
                 }
                 try {
-                    invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
+                    jobSetIds = invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
                 } finally {
                     lock.unlock();
                 }
@@ -90,23 +102,62 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
                 log.error("InterruptedException while invalidating distribution sets {}!",
                         distributionSetInvalidation.getDistributionSetIds(), e);
                 Thread.currentThread().interrupt();
+                return;
             }
         } else {
             // no lock is needed as no rollout will be stopped
-            invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
+            jobSetIds = invalidateDistributionSetsInTransaction(distributionSetInvalidation, tenant);
+        }
+
+        // the rollout lock isn't needed anymore, no new actions are created for an invalid distribution set
+        if (!jobSetIds.isEmpty()) {
+            processJobsWithinRequest(jobSetIds, tenant);
         }
     }
 
-    private void invalidateDistributionSetsInTransaction(final DistributionSetInvalidation distributionSetInvalidation,
-            final String tenant) {
-        DeploymentHelper.runInNewTransaction(txManager, tenant + "-invalidateDS", status -> {
-            distributionSetInvalidation.getDistributionSetIds().forEach(setId -> invalidateDistributionSet(setId,
-                    distributionSetInvalidation.getCancelationType(), distributionSetInvalidation.isCancelRollouts()));
-            return 0;
-        });
+    @Override
+    public Optional<DistributionSetInvalidationJob> getInvalidationJob(final long distributionSetId) {
+        return invalidationJobRepository.findByDistributionSetId(distributionSetId)
+                .map(DistributionSetInvalidationJob.class::cast);
+    }
+
+    @Override
+    public void handleInvalidationJobs() {
+        final String tenant = tenantAware.getCurrentTenant();
+        final Lock lock = lockRegistry.obtain(createInvalidationJobLockKey(tenant));
+        if (!lock.tryLock()) {
+            log.trace("Distribution set invalidation jobs of tenant {} are handled by another node.", tenant);
+            return;
+        }
+
+        try {
+            final List<Long> jobSetIds = invalidationJobRepository
+                    .findDistributionSetIdsByStatus(DistributionSetInvalidationJob.Status.RUNNING);
+            if (!jobSetIds.isEmpty()) {
+                log.debug("Continue {} distribution set invalidation jobs of tenant {}", jobSetIds.size(), tenant);
+                processJobs(jobSetIds, tenant,
+                        System.currentTimeMillis() + repositoryProperties.getDsInvalidationInlineTimeout());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String createInvalidationJobLockKey(final String tenant) {
+        return tenant + "-dsinvalidation";
+    }
+
+    private List<Long> invalidateDistributionSetsInTransaction(
+            final DistributionSetInvalidation distributionSetInvalidation, final String tenant) {
+        return DeploymentHelper.runInNewTransaction(txManager, tenant + "-invalidateDS",
+                status -> distributionSetInvalidation.getDistributionSetIds().stream()
+                        .map(setId -> invalidateDistributionSet(setId,
+                                distributionSetInvalidation.getCancelationType(),
+                                distributionSetInvalidation.isCancelRollouts()))
+                        .flatMap(Optional::stream).toList());
     }
 
-    private void invalidateDistributionSet(final long setId, final CancelationType cancelationType,
+    private Optional<Long> invalidateDistributionSet(final long setId, final CancelationType cancelationType,
             final boolean cancelRollouts) {
         final DistributionSet distributionSet = distributionSetManagement.getOrElseThrowException(setId);
         if (!distributionSet.isComplete()) {
@@ -123,18 +174,87 @@ public class JpaDistributionSetInvalidationManagement implements DistributionSet
         }
 
         // Do run as system to ensure all actions (even invisible) are canceled due to invalidation.
-        systemSecurityContext.runAsSystem(() -> {
-            if (cancelationType != CancelationType.NONE) {
-                log.debug("Cancel actions after ds invalidation. ID: {}", setId);
-                deploymentManagement.cancelActionsForDistributionSet(cancelationType, distributionSet);
-            }
-
+        return systemSecurityContext.runAsSystem(() -> {
             log.debug("Cancel auto assignments after ds invalidation. ID: {}", setId);
             targetFilterQueryManagement.cancelAutoAssignmentForDistributionSet(setId);
+
+            if (cancelationType == CancelationType.NONE) {
+                return Optional.empty();
+            }
+            // the actions are canceled in chunks by the job afterwards
+            final long totalActions = countActionsForInvalidation(List.of(setId), cancelationType);
+            final JpaDistributionSetInvalidationJob job = invalidationJobRepository.findByDistributionSetId(setId)
+                    .map(existing -> {
+                        existing.restart(cancelationType, totalActions);
+                        return existing;
+                    }).orElseGet(() -> new JpaDistributionSetInvalidationJob(distributionSet, cancelationType,
+                            totalActions));
+            log.debug("Cancel {} actions after ds invalidation. ID: {}", totalActions, setId);
+            invalidationJobRepository.save(job);
+            return Optional.of(setId);
+        });
+    }
+
+    // the jobs of the request are processed within the request as long as it doesn't take too long
+    private void processJobsWithinRequest(final List<Long> jobSetIds, final String tenant) {
+        final long deadline = System.currentTimeMillis() + repositoryProperties.getDsInvalidationInlineTimeout();
+        final Lock lock = lockRegistry.obtain(createInvalidationJobLockKey(tenant));
+        try {
+            if (!lock.tryLock(repositoryProperties.getDsInvalidationLockTimeout(), TimeUnit.SECONDS)) {
+                log.info("Invalidation jobs of distribution sets {} of tenant {} are continued in the background.",
+                        jobSetIds, tenant);
+                return;
+            }
+            try {
+                processJobs(jobSetIds, tenant, deadline);
+            } finally {
+                lock.unlock();
+            }
+        } catch (final InterruptedException e) {
+            log.error("InterruptedException while canceling the actions of distribution sets {}!", jobSetIds, e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void processJobs(final List<Long> jobSetIds, final String tenant, final long deadline) {
+        systemSecurityContext.runAsSystem(() -> {
+            for (final Long setId : jobSetIds) {
+                while (processChunk(setId, tenant)) {
+                    if (System.currentTimeMillis() >= deadline) {
+                        log.debug("Time budget of invalidation exceeded, distribution set {} is continued later.",
+                                setId);
+                        return null;
+                    }
+                }
+            }
             return null;
         });
     }
 
+    // each chunk is canceled and recorded in its own transaction, so an interrupted job continues with the next chunk
+    private boolean processChunk(final long setId, final String tenant) {
+        return DeploymentHelper.runInNewTransaction(txManager, tenant + "-invalidateDS-" + setId, status -> {
+            final JpaDistributionSetInvalidationJob job = invalidationJobRepository.findByDistributionSetId(setId)
+                    .filter(found -> found.getStatus() == DistributionSetInvalidationJob.Status.RUNNING)
+                    .orElse(null);
+            if (job == null) {
+                return false;
+            }
+
+            final List<Long> actionIds = deploymentManagement.cancelActionsForDistributionSet(
+                    job.getCancelationType(), setId, job.getLastActionId(),
+                    repositoryProperties.getDsInvalidationChunkSize());
+            if (actionIds.isEmpty()) {
+                log.debug("Distribution set invalidation job finished: {}", job);
+                job.finish();
+            } else {
+                job.processed(actionIds.size(), actionIds.get(actionIds.size() - 1));
+            }
+            invalidationJobRepository.save(job);
+            return !actionIds.isEmpty();
+        });
+    }
+
     private static boolean shouldRolloutsBeCanceled(final CancelationType cancelationType,
             final boolean cancelRollouts) {
         return cancelationType != CancelationType.NONE || cancelRollouts;
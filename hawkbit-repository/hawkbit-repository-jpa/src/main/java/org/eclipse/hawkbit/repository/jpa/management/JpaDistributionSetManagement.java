@@ -314,6 +314,8 @@ public class JpaDistributionSetManagement implements DistributionSetManagement {
         final List<Long> assigned = distributionSetRepository
                 .findAssignedToTargetDistributionSetsById(distributionSetIDs);
         assigned.addAll(distributionSetRepository.findAssignedToRolloutDistributionSetsById(distributionSetIDs));
+        // keep the history of archived actions
+        assigned.addAll(distributionSetRepository.findArchivedActionDistributionSetsById(distributionSetIDs));
 
         // soft delete assigned
         if (!assigned.isEmpty()) {
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.management;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,6 +46,7 @@ import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.model.Action;
@@ -88,13 +90,15 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
 
     private final RolloutStatusCache rolloutStatusCache;
 
+    private final RolloutStatusCounter rolloutStatusCounter;
+
     private final Database database;
 
     public JpaRolloutGroupManagement(final RolloutGroupRepository rolloutGroupRepository,
                               final RolloutRepository rolloutRepository, final ActionRepository actionRepository,
                               final TargetRepository targetRepository, final EntityManager entityManager,
                               final VirtualPropertyReplacer virtualPropertyReplacer, final RolloutStatusCache rolloutStatusCache,
-                              final Database database) {
+                              final RolloutStatusCounter rolloutStatusCounter, final Database database) {
         this.rolloutGroupRepository = rolloutGroupRepository;
         this.rolloutRepository = rolloutRepository;
         this.actionRepository = actionRepository;
@@ -102,6 +106,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
         this.entityManager = entityManager;
         this.virtualPropertyReplacer = virtualPropertyReplacer;
         this.rolloutStatusCache = rolloutStatusCache;
+        this.rolloutStatusCounter = rolloutStatusCounter;
         this.database = database;
     }
 
@@ -203,7 +208,8 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .getRolloutGroupStatus(rolloutGroupId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutGroupId(rolloutGroupId);
+            rolloutStatusCountItems = getStatusCountFromDb(Collections.singletonList(rolloutGroupId))
+                    .getOrDefault(rolloutGroupId, Collections.emptyList());
             rolloutStatusCache.putRolloutGroupStatus(rolloutGroupId, rolloutStatusCountItems);
         }
 
@@ -222,10 +228,7 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutGroupIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutGroupId(rolloutGroupIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
+            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = getStatusCountFromDb(rolloutGroupIds);
 
             rolloutStatusCache.putRolloutGroupStatus(fromDb);
 
@@ -235,6 +238,20 @@ public class JpaRolloutGroupManagement implements RolloutGroupManagement {
         return fromCache;
     }
 
+    // reads the maintained counters of the rollout groups and counts the
+    // actions of the rollout groups without counters
+    private Map<Long, List<TotalTargetCountActionStatus>> getStatusCountFromDb(final List<Long> rolloutGroupIds) {
+        final Map<Long, List<TotalTargetCountActionStatus>> result = new HashMap<>(
+                rolloutStatusCounter.getStatusCountByRolloutGroupId(rolloutGroupIds));
+
+        final List<Long> notCounted = rolloutGroupIds.stream().filter(id -> !result.containsKey(id)).toList();
+        if (!notCounted.isEmpty()) {
+            result.putAll(actionRepository.getStatusCountByRolloutGroupId(notCounted).stream()
+                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId)));
+        }
+        return result;
+    }
+
     @Override
     public Page<Target> findTargetsOfRolloutGroupByRsql(final Pageable pageable, final long rolloutGroupId,
             final String rsqlParam) {
@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -58,6 +59,7 @@ import org.eclipse.hawkbit.repository.jpa.model.JpaRollout_;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutGroupRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.RolloutRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.jpa.rollout.condition.StartNextGroupRolloutGroupSuccessAction;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
 import org.eclipse.hawkbit.repository.jpa.specifications.RolloutSpecification;
@@ -132,6 +134,9 @@ public class JpaRolloutManagement implements RolloutManagement {
     @Autowired
     private RolloutStatusCache rolloutStatusCache;
 
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
     @Autowired
     private StartNextGroupRolloutGroupSuccessAction startNextRolloutGroupAction;
 
@@ -623,7 +628,8 @@ public class JpaRolloutManagement implements RolloutManagement {
         List<TotalTargetCountActionStatus> rolloutStatusCountItems = rolloutStatusCache.getRolloutStatus(rolloutId);
 
         if (CollectionUtils.isEmpty(rolloutStatusCountItems)) {
-            rolloutStatusCountItems = actionRepository.getStatusCountByRolloutId(rolloutId);
+            rolloutStatusCountItems = getStatusCountFromDb(Collections.singletonList(rolloutId))
+                    .getOrDefault(rolloutId, Collections.emptyList());
             rolloutStatusCache.putRolloutStatus(rolloutId, rolloutStatusCountItems);
         }
 
@@ -649,10 +655,7 @@ public class JpaRolloutManagement implements RolloutManagement {
                 .collect(Collectors.toList());
 
         if (!rolloutIds.isEmpty()) {
-            final List<TotalTargetCountActionStatus> resultList = actionRepository
-                    .getStatusCountByRolloutId(rolloutIds);
-            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = resultList.stream()
-                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId));
+            final Map<Long, List<TotalTargetCountActionStatus>> fromDb = getStatusCountFromDb(rolloutIds);
 
             rolloutStatusCache.putRolloutStatus(fromDb);
 
@@ -662,6 +665,24 @@ public class JpaRolloutManagement implements RolloutManagement {
         return fromCache;
     }
 
+    // reads the maintained counters of the rollouts and counts the actions of
+    // the rollouts without (complete) counters
+    private Map<Long, List<TotalTargetCountActionStatus>> getStatusCountFromDb(final List<Long> rolloutIds) {
+        final Map<Long, List<TotalTargetCountActionStatus>> result = new HashMap<>();
+        if (rolloutStatusCounter.isEnabled()) {
+            final Map<Long, Long> groupCountByRollout = rolloutGroupRepository.countByRolloutIdIn(rolloutIds).stream()
+                    .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+            result.putAll(rolloutStatusCounter.getStatusCountByRolloutId(rolloutIds, groupCountByRollout));
+        }
+
+        final List<Long> notCounted = rolloutIds.stream().filter(id -> !result.containsKey(id)).toList();
+        if (!notCounted.isEmpty()) {
+            result.putAll(actionRepository.getStatusCountByRolloutId(notCounted).stream()
+                    .collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId)));
+        }
+        return result;
+    }
+
     @Override
     public void setRolloutStatusDetails(final Slice<Rollout> rollouts) {
         final List<Long> rolloutIds = rollouts.getContent().stream().map(Rollout::getId).collect(Collectors.toList());
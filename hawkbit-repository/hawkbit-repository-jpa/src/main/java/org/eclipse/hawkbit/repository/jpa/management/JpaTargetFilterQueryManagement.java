@@ -133,11 +133,11 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
     @Retryable(include = {
             ConcurrencyFailureException.class }, maxAttempts = Constants.TX_RT_MAX, backoff = @Backoff(delay = Constants.TX_RT_DELAY))
     public void delete(final long targetFilterQueryId) {
-        if (!targetFilterQueryRepository.existsById(targetFilterQueryId)) {
-            throw new EntityNotFoundException(TargetFilterQuery.class, targetFilterQueryId);
-        }
+        final JpaTargetFilterQuery targetFilterQuery = findTargetFilterQueryOrThrowExceptionIfNotFound(
+                targetFilterQueryId);
 
         targetFilterQueryRepository.deleteById(targetFilterQueryId);
+        RSQLUtility.evictFromParseCache(targetFilterQuery.getQuery());
     }
 
     @Override
@@ -253,6 +253,9 @@ public class JpaTargetFilterQueryManagement implements TargetFilterQueryManageme
             }
 
             // set the new query
+            if (!query.equals(targetFilterQuery.getQuery())) {
+                RSQLUtility.evictFromParseCache(targetFilterQuery.getQuery());
+            }
             targetFilterQuery.setQuery(query);
         });
         update.getConfirmationRequired().ifPresent(targetFilterQuery::setConfirmationRequired);
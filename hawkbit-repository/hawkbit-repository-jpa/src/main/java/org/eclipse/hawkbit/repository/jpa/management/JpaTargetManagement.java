@@ -14,24 +14,32 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.ListJoin;
 import jakarta.persistence.criteria.MapJoin;
+import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import jakarta.validation.constraints.NotEmpty;
 
 import org.apache.commons.collections4.ListUtils;
 import org.eclipse.hawkbit.repository.DistributionSetManagement;
 import org.eclipse.hawkbit.repository.FilterParams;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.QuotaManagement;
 import org.eclipse.hawkbit.repository.TargetFields;
@@ -49,6 +57,7 @@ import org.eclipse.hawkbit.repository.jpa.acm.AccessController;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetCreate;
 import org.eclipse.hawkbit.repository.jpa.builder.JpaTargetUpdate;
 import org.eclipse.hawkbit.repository.jpa.configuration.Constants;
+import org.eclipse.hawkbit.repository.jpa.model.AbstractJpaMetaData_;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetMetadata;
 import org.eclipse.hawkbit.repository.jpa.model.JpaTargetMetadata_;
@@ -63,9 +72,11 @@ import org.eclipse.hawkbit.repository.jpa.repository.TargetRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTagRepository;
 import org.eclipse.hawkbit.repository.jpa.repository.TargetTypeRepository;
 import org.eclipse.hawkbit.repository.jpa.rsql.RSQLUtility;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetRsqlMatcher;
 import org.eclipse.hawkbit.repository.jpa.specifications.SpecificationsBuilder;
 import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
 import org.eclipse.hawkbit.repository.jpa.utils.QuotaHelper;
+import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.MetaData;
@@ -90,6 +101,7 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.retry.annotation.Backoff;
 import org.springframework.retry.annotation.Retryable;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ObjectUtils;
 import org.springframework.validation.annotation.Validated;
@@ -174,6 +186,13 @@ public class JpaTargetManagement implements TargetManagement {
                 targetRepository.findAll(TargetSpecifications.byControllerIdWithAssignedDsInJoin(controllerIDs)));
     }
 
+    @Override
+    public List<Target> getByControllerIDWithoutPendingCancellations(final Collection<String> controllerIDs) {
+        return Collections.unmodifiableList(targetRepository.findAll(
+                TargetSpecifications.byControllerIdWithAssignedDsInJoin(controllerIDs)
+                        .and(TargetSpecifications.hasNoActiveActionInStatus(Action.Status.CANCELING))));
+    }
+
     @Override
     public long count() {
         return targetRepository.count();
@@ -330,6 +349,40 @@ public class JpaTargetManagement implements TargetManagement {
                 .buildRsqlSpecification(targetFilterQuery, TargetFields.class, virtualPropertyReplacer, database)));
     }
 
+    @Override
+    // each batch is read in its own (short) transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void forEachByRsql(final String rsqlParam, final int batchSize,
+            final Consumer<List<Target>> batchConsumer) {
+        final List<Specification<JpaTarget>> specList = new ArrayList<>(2);
+        if (!ObjectUtils.isEmpty(rsqlParam)) {
+            specList.add(RSQLUtility.buildRsqlSpecification(rsqlParam, TargetFields.class, virtualPropertyReplacer,
+                    database));
+        }
+        specList.add(TargetSpecifications.withTargetTypeInJoin());
+
+        KeysetPageRequest pageRequest = KeysetPageRequest.firstPage(batchSize, null, Sort.Direction.ASC);
+        while (true) {
+            final List<Target> batch = JpaManagementHelper
+                    .<Target, JpaTarget> findAllWithoutCountBySpec(targetRepository, pageRequest, specList)
+                    .getContent();
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            batchConsumer.accept(batch);
+            // don't accumulate the processed targets in a persistence context
+            // spanning all batches (e.g. open in view)
+            batch.forEach(entityManager::detach);
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+            pageRequest = KeysetPageRequest.pageAfter(batchSize, null, Sort.Direction.ASC,
+                    batch.get(batch.size() - 1).getId(), null);
+        }
+    }
+
     @Override
     @Transactional
     @Retryable(include = {
@@ -688,6 +741,24 @@ public class JpaTargetManagement implements TargetManagement {
                 .map(Target.class::cast);
     }
 
+    @Override
+    public Slice<Target> findByTargetFilterQueryAndNonDSAndCompatibleAndUpdatable(final Pageable pageRequest,
+            final Collection<Long> targetIds, final long distributionSetId, final String targetFilterQuery) {
+        final DistributionSet jpaDistributionSet = distributionSetManagement.getOrElseThrowException(distributionSetId);
+        final Long distSetTypeId = jpaDistributionSet.getType().getId();
+
+        return targetRepository
+                .findAllWithoutCount(AccessController.Operation.UPDATE,
+                        combineWithAnd(List.of(
+                                TargetSpecifications.hasIdIn(targetIds),
+                                RSQLUtility.buildRsqlSpecification(targetFilterQuery, TargetFields.class,
+                                        virtualPropertyReplacer, database),
+                                TargetSpecifications.hasNotDistributionSetInActions(distributionSetId),
+                                TargetSpecifications.isCompatibleWithDistributionSetType(distSetTypeId))),
+                        pageRequest)
+                .map(Target.class::cast);
+    }
+
     @Override
     public Slice<Target> findByTargetFilterQueryAndNotInRolloutGroupsAndCompatibleAndUpdatable(
             final Pageable pageRequest, final Collection<Long> groups, final String targetFilterQuery,
@@ -898,6 +969,76 @@ public class JpaTargetManagement implements TargetManagement {
                 (v1, v2) -> v1, LinkedHashMap::new));
     }
 
+    @Override
+    public Map<Long, Map<String, String>> getControllerAttributesByTargetIds(final Collection<Long> targetIds) {
+        return findByTargetIds(targetIds, targetRoot -> {
+            final MapJoin<JpaTarget, String, String> attributes = targetRoot.join(JpaTarget_.controllerAttributes);
+            return List.of(attributes.key(), attributes.value());
+        }).stream().collect(Collectors.groupingBy(entry -> (Long) entry[0], Collectors.toMap(
+                entry -> (String) entry[1], entry -> (String) entry[2], (v1, v2) -> v1, TreeMap::new)));
+    }
+
+    @Override
+    public Map<Long, Set<TargetTag>> getTagsByTargetIds(final Collection<Long> targetIds) {
+        return findByTargetIds(targetIds, targetRoot -> List.of(targetRoot.join(JpaTarget_.tags)))
+                .stream().collect(Collectors.groupingBy(entry -> (Long) entry[0],
+                        Collectors.mapping(entry -> (TargetTag) entry[1], Collectors.toSet())));
+    }
+
+    @Override
+    public Map<Long, Map<String, String>> getMetaDataByTargetIds(final Collection<Long> targetIds) {
+        // key/value pairs only, so no meta data entities are kept in the persistence context
+        return findByTargetIds(targetIds, targetRoot -> {
+            final ListJoin<JpaTarget, JpaTargetMetadata> metadata = targetRoot.join(JpaTarget_.metadata);
+            return List.of(metadata.get(AbstractJpaMetaData_.key), metadata.get(AbstractJpaMetaData_.value));
+        }).stream().collect(Collectors.groupingBy(entry -> (Long) entry[0], Collectors.toMap(
+                entry -> (String) entry[1], entry -> (String) entry[2], (v1, v2) -> v1, TreeMap::new)));
+    }
+
+    @Override
+    public Map<Long, DistributionSet> getAssignedDistributionSetsByTargetIds(final Collection<Long> targetIds) {
+        return findByTargetIds(targetIds, targetRoot -> List.of(targetRoot.join(JpaTarget_.assignedDistributionSet)))
+                .stream().collect(Collectors.toMap(entry -> (Long) entry[0], entry -> (DistributionSet) entry[1]));
+    }
+
+    @Override
+    public Map<Long, DistributionSet> getInstalledDistributionSetsByTargetIds(final Collection<Long> targetIds) {
+        return findByTargetIds(targetIds, targetRoot -> List.of(targetRoot.join(JpaTarget_.installedDistributionSet)))
+                .stream().collect(Collectors.toMap(entry -> (Long) entry[0], entry -> (DistributionSet) entry[1]));
+    }
+
+    /**
+     * Selects the target ID and the given selections of the given targets
+     * which are readable, with one query per (up to 999) targets.
+     */
+    private List<Object[]> findByTargetIds(final Collection<Long> targetIds,
+            final Function<Root<JpaTarget>, List<Selection<?>>> selections) {
+        if (targetIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final Specification<JpaTarget> accessRules = targetRepository.getAccessController()
+                .flatMap(acm -> acm.getAccessRules(AccessController.Operation.READ)).orElse(null);
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final List<Object[]> result = new ArrayList<>();
+        for (final List<Long> ids : ListUtils.partition(new ArrayList<>(targetIds),
+                Constants.MAX_ENTRIES_IN_STATEMENT)) {
+            final CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+            final Root<JpaTarget> targetRoot = query.from(JpaTarget.class);
+
+            final List<Selection<?>> multiselect = new ArrayList<>();
+            multiselect.add(targetRoot.get(JpaTarget_.id));
+            multiselect.addAll(selections.apply(targetRoot));
+            query.multiselect(multiselect);
+
+            final Predicate inIds = targetRoot.get(JpaTarget_.id).in(ids);
+            query.where(accessRules == null ? inIds : cb.and(inIds, accessRules.toPredicate(targetRoot, query, cb)));
+
+            result.addAll(entityManager.createQuery(query).getResultList());
+        }
+        return result;
+    }
+
     @Override
     public void requestControllerAttributes(final String controllerId) {
         final JpaTarget target = getByControllerIdAndThrowIfNotFound(controllerId);
@@ -941,6 +1082,17 @@ public class JpaTargetManagement implements TargetManagement {
         return targetRepository.exists(AccessController.Operation.UPDATE, combinedSpecification);
     }
 
+    @Override
+    public Set<String> findPossiblyMatchingQueries(final String controllerId,
+            final Collection<String> targetFilterQueries) {
+        return targetRepository.findOne(TargetSpecifications.hasControllerId(controllerId))
+                .map(TargetRsqlMatcher::new)
+                .map(matcher -> targetFilterQueries.stream()
+                        .filter(query -> matcher.match(query) != TargetRsqlMatcher.Match.FALSE)
+                        .collect(Collectors.toSet()))
+                .orElseGet(() -> new HashSet<>(targetFilterQueries));
+    }
+
     @Override
     public Page<Target> findByControllerAttributesRequested(final Pageable pageReq) {
         return JpaManagementHelper.findAllWithCountBySpec(targetRepository, pageReq,
@@ -187,6 +187,25 @@ public class OnlineDsAssignmentStrategy extends AbstractDsAssignmentStrategy {
         }
     }
 
+    /**
+     * Sends the cancel events of several actions, e.g. of the chunks of
+     * actions canceled due to an invalidated distribution set.
+     *
+     * @param actions
+     *            the canceled actions
+     */
+    void cancelAssignments(final List<? extends Action> actions) {
+        if (actions.isEmpty()) {
+            return;
+        }
+        final List<Action> canceledActions = Collections.unmodifiableList(actions);
+        if (isMultiAssignmentsEnabled()) {
+            sendMultiActionCancelEvent(canceledActions.get(0).getTenant(), canceledActions);
+        } else {
+            cancelAssignDistributionSetEvent(canceledActions);
+        }
+    }
+
     private void sendMultiActionCancelEvent(final Action action) {
         sendMultiActionCancelEvent(action.getTenant(), Collections.singletonList(action));
     }
@@ -0,0 +1,345 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.model.Target;
+
+/**
+ * Coalescing write-behind buffer for {@link Target#getLastTargetQuery()}
+ * updates.
+ * <p/>
+ * Polls are kept in one shard per tenant, keyed by controller id, holding only
+ * the latest poll timestamp. So a target that polls several times between two
+ * flushes results in a single update. Flushes are done in chunks which are
+ * sized adaptively - the chunk size shrinks if a chunk takes longer than the
+ * configured latency target and grows back if the database is fast again. Each
+ * target keeps its own poll timestamp, the targets of a chunk are grouped by
+ * it. The shard of a tenant is removed once it has been flushed completely.
+ * <p/>
+ * If the buffer is saturated new targets are not persisted eagerly. Instead an
+ * early flush is triggered and the poll timestamp is dropped - it is not
+ * mission critical and the next poll of the target will record it. The polling
+ * thread never waits for the flush as it might hold a database transaction.
+ * The dropped polls are counted and reported with a warning at most once per
+ * {@link #DROP_WARNING_INTERVAL_MILLIS}.
+ */
+@Slf4j
+public class TargetPollWriteBehind {
+
+    /**
+     * Minimum interval between two warnings about dropped polls.
+     */
+    public static final long DROP_WARNING_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final int MIN_BATCH_SIZE = 50;
+
+    private final Map<String, Map<String, Long>> shards = new ConcurrentHashMap<>();
+    private final PollFlusher flusher;
+    private final Executor executor;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final long batchLatencyTargetMillis;
+
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger batchSize;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong lastFlushLatencyMillis = new AtomicLong();
+    private final AtomicLong maxFlushLatencyMillis = new AtomicLong();
+    private final AtomicLong lastDropWarningMillis = new AtomicLong();
+    private final AtomicLong droppedAtLastWarning = new AtomicLong();
+
+    /**
+     * Persists a chunk of polls of one tenant.
+     */
+    @FunctionalInterface
+    public interface PollFlusher {
+
+        /**
+         * @param tenant
+         *            of the targets
+         * @param controllerIdsByLastTargetQuery
+         *            the targets that have polled by the poll time to persist
+         */
+        void flush(String tenant, Map<Long, List<String>> controllerIdsByLastTargetQuery);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param flusher
+     *            persisting the chunks
+     * @param executor
+     *            used to run early flushes in case of saturation
+     * @param capacity
+     *            maximum number of distinct targets buffered
+     * @param maxBatchSize
+     *            maximum number of targets updated in one statement
+     * @param batchLatencyTargetMillis
+     *            target latency of a single chunk, used to adapt the chunk
+     *            size
+     */
+    public TargetPollWriteBehind(final PollFlusher flusher, final Executor executor, final int capacity,
+            final int maxBatchSize, final long batchLatencyTargetMillis) {
+        this.flusher = flusher;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchLatencyTargetMillis = batchLatencyTargetMillis;
+        this.batchSize = new AtomicInteger(this.maxBatchSize);
+    }
+
+    /**
+     * Records a poll of a target.
+     *
+     * @param tenant
+     *            of the target
+     * @param controllerId
+     *            of the target
+     * @param timestamp
+     *            of the poll
+     * @return <code>true</code> if the poll has been buffered,
+     *         <code>false</code> if it has been dropped because of saturation
+     */
+    public boolean offer(final String tenant, final String controllerId, final long timestamp) {
+        while (true) {
+            final Map<String, Long> shard = shards.computeIfAbsent(tenant, key -> new ConcurrentHashMap<>());
+            final Long merged = shard.computeIfPresent(controllerId,
+                    (key, previous) -> Math.max(previous, timestamp));
+            if (merged != null) {
+                if (!removedFromRetiredShard(tenant, shard, controllerId, merged)) {
+                    coalesced.incrementAndGet();
+                    return true;
+                }
+                continue;
+            }
+
+            if (depth.get() >= capacity && !hasCapacityAfterEarlyFlush()) {
+                dropped.incrementAndGet();
+                logDropped(tenant, controllerId);
+                return false;
+            }
+
+            final boolean added = shard.putIfAbsent(controllerId, timestamp) == null;
+            if (added) {
+                depth.incrementAndGet();
+            }
+            final long buffered = added ? timestamp : shard.merge(controllerId, timestamp, Math::max);
+            if (!removedFromRetiredShard(tenant, shard, controllerId, buffered)) {
+                if (!added) {
+                    coalesced.incrementAndGet();
+                }
+                return true;
+            }
+        }
+    }
+
+    // a shard that has been removed by a flush must not keep polls, the poll
+    // is offered again to the current shard of the tenant then
+    private boolean removedFromRetiredShard(final String tenant, final Map<String, Long> shard,
+            final String controllerId, final long timestamp) {
+        if (shards.get(tenant) == shard || !shard.remove(controllerId, timestamp)) {
+            return false;
+        }
+        depth.decrementAndGet();
+        return true;
+    }
+
+    private void logDropped(final String tenant, final String controllerId) {
+        final long now = System.currentTimeMillis();
+        final long lastWarning = lastDropWarningMillis.get();
+        if (now - lastWarning >= DROP_WARNING_INTERVAL_MILLIS
+                && lastDropWarningMillis.compareAndSet(lastWarning, now)) {
+            final long total = dropped.get();
+            log.warn("Poll write-behind buffer saturated (capacity {}), dropped {} polls since the last warning.",
+                    capacity, total - droppedAtLastWarning.getAndSet(total));
+        } else {
+            log.debug("Poll write-behind buffer saturated, dropped poll of {}/{}", tenant, controllerId);
+        }
+    }
+
+    /**
+     * Flushes all buffered polls. Polls that arrive during the flush are kept
+     * for the next one. Concurrent calls are skipped.
+     */
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            final int size = depth.get();
+            if (size <= 0) {
+                return;
+            }
+
+            log.debug("{} polls in write-behind buffer.", size);
+            final long start = System.currentTimeMillis();
+            shards.forEach((tenant, shard) -> {
+                flushShard(tenant, shard);
+                retireIfEmpty(tenant, shard);
+            });
+            final long latency = System.currentTimeMillis() - start;
+
+            lastFlushLatencyMillis.set(latency);
+            maxFlushLatencyMillis.accumulateAndGet(latency, Math::max);
+            log.debug("Flushed write-behind buffer in {} ms, {} polls remaining.", latency, depth.get());
+        } finally {
+            flushing.set(false);
+            earlyFlushScheduled.set(false);
+        }
+    }
+
+    private void flushShard(final String tenant, final Map<String, Long> shard) {
+        final List<Map.Entry<String, Long>> entries = new ArrayList<>(shard.size());
+        shard.forEach((controllerId, timestamp) -> entries.add(Map.entry(controllerId, timestamp)));
+        // targets with the same poll time end up in the same chunk
+        entries.sort(Map.Entry.comparingByValue());
+
+        int offset = 0;
+        while (offset < entries.size()) {
+            final List<Map.Entry<String, Long>> chunk = entries.subList(offset,
+                    Math.min(entries.size(), offset + batchSize.get()));
+            final Map<Long, List<String>> controllerIdsByLastTargetQuery = new LinkedHashMap<>();
+            chunk.forEach(entry -> controllerIdsByLastTargetQuery
+                    .computeIfAbsent(entry.getValue(), timestamp -> new ArrayList<>()).add(entry.getKey()));
+
+            final long start = System.currentTimeMillis();
+            try {
+                flusher.flush(tenant, controllerIdsByLastTargetQuery);
+            } catch (final RuntimeException e) {
+                log.error("Failed to persist {} polls of tenant {}, keeping them for retry.", chunk.size(), tenant,
+                        e);
+                shrinkBatchSize();
+                return;
+            }
+            adaptBatchSize(System.currentTimeMillis() - start);
+
+            // only remove the entries that have not been updated meanwhile
+            chunk.forEach(entry -> {
+                if (shard.remove(entry.getKey(), entry.getValue())) {
+                    depth.decrementAndGet();
+                }
+            });
+            flushed.addAndGet(chunk.size());
+            offset += chunk.size();
+        }
+    }
+
+    private void retireIfEmpty(final String tenant, final Map<String, Long> shard) {
+        if (!shard.isEmpty() || !shards.remove(tenant, shard)) {
+            return;
+        }
+        // polls added to the shard while it has been removed, the polling
+        // threads might not have seen the removal yet
+        shard.forEach((controllerId, timestamp) -> {
+            if (shard.remove(controllerId, timestamp)) {
+                depth.decrementAndGet();
+                offer(tenant, controllerId, timestamp);
+            }
+        });
+    }
+
+    private void adaptBatchSize(final long chunkLatency) {
+        if (chunkLatency > batchLatencyTargetMillis) {
+            shrinkBatchSize();
+        } else if (chunkLatency < batchLatencyTargetMillis / 2) {
+            batchSize.updateAndGet(current -> Math.min(maxBatchSize, current + Math.max(1, current / 2)));
+        }
+    }
+
+    private void shrinkBatchSize() {
+        final int minBatchSize = Math.min(MIN_BATCH_SIZE, maxBatchSize);
+        batchSize.updateAndGet(current -> Math.max(minBatchSize, current / 2));
+    }
+
+    private boolean hasCapacityAfterEarlyFlush() {
+        if (earlyFlushScheduled.compareAndSet(false, true)) {
+            executor.execute(this::flush);
+        }
+        // the executor might have run the flush already
+        return depth.get() < capacity;
+    }
+
+    /**
+     * @return number of distinct targets waiting to be persisted
+     */
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * @return number of distinct targets waiting to be persisted per tenant
+     */
+    public Map<String, Integer> getQueueDepthPerTenant() {
+        final Map<String, Integer> result = new ConcurrentHashMap<>();
+        shards.forEach((tenant, shard) -> result.put(tenant, shard.size()));
+        return result;
+    }
+
+    /**
+     * @return the current (adaptive) number of targets updated per statement
+     */
+    public int getBatchSize() {
+        return batchSize.get();
+    }
+
+    /**
+     * @return duration of the last flush in milliseconds
+     */
+    public long getLastFlushLatencyMillis() {
+        return lastFlushLatencyMillis.get();
+    }
+
+    /**
+     * @return longest flush duration in milliseconds since start
+     */
+    public long getMaxFlushLatencyMillis() {
+        return maxFlushLatencyMillis.get();
+    }
+
+    /**
+     * @return number of polls that have been merged into an already buffered
+     *         poll of the same target
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return number of polls dropped because of saturation
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of target updates persisted
+     */
+    public long getFlushedCount() {
+        return flushed.get();
+    }
+}
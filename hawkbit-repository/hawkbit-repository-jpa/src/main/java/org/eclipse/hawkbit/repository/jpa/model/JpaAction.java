@@ -18,6 +18,7 @@ import java.util.Optional;
 import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Index;
@@ -63,6 +64,7 @@ import org.eclipse.persistence.descriptors.DescriptorEvent;
                 @NamedAttributeNode(value = "target", subgraph = "target.ds") },
                 subgraphs = @NamedSubgraph(name = "target.ds", attributeNodes = @NamedAttributeNode("assignedDistributionSet"))) })
 @Entity
+@EntityListeners(RolloutStatusCountListener.class)
 // exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
 // sub entities
 @SuppressWarnings("squid:S2160")
@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.persistence.annotations.Convert;
+import org.eclipse.persistence.annotations.ExistenceChecking;
+import org.eclipse.persistence.annotations.ExistenceType;
+import org.eclipse.persistence.annotations.Multitenant;
+import org.eclipse.persistence.annotations.MultitenantType;
+import org.eclipse.persistence.annotations.TenantDiscriminatorColumn;
+
+/**
+ * A finished {@link JpaAction} moved out of <code>sp_action</code> by the
+ * action cleanup. The row keeps the ID, the attributes and the audit data of
+ * the action; the {@link JpaActionStatus} entries and their messages are
+ * stored compressed in one column (see
+ * {@link org.eclipse.hawkbit.repository.jpa.utils.ActionHistoryCodec}).
+ * <p/>
+ * The archive period (year and month of the last modification of the action)
+ * allows to partition the table by range and to drop whole periods.
+ */
+@Entity
+@Table(name = "sp_action_archive", indexes = {
+        @Index(name = "sp_idx_action_archive_01", columnList = "tenant,target,id"),
+        @Index(name = "sp_idx_action_archive_02", columnList = "tenant,archive_period"),
+        @Index(name = "sp_idx_action_archive_03", columnList = "tenant,distribution_set") })
+@Multitenant(MultitenantType.SINGLE_TABLE)
+@TenantDiscriminatorColumn(name = "tenant", length = 40)
+@ExistenceChecking(ExistenceType.ASSUME_NON_EXISTENCE)
+public class JpaArchivedAction implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "target", nullable = false, updatable = false, foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_action_archive_target"))
+    private JpaTarget target;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "distribution_set", nullable = false, updatable = false, foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_action_archive_ds"))
+    private JpaDistributionSet distributionSet;
+
+    // rollouts without actions are deleted, so only the ID is kept
+    @Column(name = "rollout", updatable = false)
+    private Long rollout;
+
+    @Column(name = "rolloutgroup", updatable = false)
+    private Long rolloutGroup;
+
+    @Column(name = "action_type", nullable = false, updatable = false)
+    @Convert("actionType")
+    private ActionType actionType;
+
+    @Column(name = "status", nullable = false, updatable = false)
+    @Convert("status")
+    private Status status;
+
+    @Column(name = "forced_time", updatable = false)
+    private long forcedTime;
+
+    @Column(name = "weight", updatable = false)
+    private Integer weight;
+
+    @Column(name = "maintenance_cron_schedule", updatable = false, length = Action.MAINTENANCE_WINDOW_SCHEDULE_LENGTH)
+    private String maintenanceWindowSchedule;
+
+    @Column(name = "maintenance_duration", updatable = false, length = Action.MAINTENANCE_WINDOW_DURATION_LENGTH)
+    private String maintenanceWindowDuration;
+
+    @Column(name = "maintenance_time_zone", updatable = false, length = Action.MAINTENANCE_WINDOW_TIMEZONE_LENGTH)
+    private String maintenanceWindowTimeZone;
+
+    @Column(name = "external_ref", updatable = false, length = Action.EXTERNAL_REF_MAX_LENGTH)
+    private String externalRef;
+
+    @Column(name = "initiated_by", updatable = false, nullable = false, length = 64)
+    private String initiatedBy;
+
+    @Column(name = "last_action_status_code", updatable = false)
+    private Integer lastActionStatusCode;
+
+    @Column(name = "created_at", updatable = false, nullable = false)
+    private long createdAt;
+
+    @Column(name = "created_by", updatable = false, nullable = false, length = 64)
+    private String createdBy;
+
+    @Column(name = "last_modified_at", updatable = false, nullable = false)
+    private long lastModifiedAt;
+
+    @Column(name = "last_modified_by", updatable = false, nullable = false, length = 64)
+    private String lastModifiedBy;
+
+    @Column(name = "archive_period", updatable = false, nullable = false)
+    private int archivePeriod;
+
+    @Column(name = "status_count", updatable = false, nullable = false)
+    private int statusCount;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "history", updatable = false)
+    private byte[] history;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaArchivedAction() {
+        // Default constructor needed for JPA entities.
+    }
+
+    /**
+     * Creates the archive entry of an action.
+     *
+     * @param action
+     *            the action to archive
+     * @param target
+     *            the target of the action
+     * @param distributionSet
+     *            the distribution set of the action
+     * @param rollout
+     *            the ID of the rollout of the action or <code>null</code>
+     * @param rolloutGroup
+     *            the ID of the rollout group of the action or
+     *            <code>null</code>
+     * @param statusCount
+     *            the number of {@link JpaActionStatus} entries of the action
+     * @param history
+     *            the compressed {@link JpaActionStatus} entries
+     */
+    public JpaArchivedAction(final JpaAction action, final JpaTarget target, final JpaDistributionSet distributionSet,
+            final Long rollout, final Long rolloutGroup, final int statusCount, final byte[] history) {
+        this.id = action.getId();
+        this.target = target;
+        this.distributionSet = distributionSet;
+        this.rollout = rollout;
+        this.rolloutGroup = rolloutGroup;
+        this.actionType = action.getActionType();
+        this.status = action.getStatus();
+        this.forcedTime = action.getForcedTime();
+        this.weight = action.getWeight().orElse(null);
+        this.maintenanceWindowSchedule = action.getMaintenanceWindowSchedule();
+        this.maintenanceWindowDuration = action.getMaintenanceWindowDuration();
+        this.maintenanceWindowTimeZone = action.getMaintenanceWindowTimeZone();
+        this.externalRef = action.getExternalRef();
+        this.initiatedBy = action.getInitiatedBy();
+        this.lastActionStatusCode = action.getLastActionStatusCode().orElse(null);
+        this.createdAt = action.getCreatedAt();
+        this.createdBy = action.getCreatedBy();
+        this.lastModifiedAt = action.getLastModifiedAt();
+        this.lastModifiedBy = action.getLastModifiedBy();
+        this.archivePeriod = archivePeriod(action.getLastModifiedAt());
+        this.statusCount = statusCount;
+        this.history = history;
+    }
+
+    /**
+     * @param timestamp
+     *            in milliseconds
+     * @return the archive period of the time-stamp, i.e. year and month as
+     *         <code>yyyyMM</code> (UTC)
+     */
+    public static int archivePeriod(final long timestamp) {
+        final ZonedDateTime time = Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC);
+        return time.getYear() * 100 + time.getMonthValue();
+    }
+
+    /**
+     * Restores the action, without its status entries. The returned action is
+     * not managed and must not be persisted.
+     *
+     * @param tenant
+     *            the tenant of the action
+     * @param rolloutEntity
+     *            the rollout of the action if still present
+     * @param rolloutGroupEntity
+     *            the rollout group of the action if still present
+     * @return the action
+     */
+    public JpaAction toAction(final String tenant, final JpaRollout rolloutEntity,
+            final JpaRolloutGroup rolloutGroupEntity) {
+        final JpaAction action = new JpaAction();
+        action.setId(id);
+        action.setTenant(tenant);
+        action.setTarget(target);
+        action.setDistributionSet(distributionSet);
+        action.setRollout(rolloutEntity);
+        action.setRolloutGroup(rolloutGroupEntity);
+        action.setActive(false);
+        action.setActionType(actionType);
+        action.setStatus(status);
+        action.setForcedTime(forcedTime);
+        action.setWeight(weight);
+        action.setMaintenanceWindowSchedule(maintenanceWindowSchedule);
+        action.setMaintenanceWindowDuration(maintenanceWindowDuration);
+        action.setMaintenanceWindowTimeZone(maintenanceWindowTimeZone);
+        action.setExternalRef(externalRef);
+        action.setInitiatedBy(initiatedBy);
+        action.setLastActionStatusCode(lastActionStatusCode);
+        action.setCreatedAt(createdAt);
+        action.setCreatedBy(createdBy);
+        action.setLastModifiedAt(lastModifiedAt);
+        action.setLastModifiedBy(lastModifiedBy);
+        return action;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public JpaTarget getTarget() {
+        return target;
+    }
+
+    public Long getRollout() {
+        return rollout;
+    }
+
+    public Long getRolloutGroup() {
+        return rolloutGroup;
+    }
+
+    public int getArchivePeriod() {
+        return archivePeriod;
+    }
+
+    public int getStatusCount() {
+        return statusCount;
+    }
+
+    public byte[] getHistory() {
+        return history;
+    }
+
+    @Override
+    public String toString() {
+        return "JpaArchivedAction [id=" + id + ", status=" + status + ", archivePeriod=" + archivePeriod
+                + ", statusCount=" + statusCount + "]";
+    }
+}
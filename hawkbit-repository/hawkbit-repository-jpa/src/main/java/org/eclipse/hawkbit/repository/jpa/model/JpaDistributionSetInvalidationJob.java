@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.ConstraintMode;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
+import org.eclipse.persistence.annotations.ConversionValue;
+import org.eclipse.persistence.annotations.Convert;
+import org.eclipse.persistence.annotations.ObjectTypeConverter;
+
+/**
+ * JPA implementation of {@link DistributionSetInvalidationJob}. The ID of the
+ * last processed action is stored with the progress in the transaction of
+ * each chunk, so an interrupted job continues with the next chunk.
+ */
+@Entity
+@Table(name = "sp_ds_invalidation_job", uniqueConstraints = @UniqueConstraint(columnNames = { "distribution_set",
+        "tenant" }, name = "uk_ds_invalidation_job_ds"))
+public class JpaDistributionSetInvalidationJob extends AbstractJpaTenantAwareBaseEntity
+        implements DistributionSetInvalidationJob {
+
+    private static final long serialVersionUID = 1L;
+
+    @OneToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "distribution_set", nullable = false, updatable = false, foreignKey = @ForeignKey(value = ConstraintMode.CONSTRAINT, name = "fk_ds_invalidation_job_ds"))
+    private JpaDistributionSet distributionSet;
+
+    @Column(name = "cancelation_type", nullable = false)
+    @ObjectTypeConverter(name = "invalidationCancelationType", objectType = CancelationType.class, dataType = Integer.class, conversionValues = {
+            @ConversionValue(objectValue = "FORCE", dataValue = "0"),
+            @ConversionValue(objectValue = "SOFT", dataValue = "1"),
+            @ConversionValue(objectValue = "NONE", dataValue = "2") })
+    @Convert("invalidationCancelationType")
+    @NotNull
+    private CancelationType cancelationType;
+
+    @Column(name = "status", nullable = false)
+    @ObjectTypeConverter(name = "invalidationJobStatus", objectType = DistributionSetInvalidationJob.Status.class, dataType = Integer.class, conversionValues = {
+            @ConversionValue(objectValue = "RUNNING", dataValue = "0"),
+            @ConversionValue(objectValue = "FINISHED", dataValue = "1") })
+    @Convert("invalidationJobStatus")
+    @NotNull
+    private Status status = Status.RUNNING;
+
+    @Column(name = "total_actions", nullable = false)
+    private long totalActions;
+
+    @Column(name = "processed_actions", nullable = false)
+    private long processedActions;
+
+    @Column(name = "last_action_id", nullable = false)
+    private long lastActionId = -1;
+
+    /**
+     * Default constructor needed for JPA entities.
+     */
+    public JpaDistributionSetInvalidationJob() {
+        // Default constructor needed for JPA entities.
+    }
+
+    public JpaDistributionSetInvalidationJob(final DistributionSet distributionSet,
+            final CancelationType cancelationType, final long totalActions) {
+        this.distributionSet = (JpaDistributionSet) distributionSet;
+        this.cancelationType = cancelationType;
+        this.totalActions = totalActions;
+    }
+
+    /**
+     * Starts the job again, e.g. if the distribution set is invalidated
+     * another time.
+     *
+     * @param cancelationType
+     *            how the actions are canceled
+     * @param totalActions
+     *            the number of actions to cancel
+     */
+    public void restart(final CancelationType cancelationType, final long totalActions) {
+        this.cancelationType = cancelationType;
+        this.totalActions = totalActions;
+        this.status = Status.RUNNING;
+        this.processedActions = 0;
+        this.lastActionId = -1;
+    }
+
+    /**
+     * Records the progress of a processed chunk.
+     *
+     * @param processed
+     *            the number of actions of the chunk
+     * @param lastProcessedActionId
+     *            the ID of the last action of the chunk
+     */
+    public void processed(final long processed, final long lastProcessedActionId) {
+        this.processedActions += processed;
+        this.lastActionId = lastProcessedActionId;
+    }
+
+    public void finish() {
+        this.status = Status.FINISHED;
+    }
+
+    @Override
+    public long getDistributionSetId() {
+        return distributionSet.getId();
+    }
+
+    @Override
+    public CancelationType getCancelationType() {
+        return cancelationType;
+    }
+
+    @Override
+    public Status getStatus() {
+        return status;
+    }
+
+    @Override
+    public long getTotalActions() {
+        return totalActions;
+    }
+
+    @Override
+    public long getProcessedActions() {
+        return processedActions;
+    }
+
+    public long getLastActionId() {
+        return lastActionId;
+    }
+
+    @Override
+    public String toString() {
+        return "DistributionSetInvalidationJob [distributionSet=" + getDistributionSetId() + ", cancelationType="
+                + cancelationType + ", status=" + status + ", processed=" + processedActions + "/" + totalActions
+                + ", id=" + getId() + "]";
+    }
+}
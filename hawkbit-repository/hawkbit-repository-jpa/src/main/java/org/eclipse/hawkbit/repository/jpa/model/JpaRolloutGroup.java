@@ -16,6 +16,7 @@ import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.JoinColumn;
@@ -44,6 +45,7 @@ import org.eclipse.persistence.descriptors.DescriptorEvent;
  *
  */
 @Entity
+@EntityListeners(RolloutStatusCountListener.class)
 @Table(name = "sp_rolloutgroup", uniqueConstraints = @UniqueConstraint(columnNames = { "name", "rollout",
         "tenant" }, name = "uk_rolloutgroup"))
 // exception squid:S2160 - BaseEntity equals/hashcode is handling correctly for
@@ -25,6 +25,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Index;
@@ -71,6 +72,7 @@ import org.eclipse.persistence.descriptors.DescriptorEvent;
  * JPA implementation of {@link Target}.
  */
 @Entity
+@EntityListeners(RolloutStatusCountListener.class)
 @Table(name = "sp_target", indexes = {
         @Index(name = "sp_idx_target_01", columnList = "tenant,name,assigned_distribution_set"),
         @Index(name = "sp_idx_target_03", columnList = "tenant,controller_id,assigned_distribution_set"),
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model;
+
+import org.eclipse.hawkbit.repository.jpa.model.helper.RolloutStatusCounterHolder;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.persistence.descriptors.DescriptorEvent;
+import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
+import org.eclipse.persistence.internal.sessions.DirectToFieldChangeRecord;
+import org.eclipse.persistence.queries.UpdateObjectQuery;
+import org.eclipse.persistence.sessions.changesets.ChangeRecord;
+
+/**
+ * Keeps the {@link RolloutStatusCounter} up to date with the actions of the
+ * rollout groups. The counters are changed within the flush, i.e. in the
+ * transaction of the entity change.
+ */
+public class RolloutStatusCountListener extends DescriptorEventAdapter {
+
+    @Override
+    public void postInsert(final DescriptorEvent event) {
+        final RolloutStatusCounter counter = getCounter();
+        if (counter == null) {
+            return;
+        }
+        if (event.getObject() instanceof JpaRolloutGroup group) {
+            counter.groupCreated(event.getSession(), group.getRollout().getId(), group.getId());
+        } else if (event.getObject() instanceof JpaAction action && action.getRolloutGroup() != null) {
+            counter.statusChanged(event.getSession(), action.getId(), action.getRolloutGroup().getId(), null,
+                    action.getStatus());
+        }
+    }
+
+    @Override
+    public void postUpdate(final DescriptorEvent event) {
+        final RolloutStatusCounter counter = getCounter();
+        if (counter == null || !(event.getObject() instanceof JpaAction action)) {
+            return;
+        }
+        final ChangeRecord statusChange = ((UpdateObjectQuery) event.getQuery()).getObjectChangeSet()
+                .getChangesForAttributeNamed(JpaAction_.STATUS);
+        if (statusChange instanceof DirectToFieldChangeRecord directChange
+                && directChange.getOldValue() instanceof Status oldStatus && action.getRolloutGroup() != null) {
+            counter.statusChanged(event.getSession(), action.getId(), action.getRolloutGroup().getId(),
+                    oldStatus, action.getStatus());
+        }
+    }
+
+    @Override
+    public void postDelete(final DescriptorEvent event) {
+        final RolloutStatusCounter counter = getCounter();
+        if (counter != null && event.getObject() instanceof JpaAction action && action.getRolloutGroup() != null) {
+            counter.statusChanged(event.getSession(), action.getId(), action.getRolloutGroup().getId(),
+                    action.getStatus(), null);
+        }
+    }
+
+    @Override
+    public void preDelete(final DescriptorEvent event) {
+        // the actions of a target are deleted by the database (cascade on
+        // delete) without entity events
+        final RolloutStatusCounter counter = getCounter();
+        if (counter != null && event.getObject() instanceof JpaTarget target) {
+            counter.targetDeleted(event.getSession(), target.getId());
+        }
+    }
+
+    private static RolloutStatusCounter getCounter() {
+        final RolloutStatusCounter counter = RolloutStatusCounterHolder.getInstance().getRolloutStatusCounter();
+        return counter != null && counter.isEnabled() ? counter : null;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.model.helper;
+
+import org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCountListener;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * A singleton bean which holds the {@link RolloutStatusCounter} to have it in
+ * beans not instantiated by spring e.g. the
+ * {@link RolloutStatusCountListener} which cannot be autowired.
+ */
+public final class RolloutStatusCounterHolder {
+
+    private static final RolloutStatusCounterHolder SINGLETON = new RolloutStatusCounterHolder();
+
+    @Autowired(required = false)
+    private RolloutStatusCounter rolloutStatusCounter;
+
+    private RolloutStatusCounterHolder() {
+
+    }
+
+    /**
+     * @return the rollout status counter holder singleton instance
+     */
+    public static RolloutStatusCounterHolder getInstance() {
+        return SINGLETON;
+    }
+
+    /**
+     * @return the rollout status counter, <code>null</code> if not available
+     */
+    public RolloutStatusCounter getRolloutStatusCounter() {
+        return rolloutStatusCounter;
+    }
+}
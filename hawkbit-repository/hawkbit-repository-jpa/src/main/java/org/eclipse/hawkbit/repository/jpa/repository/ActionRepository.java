@@ -86,6 +86,24 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction> {
     void switchStatus(@Param("statusToSet") Action.Status statusToSet, @Param("targetsIds") List<Long> targetIds,
             @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
 
+    /**
+     * Counts per rollout group the actions which status is switched by
+     * {@link #switchStatus(Action.Status, List, boolean, Action.Status)}.
+     * <p/>
+     * No access control applied
+     *
+     * @param targetIds
+     *            the IDs of the targets of the actions which are affected
+     * @param active
+     *            the active flag of the actions which should be affected
+     * @param currentStatus
+     *            the current status of the actions which are affected
+     * @return pairs of rollout group id and number of actions
+     */
+    @Query("SELECT a.rolloutGroup.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetsIds AND a.active = :active AND a.status = :currentStatus AND a.distributionSet.requiredMigrationStep = false GROUP BY a.rolloutGroup.id")
+    List<Object[]> countSwitchStatusByRolloutGroup(@Param("targetsIds") List<Long> targetIds,
+            @Param("active") boolean active, @Param("currentStatus") Action.Status currentStatus);
+
     /**
      *
      * Retrieves all IDs for {@link Action}s referring to the given target IDs,
@@ -143,6 +161,131 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction> {
             @Param("actionIds") List<Long> actionIds, @Param("active") boolean active,
             @Param("currentStatus") Action.Status currentStatus);
 
+    /**
+     * Retrieves a chunk of the active {@link Action}s of a
+     * {@link DistributionSet} with their targets, ordered by ID.
+     * <p/>
+     * No access control applied
+     *
+     * @param distributionSetId
+     *            the ID of the distribution set
+     * @param afterActionId
+     *            only actions with a greater ID are retrieved
+     * @param pageable
+     *            the size of the chunk
+     * @return the actions
+     */
+    @Query("SELECT a FROM JpaAction a JOIN FETCH a.target WHERE a.distributionSet.id = :distributionSetId AND a.active = true AND a.id > :afterActionId ORDER BY a.id")
+    List<JpaAction> findActiveByDistributionSetIdAndIdGreaterThan(
+            @Param("distributionSetId") long distributionSetId, @Param("afterActionId") long afterActionId,
+            Pageable pageable);
+
+    /**
+     * Counts the {@link Action}s with the given IDs that are not in the given
+     * status by rollout group and status, i.e. the actions which status is
+     * switched by {@link #switchStatusOfActive(Status, List, long, String)}.
+     * <p/>
+     * No access control applied
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @param statusToSet
+     *            the status to set
+     * @return triples of rollout group id, status and number of actions
+     */
+    @Query("SELECT a.rolloutGroup.id, a.status, COUNT(a.id) FROM JpaAction a WHERE a.id IN :actionIds AND a.rolloutGroup IS NOT NULL AND a.active = true AND a.status <> :statusToSet GROUP BY a.rolloutGroup.id, a.status")
+    List<Object[]> countSwitchStatusOfActiveByRolloutGroup(@Param("actionIds") List<Long> actionIds,
+            @Param("statusToSet") Action.Status statusToSet);
+
+    /**
+     * Switches the status of the active {@link Action}s with the given IDs by
+     * one statement. The optimistic lock revision and the last modification
+     * are updated like on an update of the entity, but no entity listeners
+     * are called.
+     * <p/>
+     * No access control applied
+     *
+     * @param statusToSet
+     *            the new status of the actions
+     * @param actionIds
+     *            the IDs of the actions
+     * @param lastModifiedAt
+     *            the time of the modification
+     * @param lastModifiedBy
+     *            the user of the modification
+     * @return the number of updated actions
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JpaAction a SET a.status = :statusToSet, a.lastModifiedAt = :lastModifiedAt, a.lastModifiedBy = :lastModifiedBy, a.optLockRevision = a.optLockRevision + 1 WHERE a.id IN :actionIds AND a.active = true AND a.status <> :statusToSet")
+    int switchStatusOfActive(@Param("statusToSet") Action.Status statusToSet,
+            @Param("actionIds") List<Long> actionIds, @Param("lastModifiedAt") long lastModifiedAt,
+            @Param("lastModifiedBy") String lastModifiedBy);
+
+    /**
+     * Retrieves the IDs of the inactive {@link Action}s in one of the given
+     * status which have not been modified since the given time.
+     * <p/>
+     * No access control applied
+     *
+     * @param status
+     *            the status of the actions
+     * @param lastModified
+     *            the time in milliseconds
+     * @param pageable
+     *            the maximum number of IDs
+     * @return the IDs in ascending order
+     */
+    @Query("SELECT a.id FROM JpaAction a WHERE a.active = false AND a.status IN :status AND a.lastModifiedAt < :lastModified ORDER BY a.id")
+    List<Long> findInactiveIdsByStatusAndLastModifiedBefore(@Param("status") Collection<Action.Status> status,
+            @Param("lastModified") long lastModified, Pageable pageable);
+
+    /**
+     * Retrieves the IDs of the {@link Action}s in one of the given status
+     * which have not been modified since the given time.
+     * <p/>
+     * No access control applied
+     *
+     * @param status
+     *            the status of the actions
+     * @param lastModified
+     *            the time in milliseconds
+     * @param pageable
+     *            the maximum number of IDs
+     * @return the IDs in ascending order
+     */
+    @Query("SELECT a.id FROM JpaAction a WHERE a.status IN :status AND a.lastModifiedAt < :lastModified ORDER BY a.id")
+    List<Long> findIdsByStatusAndLastModifiedBefore(@Param("status") Collection<Action.Status> status,
+            @Param("lastModified") long lastModified, Pageable pageable);
+
+    /**
+     * Counts the {@link Action}s with the given IDs per rollout group and
+     * status, e.g. before they are deleted with a bulk statement.
+     * <p/>
+     * No access control applied
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return triples of rollout group id, status and number of actions, the
+     *         actions without rollout group are not counted
+     */
+    @Query("SELECT a.rolloutGroup.id, a.status, COUNT(a.id) FROM JpaAction a WHERE a.id IN :actionIds AND a.rolloutGroup IS NOT NULL GROUP BY a.rolloutGroup.id, a.status")
+    List<Object[]> countByRolloutGroupAndStatusForIdIn(@Param("actionIds") Collection<Long> actionIds);
+
+    /**
+     * Retrieves the {@link Action}s with the given IDs together with the IDs
+     * of their target, distribution set, rollout and rollout group.
+     * <p/>
+     * No access control applied
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return the action, target ID, distribution set ID, rollout ID and
+     *         rollout group ID per action, ordered by action ID
+     */
+    @Query("SELECT a, a.target.id, a.distributionSet.id, r.id, g.id FROM JpaAction a LEFT JOIN a.rollout r LEFT JOIN a.rolloutGroup g WHERE a.id IN :actionIds ORDER BY a.id")
+    List<Object[]> findWithReferenceIdsByIdIn(@Param("actionIds") Collection<Long> actionIds);
+
     /**
      * Counts all {@link Action}s referring to the given target.
      * <p/>
@@ -165,6 +308,33 @@ public interface ActionRepository extends BaseEntityRepository<JpaAction> {
      */
     Long countByTargetId(Long targetId);
 
+    /**
+     * Counts all {@link Action}s per target for the given targetIds with one
+     * grouped query. Targets without actions are not part of the result.
+     * <p/>
+     * No access control applied
+     *
+     * @param targetIds
+     *            the targets to count the {@link Action}s for
+     * @return pairs of target id and the count of actions referring to it
+     */
+    @Query("SELECT a.target.id, COUNT(a.id) FROM JpaAction a WHERE a.target.id IN :targetIds GROUP BY a.target.id")
+    List<Object[]> countByTargetIdInGroupByTargetId(@Param("targetIds") Collection<Long> targetIds);
+
+    /**
+     * Retrieves the {@link Action}s of the given rollout group for the given
+     * targets.
+     * <p/>
+     * No access control applied
+     *
+     * @param rolloutGroupId
+     *            the ID of the rollout group the actions belong to
+     * @param targetIds
+     *            the IDs of the targets the actions belong to
+     * @return the actions of the rollout group for the targets
+     */
+    List<JpaAction> findByRolloutGroupIdAndTargetIdIn(Long rolloutGroupId, Collection<Long> targetIds);
+
     /**
      * Counts all {@link Action}s referring to the given DistributionSet.
      * <p/>
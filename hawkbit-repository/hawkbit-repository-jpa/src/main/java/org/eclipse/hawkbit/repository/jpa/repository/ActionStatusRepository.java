@@ -9,6 +9,9 @@
  */
 package org.eclipse.hawkbit.repository.jpa.repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.ActionStatus;
@@ -66,4 +69,29 @@ public interface ActionStatusRepository extends BaseEntityRepository<JpaActionSt
     @Query("SELECT message FROM JpaActionStatus actionstatus JOIN actionstatus.messages message WHERE actionstatus.action.id = :actionId AND message NOT LIKE :filter")
     Page<String> findMessagesByActionIdAndMessageNotLike(Pageable pageable, @Param("actionId") Long actionId,
             @Param("filter") String filter);
+
+    /**
+     * Retrieves the {@link ActionStatus} entries of the given {@link Action}s.
+     * <p/>
+     * No access control applied
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return the action ID and the entry per entry, ordered by entry ID
+     */
+    @Query("SELECT actionstatus.action.id, actionstatus FROM JpaActionStatus actionstatus WHERE actionstatus.action.id IN :actionIds ORDER BY actionstatus.id")
+    List<Object[]> findByActionIdIn(@Param("actionIds") Collection<Long> actionIds);
+
+    /**
+     * Retrieves the messages of the {@link ActionStatus} entries of the given
+     * {@link Action}s.
+     * <p/>
+     * No access control applied
+     *
+     * @param actionIds
+     *            the IDs of the actions
+     * @return the entry ID and the message per message
+     */
+    @Query("SELECT actionstatus.id, message FROM JpaActionStatus actionstatus JOIN actionstatus.messages message WHERE actionstatus.action.id IN :actionIds")
+    List<Object[]> findMessagesByActionIdIn(@Param("actionIds") Collection<Long> actionIds);
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.repository;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaArchivedAction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Spring data repository for {@link JpaArchivedAction}.
+ */
+@Transactional(readOnly = true)
+public interface ArchivedActionRepository extends CrudRepository<JpaArchivedAction, Long> {
+
+    /**
+     * Retrieves the archived actions of a target.
+     *
+     * @param controllerId
+     *            the target of the actions
+     * @param pageable
+     *            page parameters
+     * @return the found archived actions
+     */
+    Slice<JpaArchivedAction> findByTargetControllerId(String controllerId, Pageable pageable);
+
+    /**
+     * Counts the archived actions of a target.
+     *
+     * @param controllerId
+     *            the target of the actions
+     * @return the number of archived actions
+     */
+    long countByTargetControllerId(String controllerId);
+}
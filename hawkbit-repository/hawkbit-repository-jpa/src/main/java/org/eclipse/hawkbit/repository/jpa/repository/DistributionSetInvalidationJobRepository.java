@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.hawkbit.repository.jpa.model.JpaDistributionSetInvalidationJob;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob.Status;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * The spring-data repository for the entity
+ * {@link DistributionSetInvalidationJob}.
+ */
+@Transactional(readOnly = true)
+public interface DistributionSetInvalidationJobRepository
+        extends BaseEntityRepository<JpaDistributionSetInvalidationJob> {
+
+    /**
+     * Finds the job of a distribution set.
+     *
+     * @param distributionSetId
+     *            the ID of the distribution set
+     * @return the job or empty if there is none
+     */
+    @Query("SELECT j FROM JpaDistributionSetInvalidationJob j WHERE j.distributionSet.id = :distributionSetId")
+    Optional<JpaDistributionSetInvalidationJob> findByDistributionSetId(
+            @Param("distributionSetId") long distributionSetId);
+
+    /**
+     * Retrieves the IDs of the distribution sets of the jobs in the given
+     * status.
+     *
+     * @param status
+     *            the status of the jobs
+     * @return the IDs ordered by the creation of the jobs
+     */
+    @Query("SELECT j.distributionSet.id FROM JpaDistributionSetInvalidationJob j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findDistributionSetIdsByStatus(@Param("status") Status status);
+
+}
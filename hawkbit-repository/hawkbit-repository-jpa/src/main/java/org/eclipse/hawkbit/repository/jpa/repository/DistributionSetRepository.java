@@ -121,6 +121,19 @@ public interface DistributionSetRepository
     @Query("select ra.distributionSet.id from JpaRollout ra where ra.distributionSet.id in :ids")
     List<Long> findAssignedToRolloutDistributionSetsById(@Param("ids") Collection<Long> ids);
 
+    /**
+     * Finds {@link DistributionSet}s based on given ID that are referenced by
+     * an archived {@link Action}.
+     * <p/>
+     * No access control applied.
+     *
+     * @param ids
+     *            to search for
+     * @return list of {@link DistributionSet#getId()}
+     */
+    @Query("select aa.distributionSet.id from JpaArchivedAction aa where aa.distributionSet.id in :ids")
+    List<Long> findArchivedActionDistributionSetsById(@Param("ids") Collection<Long> ids);
+
     /**
      * Counts {@link DistributionSet} instances of given type in the repository.
      * <p/>
@@ -18,7 +18,9 @@ import jakarta.persistence.TypedQuery;
 import jakarta.transaction.Transactional;
 
 import org.eclipse.hawkbit.repository.BaseRepositoryTypeProvider;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.jpa.acm.AccessController;
+import org.eclipse.hawkbit.repository.jpa.specifications.KeysetSpecification;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -46,6 +48,16 @@ public class HawkBitBaseRepository<T, ID extends Serializable> extends SimpleJpa
         super(entityInformation, entityManager);
     }
 
+    // keyset page requests are always served without count query
+    @Override
+    @NonNull
+    public Page<T> findAll(@Nullable final Specification<T> spec, @NonNull final Pageable pageable) {
+        if (pageable instanceof KeysetPageRequest) {
+            return readPageWithoutCount(getQuery(spec, pageable), pageable);
+        }
+        return super.findAll(spec, pageable);
+    }
+
     @Override
     public Slice<T> findAllWithoutCount(@Nullable final Specification<T> spec, final Pageable pageable) {
         final TypedQuery<T> query = getQuery(spec, pageable);
@@ -112,6 +124,16 @@ public class HawkBitBaseRepository<T, ID extends Serializable> extends SimpleJpa
         return getClass().getSimpleName() + '<' + getDomainClass().getSimpleName() + '>';
     }
 
+    @Override
+    @NonNull
+    protected TypedQuery<T> getQuery(@Nullable final Specification<T> spec, @NonNull final Pageable pageable) {
+        if (pageable instanceof KeysetPageRequest keysetPageRequest) {
+            final Specification<T> after = KeysetSpecification.after(keysetPageRequest);
+            return super.getQuery(spec == null ? after : Specification.where(spec).and(after), pageable);
+        }
+        return super.getQuery(spec, pageable);
+    }
+
     private <S extends T> Page<S> readPageWithoutCount(final TypedQuery<S> query, final Pageable pageable) {
         query.setFirstResult((int) pageable.getOffset());
         query.setMaxResults(pageable.getPageSize());
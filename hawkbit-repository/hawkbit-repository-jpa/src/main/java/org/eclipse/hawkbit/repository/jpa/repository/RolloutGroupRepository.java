@@ -74,6 +74,16 @@ public interface RolloutGroupRepository
             @Param("status1") RolloutGroupStatus rolloutGroupStatus1,
             @Param("status2") RolloutGroupStatus rolloutGroupStatus2);
 
+    /**
+     * Counts the rollout groups of the given {@link Rollout}s.
+     *
+     * @param rolloutIds
+     *            the IDs of the rollouts
+     * @return pairs of rollout id and number of rollout groups
+     */
+    @Query("SELECT r.rollout.id, COUNT(r.id) FROM JpaRolloutGroup r WHERE r.rollout.id IN :rolloutIds GROUP BY r.rollout.id")
+    List<Object[]> countByRolloutIdIn(@Param("rolloutIds") Collection<Long> rolloutIds);
+
     /**
      *
      * Counts all rollout-groups refering to a given {@link Rollout} by its ID
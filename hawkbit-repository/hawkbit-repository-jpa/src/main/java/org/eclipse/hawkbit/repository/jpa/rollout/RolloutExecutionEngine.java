@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+
+/**
+ * Executes the rollout handling of the tenants, and within a tenant of the
+ * rollouts, on bounded thread pools.
+ * <p/>
+ * Fairness between the tenants is achieved by handling a tenant at most once
+ * at the same time: a tenant which handling is still in progress is skipped
+ * by the next scheduler runs, so a tenant with a huge rollout occupies at
+ * most one tenant thread while the other tenants continue. The rollouts of a
+ * tenant are handled by at most {@code maxParallelRolloutsPerTenant} threads
+ * at the same time.
+ * <p/>
+ * The engine records per rollout the time the rollout waited for its
+ * handling within the run of its tenant and the time the handling took.
+ */
+@Slf4j
+public class RolloutExecutionEngine {
+
+    private final ExecutorService tenantExecutor;
+    private final ExecutorService rolloutExecutor;
+    private final int maxParallelRolloutsPerTenant;
+
+    private final Set<String> tenantsInProgress = ConcurrentHashMap.newKeySet();
+    private final Map<Long, RolloutStatistics> statistics = new ConcurrentHashMap<>();
+    private final AtomicLong skippedTenantRuns = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param tenantThreads
+     *            number of tenants handled in parallel. With <code>1</code>
+     *            the tenants are handled one after another by the calling
+     *            (scheduler) thread.
+     * @param maxParallelRolloutsPerTenant
+     *            number of rollouts of a tenant handled in parallel. With
+     *            <code>1</code> the rollouts are handled one after another by
+     *            the thread of the tenant.
+     */
+    public RolloutExecutionEngine(final int tenantThreads, final int maxParallelRolloutsPerTenant) {
+        this.maxParallelRolloutsPerTenant = Math.max(1, maxParallelRolloutsPerTenant);
+        tenantExecutor = tenantThreads > 1
+                ? Executors.newFixedThreadPool(tenantThreads, threadFactory("rollout-tenant-pool-%d"))
+                : null;
+        rolloutExecutor = this.maxParallelRolloutsPerTenant > 1
+                ? new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(
+                        Math.max(1, tenantThreads) * this.maxParallelRolloutsPerTenant,
+                        threadFactory("rollout-handler-pool-%d")))
+                : null;
+    }
+
+    /**
+     * Executes the rollout handling of a tenant. If the tenant is still
+     * handled by a previous run the execution is skipped.
+     *
+     * @param tenant
+     *            the tenant
+     * @param task
+     *            handling the rollouts of the tenant. Has to establish the
+     *            tenant context by itself as it may run in another thread.
+     */
+    public void executeForTenant(final String tenant, final Runnable task) {
+        if (!tenantsInProgress.add(tenant)) {
+            skippedTenantRuns.incrementAndGet();
+            log.debug("Rollout handling of tenant {} is still in progress, skip it in this run.", tenant);
+            return;
+        }
+
+        final Runnable tenantTask = () -> {
+            try {
+                task.run();
+            } catch (final RuntimeException e) {
+                log.error("Rollout handling of tenant {} failed.", tenant, e);
+            } finally {
+                tenantsInProgress.remove(tenant);
+            }
+        };
+
+        if (tenantExecutor == null) {
+            tenantTask.run();
+            return;
+        }
+
+        try {
+            tenantExecutor.execute(tenantTask);
+        } catch (final RejectedExecutionException e) {
+            tenantsInProgress.remove(tenant);
+            log.warn("Rollout handling of tenant {} rejected.", tenant, e);
+        }
+    }
+
+    /**
+     * Handles the rollouts of the current tenant and waits until all of them
+     * are handled. The handler is called in the security context of the
+     * calling thread.
+     *
+     * @param tenant
+     *            the tenant of the rollouts
+     * @param rolloutIds
+     *            the rollouts to handle
+     * @param handler
+     *            to handle a single rollout
+     * @param afterEach
+     *            called in the calling thread at least once each time a
+     *            rollout has been handled (e.g. to renew a lock)
+     */
+    public void executeRollouts(final String tenant, final List<Long> rolloutIds, final LongConsumer handler,
+            final Runnable afterEach) {
+        final long start = System.currentTimeMillis();
+        if (rolloutExecutor == null || rolloutIds.size() == 1) {
+            rolloutIds.forEach(rolloutId -> {
+                handle(tenant, rolloutId, start, handler);
+                afterEach.run();
+            });
+            return;
+        }
+
+        final Semaphore permits = new Semaphore(maxParallelRolloutsPerTenant);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(rolloutIds.size());
+        for (int i = 0; i < rolloutIds.size(); i++) {
+            final Long rolloutId = rolloutIds.get(i);
+            permits.acquireUninterruptibly();
+            if (i >= maxParallelRolloutsPerTenant) {
+                // the permit is free because a previous rollout has been handled
+                afterEach.run();
+            }
+            try {
+                futures.add(CompletableFuture.runAsync(() -> handle(tenant, rolloutId, start, handler), rolloutExecutor)
+                        .whenComplete((result, throwable) -> permits.release()));
+            } catch (final RejectedExecutionException e) {
+                permits.release();
+                log.warn("Handling of rollout {} rejected.", rolloutId, e);
+            }
+        }
+        futures.forEach(future -> {
+            future.join();
+            afterEach.run();
+        });
+    }
+
+    /**
+     * Removes the statistics of the rollouts of a tenant that are not active
+     * anymore.
+     *
+     * @param tenant
+     *            the tenant
+     * @param activeRolloutIds
+     *            the active rollouts of the tenant
+     */
+    public void retainRollouts(final String tenant, final Collection<Long> activeRolloutIds) {
+        statistics.entrySet().removeIf(
+                entry -> entry.getValue().tenant().equals(tenant) && !activeRolloutIds.contains(entry.getKey()));
+    }
+
+    /**
+     * @return the statistics of the last handling of the active rollouts by
+     *         rollout id
+     */
+    public Map<Long, RolloutStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * @return number of tenants which rollouts are currently handled
+     */
+    public int getTenantsInProgress() {
+        return tenantsInProgress.size();
+    }
+
+    /**
+     * @return number of tenant runs skipped because the previous run was still
+     *         in progress
+     */
+    public long getSkippedTenantRuns() {
+        return skippedTenantRuns.get();
+    }
+
+    /**
+     * Shuts the thread pools down. Running handlings are finished.
+     */
+    public void shutdown() {
+        if (tenantExecutor != null) {
+            tenantExecutor.shutdown();
+        }
+        if (rolloutExecutor != null) {
+            rolloutExecutor.shutdown();
+        }
+    }
+
+    private void handle(final String tenant, final long rolloutId, final long tenantStart,
+            final LongConsumer handler) {
+        final long start = System.currentTimeMillis();
+        try {
+            handler.accept(rolloutId);
+        } finally {
+            final long end = System.currentTimeMillis();
+            statistics.merge(rolloutId, new RolloutStatistics(tenant, start - tenantStart, end - start, end - start, 1),
+                    RolloutStatistics::merge);
+        }
+    }
+
+    private static ThreadFactory threadFactory(final String format) {
+        final AtomicLong count = new AtomicLong(0);
+        return runnable -> {
+            final Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+            thread.setName(String.format(Locale.ROOT, format, count.getAndIncrement()));
+            return thread;
+        };
+    }
+
+    /**
+     * Handling statistics of a rollout.
+     *
+     * @param tenant
+     *            of the rollout
+     * @param queueWaitMillis
+     *            time between the start of the tenant run and the start of the
+     *            last handling of the rollout
+     * @param handlingMillis
+     *            duration of the last handling of the rollout
+     * @param maxHandlingMillis
+     *            maximum duration of a handling of the rollout
+     * @param handledCount
+     *            number of handlings of the rollout
+     */
+    public record RolloutStatistics(String tenant, long queueWaitMillis, long handlingMillis, long maxHandlingMillis,
+            long handledCount) {
+
+        private RolloutStatistics merge(final RolloutStatistics latest) {
+            return new RolloutStatistics(tenant, latest.queueWaitMillis, latest.handlingMillis,
+                    Math.max(maxHandlingMillis, latest.handlingMillis), handledCount + latest.handledCount);
+        }
+    }
+}
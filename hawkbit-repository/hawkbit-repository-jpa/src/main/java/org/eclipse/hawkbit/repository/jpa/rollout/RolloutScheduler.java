@@ -31,6 +31,8 @@ public class RolloutScheduler {
 
     private final SystemSecurityContext systemSecurityContext;
 
+    private final RolloutExecutionEngine executionEngine;
+
     /**
      * Constructor.
      * 
@@ -40,19 +42,22 @@ public class RolloutScheduler {
      *            to run the rollout handler
      * @param systemSecurityContext
      *            to run as system
+     * @param executionEngine
+     *            to handle the tenants in parallel
      */
     public RolloutScheduler(final SystemManagement systemManagement, final RolloutHandler rolloutHandler,
-            final SystemSecurityContext systemSecurityContext) {
+            final SystemSecurityContext systemSecurityContext, final RolloutExecutionEngine executionEngine) {
         this.systemManagement = systemManagement;
         this.rolloutHandler = rolloutHandler;
         this.systemSecurityContext = systemSecurityContext;
+        this.executionEngine = executionEngine;
     }
 
     /**
      * Scheduler method called by the spring-async mechanism. Retrieves all
      * tenants from the {@link SystemManagement#findTenants} and runs for each
      * tenant the {@link RolloutHandler#handleAll()} in the
-     * {@link SystemSecurityContext}.
+     * {@link SystemSecurityContext} by the {@link RolloutExecutionEngine}.
      */
     @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
     public void runningRolloutScheduler() {
@@ -68,7 +73,11 @@ public class RolloutScheduler {
             // iterate through all tenants and execute the rollout check for
             // each tenant seperately.
 
-            systemManagement.forEachTenant(tenant -> rolloutHandler.handleAll());
+            systemManagement.forEachTenant(tenant -> executionEngine.executeForTenant(tenant,
+                    () -> systemSecurityContext.runAsSystemAsTenant(() -> {
+                        rolloutHandler.handleAll();
+                        return null;
+                    }, tenant)));
 
             return null;
         });
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.concurrent.locks.Lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.RolloutManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Scheduler to reconcile the {@link RolloutStatusCounter}s of the active
+ * rollouts with their actions, e.g. after actions have been deleted by the
+ * action cleanup, and to create the counters of rollout groups which have been
+ * created before the counters have been enabled.
+ */
+@Slf4j
+public class RolloutStatusCountReconciler {
+
+    private static final String PROP_SCHEDULER_DELAY_PLACEHOLDER = "${hawkbit.rollout.statuscount.reconciliation.fixedDelay:300000}";
+
+    private final SystemManagement systemManagement;
+    private final SystemSecurityContext systemSecurityContext;
+    private final RolloutManagement rolloutManagement;
+    private final RolloutStatusCounter rolloutStatusCounter;
+    private final PlatformTransactionManager txManager;
+    private final LockRegistry lockRegistry;
+
+    /**
+     * Constructor.
+     *
+     * @param systemManagement
+     *            to find all tenants
+     * @param systemSecurityContext
+     *            to run as system
+     * @param rolloutManagement
+     *            to find the active rollouts
+     * @param rolloutStatusCounter
+     *            to reconcile
+     * @param txManager
+     *            to reconcile each rollout in a new transaction
+     * @param lockRegistry
+     *            to acquire a lock per tenant
+     */
+    public RolloutStatusCountReconciler(final SystemManagement systemManagement,
+            final SystemSecurityContext systemSecurityContext, final RolloutManagement rolloutManagement,
+            final RolloutStatusCounter rolloutStatusCounter, final PlatformTransactionManager txManager,
+            final LockRegistry lockRegistry) {
+        this.systemManagement = systemManagement;
+        this.systemSecurityContext = systemSecurityContext;
+        this.rolloutManagement = rolloutManagement;
+        this.rolloutStatusCounter = rolloutStatusCounter;
+        this.txManager = txManager;
+        this.lockRegistry = lockRegistry;
+    }
+
+    /**
+     * Scheduler method called by the spring-async mechanism. Reconciles the
+     * counters of the active rollouts of all tenants.
+     */
+    @Scheduled(initialDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER, fixedDelayString = PROP_SCHEDULER_DELAY_PLACEHOLDER)
+    public void runReconciliation() {
+        systemSecurityContext.runAsSystem(() -> {
+            systemManagement.forEachTenant(this::reconcileTenant);
+            return null;
+        });
+    }
+
+    /**
+     * Reconciles the counters of the active rollouts of the current tenant.
+     *
+     * @return number of counters that have been corrected or created
+     */
+    public int reconcile() {
+        return rolloutManagement.findActiveRollouts().stream()
+                .mapToInt(rolloutId -> DeploymentHelper.runInNewTransaction(txManager,
+                        "reconcileRolloutStatusCount-" + rolloutId, status -> rolloutStatusCounter.reconcile(rolloutId)))
+                .sum();
+    }
+
+    private void reconcileTenant(final String tenant) {
+        final Lock lock = lockRegistry.obtain(tenant + "-rolloutstatuscount");
+        if (!lock.tryLock()) {
+            log.trace("Rollout status count reconciliation of tenant {} is executed by another node.", tenant);
+            return;
+        }
+
+        try {
+            final int corrected = reconcile();
+            if (corrected > 0) {
+                log.info("Corrected {} rollout status counters of tenant {}.", corrected, tenant);
+            }
+        } catch (final RuntimeException e) {
+            log.error("Rollout status count reconciliation of tenant {} failed.", tenant, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.EntityManager;
+
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction_;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.eclipse.persistence.jpa.JpaEntityManager;
+import org.eclipse.persistence.mappings.foundation.AbstractDirectMapping;
+import org.eclipse.persistence.sessions.Session;
+
+/**
+ * Maintains the number of actions per {@link Status} of the rollout groups in
+ * the table <code>sp_rollout_status_count</code>, so that the rollout group
+ * conditions and the rollout status views don't have to count the actions.
+ * <p/>
+ * The counters are changed in the transaction that changes the actions: by
+ * the {@link org.eclipse.hawkbit.repository.jpa.model.RolloutStatusCountListener}
+ * for the actions written as entities and explicitly for the actions written
+ * with bulk statements. The changes of the counters of a transaction are
+ * always applied in the order of the status values, to avoid deadlocks
+ * between concurrent transactions.
+ * <p/>
+ * Each counter is spread over {@link #SLOTS} rows, the value of the counter is
+ * the sum of its rows. A status change of an action changes the row picked by
+ * the id of the action, so concurrent feedback of the actions of a rollout
+ * group doesn't wait for the lock of a single row. The changes of the bulk
+ * statements are applied to the first row.
+ * <p/>
+ * Counters which are missing (e.g. for rollout groups created before the
+ * counters have been enabled) are created by {@link #reconcile(long)}. As
+ * long as a rollout group has no counters the readers fall back to counting
+ * the actions.
+ */
+@Slf4j
+public class RolloutStatusCounter {
+
+    /**
+     * Number of rows per counter.
+     */
+    public static final int SLOTS = 8;
+
+    private static final String TABLE = "sp_rollout_status_count";
+
+    private final EntityManager entityManager;
+    private final boolean enabled;
+
+    private volatile Map<Status, Integer> statusValues;
+    private volatile Map<Integer, Status> statusByValue;
+
+    /**
+     * Constructor.
+     *
+     * @param entityManager
+     *            to execute the statements in the current transaction
+     * @param enabled
+     *            <code>false</code> if the counters are not maintained, all
+     *            methods are no-ops then
+     */
+    public RolloutStatusCounter(final EntityManager entityManager, final boolean enabled) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return <code>true</code> if the counters are maintained
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates the counters of a new rollout group. Called within the flush of
+     * the rollout group.
+     *
+     * @param session
+     *            the session that inserted the rollout group
+     * @param rolloutId
+     *            the rollout of the group
+     * @param rolloutGroupId
+     *            the rollout group
+     */
+    public void groupCreated(final Session session, final long rolloutId, final long rolloutGroupId) {
+        if (!enabled) {
+            return;
+        }
+        final StringBuilder sql = new StringBuilder("INSERT INTO ").append(TABLE)
+                .append(" (rollout_group, status, slot, rollout, action_count) VALUES ");
+        final Collection<Integer> values = statusValues(session).values();
+        values.forEach(value -> {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                sql.append('(').append(rolloutGroupId).append(',').append(value.intValue()).append(',').append(slot)
+                        .append(',').append(rolloutId).append(",0),");
+            }
+        });
+        sql.setLength(sql.length() - 1);
+        session.executeNonSelectingSQL(sql.toString());
+    }
+
+    /**
+     * Moves an action between two counters of its rollout group. Called within
+     * the flush of the action.
+     *
+     * @param session
+     *            the session that wrote the action
+     * @param actionId
+     *            the action, picks the row of the counters
+     * @param rolloutGroupId
+     *            the rollout group of the action
+     * @param oldStatus
+     *            the status the action had, <code>null</code> if the action
+     *            has been created
+     * @param newStatus
+     *            the status the action has, <code>null</code> if the action
+     *            has been deleted
+     */
+    public void statusChanged(final Session session, final long actionId, final long rolloutGroupId,
+            final Status oldStatus, final Status newStatus) {
+        if (!enabled || oldStatus == newStatus) {
+            return;
+        }
+        final Map<Status, Integer> values = statusValues(session);
+        final Map<Integer, Long> deltas = new HashMap<>();
+        if (oldStatus != null) {
+            deltas.put(values.get(oldStatus), -1L);
+        }
+        if (newStatus != null) {
+            deltas.put(values.get(newStatus), 1L);
+        }
+        final int slot = Math.floorMod(actionId, SLOTS);
+        deltas.keySet().stream().sorted().forEach(value -> session
+                .executeNonSelectingSQL(updateStatement(rolloutGroupId, value, slot, deltas.get(value))));
+    }
+
+    /**
+     * Removes the actions of a target from the counters. Called before the
+     * target is deleted, as its actions are deleted by the database cascade.
+     *
+     * @param session
+     *            the session that deletes the target
+     * @param targetId
+     *            the target
+     */
+    public void targetDeleted(final Session session, final long targetId) {
+        if (!enabled) {
+            return;
+        }
+        session.executeNonSelectingSQL(String.format(Locale.ROOT,
+                "UPDATE %1$s SET action_count = action_count - (SELECT COUNT(a.id) FROM sp_action a "
+                        + "WHERE a.target = %2$d AND a.rolloutgroup = %1$s.rollout_group AND a.status = %1$s.status) "
+                        + "WHERE slot = 0 AND rollout_group IN (SELECT a.rolloutgroup FROM sp_action a "
+                        + "WHERE a.target = %2$d)",
+                TABLE, targetId));
+    }
+
+    /**
+     * Changes a counter in the current transaction, e.g. for actions written
+     * with bulk statements.
+     *
+     * @param rolloutGroupId
+     *            the rollout group
+     * @param status
+     *            the status of the counted actions
+     * @param delta
+     *            the number of actions to add, negative to subtract
+     */
+    public void add(final long rolloutGroupId, final Status status, final long delta) {
+        if (!enabled || delta == 0) {
+            return;
+        }
+        entityManager.createNativeQuery(updateStatement(rolloutGroupId, statusValues().get(status), 0, delta))
+                .executeUpdate();
+    }
+
+    /**
+     * Moves actions between two counters in the current transaction, e.g.
+     * after a bulk update of the action status.
+     *
+     * @param countByRolloutGroup
+     *            the number of moved actions by rollout group
+     * @param oldStatus
+     *            the status the actions had
+     * @param newStatus
+     *            the status the actions have
+     */
+    public void moved(final Map<Long, Long> countByRolloutGroup, final Status oldStatus, final Status newStatus) {
+        if (!enabled) {
+            return;
+        }
+        final boolean oldFirst = statusValues().get(oldStatus) < statusValues().get(newStatus);
+        countByRolloutGroup.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            add(entry.getKey(), oldFirst ? oldStatus : newStatus, oldFirst ? -entry.getValue() : entry.getValue());
+            add(entry.getKey(), oldFirst ? newStatus : oldStatus, oldFirst ? entry.getValue() : -entry.getValue());
+        });
+    }
+
+    /**
+     * Removes actions from the counters in the current transaction, e.g.
+     * before the actions are deleted with a bulk statement.
+     *
+     * @param countByRolloutGroupAndStatus
+     *            the number of removed actions by rollout group and status
+     */
+    public void removed(final Map<Long, Map<Status, Long>> countByRolloutGroupAndStatus) {
+        if (!enabled) {
+            return;
+        }
+        countByRolloutGroupAndStatus.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                .forEach(group -> group.getValue().entrySet().stream()
+                        .sorted(Map.Entry.comparingByKey(Comparator.comparing(statusValues()::get)))
+                        .forEach(count -> add(group.getKey(), count.getKey(), -count.getValue())));
+    }
+
+    /**
+     * Reads a counter.
+     *
+     * @param rolloutGroupId
+     *            the rollout group
+     * @param status
+     *            the status of the counted actions
+     * @return the number of actions, empty if the counters are disabled or
+     *         the rollout group has no counters (yet)
+     */
+    public Optional<Long> getCount(final long rolloutGroupId, final Status status) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        final Object[] result = (Object[]) entityManager
+                .createNativeQuery(String.format(Locale.ROOT,
+                        "SELECT COUNT(slot), SUM(action_count) FROM %s WHERE rollout_group = %d AND status = %d",
+                        TABLE, rolloutGroupId, statusValues().get(status)))
+                .getSingleResult();
+        return ((Number) result[0]).longValue() == 0 ? Optional.empty()
+                : Optional.of(((Number) result[1]).longValue());
+    }
+
+    /**
+     * Reads the counters of rollout groups.
+     *
+     * @param rolloutGroupIds
+     *            the rollout groups
+     * @return the number of actions per status (without the empty ones) of
+     *         the rollout groups that have counters
+     */
+    public Map<Long, List<TotalTargetCountActionStatus>> getStatusCountByRolloutGroupId(
+            final Collection<Long> rolloutGroupIds) {
+        if (!enabled || rolloutGroupIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<Long, List<TotalTargetCountActionStatus>> result = new HashMap<>();
+        select("SELECT rollout_group, status, SUM(action_count) FROM " + TABLE + " WHERE rollout_group IN ("
+                + join(rolloutGroupIds) + ") GROUP BY rollout_group, status").forEach(row -> addTo(result, row));
+        return result;
+    }
+
+    /**
+     * Reads the counters of rollouts.
+     *
+     * @param rolloutIds
+     *            the rollouts
+     * @param groupCountByRollout
+     *            the number of rollout groups by rollout, a rollout is only
+     *            read from the counters if all its groups have counters
+     * @return the number of actions per status (without the empty ones) of
+     *         the rollouts that have counters for all groups
+     */
+    public Map<Long, List<TotalTargetCountActionStatus>> getStatusCountByRolloutId(final Collection<Long> rolloutIds,
+            final Map<Long, Long> groupCountByRollout) {
+        if (!enabled || rolloutIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final List<Object[]> rows = select("SELECT rollout, status, SUM(action_count), COUNT(DISTINCT rollout_group) "
+                + "FROM " + TABLE + " WHERE rollout IN (" + join(rolloutIds) + ") GROUP BY rollout, status");
+        final Map<Long, List<TotalTargetCountActionStatus>> result = new HashMap<>();
+        rows.stream().filter(row -> ((Number) row[3]).longValue() == groupCountByRollout
+                .getOrDefault(((Number) row[0]).longValue(), -1L)).forEach(row -> addTo(result, row));
+        return result;
+    }
+
+    /**
+     * Recalculates the counters of a rollout from its actions in the current
+     * transaction and creates missing counters.
+     *
+     * @param rolloutId
+     *            the rollout
+     * @return number of counters that have been corrected or created
+     */
+    public int reconcile(final long rolloutId) {
+        if (!enabled) {
+            return 0;
+        }
+        final List<Long> rolloutGroupIds = ((List<?>) entityManager
+                .createNativeQuery(
+                        String.format(Locale.ROOT, "SELECT id FROM sp_rolloutgroup WHERE rollout = %d", rolloutId))
+                .getResultList()).stream().map(id -> ((Number) id).longValue()).toList();
+        if (rolloutGroupIds.isEmpty()) {
+            return 0;
+        }
+
+        final Map<Long, Map<Integer, Long>> actual = countByGroupAndStatus(String.format(Locale.ROOT,
+                "SELECT rolloutgroup, status, COUNT(id) FROM sp_action WHERE rollout = %d GROUP BY rolloutgroup, status",
+                rolloutId));
+        final Map<Long, Map<Integer, Long>> counted = countByGroupAndStatus(String.format(Locale.ROOT,
+                "SELECT rollout_group, status, SUM(action_count) FROM %s WHERE rollout = %d "
+                        + "GROUP BY rollout_group, status",
+                TABLE, rolloutId));
+
+        int corrected = 0;
+        for (final Long rolloutGroupId : rolloutGroupIds) {
+            final Map<Integer, Long> actualOfGroup = actual.getOrDefault(rolloutGroupId, Collections.emptyMap());
+            final Map<Integer, Long> countedOfGroup = counted.getOrDefault(rolloutGroupId, Collections.emptyMap());
+            for (final Integer value : statusValues().values()) {
+                final long expected = actualOfGroup.getOrDefault(value, 0L);
+                final Long current = countedOfGroup.get(value);
+                if (current == null) {
+                    for (int slot = 0; slot < SLOTS; slot++) {
+                        entityManager.createNativeQuery(String.format(Locale.ROOT,
+                                "INSERT INTO %s (rollout_group, status, slot, rollout, action_count) "
+                                        + "VALUES (%d, %d, %d, %d, %d)",
+                                TABLE, rolloutGroupId, value, slot, rolloutId, slot == 0 ? expected : 0))
+                                .executeUpdate();
+                    }
+                    corrected++;
+                } else if (current != expected) {
+                    log.debug("Counter of status {} of rollout group {} corrected from {} to {}",
+                            statusByValue.get(value), rolloutGroupId, current, expected);
+                    entityManager.createNativeQuery(updateStatement(rolloutGroupId, value, 0, expected - current))
+                            .executeUpdate();
+                    corrected++;
+                }
+            }
+        }
+        return corrected;
+    }
+
+    private Map<Long, Map<Integer, Long>> countByGroupAndStatus(final String sql) {
+        final Map<Long, Map<Integer, Long>> result = new HashMap<>();
+        select(sql).stream().filter(row -> row[0] != null)
+                .forEach(row -> result.computeIfAbsent(((Number) row[0]).longValue(), group -> new HashMap<>())
+                        .put(((Number) row[1]).intValue(), ((Number) row[2]).longValue()));
+        return result;
+    }
+
+    private void addTo(final Map<Long, List<TotalTargetCountActionStatus>> result, final Object[] row) {
+        final Long id = ((Number) row[0]).longValue();
+        final List<TotalTargetCountActionStatus> statusCounts = result.computeIfAbsent(id, key -> new ArrayList<>());
+        final long count = ((Number) row[2]).longValue();
+        final Status status = statusByValue().get(((Number) row[1]).intValue());
+        if (count > 0 && status != null) {
+            statusCounts.add(new TotalTargetCountActionStatus(id, status, count));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> select(final String sql) {
+        return entityManager.createNativeQuery(sql).getResultList();
+    }
+
+    private static String updateStatement(final long rolloutGroupId, final int value, final int slot,
+            final long delta) {
+        return String.format(Locale.ROOT,
+                "UPDATE %s SET action_count = action_count + (%d) WHERE rollout_group = %d AND status = %d "
+                        + "AND slot = %d",
+                TABLE, delta, rolloutGroupId, value, slot);
+    }
+
+    private static String join(final Collection<Long> ids) {
+        return ids.stream().map(id -> Long.toString(id)).collect(Collectors.joining(","));
+    }
+
+    private Map<Integer, Status> statusByValue() {
+        statusValues();
+        return statusByValue;
+    }
+
+    private Map<Status, Integer> statusValues() {
+        final Map<Status, Integer> values = statusValues;
+        return values != null ? values
+                : statusValues(entityManager.unwrap(JpaEntityManager.class).getServerSession());
+    }
+
+    // the status values are defined by the object type converter of the
+    // action status, see JpaAction
+    private Map<Status, Integer> statusValues(final Session session) {
+        Map<Status, Integer> values = statusValues;
+        if (values == null) {
+            final AbstractDirectMapping mapping = (AbstractDirectMapping) session.getDescriptor(JpaAction.class)
+                    .getMappingForAttributeName(JpaAction_.STATUS);
+            values = new EnumMap<>(Status.class);
+            final Map<Integer, Status> byValue = new HashMap<>();
+            for (final Status status : Status.values()) {
+                final int value = ((Number) mapping.getConverter().convertObjectValueToDataValue(status, session))
+                        .intValue();
+                values.put(status, value);
+                byValue.put(value, status);
+            }
+            statusByValue = byValue;
+            statusValues = values;
+        }
+        return values;
+    }
+}
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -23,9 +24,12 @@ public class ThresholdRolloutGroupErrorCondition
         implements RolloutGroupConditionEvaluator<RolloutGroup.RolloutGroupErrorCondition> {
 
     private final ActionRepository actionRepository;
+    private final RolloutStatusCounter rolloutStatusCounter;
 
-    public ThresholdRolloutGroupErrorCondition(final ActionRepository actionRepository) {
+    public ThresholdRolloutGroupErrorCondition(final ActionRepository actionRepository,
+            final RolloutStatusCounter rolloutStatusCounter) {
         this.actionRepository = actionRepository;
+        this.rolloutStatusCounter = rolloutStatusCounter;
     }
 
     @Override
@@ -36,8 +40,9 @@ public class ThresholdRolloutGroupErrorCondition
     @Override
     public boolean eval(final Rollout rollout, final RolloutGroup rolloutGroup, final String expression) {
         final long totalGroup = rolloutGroup.getTotalTargets();
-        final Long error = actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), Action.Status.ERROR);
+        final long error = rolloutStatusCounter.getCount(rolloutGroup.getId(), Action.Status.ERROR)
+                .orElseGet(() -> actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
+                        rolloutGroup.getId(), Action.Status.ERROR));
         try {
             final Integer threshold = Integer.valueOf(expression);
 
@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.repository.jpa.rollout.condition;
 
 import lombok.extern.slf4j.Slf4j;
 import org.eclipse.hawkbit.repository.jpa.repository.ActionRepository;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.RolloutGroup;
@@ -24,9 +25,12 @@ public class ThresholdRolloutGroupSuccessCondition
         implements RolloutGroupConditionEvaluator<RolloutGroup.RolloutGroupSuccessCondition> {
 
     private final ActionRepository actionRepository;
+    private final RolloutStatusCounter rolloutStatusCounter;
 
-    public ThresholdRolloutGroupSuccessCondition(final ActionRepository actionRepository) {
+    public ThresholdRolloutGroupSuccessCondition(final ActionRepository actionRepository,
+            final RolloutStatusCounter rolloutStatusCounter) {
         this.actionRepository = actionRepository;
+        this.rolloutStatusCounter = rolloutStatusCounter;
     }
 
     @Override
@@ -46,8 +50,9 @@ public class ThresholdRolloutGroupSuccessCondition
         final Action.Status completeActionStatus = (Action.ActionType.DOWNLOAD_ONLY == rollout.getActionType())
                 ? Action.Status.DOWNLOADED
                 : Action.Status.FINISHED;
-        final long finished = this.actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
-                rolloutGroup.getId(), completeActionStatus);
+        final long finished = rolloutStatusCounter.getCount(rolloutGroup.getId(), completeActionStatus)
+                .orElseGet(() -> actionRepository.countByRolloutIdAndRolloutGroupIdAndStatus(rollout.getId(),
+                        rolloutGroup.getId(), completeActionStatus));
         try {
             final int threshold = Integer.parseInt(expression);
             // calculate threshold
@@ -32,6 +32,9 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.orm.jpa.vendor.Database;
 import org.springframework.util.CollectionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import cz.jirutka.rsql.parser.RSQLParser;
 import cz.jirutka.rsql.parser.RSQLParserException;
 import cz.jirutka.rsql.parser.ast.ComparisonOperator;
@@ -71,11 +74,25 @@ import cz.jirutka.rsql.parser.ast.RSQLVisitor;
  * <em>lastControllerRequestAt=le=${OVERDUE_TS}</em><br>
  * It is possible to escape a macro expression by using a second '$':
  * $${OVERDUE_TS} would prevent the ${OVERDUE_TS} token from being expanded.
+ * <p>
+ * The parsed RSQL strings are cached (bounded by {@value #PARSE_CACHE_SIZE}
+ * entries) per field enum and case mode, so that the filters evaluated over
+ * and over again, e.g. by paging or by the rollout and auto assignment
+ * schedulers, are parsed and validated only once. The parsed nodes are
+ * immutable and resolved against the query root of every invocation.
  */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class RSQLUtility {
 
+    /**
+     * Maximum number of cached parsed RSQL strings.
+     */
+    public static final int PARSE_CACHE_SIZE = 10_000;
+
+    private static final Cache<ParseKey, ParsedRsql> PARSE_CACHE = Caffeine.newBuilder()
+            .maximumSize(PARSE_CACHE_SIZE).recordStats().build();
+
     /**
      * Builds a JPA {@link Specification} which corresponds with the given RSQL
      * query. The specification can be used to filter for JPA entities with the
@@ -108,18 +125,66 @@ public final class RSQLUtility {
      */
     public static <A extends Enum<A> & RsqlQueryField> void validateRsqlFor(
             final String rsql, final Class<A> fieldNameProvider) {
+        final ParsedRsql parsed = parseRsql(rsql, fieldNameProvider);
+        if (parsed.validated) {
+            return;
+        }
         final RSQLVisitor<Void, String> visitor =
                 RsqlConfigHolder.getInstance().getRsqlVisitorFactory().validationRsqlVisitor(fieldNameProvider);
-        final Node rootNode = parseRsql(rsql);
-        rootNode.accept(visitor);
+        parsed.node.accept(visitor);
+        parsed.validated = true;
+    }
+
+    /**
+     * Removes the given RSQL string from the cache of parsed RSQL strings, e.g.
+     * if a stored filter is changed or deleted.
+     *
+     * @param rsql the rsql query to remove
+     */
+    public static void evictFromParseCache(final String rsql) {
+        if (rsql != null) {
+            PARSE_CACHE.asMap().keySet().removeIf(key -> key.rsql.equals(rsql));
+        }
+    }
+
+    /**
+     * @return the statistics of the cache of parsed RSQL strings
+     */
+    public static ParseCacheStatistics getParseCacheStatistics() {
+        final CacheStats stats = PARSE_CACHE.stats();
+        return new ParseCacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                PARSE_CACHE.estimatedSize());
+    }
+
+    /**
+     * Parses and validates the RSQL string, served from the cache of parsed
+     * RSQL strings if possible.
+     *
+     * @param rsql the rsql query to be parsed
+     * @param fieldNameProvider the enum class type which implements the {@link RsqlQueryField}
+     * @return the root node of the parsed RSQL string
+     */
+    static <A extends Enum<A> & RsqlQueryField> Node parseAndValidate(final String rsql,
+            final Class<A> fieldNameProvider) {
+        validateRsqlFor(rsql, fieldNameProvider);
+        return parseRsql(rsql, fieldNameProvider).node;
+    }
+
+    private static ParsedRsql parseRsql(final String rsql, final Class<?> fieldNameProvider) {
+        if (rsql == null) {
+            throw new RSQLParameterSyntaxException("RSQL filter must not be null", new IllegalArgumentException());
+        }
+        final boolean lowerCase = RsqlConfigHolder.getInstance().isCaseInsensitiveDB()
+                || RsqlConfigHolder.getInstance().isIgnoreCase();
+        return PARSE_CACHE.get(new ParseKey(rsql, fieldNameProvider, lowerCase),
+                key -> new ParsedRsql(parseRsql(lowerCase ? rsql.toLowerCase() : rsql)));
     }
 
     private static Node parseRsql(final String rsql) {
         log.debug("Parsing rsql string {}", rsql);
         try {
             final Set<ComparisonOperator> operators = RSQLOperators.defaultOperators();
-            return new RSQLParser(operators).parse(
-                    RsqlConfigHolder.getInstance().isCaseInsensitiveDB() || RsqlConfigHolder.getInstance().isIgnoreCase() ? rsql.toLowerCase() : rsql);
+            return new RSQLParser(operators).parse(rsql);
         } catch (final IllegalArgumentException e) {
             throw new RSQLParameterSyntaxException("RSQL filter must not be null", e);
         } catch (final RSQLParserException e) {
@@ -127,6 +192,31 @@ public final class RSQLUtility {
         }
     }
 
+    /**
+     * Statistics of the cache of parsed RSQL strings.
+     *
+     * @param hits number of RSQL strings served from the cache
+     * @param misses number of parsed RSQL strings
+     * @param evictions number of RSQL strings evicted from the cache because of its size
+     * @param size number of cached RSQL strings
+     */
+    public record ParseCacheStatistics(long hits, long misses, long evictions, long size) {
+    }
+
+    private record ParseKey(String rsql, Class<?> fieldNameProvider, boolean lowerCase) {
+    }
+
+    private static final class ParsedRsql {
+
+        private final Node node;
+        // set once the validation visitor accepted the node for the field enum of the key
+        private volatile boolean validated;
+
+        private ParsedRsql(final Node node) {
+            this.node = node;
+        }
+    }
+
     private static final class RSQLSpecification<A extends Enum<A> & RsqlQueryField, T> implements Specification<T> {
 
         @Serial
@@ -147,7 +237,7 @@ public final class RSQLUtility {
 
         @Override
         public Predicate toPredicate(final Root<T> root, final CriteriaQuery<?> query, final CriteriaBuilder cb) {
-            final Node rootNode = parseRsql(rsql);
+            final Node rootNode = parseRsql(rsql, enumType).node;
             query.distinct(true);
 
             final RSQLVisitor<List<Predicate>, String> jpqQueryRSQLVisitor =
@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import cz.jirutka.rsql.parser.ast.AndNode;
+import cz.jirutka.rsql.parser.ast.ComparisonNode;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.OrNode;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.math.NumberUtils;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.TargetTypeFields;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.TargetMetadata;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetType;
+import org.eclipse.hawkbit.repository.model.TargetUpdateStatus;
+import org.eclipse.hawkbit.repository.rsql.RsqlConfigHolder;
+
+/**
+ * Evaluates RSQL target filter queries in memory against a single loaded
+ * {@link JpaTarget}, e.g. to check all auto assignment target filter queries
+ * for a newly registered target without a database query per filter query.
+ * <p>
+ * The evaluation follows the semantics of the queries built by the
+ * {@link JpaQueryRsqlVisitorG2}. Comparisons which can't be decided reliably
+ * in memory evaluate to {@link Match#UNKNOWN}, e.g. the time fields, the
+ * ordering operators or values with characters which are compared depending on
+ * the collation of the database (non-ASCII characters, trailing spaces). So, a
+ * {@link Match#FALSE} result proves that the target doesn't match the query,
+ * while the other results have to be confirmed with the database.
+ */
+@Slf4j
+public class TargetRsqlMatcher extends AbstractRSQLVisitor<TargetFields>
+        implements RSQLVisitor<TargetRsqlMatcher.Match, Void> {
+
+    private static final char LIKE_WILDCARD = '*';
+    private static final char ESCAPE_CHAR = '\\';
+    private static final String ESCAPE_CHAR_WITH_ASTERISK = ESCAPE_CHAR + "*";
+
+    private final JpaTarget target;
+    private final boolean ignoreCase;
+
+    /**
+     * Constructor.
+     *
+     * @param target
+     *            the target to evaluate the queries against. Its tags,
+     *            attributes and metadata are loaded lazily, so it has to be
+     *            attached.
+     */
+    public TargetRsqlMatcher(final JpaTarget target) {
+        super(TargetFields.class);
+        this.target = target;
+        // the RSQL string is lower cased in both cases, see RSQLUtility
+        this.ignoreCase = RsqlConfigHolder.getInstance().isIgnoreCase()
+                || RsqlConfigHolder.getInstance().isCaseInsensitiveDB();
+    }
+
+    /**
+     * Evaluates the given RSQL target filter query against the target.
+     *
+     * @param rsql
+     *            the target filter query
+     * @return {@link Match#FALSE} if the target doesn't match the query,
+     *         {@link Match#TRUE} if it matches and {@link Match#UNKNOWN} if the
+     *         query can't be evaluated in memory, e.g. because it is invalid
+     */
+    public Match match(final String rsql) {
+        try {
+            return RSQLUtility.parseAndValidate(rsql, TargetFields.class).accept(this);
+        } catch (final RuntimeException e) {
+            log.debug("Could not evaluate target filter query {} in memory", rsql, e);
+            return Match.UNKNOWN;
+        }
+    }
+
+    @Override
+    public Match visit(final AndNode node, final Void param) {
+        Match result = Match.TRUE;
+        for (final Node child : node.getChildren()) {
+            result = result.and(child.accept(this));
+            if (result == Match.FALSE) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Match visit(final OrNode node, final Void param) {
+        Match result = Match.FALSE;
+        for (final Node child : node.getChildren()) {
+            result = result.or(child.accept(this));
+            if (result == Match.TRUE) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Match visit(final ComparisonNode node, final Void param) {
+        final QuertPath queryPath = getQuertPath(node);
+        final String[] jpaPath = queryPath.getJpaPath();
+        final String operator = node.getOperator().getSymbol();
+        final List<String> values = node.getArguments();
+        return switch (queryPath.getEnumValue()) {
+            case ID, CONTROLLERID -> matchSimple(operator, target.getControllerId(), values);
+            case NAME -> matchSimple(operator, target.getName(), values);
+            case DESCRIPTION -> matchSimple(operator, target.getDescription(), values);
+            // the address is exposed only as URI, which is null also for an invalid stored address
+            case IPADDRESS -> Optional.ofNullable(target.getAddress()).map(URI::toString)
+                    .map(address -> matchSimple(operator, address, values)).orElse(Match.UNKNOWN);
+            case UPDATESTATUS -> matchUpdateStatus(operator, values);
+            case ATTRIBUTE -> matchMap(operator, jpaPath[1], target.getControllerAttributes(), values);
+            case METADATA -> matchMap(operator, jpaPath[1], metadata(target.getMetadata()), values);
+            case TAG -> matchCollection(operator, target.getTags().stream().map(TargetTag::getName).toList(), values);
+            case ASSIGNEDDS -> matchCollection(operator,
+                    distributionSetAttribute(target.getAssignedDistributionSet(), jpaPath[1]), values);
+            case INSTALLEDDS -> matchCollection(operator,
+                    distributionSetAttribute(target.getInstalledDistributionSet(), jpaPath[1]), values);
+            case TARGETTYPE -> matchCollection(operator, targetTypeAttribute(target.getTargetType(), jpaPath[1]),
+                    values);
+            // time fields, are compared as numbers or with macros which are resolved at query time
+            default -> Match.UNKNOWN;
+        };
+    }
+
+    private Match matchUpdateStatus(final String operator, final List<String> values) {
+        final List<TargetUpdateStatus> statuses = values.stream()
+                .map(value -> TargetUpdateStatus.valueOf(value.toUpperCase())).toList();
+        final TargetUpdateStatus updateStatus = target.getUpdateStatus();
+        return switch (operator) {
+            case "==", "=in=" -> Match.of(statuses.contains(updateStatus));
+            case "!=", "=out=" -> Match.of(!statuses.contains(updateStatus));
+            default -> Match.UNKNOWN;
+        };
+    }
+
+    // simple field with a single, possibly null, value
+    private Match matchSimple(final String operator, final String fieldValue, final List<String> values) {
+        return switch (operator) {
+            case "==" -> isEqualTo(fieldValue, values.get(0), true);
+            case "!=" -> isEqualTo(fieldValue, values.get(0), false).not();
+            case "=in=" -> isIn(fieldValue, values);
+            case "=out=" -> isIn(fieldValue, values).not();
+            default -> Match.UNKNOWN;
+        };
+    }
+
+    // map field, i.e. the target matches if any entry with the key matches
+    private Match matchMap(final String operator, final String key, final Map<String, String> map,
+            final List<String> values) {
+        return anyMatch(map.entrySet(), entry -> isEqualTo(entry.getKey(), key)
+                .and(matchSimple(operator, entry.getValue(), values)));
+    }
+
+    // sub entity field, joined to the target or queried with a not exists sub query
+    private Match matchCollection(final String operator, final Collection<String> fieldValues,
+            final List<String> values) {
+        final String value = values.get(0);
+        return switch (operator) {
+            case "==" -> value.isEmpty()
+                    ? Match.of(fieldValues.isEmpty())
+                            .or(anyMatch(fieldValues, fieldValue -> isEqualTo(fieldValue, value, true)))
+                    : anyMatch(fieldValues, fieldValue -> isEqualTo(fieldValue, value, true));
+            case "!=" -> {
+                if (value.isEmpty()) {
+                    yield anyMatch(fieldValues, fieldValue -> isEqualTo(fieldValue, value, true).not());
+                } else if (NumberUtils.isCreatable(value)) {
+                    // compared with the joined values, which are null if there are none
+                    yield fieldValues.isEmpty() ? Match.TRUE
+                            : anyMatch(fieldValues, fieldValue -> isEqualTo(fieldValue, value, false).not());
+                } else {
+                    yield anyMatch(fieldValues, fieldValue -> isEqualTo(fieldValue, value, true)).not();
+                }
+            }
+            case "=in=" -> anyMatch(fieldValues, fieldValue -> isIn(fieldValue, values));
+            case "=out=" -> anyMatch(fieldValues, fieldValue -> isIn(fieldValue, values)).not();
+            default -> Match.UNKNOWN;
+        };
+    }
+
+    // the equal predicate, numbers are compared exactly if strict, patterns with like
+    private Match isEqualTo(final String fieldValue, final String value, final boolean strictNumbers) {
+        if (value.isEmpty()) {
+            return fieldValue == null ? Match.TRUE : isEqualTo(fieldValue, value);
+        } else if (fieldValue == null) {
+            return Match.FALSE;
+        } else if (NumberUtils.isCreatable(value)) {
+            if (!strictNumbers || fieldValue.equals(value)) {
+                return isEqualTo(fieldValue, value);
+            }
+            // compared case sensitive only if the database is
+            return fieldValue.equalsIgnoreCase(value) ? Match.UNKNOWN : isEqualTo(fieldValue, value);
+        } else if (isPattern(value)) {
+            return isLike(fieldValue, value);
+        } else {
+            return isEqualTo(fieldValue, value);
+        }
+    }
+
+    private Match isIn(final String fieldValue, final List<String> values) {
+        return fieldValue == null ? Match.FALSE : anyMatch(values, value -> isEqualTo(fieldValue, value));
+    }
+
+    private Match isEqualTo(final String fieldValue, final String value) {
+        if (!isCollationIndependent(fieldValue) || !isCollationIndependent(value)) {
+            return Match.UNKNOWN;
+        }
+        return Match.of(ignoreCase ? fieldValue.equalsIgnoreCase(value) : fieldValue.equals(value));
+    }
+
+    private Match isLike(final String fieldValue, final String pattern) {
+        if (!isCollationIndependent(fieldValue) || !isCollationIndependent(pattern)
+                // escaping of characters other than the wildcard and the database specific like syntax
+                || pattern.replace(ESCAPE_CHAR_WITH_ASTERISK, "").indexOf(ESCAPE_CHAR) != -1
+                || pattern.indexOf('[') != -1 || pattern.indexOf('$') != -1) {
+            return Match.UNKNOWN;
+        }
+
+        final StringBuilder regex = new StringBuilder();
+        final StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == ESCAPE_CHAR) {
+                literal.append(LIKE_WILDCARD);
+                i++;
+            } else if (c == LIKE_WILDCARD) {
+                regex.append(Pattern.quote(literal.toString())).append(".*");
+                literal.setLength(0);
+            } else {
+                literal.append(c);
+            }
+        }
+        regex.append(Pattern.quote(literal.toString()));
+        return Match.of(Pattern.compile(regex.toString(), Pattern.DOTALL | (ignoreCase ? Pattern.CASE_INSENSITIVE : 0))
+                .matcher(fieldValue).matches());
+    }
+
+    private static <T> Match anyMatch(final Collection<T> elements, final Function<T, Match> matcher) {
+        Match result = Match.FALSE;
+        for (final T element : elements) {
+            result = result.or(matcher.apply(element));
+            if (result == Match.TRUE) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static List<String> distributionSetAttribute(final DistributionSet distributionSet,
+            final String attribute) {
+        if (distributionSet == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList("name".equals(attribute) ? distributionSet.getName()
+                : distributionSet.getVersion());
+    }
+
+    private static List<String> targetTypeAttribute(final TargetType targetType, final String attribute) {
+        if (targetType == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(TargetTypeFields.KEY.getJpaEntityFieldName().equals(attribute)
+                ? targetType.getKey() : targetType.getName());
+    }
+
+    // metadata values may be null, hence not collected with Collectors.toMap
+    private static Map<String, String> metadata(final List<TargetMetadata> metadata) {
+        final Map<String, String> map = new HashMap<>();
+        metadata.forEach(entry -> map.put(entry.getKey(), entry.getValue()));
+        return map;
+    }
+
+    // printable ASCII without trailing spaces, compared the same way by all databases and collations
+    private static boolean isCollationIndependent(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < 0x20 || c > 0x7E) {
+                return false;
+            }
+        }
+        return value.isEmpty() || value.charAt(value.length() - 1) != ' ';
+    }
+
+    private static boolean isPattern(final String value) {
+        return value.replace(ESCAPE_CHAR_WITH_ASTERISK, "").indexOf(LIKE_WILDCARD) != -1;
+    }
+
+    /**
+     * Three-valued result of the in memory evaluation.
+     */
+    public enum Match {
+
+        /**
+         * The target matches the query.
+         */
+        TRUE,
+
+        /**
+         * The target doesn't match the query.
+         */
+        FALSE,
+
+        /**
+         * The query can't be evaluated in memory.
+         */
+        UNKNOWN;
+
+        static Match of(final boolean match) {
+            return match ? TRUE : FALSE;
+        }
+
+        Match and(final Match other) {
+            if (this == FALSE || other == FALSE) {
+                return FALSE;
+            }
+            return this == TRUE && other == TRUE ? TRUE : UNKNOWN;
+        }
+
+        Match or(final Match other) {
+            if (this == TRUE || other == TRUE) {
+                return TRUE;
+            }
+            return this == FALSE && other == FALSE ? FALSE : UNKNOWN;
+        }
+
+        Match not() {
+            return switch (this) {
+                case TRUE -> FALSE;
+                case FALSE -> TRUE;
+                default -> UNKNOWN;
+            };
+        }
+    }
+}
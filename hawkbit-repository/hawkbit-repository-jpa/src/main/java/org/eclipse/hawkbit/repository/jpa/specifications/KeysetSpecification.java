@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.specifications;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class for the {@link Specification} selecting the entries of a
+ * {@link KeysetPageRequest}, i.e. the entries after the last entry of the
+ * previous page.
+ */
+public final class KeysetSpecification {
+
+    private KeysetSpecification() {
+        // utility class
+    }
+
+    /**
+     * @param pageRequest
+     *            the keyset page request
+     * @return the specification of the entries after the last entry of the
+     *         previous page, <code>null</code> for the first page
+     */
+    public static <T> Specification<T> after(final KeysetPageRequest pageRequest) {
+        if (pageRequest.isFirstPage()) {
+            return null;
+        }
+
+        final boolean ascending = pageRequest.getDirection() == Direction.ASC;
+        return (root, query, cb) -> {
+            final Path<Long> id = root.get(KeysetPageRequest.ID);
+            final Predicate afterId = ascending ? cb.greaterThan(id, pageRequest.getAfterId())
+                    : cb.lessThan(id, pageRequest.getAfterId());
+            if (pageRequest.getSortKey() == null) {
+                return afterId;
+            }
+
+            final Path<Comparable<Object>> key = root.get(pageRequest.getSortKey());
+            final Comparable<Object> afterValue = convert(key.getJavaType(), pageRequest.getAfterValue());
+            return cb.or(after(cb, key, afterValue, ascending), cb.and(cb.equal(key, afterValue), afterId));
+        };
+    }
+
+    private static Predicate after(final CriteriaBuilder cb, final Path<Comparable<Object>> key,
+            final Comparable<Object> value, final boolean ascending) {
+        return ascending ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Comparable<Object> convert(final Class<?> type, final String value) {
+        final Object converted;
+        if (type == String.class) {
+            converted = value;
+        } else if (type == Long.class || type == long.class) {
+            converted = Long.valueOf(value);
+        } else if (type == Integer.class || type == int.class) {
+            converted = Integer.valueOf(value);
+        } else if (type.isEnum()) {
+            converted = Enum.valueOf((Class<Enum>) type, value);
+        } else {
+            throw new IllegalArgumentException("Keyset pagination is not supported for values of type " + type);
+        }
+        return (Comparable<Object>) converted;
+    }
+}
@@ -131,6 +131,19 @@ public final class TargetSpecifications {
         return (targetRoot, query, cb) -> cb.equal(targetRoot.get(JpaTarget_.requestControllerAttributes), true);
     }
 
+    /**
+     * {@link Specification} for retrieving {@link JpaTarget}s including their
+     * {@link TargetType} in join. Must not be used for count queries.
+     *
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> withTargetTypeInJoin() {
+        return (targetRoot, query, cb) -> {
+            targetRoot.fetch(JpaTarget_.targetType, JoinType.LEFT);
+            return cb.conjunction();
+        };
+    }
+
     /**
      * {@link Specification} for retrieving {@link JpaTarget}s including
      * {@link JpaTarget#getAssignedDistributionSet()}.
@@ -346,6 +359,26 @@ public final class TargetSpecifications {
         };
     }
 
+    /**
+     * {@link Specification} for retrieving {@link Target}s that don't have an
+     * active action in the given status
+     *
+     * @param status
+     *            the status of the active actions the target must not have
+     * @return the {@link Target} {@link Specification}
+     */
+    public static Specification<JpaTarget> hasNoActiveActionInStatus(final Action.Status status) {
+        return (targetRoot, query, cb) -> {
+            final Subquery<Long> actionSubQuery = query.subquery(Long.class);
+            final Root<JpaAction> actionRoot = actionSubQuery.from(JpaAction.class);
+            actionSubQuery.select(actionRoot.get(JpaAction_.id)).where(
+                    cb.equal(actionRoot.get(JpaAction_.target), targetRoot),
+                    cb.equal(actionRoot.get(JpaAction_.active), true),
+                    cb.equal(actionRoot.get(JpaAction_.status), status));
+            return cb.not(cb.exists(actionSubQuery));
+        };
+    }
+
     /**
      * {@link Specification} for retrieving {@link Target}s that are compatible
      * with given {@link DistributionSetType}. Compatibility is evaluated by
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.eclipse.hawkbit.repository.jpa.model.JpaAction;
+import org.eclipse.hawkbit.repository.jpa.model.JpaActionStatus;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+
+/**
+ * Encodes the {@link JpaActionStatus} entries of an archived action, including
+ * their messages, as GZIP compressed NDJSON (one entry per line, in the order
+ * of their IDs).
+ */
+public final class ActionHistoryCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(Entry.class);
+    private static final ObjectReader READER = MAPPER.readerFor(Entry.class);
+
+    private ActionHistoryCodec() {
+        // utility class
+    }
+
+    /**
+     * An archived {@link JpaActionStatus} entry.
+     */
+    public record Entry(long id, Status status, long occurredAt, Integer code, long createdAt, String createdBy,
+            long lastModifiedAt, String lastModifiedBy, List<String> messages) {
+
+        /**
+         * @param actionStatus
+         *            the entry to archive
+         * @param messages
+         *            the messages of the entry
+         * @return the archived entry
+         */
+        public static Entry of(final JpaActionStatus actionStatus, final List<String> messages) {
+            return new Entry(actionStatus.getId(), actionStatus.getStatus(), actionStatus.getOccurredAt(),
+                    actionStatus.getCode().orElse(null), actionStatus.getCreatedAt(), actionStatus.getCreatedBy(),
+                    actionStatus.getLastModifiedAt(), actionStatus.getLastModifiedBy(), messages);
+        }
+
+        /**
+         * Restores the entry, without its messages. The returned entry is not
+         * managed and must not be persisted.
+         *
+         * @param action
+         *            the restored action of the entry
+         * @return the entry
+         */
+        public JpaActionStatus toActionStatus(final JpaAction action) {
+            final JpaActionStatus actionStatus = new JpaActionStatus(action, status, occurredAt);
+            actionStatus.setId(id);
+            actionStatus.setTenant(action.getTenant());
+            actionStatus.setCode(code);
+            actionStatus.setCreatedAt(createdAt);
+            actionStatus.setCreatedBy(createdBy);
+            actionStatus.setLastModifiedAt(lastModifiedAt);
+            actionStatus.setLastModifiedBy(lastModifiedBy);
+            return actionStatus;
+        }
+    }
+
+    /**
+     * @param entries
+     *            the entries of an action, ordered by ID
+     * @return the compressed entries
+     */
+    public static byte[] encode(final Collection<Entry> entries) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final OutputStream out = new GZIPOutputStream(bytes)) {
+            for (final Entry entry : entries) {
+                out.write(WRITER.writeValueAsBytes(entry));
+                out.write('\n');
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param history
+     *            the compressed entries, might be <code>null</code>
+     * @return the entries ordered by ID
+     */
+    public static List<Entry> decode(final byte[] history) {
+        final List<Entry> entries = new ArrayList<>();
+        if (history == null || history.length == 0) {
+            return entries;
+        }
+        try (final BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(history)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    entries.add(READER.readValue(line));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,10 @@
+CREATE TABLE sp_rollout_status_count
+(
+    rollout_group BIGINT NOT NULL,
+    status        INTEGER NOT NULL,
+    rollout       BIGINT NOT NULL,
+    action_count  BIGINT NOT NULL,
+    PRIMARY KEY (rollout_group, status)
+);
+ALTER TABLE sp_rollout_status_count ADD CONSTRAINT fk_rollout_status_count_group FOREIGN KEY (rollout_group) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+CREATE INDEX sp_idx_rollout_status_count_rollout ON sp_rollout_status_count (rollout);
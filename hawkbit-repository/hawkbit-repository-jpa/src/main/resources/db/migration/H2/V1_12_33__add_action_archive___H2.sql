@@ -0,0 +1,32 @@
+CREATE TABLE sp_action_archive
+(
+    id                        BIGINT         NOT NULL,
+    target                    BIGINT         NOT NULL,
+    distribution_set          BIGINT         NOT NULL,
+    rollout                   BIGINT,
+    rolloutgroup              BIGINT,
+    action_type               INTEGER        NOT NULL,
+    status                    INTEGER        NOT NULL,
+    forced_time               BIGINT,
+    weight                    INTEGER,
+    maintenance_cron_schedule VARCHAR(40),
+    maintenance_duration      VARCHAR(40),
+    maintenance_time_zone     VARCHAR(40),
+    external_ref              VARCHAR(512),
+    initiated_by              VARCHAR(64)    NOT NULL,
+    last_action_status_code   INTEGER,
+    created_at                BIGINT         NOT NULL,
+    created_by                VARCHAR(64)    NOT NULL,
+    last_modified_at          BIGINT         NOT NULL,
+    last_modified_by          VARCHAR(64)    NOT NULL,
+    archive_period            INTEGER        NOT NULL,
+    status_count              INTEGER        NOT NULL,
+    history                   BLOB,
+    tenant                    VARCHAR(40)    NOT NULL,
+    PRIMARY KEY (id)
+);
+ALTER TABLE sp_action_archive ADD CONSTRAINT fk_action_archive_target FOREIGN KEY (target) REFERENCES sp_target (id) ON DELETE CASCADE;
+ALTER TABLE sp_action_archive ADD CONSTRAINT fk_action_archive_ds FOREIGN KEY (distribution_set) REFERENCES sp_distribution_set (id);
+CREATE INDEX sp_idx_action_archive_01 ON sp_action_archive (tenant, target, id);
+CREATE INDEX sp_idx_action_archive_02 ON sp_action_archive (tenant, archive_period);
+CREATE INDEX sp_idx_action_archive_03 ON sp_action_archive (tenant, distribution_set);
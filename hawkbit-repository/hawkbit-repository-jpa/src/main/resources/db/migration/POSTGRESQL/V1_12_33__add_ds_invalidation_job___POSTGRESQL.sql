@@ -0,0 +1,20 @@
+CREATE TABLE sp_ds_invalidation_job
+(
+    id                BIGSERIAL,
+    distribution_set  BIGINT      NOT NULL,
+    cancelation_type  INTEGER     NOT NULL,
+    status            INTEGER     NOT NULL,
+    total_actions     BIGINT      NOT NULL,
+    processed_actions BIGINT      NOT NULL,
+    last_action_id    BIGINT      NOT NULL,
+    tenant            VARCHAR(40) NOT NULL,
+    created_at        BIGINT,
+    created_by        VARCHAR(64),
+    last_modified_at  BIGINT,
+    last_modified_by  VARCHAR(64),
+    optlock_revision  BIGINT,
+    PRIMARY KEY (id)
+);
+ALTER TABLE sp_ds_invalidation_job ADD CONSTRAINT uk_ds_invalidation_job_ds UNIQUE (distribution_set, tenant);
+ALTER TABLE sp_ds_invalidation_job ADD CONSTRAINT fk_ds_invalidation_job_ds FOREIGN KEY (distribution_set) REFERENCES sp_distribution_set (id) ON DELETE CASCADE;
+CREATE INDEX sp_idx_ds_invalidation_job_status ON sp_ds_invalidation_job (tenant, status);
@@ -0,0 +1,8 @@
+CREATE TABLE SP_LOCK
+(
+    LOCK_KEY     CHAR(36)     NOT NULL,
+    REGION       VARCHAR(100) NOT NULL,
+    CLIENT_ID    CHAR(36),
+    CREATED_DATE DATETIME     NOT NULL,
+    CONSTRAINT PK_SP_LOCK PRIMARY KEY (LOCK_KEY, REGION)
+);
@@ -0,0 +1,20 @@
+CREATE TABLE sp_ds_invalidation_job
+(
+    id                NUMERIC(19) IDENTITY NOT NULL,
+    distribution_set  NUMERIC(19) NOT NULL,
+    cancelation_type  INTEGER     NOT NULL,
+    status            INTEGER     NOT NULL,
+    total_actions     NUMERIC(19) NOT NULL,
+    processed_actions NUMERIC(19) NOT NULL,
+    last_action_id    NUMERIC(19) NOT NULL,
+    tenant            VARCHAR(40) NOT NULL,
+    created_at        NUMERIC(19),
+    created_by        VARCHAR(64),
+    last_modified_at  NUMERIC(19),
+    last_modified_by  VARCHAR(64),
+    optlock_revision  INTEGER,
+    PRIMARY KEY (id)
+);
+ALTER TABLE sp_ds_invalidation_job ADD CONSTRAINT uk_ds_invalidation_job_ds UNIQUE (distribution_set, tenant);
+ALTER TABLE sp_ds_invalidation_job ADD CONSTRAINT fk_ds_invalidation_job_ds FOREIGN KEY (distribution_set) REFERENCES sp_distribution_set (id) ON DELETE CASCADE;
+CREATE INDEX sp_idx_ds_invalidation_job_status ON sp_ds_invalidation_job (tenant, status);
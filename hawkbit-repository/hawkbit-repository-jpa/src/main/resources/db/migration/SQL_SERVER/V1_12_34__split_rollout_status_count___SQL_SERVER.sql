@@ -0,0 +1,12 @@
+DROP TABLE sp_rollout_status_count;
+CREATE TABLE sp_rollout_status_count
+(
+    rollout_group NUMERIC(19) NOT NULL,
+    status        INTEGER NOT NULL,
+    slot          INTEGER NOT NULL,
+    rollout       NUMERIC(19) NOT NULL,
+    action_count  NUMERIC(19) NOT NULL,
+    PRIMARY KEY (rollout_group, status, slot)
+);
+ALTER TABLE sp_rollout_status_count ADD CONSTRAINT fk_rollout_status_count_group FOREIGN KEY (rollout_group) REFERENCES sp_rolloutgroup (id) ON DELETE CASCADE;
+CREATE INDEX sp_idx_rollout_status_count_rollout ON sp_rollout_status_count (rollout);
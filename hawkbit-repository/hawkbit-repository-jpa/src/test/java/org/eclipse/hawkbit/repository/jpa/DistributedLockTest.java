@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+import javax.sql.DataSource;
+
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.jpa.autoassign.AutoAssignScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.integration.jdbc.lock.DefaultLockRepository;
+import org.springframework.integration.jdbc.lock.JdbcLockRegistry;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests locks held in the repository database by two nodes that share it.
+ */
+@Feature("Component Tests - Repository")
+@Story("Distributed lock")
+class DistributedLockTest extends AbstractJpaIntegrationTest {
+
+    private static final int TIME_TO_LIVE = 500;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private DefaultLockRepository lockRepository1;
+    private DefaultLockRepository lockRepository2;
+    private JdbcLockRegistry node1;
+    private JdbcLockRegistry node2;
+
+    @BeforeEach
+    void setUp() {
+        lockRepository1 = createLockRepository();
+        lockRepository2 = createLockRepository();
+        node1 = new JdbcLockRegistry(lockRepository1);
+        node2 = new JdbcLockRegistry(lockRepository2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lockRepository1.close();
+        lockRepository2.close();
+    }
+
+    @Test
+    @Description("Verifies that a lock held by one node can't be obtained by another node until it is released.")
+    void lockIsExclusiveBetweenNodes() {
+        final Lock lock1 = node1.obtain("tenant-rollout");
+        final Lock lock2 = node2.obtain("tenant-rollout");
+
+        assertThat(lock1.tryLock()).isTrue();
+        assertThat(lock2.tryLock()).isFalse();
+        assertThat(node2.obtain("other-tenant-rollout").tryLock()).isTrue();
+
+        lock1.unlock();
+        assertThat(lock2.tryLock()).isTrue();
+        lock2.unlock();
+    }
+
+    @Test
+    @Description("Verifies that a lock which lease has expired can be obtained by another node and that renewing "
+            + "extends the lease.")
+    void expiredLockCanBeObtainedByAnotherNode() throws InterruptedException {
+        final Lock lock1 = node1.obtain("tenant-rollout");
+        assertThat(lock1.tryLock()).isTrue();
+
+        Thread.sleep(TIME_TO_LIVE / 2);
+        node1.renewLock("tenant-rollout");
+        Thread.sleep(TIME_TO_LIVE / 2 + 100);
+        assertThat(node2.obtain("tenant-rollout").tryLock()).isFalse();
+
+        Thread.sleep(TIME_TO_LIVE);
+        assertThat(node2.obtain("tenant-rollout").tryLock()).isTrue();
+    }
+
+    @Test
+    @Description("Verifies that the auto assign scheduler skips the tenants which are handled by another node.")
+    void autoAssignSkipsTenantLockedByAnotherNode() {
+        final List<String> checkedTenants = new ArrayList<>();
+        final AutoAssignExecutor executor = new AutoAssignExecutor() {
+
+            @Override
+            public void checkAllTargets() {
+                checkedTenants.add(tenantAware.getCurrentTenant());
+            }
+
+            @Override
+            public void checkSingleTarget(final String controllerId) {
+                // not used
+            }
+        };
+        final Lock otherNodeLock = node2.obtain(tenantAware.getCurrentTenant() + "-autoassign");
+        assertThat(otherNodeLock.tryLock()).isTrue();
+
+        new AutoAssignScheduler(systemManagement, systemSecurityContext, executor, node1).autoAssignScheduler();
+        assertThat(checkedTenants).doesNotContain(tenantAware.getCurrentTenant());
+
+        otherNodeLock.unlock();
+        new AutoAssignScheduler(systemManagement, systemSecurityContext, executor, node1).autoAssignScheduler();
+        assertThat(checkedTenants).contains(tenantAware.getCurrentTenant());
+    }
+
+    @Test
+    @Description("Verifies that the auto assign scheduler renews the lock of the tenant after each checked chunk, so "
+            + "that a check that takes longer than the lease is not taken over by another node.")
+    void autoAssignRenewsLockWhileChecking() {
+        final String lockKey = tenantAware.getCurrentTenant() + "-autoassign";
+        final List<Boolean> obtainedByOtherNode = new ArrayList<>();
+        final AutoAssignExecutor executor = new AutoAssignExecutor() {
+
+            @Override
+            public void checkAllTargets() {
+                throw new IllegalStateException("Not expected to be called");
+            }
+
+            @Override
+            public void checkAllTargets(final Runnable afterEachChunk) {
+                if (!lockKey.equals(tenantAware.getCurrentTenant() + "-autoassign")) {
+                    return;
+                }
+                // takes three times the half of the lease
+                for (int i = 0; i < 3; i++) {
+                    sleep(TIME_TO_LIVE / 2);
+                    afterEachChunk.run();
+                }
+                final Lock lock = node2.obtain(lockKey);
+                obtainedByOtherNode.add(lock.tryLock());
+            }
+
+            @Override
+            public void checkSingleTarget(final String controllerId) {
+                // not used
+            }
+        };
+
+        new AutoAssignScheduler(systemManagement, systemSecurityContext, executor, node1).autoAssignScheduler();
+        assertThat(obtainedByOtherNode).containsExactly(false);
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private DefaultLockRepository createLockRepository() {
+        final DefaultLockRepository lockRepository = new DefaultLockRepository(dataSource);
+        lockRepository.setPrefix("SP_");
+        lockRepository.setTimeToLive(TIME_TO_LIVE);
+        lockRepository.setTransactionManager(new DataSourceTransactionManager(dataSource));
+        lockRepository.afterPropertiesSet();
+        lockRepository.afterSingletonsInstantiated();
+        return lockRepository;
+    }
+}
@@ -181,6 +181,31 @@ class AutoAssignCheckerIntTest extends AbstractJpaIntegrationTest {
         verifyThatTargetsNotHaveDistributionSetAssignment(toAssignDs, targets.subList(1, 25));
     }
 
+    @Test
+    @Description("Test auto assignment of a DS for the given targets only, e.g. the changed ones")
+    void checkAutoAssignmentForTargets() {
+
+        final DistributionSet toAssignDs = testdataFactory.createDistributionSet();
+
+        // target filter query that matches the targets with a name ending with 0
+        targetFilterQueryManagement.updateAutoAssignDS(entityFactory.targetFilterQuery()
+                .updateAutoAssign(targetFilterQueryManagement
+                        .create(entityFactory.targetFilterQuery().create().name("filterA").query("name==*0")).getId())
+                .ds(toAssignDs.getId()));
+        implicitLock(toAssignDs);
+
+        final List<Target> targets = testdataFactory.createTargets(25);
+        final int targetsCount = targets.size();
+
+        // Run the check for targets 00 - 14, of which 00 and 10 match
+        autoAssignChecker.checkTargets(targets.subList(0, 15).stream().map(Target::getId).toList());
+
+        verifyThatTargetsHaveDistributionSetAssignment(toAssignDs, List.of(targets.get(0), targets.get(10)),
+                targetsCount);
+        verifyThatTargetsNotHaveDistributionSetAssignment(toAssignDs,
+                targets.stream().filter(target -> target != targets.get(0) && target != targets.get(10)).toList());
+    }
+
     @ParameterizedTest
     @MethodSource("confirmationOptions")
     @Description("Test auto assignment of a DS to filtered targets with different confirmation options")
@@ -15,6 +15,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -73,6 +74,8 @@ class AutoAssignCheckerTest {
         final TargetFilterQuery notMatching = mockFilterQuery(ds);
         when(targetFilterQueryManagement.findWithAutoAssignDS(any()))
                 .thenReturn(new SliceImpl<>(Arrays.asList(notMatching, matching)));
+        final Set<String> possiblyMatching = Set.of(notMatching.getQuery(), matching.getQuery());
+        when(targetManagement.findPossiblyMatchingQueries(eq(target), any())).thenReturn(possiblyMatching);
 
         when(targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(target, ds, matching.getQuery()))
                 .thenReturn(true);
@@ -86,6 +89,31 @@ class AutoAssignCheckerTest {
         Mockito.verifyNoMoreInteractions(deploymentManagement);
     }
 
+    @Test
+    @Description("Single device check skips the auto assignment filters which don't match in memory.")
+    void checkForDeviceSkipsNotMatchingFilters() {
+        mockRunningAsNonSystem();
+        final String target = getRandomString();
+        final long ds = getRandomLong();
+        final TargetFilterQuery matching = mockFilterQuery(ds);
+        final TargetFilterQuery notMatching = mock(TargetFilterQuery.class);
+        when(notMatching.getQuery()).thenReturn(getRandomString());
+        when(targetFilterQueryManagement.findWithAutoAssignDS(any()))
+                .thenReturn(new SliceImpl<>(Arrays.asList(notMatching, matching)));
+        final Set<String> possiblyMatching = Set.of(matching.getQuery());
+        when(targetManagement.findPossiblyMatchingQueries(eq(target), any())).thenReturn(possiblyMatching);
+        when(targetManagement.isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(target, ds, matching.getQuery()))
+                .thenReturn(true);
+
+        sut.checkSingleTarget(target);
+
+        verify(targetManagement, never()).isTargetMatchingQueryAndDSNotAssignedAndCompatibleAndUpdatable(target, ds,
+                notMatching.getQuery());
+        verify(deploymentManagement).assignDistributionSets(eq(matching.getAutoAssignInitiatedBy()),
+                Mockito.argThat(deployReqMatcher(target, ds)), any());
+        Mockito.verifyNoMoreInteractions(deploymentManagement);
+    }
+
     private ArgumentMatcher<List<DeploymentRequest>> deployReqMatcher(final String target, final long ds) {
         return requests -> {
             final DeploymentRequest request = requests.get(0);
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.autoassign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.autoassign.AutoAssignExecutor;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetFilterQueryUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetFilterQuery;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+@Feature("Unit Tests - Repository")
+@Story("Auto assign scheduler")
+class AutoAssignSchedulerTest {
+
+    private static final String TENANT = "DEFAULT";
+
+    private final SystemManagement systemManagement = mock(SystemManagement.class);
+    private final SystemSecurityContext systemSecurityContext = mock(SystemSecurityContext.class);
+    private final AutoAssignExecutor autoAssignExecutor = mock(AutoAssignExecutor.class);
+    private final RepositoryProperties repositoryProperties = new RepositoryProperties();
+    private final AutoAssignChangedTargets changedTargets = new AutoAssignChangedTargets(repositoryProperties);
+    private final List<List<Long>> checkedTargets = new ArrayList<>();
+
+    private AutoAssignScheduler scheduler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setup() {
+        when(systemSecurityContext.runAsSystem(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0, Callable.class).call());
+        doAnswer(invocation -> {
+            invocation.getArgument(0, Consumer.class).accept(TENANT);
+            return null;
+        }).when(systemManagement).forEachTenant(any());
+        doAnswer(invocation -> checkedTargets.add(List.copyOf(invocation.getArgument(0))))
+                .when(autoAssignExecutor).checkTargets(any(), any());
+        repositoryProperties.setAutoAssignIncremental(true);
+        repositoryProperties.setAutoAssignIncrementalBatchSize(2);
+        scheduler = new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor,
+                new DefaultLockRegistry(), changedTargets, repositoryProperties);
+    }
+
+    @Test
+    @Description("Verifies that after the first check of all targets only the changed targets are checked in "
+            + "batches.")
+    void onlyChangedTargetsAreChecked() {
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor).checkAllTargets(any());
+
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(1L), "app"));
+        changedTargets.onTargetChange(new TargetUpdatedEvent(target(2L), "app"));
+        changedTargets.onTargetChange(new TargetUpdatedEvent(target(1L), "app"));
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(3L), "app"));
+        scheduler.autoAssignScheduler();
+
+        verify(autoAssignExecutor).checkAllTargets(any());
+        assertThat(checkedTargets).hasSize(2).allMatch(batch -> batch.size() <= 2);
+        assertThat(checkedTargets.stream().flatMap(List::stream)).containsExactlyInAnyOrder(1L, 2L, 3L);
+
+        scheduler.autoAssignScheduler();
+        assertThat(checkedTargets).hasSize(2);
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked if a target filter query is changed, too many targets are "
+            + "changed or the full check interval is elapsed.")
+    void allTargetsAreCheckedIfRequired() {
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(1)).checkAllTargets(any());
+
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(1L), "app"));
+        changedTargets.onTargetFilterQueryChange(new TargetFilterQueryUpdatedEvent(filter(), "app"));
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(2)).checkAllTargets(any());
+
+        repositoryProperties.setAutoAssignMaxChangedTargets(2);
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(1L), "app"));
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(2L), "app"));
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(3L), "app"));
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(3)).checkAllTargets(any());
+
+        repositoryProperties.setAutoAssignFullSweepInterval(0);
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(4)).checkAllTargets(any());
+        assertThat(checkedTargets).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked in each run if the incremental check is disabled.")
+    void allTargetsAreCheckedIfIncrementalCheckIsDisabled() {
+        repositoryProperties.setAutoAssignIncremental(false);
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(1L), "app"));
+
+        scheduler.autoAssignScheduler();
+        scheduler.autoAssignScheduler();
+
+        verify(autoAssignExecutor, times(2)).checkAllTargets(any());
+        verify(autoAssignExecutor, never()).checkTargets(any(), any());
+        assertThat(changedTargets.poll(TENANT, 10)).isEmpty();
+    }
+
+    @Test
+    @Description("Verifies that the changed targets are checked again in the next run if their check has failed.")
+    void failedCheckOfChangedTargetsIsRetried() {
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor).checkAllTargets(any());
+
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(1L), "app"));
+        changedTargets.onTargetChange(new TargetCreatedEvent(target(2L), "app"));
+        doThrow(new IllegalStateException("db down")).doAnswer(
+                invocation -> checkedTargets.add(List.copyOf(invocation.getArgument(0))))
+                .when(autoAssignExecutor).checkTargets(any(), any());
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(scheduler::autoAssignScheduler);
+        assertThat(checkedTargets).isEmpty();
+
+        scheduler.autoAssignScheduler();
+        assertThat(checkedTargets).singleElement().satisfies(
+                batch -> assertThat(batch).containsExactlyInAnyOrder(1L, 2L));
+        verify(autoAssignExecutor).checkAllTargets(any());
+    }
+
+    @Test
+    @Description("Verifies that a failed check of all targets is repeated in the next run.")
+    void failedCheckOfAllTargetsIsRetried() {
+        scheduler.autoAssignScheduler();
+        changedTargets.onTargetFilterQueryChange(new TargetFilterQueryUpdatedEvent(filter(), "app"));
+        doThrow(new IllegalStateException("db down")).doNothing().when(autoAssignExecutor).checkAllTargets(any());
+        assertThatExceptionOfType(IllegalStateException.class).isThrownBy(scheduler::autoAssignScheduler);
+
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(3)).checkAllTargets(any());
+    }
+
+    @Test
+    @Description("Verifies that all targets are checked if the node takes over the auto assignment from another node, "
+            + "since the changes checked by the other node might not be tracked by this node.")
+    void allTargetsAreCheckedAfterTakeOver() {
+        final LockRegistry lockRegistry = mock(LockRegistry.class);
+        final Lock lock = mock(Lock.class);
+        when(lockRegistry.obtain(any())).thenReturn(lock);
+        // acquired, held by another node, acquired again
+        when(lock.tryLock()).thenReturn(true, true, false, true);
+        scheduler = new AutoAssignScheduler(systemManagement, systemSecurityContext, autoAssignExecutor,
+                lockRegistry, changedTargets, repositoryProperties);
+
+        scheduler.autoAssignScheduler();
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(1)).checkAllTargets(any());
+
+        scheduler.autoAssignScheduler();
+        scheduler.autoAssignScheduler();
+        verify(autoAssignExecutor, times(2)).checkAllTargets(any());
+    }
+
+    private static Target target(final long id) {
+        final Target target = mock(Target.class);
+        when(target.getId()).thenReturn(id);
+        when(target.getTenant()).thenReturn(TENANT);
+        return target;
+    }
+
+    private static TargetFilterQuery filter() {
+        final TargetFilterQuery filter = mock(TargetFilterQuery.class);
+        when(filter.getId()).thenReturn(1L);
+        when(filter.getTenant()).thenReturn(TENANT);
+        return filter;
+    }
+}
@@ -12,18 +12,22 @@ package org.eclipse.hawkbit.repository.jpa.autocleanup;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ACTION_EXPIRY;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ACTION_STATUS;
+import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ARCHIVE;
 import static org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey.ACTION_CLEANUP_ENABLED;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
 import org.eclipse.hawkbit.repository.model.Action;
 import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.ActionStatus;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.Target;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -199,6 +203,56 @@ public class AutoActionCleanupTest extends AbstractJpaIntegrationTest {
 
     }
 
+    @Test
+    @Description("Verifies that cleaned up actions are moved into the archive with their status history if the archive is switched on.")
+    public void cleanedUpActionsAreArchived() {
+
+        // cleanup config for this test case
+        setupCleanupConfiguration(true, 0, Action.Status.CANCELED, Action.Status.ERROR);
+        tenantConfigurationManagement.addOrUpdateConfiguration(ACTION_CLEANUP_ARCHIVE, true);
+
+        final Target trg1 = testdataFactory.createTarget("trg1");
+        final Target trg2 = testdataFactory.createTarget("trg2");
+
+        final DistributionSet ds1 = testdataFactory.createDistributionSet("ds1");
+        final DistributionSet ds2 = testdataFactory.createDistributionSet("ds2");
+
+        final Long action1 = getFirstAssignedActionId(assignDistributionSet(ds1.getId(), trg1.getControllerId()));
+        final Long action2 = getFirstAssignedActionId(assignDistributionSet(ds2.getId(), trg2.getControllerId()));
+
+        controllerManagement.addUpdateActionStatus(
+                entityFactory.actionStatus().create(action1).status(Status.ERROR).message("download failed"));
+        final long statusCount = actionStatusRepository.countByActionId(action1);
+
+        waitNextMillis();
+        autoActionCleanup.run();
+
+        assertThat(actionRepository.count()).isEqualTo(1);
+        assertThat(actionRepository.findWithDetailsById(action2)).isPresent();
+        assertThat(actionStatusRepository.countByActionId(action1)).isZero();
+
+        final Action archived = deploymentManagement.findArchivedAction(action1).orElseThrow();
+        assertThat(archived.getStatus()).isEqualTo(Status.ERROR);
+        assertThat(archived.isActive()).isFalse();
+        assertThat(archived.getTarget().getControllerId()).isEqualTo(trg1.getControllerId());
+        assertThat(archived.getDistributionSet().getId()).isEqualTo(ds1.getId());
+        assertThat(deploymentManagement.countArchivedActionsByTarget(trg1.getControllerId())).isEqualTo(1);
+        assertThat(deploymentManagement.findArchivedActionsByTarget(trg1.getControllerId(), PAGE).getContent())
+                .extracting(Action::getId).containsExactly(action1);
+
+        final Page<ActionStatus> history = deploymentManagement.findArchivedActionStatusByAction(PAGE, action1);
+        assertThat(history.getTotalElements()).isEqualTo(statusCount);
+        assertThat(history.getContent()).extracting(ActionStatus::getStatus).contains(Status.RUNNING, Status.ERROR);
+        final Long errorStatus = history.getContent().stream().filter(status -> status.getStatus() == Status.ERROR)
+                .findFirst().map(ActionStatus::getId).orElseThrow();
+        assertThat(deploymentManagement.findArchivedActionStatusMessages(action1)).containsEntry(errorStatus,
+                List.of("download failed"));
+
+        // the distribution set is kept for the archived history
+        distributionSetManagement.delete(ds1.getId());
+        assertThat(distributionSetManagement.get(ds1.getId())).hasValueSatisfying(ds -> assertThat(ds.isDeleted()).isTrue());
+    }
+
     private void setActionToCanceled(final Long id) {
         deploymentManagement.cancelAction(id);
         deploymentManagement.forceQuitAction(id);
@@ -35,6 +35,7 @@ import org.eclipse.hawkbit.im.authentication.SpPermission;
 import org.eclipse.hawkbit.repository.ArtifactManagement;
 import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
 import org.eclipse.hawkbit.repository.exception.AssignmentQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.FileSizeQuotaExceededException;
 import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
@@ -319,6 +320,26 @@ public class ArtifactManagementTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    @Test
+    @Description("Verifies that the deletion of an artifact updates the software module.")
+    @ExpectEvents({ @Expect(type = SoftwareModuleCreatedEvent.class, count = 1),
+            @Expect(type = SoftwareModuleUpdatedEvent.class, count = 2) }) // create and delete of the artifact
+    public void deleteArtifactUpdatesSoftwareModule() throws IOException {
+        final JpaSoftwareModule sm = softwareModuleRepository
+                .save(new JpaSoftwareModule(osType, "name 1", "version 1"));
+
+        final int artifactSize = 5 * 1024;
+        try (final InputStream inputStream = new RandomGeneratedInputStream(artifactSize)) {
+            final Artifact artifact = createArtifactForSoftwareModule("file1", sm.getId(), artifactSize, inputStream);
+            final int revision = softwareModuleManagement.get(sm.getId()).orElseThrow().getOptLockRevision();
+
+            artifactManagement.delete(artifact.getId());
+
+            assertThat(softwareModuleManagement.get(sm.getId()).orElseThrow().getOptLockRevision())
+                    .isGreaterThan(revision);
+        }
+    }
+
     @Test
     @Description("Test the deletion of an artifact metadata where the binary is still linked to another "
             + "metadata element. The expected result is that the metadata is deleted but the binary kept.")
@@ -210,6 +210,35 @@ class ControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(controllerManagement.findActionStatusByAction(PAGE, actionId).getNumberOfElements()).isEqualTo(6);
     }
 
+    @Test
+    @Description("Controller reports multiple status entries which are added in one transaction and in order.")
+    void controllerReportsMultipleStatusEntriesInOneTransaction() {
+        final Long actionId = createTargetAndAssignDs();
+        final Long otherActionId = assignDistributionSet(testdataFactory.createDistributionSet("other").getId(),
+                testdataFactory.createTarget("other").getControllerId()).getAssignedEntity().get(0).getId();
+
+        final List<Action> updated = controllerManagement.addUpdateActionStatuses(List.of(
+                entityFactory.actionStatus().create(actionId).status(Action.Status.RUNNING),
+                entityFactory.actionStatus().create(otherActionId).status(Action.Status.DOWNLOAD),
+                entityFactory.actionStatus().create(actionId).status(Action.Status.FINISHED)));
+
+        assertThat(updated).extracting(Action::getId).containsExactly(actionId, otherActionId, actionId);
+        assertActionStatus(actionId, DEFAULT_CONTROLLER_ID, TargetUpdateStatus.IN_SYNC, Action.Status.FINISHED,
+                Action.Status.FINISHED, false);
+        assertThat(deploymentManagement.findAction(otherActionId).get().isActive()).isTrue();
+        assertThat(controllerManagement.findActionStatusByAction(PAGE, otherActionId).getNumberOfElements())
+                .isEqualTo(2);
+
+        // nothing is added if one of the entries fails
+        final long statusCount = actionStatusRepository.count();
+        final List<ActionStatusCreate> invalid = List.of(
+                entityFactory.actionStatus().create(otherActionId).status(Action.Status.RUNNING),
+                entityFactory.actionStatus().create(NOT_EXIST_IDL).status(Action.Status.RUNNING));
+        assertThatExceptionOfType(EntityNotFoundException.class)
+                .isThrownBy(() -> controllerManagement.addUpdateActionStatuses(invalid));
+        assertThat(actionStatusRepository.count()).isEqualTo(statusCount);
+    }
+
     @Test
     @Description("Controller confirms successful update with FINISHED status on a action that is on canceling. "
             + "Reason: The decision to ignore the cancellation is in fact up to the controller.")
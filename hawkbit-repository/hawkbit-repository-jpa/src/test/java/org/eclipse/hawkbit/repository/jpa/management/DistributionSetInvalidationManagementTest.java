@@ -15,6 +15,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import java.util.Collections;
 import java.util.List;
 
+import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.exception.IncompleteDistributionSetException;
 import org.eclipse.hawkbit.repository.exception.InsufficientPermissionException;
 import org.eclipse.hawkbit.repository.exception.InvalidDistributionSetException;
@@ -26,6 +27,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation.CancelationType;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationCount;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
 import org.eclipse.hawkbit.repository.model.Rollout;
 import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
 import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
@@ -38,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.repository.query.Param;
 
 /**
@@ -49,6 +52,9 @@ import org.springframework.data.repository.query.Param;
 @Story("Distribution set invalidation management")
 class DistributionSetInvalidationManagementTest extends AbstractJpaIntegrationTest {
 
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
     @Test
     @Description("Verify invalidation of distribution sets that only removes distribution sets from auto assignments")
     void verifyInvalidateDistributionSetStopAutoAssignment() {
@@ -178,6 +184,62 @@ class DistributionSetInvalidationManagementTest extends AbstractJpaIntegrationTe
         }
     }
 
+    @Test
+    @Description("Verify that the actions are canceled in chunks by an invalidation job which is continued in the background if it exceeds the time of the invalidation")
+    void verifyInvalidationJobIsProcessedInChunksAndContinued() {
+        final InvalidationTestData invalidationTestData = createInvalidationTestData(
+                "verifyInvalidationJobIsProcessedInChunksAndContinued");
+        final long setId = invalidationTestData.getDistributionSet().getId();
+
+        final long inlineTimeout = repositoryProperties.getDsInvalidationInlineTimeout();
+        final int chunkSize = repositoryProperties.getDsInvalidationChunkSize();
+        repositoryProperties.setDsInvalidationInlineTimeout(0);
+        repositoryProperties.setDsInvalidationChunkSize(2);
+        try {
+            distributionSetInvalidationManagement.invalidateDistributionSet(
+                    new DistributionSetInvalidation(Collections.singletonList(setId), CancelationType.SOFT, false));
+
+            // only the first chunk is processed within the invalidation
+            final DistributionSetInvalidationJob job = distributionSetInvalidationManagement
+                    .getInvalidationJob(setId).orElseThrow();
+            assertThat(job.getStatus()).isEqualTo(DistributionSetInvalidationJob.Status.RUNNING);
+            assertThat(job.getCancelationType()).isEqualTo(CancelationType.SOFT);
+            assertThat(job.getTotalActions()).isEqualTo(5);
+            assertThat(job.getProcessedActions()).isEqualTo(2);
+            assertThat(invalidationTestData.getTargets().stream().map(this::findActionsByTarget)
+                    .filter(actions -> actions.get(0).getStatus() == Status.CANCELING)).hasSize(2);
+
+            // continued by the scheduler
+            repositoryProperties.setDsInvalidationInlineTimeout(inlineTimeout);
+            distributionSetInvalidationManagement.handleInvalidationJobs();
+        } finally {
+            repositoryProperties.setDsInvalidationInlineTimeout(inlineTimeout);
+            repositoryProperties.setDsInvalidationChunkSize(chunkSize);
+        }
+
+        final DistributionSetInvalidationJob job = distributionSetInvalidationManagement.getInvalidationJob(setId)
+                .orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(DistributionSetInvalidationJob.Status.FINISHED);
+        assertThat(job.getProcessedActions()).isEqualTo(5);
+        for (final Target target : invalidationTestData.getTargets()) {
+            final List<JpaAction> actions = findActionsByTarget(target);
+            assertThat(actions).hasSize(1);
+            assertThat(actions.get(0).getStatus()).isEqualTo(Status.CANCELING);
+            assertThat(actionStatusRepository.findByActionId(PAGE, actions.get(0).getId()).getContent())
+                    .anyMatch(actionStatus -> actionStatus.getStatus() == Status.CANCELING);
+        }
+    }
+
+    @Test
+    @Description("Verify that no invalidation job is created if no actions are canceled")
+    void verifyNoInvalidationJobWithoutCancelation() {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet();
+        distributionSetInvalidationManagement.invalidateDistributionSet(new DistributionSetInvalidation(
+                Collections.singletonList(distributionSet.getId()), CancelationType.NONE, false));
+
+        assertThat(distributionSetInvalidationManagement.getInvalidationJob(distributionSet.getId())).isEmpty();
+    }
+
     @Test
     @Description("Verify that invalidating an incomplete distribution set throws an exception")
     void verifyInvalidateIncompleteDistributionSetThrowsException() {
@@ -11,8 +11,10 @@ package org.eclipse.hawkbit.repository.jpa.management;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
+import org.awaitility.Awaitility;
 import org.eclipse.hawkbit.repository.RepositoryProperties;
 import org.eclipse.hawkbit.repository.event.remote.TargetPollEvent;
 import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
@@ -21,6 +23,7 @@ import org.eclipse.hawkbit.repository.model.Target;
 import org.eclipse.hawkbit.repository.test.matcher.Expect;
 import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
 import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.TestPropertySource;
 
@@ -55,4 +58,27 @@ public class LazyControllerManagementTest extends AbstractJpaIntegrationTest {
         assertThat(updated.getOptLockRevision()).isEqualTo(target.getOptLockRevision());
         assertThat(updated.getLastTargetQuery()).isGreaterThan(target.getLastTargetQuery());
     }
+
+    @Test
+    @Description("Verifies that the lazily persisted polls of targets keep the poll time of each target.")
+    public void lazyPollsKeepPollTimePerTarget() {
+        testdataFactory.createTarget("first");
+        testdataFactory.createTarget("second");
+        final TargetPollWriteBehind pollWriteBehind = ((JpaControllerManagement) Objects.requireNonNullElse(
+                AopProxyUtils.getSingletonTarget(controllerManagement), controllerManagement)).getPollWriteBehind()
+                .orElseThrow();
+
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        pollWriteBehind.offer(tenant, "first", 1_000L);
+        pollWriteBehind.offer(tenant, "second", 2_000L);
+
+        // the scheduled flush might persist the polls as well
+        Awaitility.await().pollInSameThread().untilAsserted(() -> {
+            pollWriteBehind.flush();
+            assertThat(targetManagement.getByControllerID("first").orElseThrow().getLastTargetQuery())
+                    .isEqualTo(1_000L);
+            assertThat(targetManagement.getByControllerID("second").orElseThrow().getLastTargetQuery())
+                    .isEqualTo(2_000L);
+        });
+    }
 }
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.event.remote.TargetAssignDistributionSetEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.ActionUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutGroupUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.RolloutUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.test.matcher.Expect;
+import org.eclipse.hawkbit.repository.test.matcher.ExpectEvents;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the rollout flows with the rollout actions and group assignments
+ * written in bulk.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management (Bulk Flow)")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutBulkPersistence=true" })
+class RolloutManagementBulkFlowTest extends RolloutManagementFlowTest {
+
+    @Test
+    @Description("Verifies that the bulk written group assignments and actions carry the values of the rollout and "
+            + "that an ActionCreatedEvent is published for each of the actions.")
+    @ExpectEvents({ @Expect(type = ActionCreatedEvent.class, count = 10),
+            @Expect(type = ActionUpdatedEvent.class, count = 5),
+            @Expect(type = TargetAssignDistributionSetEvent.class, count = 1),
+            @Expect(type = TargetCreatedEvent.class, count = 10), @Expect(type = TargetUpdatedEvent.class, count = 5),
+            @Expect(type = DistributionSetCreatedEvent.class, count = 1),
+            @Expect(type = DistributionSetUpdatedEvent.class, count = 1), // implicit lock
+            @Expect(type = SoftwareModuleCreatedEvent.class, count = 3),
+            @Expect(type = SoftwareModuleUpdatedEvent.class, count = 3), // implicit lock
+            @Expect(type = RolloutCreatedEvent.class, count = 1), @Expect(type = RolloutUpdatedEvent.class, count = 3),
+            @Expect(type = RolloutGroupCreatedEvent.class, count = 2),
+            @Expect(type = RolloutGroupUpdatedEvent.class, count = 4) })
+    void bulkWrittenActionsMatchRollout() {
+        final String targetPrefix = "controller-bulk-";
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsForBulk");
+        testdataFactory.createTargets(targetPrefix, 0, 10);
+        final Rollout rollout = testdataFactory.createRolloutByVariables("bulk", "bulk", 2,
+                "controllerid==" + targetPrefix + "*", distributionSet, "60", "30", ActionType.SOFT, 500, false);
+        rolloutGroupRepository.findByRolloutOrderByIdAsc(rolloutRepository.findById(rollout.getId()).orElseThrow())
+                .forEach(group -> assertThat(rolloutTargetGroupRepository.countByRolloutGroup(group)).isEqualTo(5));
+
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+
+        final List<Action> actions = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        final List<Action> scheduled = findActionsByRolloutAndStatus(rollout, Status.SCHEDULED);
+        assertThat(actions).hasSize(5);
+        assertThat(scheduled).hasSize(5).noneMatch(Action::isActive);
+        assertThat(List.of(actions, scheduled)).flatMap(list -> list).allSatisfy(action -> {
+            assertThat(action.getActionType()).isEqualTo(ActionType.SOFT);
+            assertThat(action.getWeight()).contains(500);
+            assertThat(action.getInitiatedBy()).isEqualTo(rollout.getCreatedBy());
+            assertThat(action.getDistributionSet().getId()).isEqualTo(distributionSet.getId());
+            assertThat(action.getTarget().getControllerId()).startsWith(targetPrefix);
+        });
+        assertThat(List.of(actions, scheduled)).flatMap(list -> list)
+                .extracting(action -> action.getTarget().getId()).doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the rollout management tests with the action status counters of the
+ * rollout groups maintained.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management (Status Counters)")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutStatusCounters=true" })
+class RolloutManagementCountersTest extends RolloutManagementTest {
+}
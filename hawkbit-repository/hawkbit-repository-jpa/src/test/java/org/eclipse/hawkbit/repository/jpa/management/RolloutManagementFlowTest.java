@@ -412,6 +412,19 @@ class RolloutManagementFlowTest extends AbstractJpaIntegrationTest {
         }
     }
 
+    /**
+     * Creates a started rollout with two groups of two new targets each, the
+     * targets are named after the rollout.
+     */
+    protected Rollout createAndStart(final String name) {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsFor" + name);
+        testdataFactory.createTargets(name + "-", 0, 4);
+        final Rollout rollout = testdataFactory.createRolloutByVariables(name, name, 2,
+                "controllerid==" + name + "-*", distributionSet, "50", "80");
+        rolloutManagement.start(rollout.getId());
+        return rollout;
+    }
+
     private void executeStaticWithoutOneTargetFromTheLastGroupAndHandleAll(
             final List<RolloutGroup> groups,
             final Rollout rollout, final int amountGroups) {
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the rollout flows with the rollouts of a tenant handled in parallel.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management (Parallel Flow)")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutMaxParallelPerTenant=3" })
+class RolloutManagementParallelFlowTest extends RolloutManagementFlowTest {
+
+    @Test
+    @Description("Verifies that the rollouts of a tenant handled in parallel in one run each create the actions "
+            + "for their own targets only.")
+    void rolloutsOfTenantAreHandledInOneRun() {
+        final List<Rollout> rollouts = List.of(createAndStart("parallel-a"), createAndStart("parallel-b"),
+                createAndStart("parallel-c"));
+
+        rolloutHandler.handleAll();
+
+        rollouts.forEach(rollout -> {
+            assertThat(rolloutManagement.get(rollout.getId()).orElseThrow().getStatus())
+                    .isEqualTo(RolloutStatus.RUNNING);
+            assertThat(findActionsByRolloutAndStatus(rollout, Status.RUNNING)).hasSize(2)
+                    .allMatch(action -> action.getTarget().getControllerId().startsWith(rollout.getName() + "-"));
+            assertThat(findActionsByRolloutAndStatus(rollout, Status.SCHEDULED)).hasSize(2)
+                    .allMatch(action -> action.getTarget().getControllerId().startsWith(rollout.getName() + "-"));
+        });
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.jpa.rollout.RolloutStatusCounter;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the rollout flows with the options for large rollouts enabled together
+ * (bulk persistence, parallel handling and status counters), in addition to
+ * the runs with each option on its own.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management (Scale Flow)")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutBulkPersistence=true",
+        "hawkbit.server.repository.rolloutMaxParallelPerTenant=3",
+        "hawkbit.server.repository.rolloutStatusCounters=true" })
+class RolloutManagementScaleFlowTest extends RolloutManagementFlowTest {
+
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
+    @Test
+    @Description("Verifies that the status counters follow the bulk written actions of a rollout.")
+    void countersFollowBulkWrittenActions() {
+        final Rollout rollout = createAndStart("counted");
+        rolloutHandler.handleAll();
+        assertCountersMatchActions(rollout);
+
+        finishAction(findActionsByRolloutAndStatus(rollout, Status.RUNNING).get(0));
+        rolloutHandler.handleAll();
+        assertCountersMatchActions(rollout);
+    }
+
+    private void assertCountersMatchActions(final Rollout rollout) {
+        final List<Long> groupIds = rolloutGroupRepository
+                .findByRolloutOrderByIdAsc(rolloutRepository.findById(rollout.getId()).orElseThrow()).stream()
+                .map(JpaRolloutGroup::getId).toList();
+        final Map<Long, List<TotalTargetCountActionStatus>> counted = rolloutStatusCounter
+                .getStatusCountByRolloutGroupId(groupIds);
+        final Map<Long, Map<Status, Long>> actual = toMap(actionRepository.getStatusCountByRolloutGroupId(groupIds));
+
+        assertThat(counted).containsOnlyKeys(groupIds);
+        groupIds.forEach(groupId -> assertThat(toMap(counted.get(groupId)).getOrDefault(groupId, Map.of()))
+                .as("counters of rollout group %d", groupId).isEqualTo(actual.getOrDefault(groupId, Map.of())));
+    }
+
+    private static Map<Long, Map<Status, Long>> toMap(final List<TotalTargetCountActionStatus> statusCounts) {
+        return statusCounts.stream().collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId,
+                Collectors.toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount)));
+    }
+}
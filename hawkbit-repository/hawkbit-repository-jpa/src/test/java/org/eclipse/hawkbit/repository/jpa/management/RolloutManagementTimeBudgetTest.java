@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.model.JpaRolloutGroup;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.Rollout.RolloutStatus;
+import org.eclipse.hawkbit.repository.model.RolloutGroup.RolloutGroupStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs a rollout that exceeds the time budget of the rollout handling, so that
+ * the filling of the group and the creation of the actions are continued in
+ * the next run.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout Management (Time Budget)")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutTimeBudget=1",
+        "hawkbit.server.security.dos.maxTargetsPerRolloutGroup=10000" })
+class RolloutManagementTimeBudgetTest extends AbstractJpaIntegrationTest {
+
+    // one more than the targets handled in one transaction by the executor
+    private static final int TARGETS = 5_001;
+
+    @Test
+    @Description("Verifies that a group stopped by the time budget is filled up to its expected size in the next run.")
+    void groupFillIsContinuedAfterTimeBudget() {
+        final String targetPrefix = "controller-time-budget-";
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet("dsForTimeBudget");
+        testdataFactory.createTargets(targetPrefix, 0, TARGETS);
+
+        // the first run stops after the first chunk of targets
+        final Rollout rollout = testdataFactory.createRolloutByVariables("time-budget", "time-budget", 1,
+                "controllerid==" + targetPrefix + "*", distributionSet, "60", "30", false, false);
+        assertThat(rollout.getStatus()).isEqualTo(RolloutStatus.CREATING);
+        final JpaRolloutGroup group = rolloutGroupRepository.findByRolloutOrderByIdAsc(
+                rolloutRepository.findById(rollout.getId()).orElseThrow()).get(0);
+        assertThat(rolloutTargetGroupRepository.countByRolloutGroup(group)).isLessThan(TARGETS);
+
+        // the next run continues with the rest of the group
+        rolloutHandler.handleAll();
+        assertThat(rolloutManagement.get(rollout.getId()).orElseThrow().getStatus()).isEqualTo(RolloutStatus.READY);
+        assertThat(rolloutTargetGroupRepository.countByRolloutGroup(group)).isEqualTo(TARGETS);
+        assertThat(rolloutGroupManagement.get(group.getId()).orElseThrow())
+                .satisfies(readyGroup -> {
+                    assertThat(readyGroup.getStatus()).isEqualTo(RolloutGroupStatus.READY);
+                    assertThat(readyGroup.getTotalTargets()).isEqualTo(TARGETS);
+                });
+        assertThat(rolloutManagement.get(rollout.getId()).orElseThrow().getTotalTargets()).isEqualTo(TARGETS);
+
+        // the creation of the actions is continued in the next run, too
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        assertThat(rolloutManagement.get(rollout.getId()).orElseThrow().getStatus())
+                .isEqualTo(RolloutStatus.STARTING);
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Action.Status.SCHEDULED))
+                .isLessThan(TARGETS);
+
+        rolloutHandler.handleAll();
+        assertThat(rolloutManagement.get(rollout.getId()).orElseThrow().getStatus())
+                .isEqualTo(RolloutStatus.RUNNING);
+        assertThat(actionRepository.countByRolloutIdAndStatus(rollout.getId(), Action.Status.RUNNING))
+                .isEqualTo(TARGETS);
+    }
+}
@@ -937,6 +937,25 @@ class TargetManagementTest extends AbstractJpaIntegrationTest {
         assertThat(collect).containsAll(searchIds);
     }
 
+    @Test
+    @Description("Verify that targets with an active action in CANCELING state are excluded when searching for targets "
+            + "without pending cancellations")
+    void findTargetsByControllerIdWithoutPendingCancellations() {
+        final Target canceling = testdataFactory.createTarget("canceling");
+        final Target assigned = testdataFactory.createTarget("assigned");
+        final Target unassigned = testdataFactory.createTarget("unassigned");
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        deploymentManagement.cancelAction(getFirstAssignedActionId(assignDistributionSet(ds, canceling)));
+        assignDistributionSet(ds, assigned);
+
+        final List<String> controllerIds = Arrays.asList(canceling.getControllerId(), assigned.getControllerId(),
+                unassigned.getControllerId());
+        assertThat(targetManagement.getByControllerIDWithoutPendingCancellations(controllerIds))
+                .extracting(Target::getControllerId)
+                .containsExactlyInAnyOrder(assigned.getControllerId(), unassigned.getControllerId());
+        assertThat(targetManagement.getByControllerID(controllerIds)).hasSize(3);
+    }
+
     @Test
     @Description("Verify that the flag for requesting controller attributes is set correctly.")
     void verifyRequestControllerAttributes() {
@@ -1194,6 +1213,45 @@ class TargetManagementTest extends AbstractJpaIntegrationTest {
         assertThat(metadataOfTarget2.getTotalElements()).isEqualTo(8);
     }
 
+    @Test
+    @Description("Verifies that the targets are iterated in batches ordered by ID and that the attributes, meta data, "
+            + "tags and distribution sets of a batch are loaded by target IDs.")
+    void forEachByRsqlAndGetByTargetIds() {
+        final List<Target> targets = testdataFactory.createTargets(5, "export");
+        testdataFactory.createTarget("other");
+        final List<Long> targetIds = targets.stream().map(Target::getId).sorted().toList();
+
+        controllerManagement.updateControllerAttributes(targets.get(0).getControllerId(), Map.of("test1", "value1"),
+                null);
+        insertTargetMetadata("key1", "value1", targets.get(1));
+        final TargetTag tag = testdataFactory.createTargetTags(1, "exportTag").get(0);
+        targetManagement.assignTag(List.of(targets.get(2).getControllerId()), tag.getId());
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        assignDistributionSet(ds.getId(), targets.get(3).getControllerId());
+
+        final List<List<Long>> batches = new ArrayList<>();
+        targetManagement.forEachByRsql("controllerId==export*", 2,
+                batch -> batches.add(batch.stream().map(Target::getId).toList()));
+        assertThat(batches).hasSize(3);
+        assertThat(batches.stream().flatMap(List::stream)).containsExactlyElementsOf(targetIds);
+
+        batches.clear();
+        targetManagement.forEachByRsql(null, 3, batch -> batches.add(batch.stream().map(Target::getId).toList()));
+        assertThat(batches).hasSize(2);
+        assertThat(batches.stream().flatMap(List::stream)).hasSize(6).containsAll(targetIds);
+
+        assertThat(targetManagement.getControllerAttributesByTargetIds(targetIds))
+                .containsExactly(Map.entry(targets.get(0).getId(), Map.of("test1", "value1")));
+        assertThat(targetManagement.getMetaDataByTargetIds(targetIds))
+                .containsExactly(Map.entry(targets.get(1).getId(), Map.of("key1", "value1")));
+        assertThat(targetManagement.getTagsByTargetIds(targetIds)).containsOnlyKeys(targets.get(2).getId())
+                .extractingByKey(targets.get(2).getId()).satisfies(tags -> assertThat(tags).containsExactly(tag));
+        assertThat(targetManagement.getAssignedDistributionSetsByTargetIds(targetIds))
+                .containsOnlyKeys(targets.get(3).getId()).extractingByKey(targets.get(3).getId())
+                .extracting(DistributionSet::getId).isEqualTo(ds.getId());
+        assertThat(targetManagement.getInstalledDistributionSetsByTargetIds(targetIds)).isEmpty();
+    }
+
     private Target createTargetWithMetadata(final String controllerId, final int count) {
         final Target target = testdataFactory.createTarget(controllerId);
 
@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Target poll write-behind")
+class TargetPollWriteBehindTest {
+
+    private final List<Flush> flushes = new ArrayList<>();
+    private int chunks;
+
+    @Test
+    @Description("Verifies that repeated polls of a target are coalesced into one update with the latest timestamp.")
+    void coalescesPollsPerTarget() {
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, Runnable::run, 100, 10,
+                10_000);
+
+        writeBehind.offer("tenant1", "target1", 1);
+        writeBehind.offer("tenant1", "target1", 3);
+        writeBehind.offer("tenant1", "target1", 2);
+        writeBehind.offer("tenant2", "target1", 5);
+
+        assertThat(writeBehind.getQueueDepth()).isEqualTo(2);
+        assertThat(writeBehind.getCoalescedCount()).isEqualTo(2);
+
+        writeBehind.flush();
+
+        assertThat(flushes).containsExactlyInAnyOrder(new Flush("tenant1", 3, List.of("target1")),
+                new Flush("tenant2", 5, List.of("target1")));
+        assertThat(writeBehind.getQueueDepth()).isZero();
+        assertThat(writeBehind.getFlushedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @Description("Verifies that the flush is split into chunks of the max batch size.")
+    void flushesInChunks() {
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, Runnable::run, 100, 2,
+                10_000);
+        for (int i = 0; i < 5; i++) {
+            writeBehind.offer("tenant", "target" + i, i);
+        }
+
+        writeBehind.flush();
+
+        assertThat(chunks).isEqualTo(3);
+        assertThat(flushes.stream().mapToInt(flush -> flush.controllerIds().size()).sum()).isEqualTo(5);
+        assertThat(writeBehind.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the targets of a chunk keep their own poll timestamps.")
+    void keepsTimestampPerTarget() {
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, Runnable::run, 100, 10,
+                10_000);
+        writeBehind.offer("tenant", "target1", 1);
+        writeBehind.offer("tenant", "target2", 2);
+        writeBehind.offer("tenant", "target3", 1);
+
+        writeBehind.flush();
+
+        assertThat(chunks).isEqualTo(1);
+        assertThat(flushes).hasSize(2).contains(new Flush("tenant", 2, List.of("target2")));
+        assertThat(flushes).filteredOn(flush -> flush.lastTargetQuery() == 1).singleElement()
+                .satisfies(flush -> assertThat(flush.controllerIds()).containsExactlyInAnyOrder("target1", "target3"));
+    }
+
+    @Test
+    @Description("Verifies that the shard of a tenant is removed once it has been flushed completely and that the "
+            + "tenant gets a new shard with its next poll.")
+    void removesFlushedShards() {
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, Runnable::run, 100, 10,
+                10_000);
+        writeBehind.offer("tenant1", "target1", 1);
+        writeBehind.offer("tenant2", "target1", 2);
+        assertThat(writeBehind.getQueueDepthPerTenant()).containsOnlyKeys("tenant1", "tenant2");
+
+        writeBehind.flush();
+        assertThat(writeBehind.getQueueDepthPerTenant()).isEmpty();
+
+        writeBehind.offer("tenant1", "target1", 3);
+        assertThat(writeBehind.getQueueDepthPerTenant()).containsExactly(Map.entry("tenant1", 1));
+        writeBehind.flush();
+        assertThat(flushes).contains(new Flush("tenant1", 3, List.of("target1")));
+        assertThat(writeBehind.getQueueDepth()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that polls are kept for the next flush if persisting fails.")
+    void keepsPollsOnFailure() {
+        final AtomicBoolean fail = new AtomicBoolean(true);
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind((tenant, controllerIdsByTime) -> {
+            if (fail.get()) {
+                throw new IllegalStateException("db down");
+            }
+            record(tenant, controllerIdsByTime);
+        }, Runnable::run, 100, 10, 10_000);
+        writeBehind.offer("tenant", "target", 1);
+
+        writeBehind.flush();
+        assertThat(writeBehind.getQueueDepth()).isEqualTo(1);
+
+        fail.set(false);
+        writeBehind.flush();
+        assertThat(writeBehind.getQueueDepth()).isZero();
+        assertThat(flushes).containsExactly(new Flush("tenant", 1, List.of("target")));
+    }
+
+    @Test
+    @Description("Verifies that a saturated buffer triggers an early flush instead of rejecting the poll.")
+    void saturationTriggersEarlyFlush() {
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, Runnable::run, 1, 10,
+                10_000);
+
+        assertThat(writeBehind.offer("tenant", "target1", 1)).isTrue();
+        assertThat(writeBehind.offer("tenant", "target2", 2)).isTrue();
+
+        assertThat(flushes).containsExactly(new Flush("tenant", 1, List.of("target1")));
+        assertThat(writeBehind.getQueueDepth()).isEqualTo(1);
+        assertThat(writeBehind.getDroppedCount()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that a poll is dropped without waiting if the early flush of the saturated buffer is "
+            + "not done yet.")
+    void saturationDropsPollIfFlushNotDone() {
+        final List<Runnable> earlyFlushes = new ArrayList<>();
+        final TargetPollWriteBehind writeBehind = new TargetPollWriteBehind(this::record, earlyFlushes::add, 1, 10,
+                10_000);
+
+        assertThat(writeBehind.offer("tenant", "target1", 1)).isTrue();
+        assertThat(writeBehind.offer("tenant", "target2", 2)).isFalse();
+        assertThat(writeBehind.offer("tenant", "target3", 3)).isFalse();
+        // already buffered targets are always accepted
+        assertThat(writeBehind.offer("tenant", "target1", 4)).isTrue();
+
+        assertThat(writeBehind.getDroppedCount()).isEqualTo(2);
+        assertThat(writeBehind.getQueueDepth()).isEqualTo(1);
+        assertThat(flushes).isEmpty();
+
+        // only one early flush is scheduled, once done there is capacity again
+        assertThat(earlyFlushes).hasSize(1);
+        earlyFlushes.get(0).run();
+        assertThat(flushes).containsExactly(new Flush("tenant", 4, List.of("target1")));
+        assertThat(writeBehind.offer("tenant", "target2", 5)).isTrue();
+    }
+
+    private void record(final String tenant, final Map<Long, List<String>> controllerIdsByLastTargetQuery) {
+        chunks++;
+        controllerIdsByLastTargetQuery.forEach((lastTargetQuery, controllerIds) -> flushes
+                .add(new Flush(tenant, lastTargetQuery, List.copyOf(controllerIds))));
+    }
+
+    private record Flush(String tenant, long lastTargetQuery, List<String> controllerIds) {}
+}
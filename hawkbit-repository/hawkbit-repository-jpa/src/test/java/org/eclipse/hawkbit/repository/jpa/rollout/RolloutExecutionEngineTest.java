@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature("Unit Tests - Repository")
+@Story("Rollout execution engine")
+class RolloutExecutionEngineTest {
+
+    private RolloutExecutionEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @Description("Verifies that a tenant which handling is still in progress is skipped while other tenants are handled.")
+    void tenantInProgressIsSkipped() throws InterruptedException {
+        engine = new RolloutExecutionEngine(2, 1);
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch otherTenantHandled = new CountDownLatch(1);
+        final AtomicInteger slowTenantRuns = new AtomicInteger();
+
+        engine.executeForTenant("slow", () -> {
+            slowTenantRuns.incrementAndGet();
+            await(blocked);
+        });
+        engine.executeForTenant("slow", slowTenantRuns::incrementAndGet);
+        engine.executeForTenant("other", otherTenantHandled::countDown);
+
+        assertThat(otherTenantHandled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(engine.getSkippedTenantRuns()).isEqualTo(1);
+        blocked.countDown();
+        waitUntilNoTenantInProgress();
+        assertThat(slowTenantRuns).hasValue(1);
+
+        engine.executeForTenant("slow", slowTenantRuns::incrementAndGet);
+        waitUntilNoTenantInProgress();
+        assertThat(slowTenantRuns).hasValue(2);
+    }
+
+    @Test
+    @Description("Verifies that the rollouts of a tenant are handled in parallel up to the configured limit.")
+    void rolloutsOfTenantAreHandledInParallelUpToLimit() {
+        engine = new RolloutExecutionEngine(1, 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger afterEachCalls = new AtomicInteger();
+
+        engine.executeRollouts("tenant", List.of(1L, 2L, 3L, 4L, 5L), rolloutId -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            sleep(50);
+            running.decrementAndGet();
+        }, afterEachCalls::incrementAndGet);
+
+        assertThat(maxRunning.get()).isEqualTo(2);
+        // once per handled rollout and once per rollout waiting for a free slot
+        assertThat(afterEachCalls).hasValue(8);
+        assertThat(engine.getStatistics()).containsOnlyKeys(1L, 2L, 3L, 4L, 5L);
+        assertThat(engine.getStatistics().get(5L).queueWaitMillis()).isGreaterThanOrEqualTo(50);
+        assertThat(engine.getStatistics().get(5L).handlingMillis()).isGreaterThanOrEqualTo(50);
+    }
+
+    @Test
+    @Description("Verifies that the statistics are kept for the active rollouts only.")
+    void statisticsOfInactiveRolloutsAreRemoved() {
+        engine = new RolloutExecutionEngine(1, 1);
+        engine.executeRollouts("tenant1", List.of(1L, 2L), rolloutId -> {}, () -> {});
+        engine.executeRollouts("tenant1", List.of(1L), rolloutId -> {}, () -> {});
+        engine.executeRollouts("tenant2", List.of(3L), rolloutId -> {}, () -> {});
+
+        assertThat(engine.getStatistics().get(1L).handledCount()).isEqualTo(2);
+
+        engine.retainRollouts("tenant1", List.of(1L));
+        assertThat(engine.getStatistics()).containsOnlyKeys(1L, 3L);
+    }
+
+    private void waitUntilNoTenantInProgress() {
+        final long timeout = System.currentTimeMillis() + 5_000;
+        while (engine.getTenantsInProgress() > 0 && System.currentTimeMillis() < timeout) {
+            sleep(10);
+        }
+        assertThat(engine.getTenantsInProgress()).isZero();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
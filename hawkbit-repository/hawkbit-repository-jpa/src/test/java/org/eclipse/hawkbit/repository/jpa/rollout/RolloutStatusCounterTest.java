@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rollout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.utils.DeploymentHelper;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.Status;
+import org.eclipse.hawkbit.repository.model.Rollout;
+import org.eclipse.hawkbit.repository.model.RolloutGroup;
+import org.eclipse.hawkbit.repository.model.TotalTargetCountActionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.integration.support.locks.LockRegistry;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+/**
+ * Tests the maintained action status counters of the rollout groups.
+ */
+@Feature("Component Tests - Repository")
+@Story("Rollout status counters")
+@TestPropertySource(properties = { "hawkbit.server.repository.rolloutStatusCounters=true" })
+class RolloutStatusCounterTest extends AbstractJpaIntegrationTest {
+
+    @Autowired
+    private RolloutStatusCounter rolloutStatusCounter;
+
+    @Autowired
+    private PlatformTransactionManager txManager;
+
+    @Autowired
+    private LockRegistry lockRegistry;
+
+    @Test
+    @Description("Verifies that the counters follow the actions of a rollout through creation, start, feedback, "
+            + "target deletion and rollout deletion.")
+    void countersMatchActionsDuringRollout() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(12, 3, 3, "100",
+                "80");
+        // the actions are created when the rollout is started
+        assertCountersMatchActions(rollout);
+        assertThat(countByStatus(rollout)).isEmpty();
+
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        assertCountersMatchActions(rollout);
+        assertThat(countByStatus(rollout)).containsEntry(Status.SCHEDULED, 8L).containsEntry(Status.RUNNING, 4L);
+
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        assertThat(running).hasSize(4);
+        finishAction(running.get(0));
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(running.get(1).getId()).status(Status.ERROR));
+        targetManagement.delete(List.of(running.get(2).getTarget().getId()));
+        assertCountersMatchActions(rollout);
+        assertThat(countByStatus(rollout)).containsEntry(Status.FINISHED, 1L).containsEntry(Status.ERROR, 1L)
+                .containsEntry(Status.RUNNING, 1L).containsEntry(Status.SCHEDULED, 8L);
+
+        // the scheduled actions are deleted, the rollout is kept as it has
+        // running actions
+        rolloutManagement.delete(rollout.getId());
+        rolloutHandler.handleAll();
+        assertCountersMatchActions(rollout);
+        assertThat(countByStatus(rollout)).doesNotContainKey(Status.SCHEDULED);
+    }
+
+    @Test
+    @Description("Verifies that the status changes of the actions of a rollout group are spread over the rows of "
+            + "its counters and that the counters are read as the sum of the rows.")
+    void countersAreSpreadOverRows() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(
+                RolloutStatusCounter.SLOTS, 0, 1, "100", "80");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        final long groupId = groupIds(rollout).get(0);
+
+        findActionsByRolloutAndStatus(rollout, Status.RUNNING).forEach(this::finishAction);
+
+        assertThat(rolloutStatusCounter.getCount(groupId, Status.FINISHED)).contains((long) RolloutStatusCounter.SLOTS);
+        assertThat(((Number) entityManager.createNativeQuery(
+                "SELECT COUNT(slot) FROM sp_rollout_status_count WHERE action_count > 0 AND rollout_group = " + groupId)
+                .getSingleResult()).longValue()).isGreaterThan(1);
+        assertCountersMatchActions(rollout);
+    }
+
+    @Test
+    @Description("Verifies that the threshold conditions are evaluated on the counters.")
+    void conditionsAreEvaluatedOnCounters() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(4, 0, 2, "50",
+                "80");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        finishAction(running.get(0));
+        rolloutHandler.handleAll();
+
+        // the success condition of the first group is reached, the second
+        // group is started
+        assertThat(findActionsByRolloutAndStatus(rollout, Status.RUNNING)).hasSize(3);
+        assertCountersMatchActions(rollout);
+    }
+
+    @Test
+    @Description("Verifies that the reconciliation corrects counters which drifted and creates missing counters.")
+    void reconciliationRepairsDrift() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(6, 0, 2, "100",
+                "80");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+        final List<Long> groupIds = groupIds(rollout);
+
+        DeploymentHelper.runInNewTransaction(txManager, "corruptCounters", status -> {
+            entityManager.createNativeQuery(
+                    "UPDATE sp_rollout_status_count SET action_count = action_count + 5 WHERE rollout_group = "
+                            + groupIds.get(0))
+                    .executeUpdate();
+            return entityManager
+                    .createNativeQuery("DELETE FROM sp_rollout_status_count WHERE rollout_group = " + groupIds.get(1))
+                    .executeUpdate();
+        });
+        assertThat(rolloutStatusCounter.getCount(groupIds.get(1), Status.SCHEDULED)).isEmpty();
+
+        final RolloutStatusCountReconciler reconciler = new RolloutStatusCountReconciler(systemManagement,
+                systemSecurityContext, rolloutManagement, rolloutStatusCounter, txManager, lockRegistry);
+        assertThat(reconciler.reconcile()).isEqualTo(2 * Status.values().length);
+        assertCountersMatchActions(rollout);
+        assertThat(reconciler.reconcile()).isZero();
+    }
+
+    @Test
+    @Description("Verifies that the counters follow the actions removed by the action cleanup, both by the archive "
+            + "and by the plain deletion.")
+    void countersFollowActionCleanup() {
+        final Rollout rollout = testdataFactory.createSimpleTestRolloutWithTargetsAndDistributionSet(6, 0, 2, "100",
+                "80");
+        rolloutManagement.start(rollout.getId());
+        rolloutHandler.handleAll();
+
+        final List<Action> running = findActionsByRolloutAndStatus(rollout, Status.RUNNING);
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(running.get(0).getId()).status(Status.ERROR));
+        controllerManagement
+                .addUpdateActionStatus(entityFactory.actionStatus().create(running.get(1).getId()).status(Status.ERROR));
+        finishAction(running.get(2));
+        assertCountersMatchActions(rollout);
+
+        waitNextMillis();
+        assertThat(systemSecurityContext.runAsSystem(() -> deploymentManagement
+                .archiveActionsByStatusAndLastModifiedBefore(Set.of(Status.ERROR), System.currentTimeMillis())))
+                .isEqualTo(2);
+        assertCountersMatchActions(rollout);
+        assertCountersMatchCountByRolloutIdAndStatus(rollout);
+        assertThat(countByStatus(rollout)).doesNotContainKey(Status.ERROR).containsEntry(Status.FINISHED, 1L);
+
+        assertThat(systemSecurityContext.runAsSystem(() -> deploymentManagement
+                .deleteActionsByStatusAndLastModifiedBefore(Set.of(Status.FINISHED), System.currentTimeMillis())))
+                .isEqualTo(1);
+        assertCountersMatchActions(rollout);
+        assertCountersMatchCountByRolloutIdAndStatus(rollout);
+        assertThat(countByStatus(rollout)).doesNotContainKey(Status.FINISHED).containsEntry(Status.SCHEDULED, 3L);
+    }
+
+    private void assertCountersMatchCountByRolloutIdAndStatus(final Rollout rollout) {
+        final Map<Status, Long> counted = countByStatus(rollout);
+        for (final Status status : Status.values()) {
+            assertThat(counted.getOrDefault(status, 0L)).as("counter of status %s", status)
+                    .isEqualTo(actionRepository.countByRolloutIdAndStatus(rollout.getId(), status));
+        }
+    }
+
+    private void assertCountersMatchActions(final Rollout rollout) {
+        final List<Long> groupIds = groupIds(rollout);
+        final Map<Long, List<TotalTargetCountActionStatus>> counted = rolloutStatusCounter
+                .getStatusCountByRolloutGroupId(groupIds);
+        final Map<Long, Map<Status, Long>> actual = toMap(actionRepository.getStatusCountByRolloutGroupId(groupIds));
+
+        assertThat(counted).containsOnlyKeys(groupIds);
+        groupIds.forEach(groupId -> assertThat(toMap(counted.get(groupId)).getOrDefault(groupId, Map.of()))
+                .as("counters of rollout group %d", groupId).isEqualTo(actual.getOrDefault(groupId, Map.of())));
+    }
+
+    private Map<Status, Long> countByStatus(final Rollout rollout) {
+        return rolloutStatusCounter
+                .getStatusCountByRolloutId(List.of(rollout.getId()),
+                        Map.of(rollout.getId(), (long) groupIds(rollout).size()))
+                .get(rollout.getId()).stream().collect(Collectors.toMap(TotalTargetCountActionStatus::getStatus,
+                        TotalTargetCountActionStatus::getCount));
+    }
+
+    private List<Long> groupIds(final Rollout rollout) {
+        return rolloutGroupManagement.findByRollout(PAGE, rollout.getId()).getContent().stream()
+                .map(RolloutGroup::getId).sorted().toList();
+    }
+
+    private static Map<Long, Map<Status, Long>> toMap(final List<TotalTargetCountActionStatus> statusCounts) {
+        return statusCounts.stream().collect(Collectors.groupingBy(TotalTargetCountActionStatus::getId, Collectors
+                .toMap(TotalTargetCountActionStatus::getStatus, TotalTargetCountActionStatus::getCount)));
+    }
+}
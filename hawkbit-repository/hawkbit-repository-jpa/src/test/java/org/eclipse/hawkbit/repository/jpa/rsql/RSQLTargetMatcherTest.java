@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.repository.jpa.rsql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import cz.jirutka.rsql.parser.ast.RSQLOperators;
+import cz.jirutka.rsql.parser.ast.RSQLVisitor;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.TargetFields;
+import org.eclipse.hawkbit.repository.jpa.AbstractJpaIntegrationTest;
+import org.eclipse.hawkbit.repository.jpa.model.JpaTarget;
+import org.eclipse.hawkbit.repository.jpa.rsql.TargetRsqlMatcher.Match;
+import org.eclipse.hawkbit.repository.jpa.specifications.TargetSpecifications;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.repository.model.TargetType;
+import org.eclipse.hawkbit.repository.rsql.RsqlConfigHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Feature("Component Tests - Repository")
+@Story("RSQL in memory target matcher")
+class RSQLTargetMatcherTest extends AbstractJpaIntegrationTest {
+
+    // evaluated in memory and with the database queries for each of the targets
+    private static final List<String> QUERIES = List.of(
+            "id==matcher1", "id==MATCHER*", "id!=matcher1", "id=in=(matcher1,matcher3)", "id=out=(matcher1,notexist)",
+            "controllerid==*2", "name==*one", "name=='Name One'", "name!=*one", "name==name_with%chars",
+            "name==*%*", "name==*_*", "name==name\\*", "name==a\\*b*", "name=in=('name one',notexist)",
+            "name=out=('name one')",
+            "description==''", "description!=''", "description==desc", "description!=desc", "description==d*",
+            "updatestatus==unknown", "updatestatus!=unknown", "updatestatus==registered",
+            "updatestatus=in=(pending,unknown)", "updatestatus=out=(unknown)",
+            "attribute.os==linux", "attribute.os!=linux", "attribute.os==win*", "attribute.OS==LINUX",
+            "attribute.os=in=(linux,mac)", "attribute.os=out=(linux)", "attribute.os==''", "attribute.os!=''",
+            "attribute.revision==1.1", "attribute.revision!=1.1", "attribute.revision==1*",
+            "attribute.revision==10", "attribute.revision!=10", "attribute.test.dot==value.dot",
+            "attribute.notexist==x", "attribute.notexist!=x", "attribute.notexist=out=(x)",
+            "metadata.metaKey==metaValue", "metadata.metaKey!=metaValue", "metadata.metaKey==*v*",
+            "metadata.metakey=out=(metavalue)", "metadata.notexist==metaValue", "metadata.notexist!=metaValue",
+            "tag==TagA", "tag!=TagA", "tag==Tag*", "tag!=Tag*", "tag==''", "tag!=''", "tag=in=(TagA,TagC)",
+            "tag=out=(TagA,TagC)", "tag=in=(null)", "tag=out=(null)", "tag==1", "tag!=1",
+            "tag==TagA,tag==TagC", "tag!=TagA;tag==TagB", "tag!=TagA,tag!=TagB",
+            "targettype.key==typea.key", "targettype.key==*.key", "targettype.name!=TypeA",
+            "targettype.name==''", "targettype.key=out=(typeb.key)",
+            "assignedds.name==matcherDs", "assignedds.name==m*", "assignedds.name!=matcherDs",
+            "assignedds.version=in=(1.0,notexist)", "assignedds.version=out=(notexist)", "installedds.name==matcherDs",
+            "installedds.name!=matcherDs",
+            "tag==TagA;attribute.os==linux", "tag==TagC,attribute.os==windows",
+            "(tag==TagB;attribute.os!=linux),name==name_with%chars",
+            "attribute.os==linux and (metadata.metaKey==metaValue or tag==TagC)",
+            "updatestatus==unknown;attribute.revision=out=(1.1,1.2)");
+
+    // can't be evaluated in memory
+    private static final List<String> UNKNOWN_QUERIES = List.of(
+            "name==*$*", "lastcontrollerrequestat=le=${NOW_TS}", "createdat=gt=0", "attribute.revision=gt=1",
+            "id==x,lastmodifiedat=lt=0", "name==näme");
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setupBeforeTest() {
+        final DistributionSet ds = testdataFactory.createDistributionSet("matcherDs", "1.0", false);
+        final TargetTag tagA = targetTagManagement.create(entityFactory.tag().create().name("TagA"));
+        final TargetTag tagB = targetTagManagement.create(entityFactory.tag().create().name("TagB"));
+        final TargetTag tagC = targetTagManagement.create(entityFactory.tag().create().name("TagC"));
+        final TargetType typeA = targetTypeManagement
+                .create(entityFactory.targetType().create().name("TypeA").key("TypeA.key"));
+        final TargetType typeB = targetTypeManagement
+                .create(entityFactory.targetType().create().name("TypeB").key("TypeB.key"));
+
+        targetManagement.create(entityFactory.target().create().controllerId("matcher1").name("Name One")
+                .description("desc"));
+        controllerManagement.updateControllerAttributes("matcher1",
+                Map.of("os", "linux", "revision", "1.1", "test.dot", "value.dot"), null);
+        createTargetMetadata("matcher1", entityFactory.generateTargetMetadata("metaKey", "metaValue"));
+        targetManagement.assignTag(List.of("matcher1"), tagA.getId());
+        targetManagement.assignTag(List.of("matcher1"), tagB.getId());
+        assignDistributionSet(ds.getId(), "matcher1");
+        targetManagement.assignType("matcher1", typeA.getId());
+
+        targetManagement.create(entityFactory.target().create().controllerId("matcher2").description(""));
+        controllerManagement.updateControllerAttributes("matcher2", Map.of("os", "Windows", "revision", "1.2"),
+                null);
+        createTargetMetadata("matcher2", entityFactory.generateTargetMetadata("metaKey", "value"));
+        targetManagement.assignTag(List.of("matcher2"), tagB.getId());
+        targetManagement.assignType("matcher2", typeB.getId());
+
+        targetManagement.create(entityFactory.target().create().controllerId("matcher3").name("name_with%chars"));
+
+        targetManagement.create(entityFactory.target().create().controllerId("matcher4").name("Name Four"));
+        controllerManagement.updateControllerAttributes("matcher4", Map.of("revision", "10"), null);
+        targetManagement.assignTag(List.of("matcher4"), tagC.getId());
+    }
+
+    @Test
+    @Description("Verifies that the in memory evaluation of target filter queries agrees with the G2 database "
+            + "queries and that the not matching results are confirmed by the configured database queries.")
+    void inMemoryEvaluationAgreesWithDatabaseQueries() {
+        final List<String> targets = List.of("matcher1", "matcher2", "matcher3", "matcher4");
+        final List<String> undecided = new ArrayList<>();
+        for (final String query : QUERIES) {
+            final Set<String> matchingG2 = findByRsql(query);
+            final Set<String> matchingConfigured = findByConfiguredRsql(query);
+            for (final String controllerId : targets) {
+                final Match match = match(controllerId, query);
+                if (match == Match.UNKNOWN) {
+                    undecided.add(query + " for " + controllerId);
+                } else {
+                    assertThat(match).as("In memory match of %s for %s", query, controllerId)
+                            .isEqualTo(Match.of(matchingG2.contains(controllerId)));
+                }
+                if (match == Match.FALSE) {
+                    assertThat(matchingConfigured).as("Configured match of %s", query).doesNotContain(controllerId);
+                }
+            }
+        }
+        assertThat(undecided).as("Queries not evaluated in memory").isEmpty();
+
+        for (final String query : UNKNOWN_QUERIES) {
+            assertThat(match("matcher1", query)).as("In memory match of %s", query).isEqualTo(Match.UNKNOWN);
+        }
+    }
+
+    @Test
+    @Description("Verifies that only the possibly matching target filter queries are returned.")
+    void findPossiblyMatchingQueries() {
+        assertThat(targetManagement.findPossiblyMatchingQueries("matcher1",
+                List.of("tag==TagA", "tag==TagC", "attribute.os==linux;name==x", "createdat=gt=0", "invalid==x")))
+                .containsExactlyInAnyOrder("tag==TagA", "createdat=gt=0", "invalid==x");
+        assertThat(targetManagement.findPossiblyMatchingQueries("notexist", List.of("tag==TagA", "tag==TagC")))
+                .containsExactlyInAnyOrder("tag==TagA", "tag==TagC");
+    }
+
+    private Match match(final String controllerId, final String query) {
+        return new TransactionTemplate(transactionManager).execute(status -> new TargetRsqlMatcher(
+                targetRepository.findOne(TargetSpecifications.hasControllerId(controllerId)).orElseThrow())
+                .match(query));
+    }
+
+    private Set<String> findByRsql(final String rsql) {
+        final RsqlConfigHolder config = RsqlConfigHolder.getInstance();
+        final boolean ensureIgnoreCase = !config.isCaseInsensitiveDB() && config.isIgnoreCase();
+        final Node node = new RSQLParser(RSQLOperators.defaultOperators())
+                .parse(config.isCaseInsensitiveDB() || config.isIgnoreCase() ? rsql.toLowerCase() : rsql);
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<JpaTarget> query = cb.createQuery(JpaTarget.class);
+        final Root<JpaTarget> root = query.from(JpaTarget.class);
+        final RSQLVisitor<List<Predicate>, String> visitor = new JpaQueryRsqlVisitorG2<>(TargetFields.class, root,
+                query, cb, getDatabase(), null, ensureIgnoreCase);
+        query.select(root).distinct(true).where(node.accept(visitor).toArray(new Predicate[0]));
+        return new TransactionTemplate(transactionManager).execute(status -> entityManager.createQuery(query)
+                .getResultList().stream().map(Target::getControllerId).collect(Collectors.toCollection(HashSet::new)));
+    }
+
+    // the queries of the visitor configured for the repository (by default the legacy one)
+    private Set<String> findByConfiguredRsql(final String rsql) {
+        return new TransactionTemplate(transactionManager).execute(status -> targetRepository
+                .findAll(RSQLUtility.buildRsqlSpecification(rsql, TargetFields.class, null, getDatabase())).stream()
+                .map(Target::getControllerId).collect(Collectors.toCollection(HashSet::new)));
+    }
+}
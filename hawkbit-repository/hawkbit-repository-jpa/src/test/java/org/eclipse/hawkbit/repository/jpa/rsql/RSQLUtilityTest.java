@@ -9,6 +9,7 @@
  */
 package org.eclipse.hawkbit.repository.jpa.rsql;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.ArgumentMatchers.any;
@@ -185,6 +186,27 @@ public class RSQLUtilityTest {
         RSQLUtility.validateRsqlFor(rsqlWithMixedCase, TargetFields.class);
     }
 
+    @Test
+    @Description("Verify that RSQL strings are parsed and validated once until evicted from the cache")
+    public void parsedRsqlIsCached() {
+        when(rsqlVisitorFactory.validationRsqlVisitor(eq(TestFieldEnum.class)))
+                .thenReturn(new FieldValidationRsqlVisitor<>(TestFieldEnum.class));
+        final String rsql = "TESTFIELD_WITH_SUB_ENTITIES.subentity11 == cached and TESTFIELD == cached";
+        final RSQLUtility.ParseCacheStatistics before = RSQLUtility.getParseCacheStatistics();
+
+        RSQLUtility.validateRsqlFor(rsql, TestFieldEnum.class);
+        RSQLUtility.validateRsqlFor(rsql, TestFieldEnum.class);
+        verify(rsqlVisitorFactory, times(1)).validationRsqlVisitor(TestFieldEnum.class);
+        final RSQLUtility.ParseCacheStatistics cached = RSQLUtility.getParseCacheStatistics();
+        assertThat(cached.misses() - before.misses()).isEqualTo(1);
+        assertThat(cached.hits() - before.hits()).isEqualTo(1);
+
+        RSQLUtility.evictFromParseCache(rsql);
+        RSQLUtility.validateRsqlFor(rsql, TestFieldEnum.class);
+        verify(rsqlVisitorFactory, times(2)).validationRsqlVisitor(TestFieldEnum.class);
+        assertThat(RSQLUtility.getParseCacheStatistics().misses() - before.misses()).isEqualTo(2);
+    }
+
     @Test
     public void wrongRsqlSyntaxThrowSyntaxException() {
         final String wrongRSQL = "name==abc;d";
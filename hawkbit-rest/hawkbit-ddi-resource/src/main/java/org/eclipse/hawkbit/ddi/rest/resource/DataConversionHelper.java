@@ -67,12 +67,12 @@ public final class DataConversionHelper {
 
     }
 
-    private static List<DdiMetadata> mapMetadata(final List<SoftwareModuleMetadata> metadata) {
+    static List<DdiMetadata> mapMetadata(final List<SoftwareModuleMetadata> metadata) {
         return CollectionUtils.isEmpty(metadata) ? null
                 : metadata.stream().map(md -> new DdiMetadata(md.getKey(), md.getValue())).collect(Collectors.toList());
     }
 
-    private static String mapChunkLegacyKeys(final String key) {
+    static String mapChunkLegacyKeys(final String key) {
         if ("application".equals(key)) {
             return "bApp";
         }
@@ -139,50 +139,53 @@ public final class DataConversionHelper {
 
     public static DdiControllerBase fromTarget(final Target target, final Action installedAction,
             final Action activeAction, final String defaultControllerPollTime, final TenantAware tenantAware) {
+        return fromPollState(DdiPollState.of(target, installedAction, activeAction, defaultControllerPollTime),
+                tenantAware);
+    }
+
+    static DdiControllerBase fromPollState(final DdiPollState pollState, final TenantAware tenantAware) {
         final DdiControllerBase result = new DdiControllerBase(
-                new DdiConfig(new DdiPolling(defaultControllerPollTime)));
-
-        if (activeAction != null) {
-            if (activeAction.isWaitingConfirmation()) {
-                result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
-                        .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getConfirmationBaseAction(tenantAware.getCurrentTenant(), target.getControllerId(),
-                                activeAction.getId(), calculateEtag(activeAction), null))
-                        .withRel(DdiRestConstants.CONFIRMATION_BASE).expand());
-
-            } else if (activeAction.isCancelingOrCanceled()) {
-                result.add(WebMvcLinkBuilder
-                        .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                                .getControllerCancelAction(tenantAware.getCurrentTenant(), target.getControllerId(),
-                                        activeAction.getId()))
-                        .withRel(DdiRestConstants.CANCEL_ACTION).expand());
-            } else {
-                // we need to add the hashcode here of the actionWithStatus
-                // because the action might
-                // have changed from 'soft' to 'forced' type and we need to
-                // change the payload of the
-                // response because of eTags.
-                result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
-                        .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                        .getControllerDeploymentBaseAction(tenantAware.getCurrentTenant(), target.getControllerId(),
-                                activeAction.getId(), calculateEtag(activeAction), null))
-                        .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION).expand());
-            }
+                new DdiConfig(new DdiPolling(pollState.pollingTime())));
+        final String controllerId = pollState.controllerId();
+
+        if (pollState.actionLink() == DdiPollState.ActionLink.CONFIRMATION_BASE) {
+            result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                    .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
+                    .getConfirmationBaseAction(tenantAware.getCurrentTenant(), controllerId,
+                            pollState.actionId(), pollState.actionEtag(), null))
+                    .withRel(DdiRestConstants.CONFIRMATION_BASE).expand());
+        } else if (pollState.actionLink() == DdiPollState.ActionLink.CANCEL_ACTION) {
+            result.add(WebMvcLinkBuilder
+                    .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
+                            .getControllerCancelAction(tenantAware.getCurrentTenant(), controllerId,
+                                    pollState.actionId()))
+                    .withRel(DdiRestConstants.CANCEL_ACTION).expand());
+        } else if (pollState.actionLink() == DdiPollState.ActionLink.DEPLOYMENT_BASE) {
+            // we need to add the hashcode here of the actionWithStatus
+            // because the action might
+            // have changed from 'soft' to 'forced' type and we need to
+            // change the payload of the
+            // response because of eTags.
+            result.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder
+                    .methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
+                    .getControllerDeploymentBaseAction(tenantAware.getCurrentTenant(), controllerId,
+                            pollState.actionId(), pollState.actionEtag(), null))
+                    .withRel(DdiRestConstants.DEPLOYMENT_BASE_ACTION).expand());
         }
 
-        if (installedAction != null && !installedAction.isActive()) {
+        if (pollState.installedActionId() != null) {
             result.add(
                     WebMvcLinkBuilder
                             .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
                                     .getControllerInstalledAction(tenantAware.getCurrentTenant(),
-                                            target.getControllerId(), installedAction.getId(), null))
+                                            controllerId, pollState.installedActionId(), null))
                             .withRel(DdiRestConstants.INSTALLED_BASE_ACTION).expand());
         }
 
-        if (target.isRequestControllerAttributes()) {
+        if (pollState.requestAttributes()) {
             result.add(WebMvcLinkBuilder
                     .linkTo(WebMvcLinkBuilder.methodOn(DdiRootController.class, tenantAware.getCurrentTenant())
-                            .putConfigData(null, tenantAware.getCurrentTenant(), target.getControllerId()))
+                            .putConfigData(null, tenantAware.getCurrentTenant(), controllerId))
                     .withRel(DdiRestConstants.CONFIG_DATA_ACTION).expand());
         }
 
@@ -198,7 +201,7 @@ public final class DataConversionHelper {
      *            to calculate the etag for
      * @return the etag
      */
-    private static int calculateEtag(final Action action) {
+    static int calculateEtag(final Action action) {
         final int prime = 31;
         int result = action.hashCode();
         int offsetPrime = action.isHitAutoForceTime(System.currentTimeMillis()) ? 1231 : 1237;
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.api.ApiType;
+import org.eclipse.hawkbit.api.ArtifactUrlTemplate;
+import org.eclipse.hawkbit.api.ArtifactUrlHandler;
+import org.eclipse.hawkbit.api.URLPlaceholder;
+import org.eclipse.hawkbit.api.URLPlaceholder.SoftwareData;
+import org.eclipse.hawkbit.ddi.json.model.DdiArtifact;
+import org.eclipse.hawkbit.ddi.json.model.DdiArtifactHash;
+import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
+import org.eclipse.hawkbit.ddi.json.model.DdiMetadata;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.SystemManagement;
+import org.eclipse.hawkbit.repository.event.remote.DistributionSetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.SoftwareModuleDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.DistributionSetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.SoftwareModuleUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Artifact;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.SoftwareModule;
+import org.eclipse.hawkbit.repository.model.SoftwareModuleMetadata;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TenantMetaData;
+import org.eclipse.hawkbit.rest.data.ResponseList;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.hateoas.Link;
+import org.springframework.http.HttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Cache of the target independent parts of the deployment descriptors, i.e.
+ * the chunks of a distribution set with their target visible metadata,
+ * artifacts and artifact URL templates. The descriptors are cached per
+ * distribution set and the scheme, host and port of the request (which the
+ * URLs could be aligned to). Only the target specific parts of the URLs are
+ * resolved per request, by {@link ArtifactUrlTemplate#resolve(String, Long)}.
+ * <p>
+ * The descriptors of a distribution set are invalidated by the (remote)
+ * events of the distribution set and its software modules - a change of the
+ * metadata or the artifacts of a module updates the module as well. If the
+ * {@link ArtifactUrlHandler} doesn't support URL templates the chunks are
+ * always created from the repository. A descriptor read from the repository
+ * is not cached if an invalidation of its tenant took place while it has been
+ * read (see {@link TenantInvalidations}).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DdiDeploymentCacheProperties.class)
+public class DdiDeploymentCache implements ApplicationListener<RemoteTenantAwareEvent> {
+
+    private final boolean enabled;
+    private final ArtifactUrlHandler artifactUrlHandler;
+    private final SystemManagement systemManagement;
+    private final ControllerManagement controllerManagement;
+    private final TenantAware tenantAware;
+
+    private final Cache<DeploymentKey, CachedDeployment> deployments;
+    private final TenantInvalidations invalidations = new TenantInvalidations();
+
+    DdiDeploymentCache(final DdiDeploymentCacheProperties properties, final ArtifactUrlHandler artifactUrlHandler,
+            final SystemManagement systemManagement, final ControllerManagement controllerManagement,
+            final TenantAware tenantAware) {
+        this.enabled = properties.isEnabled();
+        this.artifactUrlHandler = artifactUrlHandler;
+        this.systemManagement = systemManagement;
+        this.controllerManagement = controllerManagement;
+        this.tenantAware = tenantAware;
+        deployments = Caffeine.newBuilder().maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive(), TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Creates the chunks of the deployment descriptor of an action.
+     *
+     * @param target
+     *            the target of the action
+     * @param action
+     *            the action
+     * @param request
+     *            the request the descriptor is created for
+     * @return the chunks
+     */
+    List<DdiChunk> createChunks(final Target target, final Action action, final HttpRequest request) {
+        if (!enabled) {
+            return DataConversionHelper.createChunks(target, action, artifactUrlHandler, systemManagement, request,
+                    controllerManagement);
+        }
+
+        final URI requestBase = requestBase(request.getURI());
+        final String tenant = tenantAware.getCurrentTenant().toUpperCase();
+        final DeploymentKey key = new DeploymentKey(tenant, action.getDistributionSet().getId(), requestBase);
+        CachedDeployment deployment = deployments.getIfPresent(key);
+        if (deployment == null) {
+            final long invalidationsBefore = invalidations.get(tenant);
+            final Optional<CachedDeployment> loaded = load(action.getDistributionSet(), requestBase);
+            if (loaded.isEmpty()) {
+                return DataConversionHelper.createChunks(target, action, artifactUrlHandler, systemManagement,
+                        request, controllerManagement);
+            }
+
+            deployment = loaded.get();
+            invalidations.put(deployments, key, deployment, tenant, invalidationsBefore);
+        }
+
+        return deployment.render(target);
+    }
+
+    @Override
+    public void onApplicationEvent(final RemoteTenantAwareEvent event) {
+        if (!enabled || event.getTenant() == null) {
+            return;
+        }
+
+        final String tenant = event.getTenant().toUpperCase();
+        if (event instanceof DistributionSetUpdatedEvent || event instanceof DistributionSetDeletedEvent) {
+            final Long distributionSetId = ((RemoteIdEvent) event).getEntityId();
+            invalidate(tenant, entry -> entry.getKey().tenant().equals(tenant)
+                    && distributionSetId.equals(entry.getKey().distributionSetId()));
+        } else if (event instanceof SoftwareModuleUpdatedEvent || event instanceof SoftwareModuleDeletedEvent) {
+            final Long softwareModuleId = ((RemoteIdEvent) event).getEntityId();
+            invalidate(tenant, entry -> entry.getKey().tenant().equals(tenant)
+                    && entry.getValue().softwareModuleIds().contains(softwareModuleId));
+        }
+    }
+
+    // invalidates immediately in the publishing thread, so the next request sees the change
+    @Override
+    public boolean supportsAsyncExecution() {
+        return false;
+    }
+
+    private void invalidate(final String tenant, final Predicate<Entry<DeploymentKey, CachedDeployment>> filter) {
+        invalidations.increment(tenant);
+        deployments.asMap().entrySet().removeIf(filter);
+    }
+
+    private Optional<CachedDeployment> load(final DistributionSet distributionSet, final URI requestBase) {
+        final TenantMetaData tenantMetaData = systemManagement.getTenantMetadata();
+        final Set<SoftwareModule> modules = distributionSet.getModules();
+        final Map<Long, List<SoftwareModuleMetadata>> metadata = controllerManagement
+                .findTargetVisibleMetaDataBySoftwareModuleId(
+                        modules.stream().map(SoftwareModule::getId).collect(Collectors.toList()));
+
+        final List<CachedChunk> chunks = new ArrayList<>(modules.size());
+        for (final SoftwareModule module : modules) {
+            final List<CachedArtifact> artifacts = new ArrayList<>(module.getArtifacts().size());
+            for (final Artifact artifact : module.getArtifacts()) {
+                final Optional<List<ArtifactUrlTemplate>> urlTemplates = artifactUrlHandler.getUrlTemplates(
+                        new URLPlaceholder(tenantMetaData.getTenant(), tenantMetaData.getId(), null, null,
+                                new SoftwareData(module.getId(), artifact.getFilename(), artifact.getId(),
+                                        artifact.getSha1Hash())),
+                        ApiType.DDI, requestBase);
+                if (urlTemplates.isEmpty()) {
+                    log.debug("Artifact URL handler doesn't support URL templates, deployments aren't cached");
+                    return Optional.empty();
+                }
+                artifacts.add(new CachedArtifact(
+                        new DdiArtifactHash(artifact.getSha1Hash(), artifact.getMd5Hash(), artifact.getSha256Hash()),
+                        artifact.getFilename(), artifact.getSize(), List.copyOf(urlTemplates.get())));
+            }
+            chunks.add(new CachedChunk(DataConversionHelper.mapChunkLegacyKeys(module.getType().getKey()),
+                    module.getVersion(), module.getName(), module.isEncrypted() ? Boolean.TRUE : null, artifacts,
+                    DataConversionHelper.mapMetadata(metadata.get(module.getId()))));
+        }
+
+        return Optional.of(new CachedDeployment(
+                modules.stream().map(SoftwareModule::getId).collect(Collectors.toUnmodifiableSet()),
+                List.copyOf(chunks)));
+    }
+
+    // only the parts of the request URI the URLs could be aligned to, so all targets share the descriptor
+    private static URI requestBase(final URI requestUri) {
+        if (requestUri == null) {
+            return null;
+        }
+        return UriComponentsBuilder.newInstance().scheme(requestUri.getScheme()).host(requestUri.getHost())
+                .port(requestUri.getPort()).build().toUri();
+    }
+
+    private record DeploymentKey(String tenant, long distributionSetId, URI requestBase) {
+    }
+
+    private record CachedDeployment(Set<Long> softwareModuleIds, List<CachedChunk> chunks) {
+
+        private List<DdiChunk> render(final Target target) {
+            return new ResponseList<>(chunks.stream()
+                    .map(chunk -> new DdiChunk(chunk.part(), chunk.version(), chunk.name(), chunk.encrypted(),
+                            new ResponseList<>(chunk.artifacts().stream()
+                                    .map(artifact -> artifact.render(target))
+                                    .collect(Collectors.toList())),
+                            chunk.metadata()))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private record CachedChunk(String part, String version, String name, Boolean encrypted,
+            List<CachedArtifact> artifacts, List<DdiMetadata> metadata) {
+    }
+
+    private record CachedArtifact(DdiArtifactHash hashes, String filename, long size,
+            List<ArtifactUrlTemplate> urlTemplates) {
+
+        private DdiArtifact render(final Target target) {
+            final DdiArtifact file = new DdiArtifact();
+            file.setHashes(hashes);
+            file.setFilename(filename);
+            file.setSize(size);
+            urlTemplates.stream().map(urlTemplate -> urlTemplate.resolve(target.getControllerId(), target.getId()))
+                    .forEach(url -> file.add(Link.of(url.getRef()).withRel(url.getRel()).expand()));
+            return file;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the {@link DdiDeploymentCache}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hawkbit.server.ddi.deployment-cache")
+public class DdiDeploymentCacheProperties {
+
+    /**
+     * Set to <code>false</code> to create the chunks of every deployment
+     * descriptor from the repository.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached distribution set descriptors (per request
+     * host).
+     */
+    private int maxEntries = 1_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the descriptor of a distribution
+     * set is cached. Limits the time a change which doesn't raise an event
+     * (e.g. a lost cluster event) is not seen by the controllers.
+     */
+    private long timeToLive = TimeUnit.MINUTES.toMillis(10);
+}
@@ -0,0 +1,233 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.repository.ControllerManagement;
+import org.eclipse.hawkbit.repository.event.remote.CancelTargetAssignmentEvent;
+import org.eclipse.hawkbit.repository.event.remote.MultiActionCancelEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteIdEvent;
+import org.eclipse.hawkbit.repository.event.remote.RemoteTenantAwareEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetAttributesRequestedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TargetDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.TenantConfigurationDeletedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.AbstractActionEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TargetUpdatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationCreatedEvent;
+import org.eclipse.hawkbit.repository.event.remote.entity.TenantConfigurationUpdatedEvent;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.tenancy.TenantAware;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of the {@link DdiPollState} per controller, used to answer the polls
+ * of controllers which state hasn't changed without any database access -
+ * only the poll itself is registered (lazily) by
+ * {@link ControllerManagement#registerPollOfExistingTarget(String)}.
+ * <p>
+ * The cached state of a target is invalidated by the (remote) events of its
+ * actions (including the cancel events) and the target itself, and the states of all targets of a tenant by
+ * the events of the tenant configuration (polling time). The events are
+ * handled synchronously, so a change done on this node is seen by the next
+ * poll. The changes on other nodes are seen as soon as their events arrive
+ * (bounded by the time to live).
+ * <p>
+ * A state read from the repository is not cached if an invalidation of its
+ * tenant took place while it has been read (see {@link TenantInvalidations}).
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(DdiPollCacheProperties.class)
+public class DdiPollCache implements ApplicationListener<RemoteTenantAwareEvent> {
+
+    private final boolean enabled;
+    private final TenantAware tenantAware;
+
+    private final Cache<TargetKey, CachedPoll> polls;
+    private final Cache<ControllerKey, Long> targetIds;
+
+    private final TenantInvalidations invalidations = new TenantInvalidations();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    DdiPollCache(final DdiPollCacheProperties properties, final TenantAware tenantAware) {
+        this.enabled = properties.isEnabled();
+        this.tenantAware = tenantAware;
+        polls = Caffeine.newBuilder().maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive(), TimeUnit.MILLISECONDS).build();
+        targetIds = Caffeine.newBuilder().maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getTimeToLive(), TimeUnit.MILLISECONDS).build();
+    }
+
+    /**
+     * Returns the cached poll state of a controller of the current tenant.
+     *
+     * @param controllerId
+     *            the controller ID
+     * @param address
+     *            the address the controller polls from, the state is not
+     *            returned if the address has changed since it has been cached
+     *            (the changed address has to be stored)
+     * @return the poll state or empty if not cached
+     */
+    Optional<DdiPollState> get(final String controllerId, final URI address) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        final String tenant = currentTenant();
+        final Optional<DdiPollState> pollState = Optional
+                .ofNullable(targetIds.getIfPresent(new ControllerKey(tenant, controllerId)))
+                .map(targetId -> polls.getIfPresent(new TargetKey(tenant, targetId)))
+                .filter(cached -> cached.pollState().controllerId().equals(controllerId)
+                        && cached.address().equals(address))
+                .map(CachedPoll::pollState);
+        if (pollState.isPresent()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return pollState;
+    }
+
+    /**
+     * @return the number of invalidations of the current tenant so far, to be
+     *         passed to
+     *         {@link #put(Target, URI, DdiPollState, long)} when the state is
+     *         read from the repository
+     */
+    long getInvalidations() {
+        return invalidations.get(currentTenant());
+    }
+
+    /**
+     * Caches the poll state of a target of the current tenant read from the
+     * repository.
+     *
+     * @param target
+     *            the target
+     * @param address
+     *            the address the controller polled from and that has been
+     *            stored with the target
+     * @param pollState
+     *            the poll state, not cached if not cacheable
+     * @param invalidationsBefore
+     *            the {@link #getInvalidations()} before the state has been
+     *            read
+     */
+    void put(final Target target, final URI address, final DdiPollState pollState, final long invalidationsBefore) {
+        if (!enabled || address == null || !pollState.cacheable()) {
+            return;
+        }
+
+        final String tenant = currentTenant();
+        final TargetKey key = new TargetKey(tenant, target.getId());
+        targetIds.put(new ControllerKey(tenant, target.getControllerId()), target.getId());
+        invalidations.put(polls, key, new CachedPoll(address, pollState), tenant, invalidationsBefore);
+    }
+
+    @Override
+    public void onApplicationEvent(final RemoteTenantAwareEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        if (event instanceof AbstractActionEvent actionEvent) {
+            invalidate(event.getTenant(), actionEvent.getTargetId());
+        } else if (event instanceof CancelTargetAssignmentEvent cancelEvent) {
+            // bulk cancelations (e.g. of invalidated distribution sets) come without action events
+            cancelEvent.getActions().keySet().forEach(controllerId -> invalidate(event.getTenant(), controllerId));
+        } else if (event instanceof MultiActionCancelEvent cancelEvent) {
+            cancelEvent.forEach(controllerId -> invalidate(event.getTenant(), controllerId));
+        } else if (event instanceof TargetUpdatedEvent || event instanceof TargetDeletedEvent
+                || event instanceof TargetAttributesRequestedEvent) {
+            invalidate(event.getTenant(), ((RemoteIdEvent) event).getEntityId());
+        } else if (event instanceof TenantConfigurationCreatedEvent
+                || event instanceof TenantConfigurationUpdatedEvent
+                || event instanceof TenantConfigurationDeletedEvent) {
+            invalidateTenant(event.getTenant());
+        }
+    }
+
+    // invalidates immediately in the publishing thread, so the next poll sees the change
+    @Override
+    public boolean supportsAsyncExecution() {
+        return false;
+    }
+
+    /**
+     * @return the statistics of the cache
+     */
+    public PollCacheStatistics getStatistics() {
+        return new PollCacheStatistics(hits.sum(), misses.sum(), invalidations.getTotal(), polls.estimatedSize());
+    }
+
+    private void invalidate(final String tenant, final Long targetId) {
+        if (tenant == null || targetId == null) {
+            return;
+        }
+
+        final String upperCaseTenant = tenant.toUpperCase();
+        invalidations.increment(upperCaseTenant);
+        polls.invalidate(new TargetKey(upperCaseTenant, targetId));
+    }
+
+    private void invalidate(final String tenant, final String controllerId) {
+        if (tenant == null || controllerId == null) {
+            return;
+        }
+
+        invalidate(tenant, targetIds.getIfPresent(new ControllerKey(tenant.toUpperCase(), controllerId)));
+    }
+
+    private void invalidateTenant(final String tenant) {
+        if (tenant == null) {
+            return;
+        }
+
+        log.debug("Invalidate cached poll states of tenant {}", tenant);
+        final String upperCaseTenant = tenant.toUpperCase();
+        invalidations.increment(upperCaseTenant);
+        polls.asMap().keySet().removeIf(key -> key.tenant().equals(upperCaseTenant));
+    }
+
+    private String currentTenant() {
+        return tenantAware.getCurrentTenant().toUpperCase();
+    }
+
+    /**
+     * Statistics of the poll cache.
+     *
+     * @param hits number of polls answered from the cache
+     * @param misses number of polls answered from the repository
+     * @param invalidations number of invalidations by events
+     * @param size number of cached poll states
+     */
+    public record PollCacheStatistics(long hits, long misses, long invalidations, long size) {
+    }
+
+    private record TargetKey(String tenant, long targetId) {
+    }
+
+    private record ControllerKey(String tenant, String controllerId) {
+    }
+
+    private record CachedPoll(URI address, DdiPollState pollState) {
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.concurrent.TimeUnit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the {@link DdiPollCache}.
+ */
+@Data
+@ConfigurationProperties(prefix = "hawkbit.server.ddi.poll-cache")
+public class DdiPollCacheProperties {
+
+    /**
+     * Set to <code>false</code> to answer every poll from the repository.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of controllers which poll state is cached.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Time in {@link TimeUnit#MILLISECONDS} the poll state of a controller is
+     * cached. Limits the time a change which doesn't raise an event (e.g. a
+     * lost cluster event) is not seen by the controller.
+     */
+    private long timeToLive = TimeUnit.MINUTES.toMillis(5);
+}
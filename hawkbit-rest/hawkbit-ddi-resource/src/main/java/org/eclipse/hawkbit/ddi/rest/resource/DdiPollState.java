@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
+import org.eclipse.hawkbit.repository.model.Action;
+import org.eclipse.hawkbit.repository.model.Action.ActionType;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.springframework.util.DigestUtils;
+
+/**
+ * The repository data a {@link DdiControllerBase} (i.e. the response to a
+ * poll) is created from. The links of the response are created per request.
+ *
+ * @param controllerId
+ *            the controller ID of the target
+ * @param pollingTime
+ *            the polling time of the target
+ * @param actionLink
+ *            the kind of the link to the active action, <code>null</code> if
+ *            there is no active action
+ * @param actionId
+ *            the ID of the active action, <code>null</code> if there is none
+ * @param actionEtag
+ *            the etag of the active action
+ * @param installedActionId
+ *            the ID of the action of the installed distribution set,
+ *            <code>null</code> if there is none or it is still active
+ * @param requestAttributes
+ *            if the controller attributes are requested
+ * @param cacheable
+ *            <code>false</code> if the data depends on the time, e.g. the
+ *            polling time during a maintenance schedule
+ * @param etag
+ *            the etag of the response, calculated from all the other data
+ */
+record DdiPollState(String controllerId, String pollingTime, ActionLink actionLink, Long actionId, int actionEtag,
+        Long installedActionId, boolean requestAttributes, boolean cacheable, String etag) {
+
+    enum ActionLink {
+        CONFIRMATION_BASE, CANCEL_ACTION, DEPLOYMENT_BASE
+    }
+
+    static DdiPollState of(final Target target, final Action installedAction, final Action activeAction,
+            final String pollingTime) {
+        final ActionLink actionLink;
+        if (activeAction == null) {
+            actionLink = null;
+        } else if (activeAction.isWaitingConfirmation()) {
+            actionLink = ActionLink.CONFIRMATION_BASE;
+        } else if (activeAction.isCancelingOrCanceled()) {
+            actionLink = ActionLink.CANCEL_ACTION;
+        } else {
+            actionLink = ActionLink.DEPLOYMENT_BASE;
+        }
+        final Long actionId = activeAction == null ? null : activeAction.getId();
+        final int actionEtag = activeAction == null ? 0 : DataConversionHelper.calculateEtag(activeAction);
+        final Long installedActionId = installedAction == null || installedAction.isActive() ? null
+                : installedAction.getId();
+        final boolean requestAttributes = target.isRequestControllerAttributes();
+
+        final String etag = DigestUtils.md5DigestAsHex((pollingTime + '|' + actionLink + '|' + actionId + '|'
+                + actionEtag + '|' + installedActionId + '|' + requestAttributes).getBytes(StandardCharsets.UTF_8));
+        return new DdiPollState(target.getControllerId(), pollingTime, actionLink, actionId, actionEtag,
+                installedActionId, requestAttributes, isTimeIndependent(activeAction), etag);
+    }
+
+    // the polling time and the action etag change over time during a maintenance schedule or before the force time
+    private static boolean isTimeIndependent(final Action activeAction) {
+        return activeAction == null || (!activeAction.hasMaintenanceSchedule()
+                && (activeAction.getActionType() != ActionType.TIMEFORCED
+                        || activeAction.isHitAutoForceTime(System.currentTimeMillis())));
+    }
+}
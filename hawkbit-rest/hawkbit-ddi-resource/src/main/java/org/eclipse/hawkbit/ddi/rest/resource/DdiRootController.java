@@ -11,6 +11,7 @@ package org.eclipse.hawkbit.ddi.rest.resource;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -136,6 +137,12 @@ public class DdiRootController implements DdiRootControllerRestApi {
     @Autowired
     private EntityFactory entityFactory;
 
+    @Autowired
+    private DdiPollCache pollCache;
+
+    @Autowired
+    private DdiDeploymentCache deploymentCache;
+
     @Override
     public ResponseEntity<List<DdiArtifact>> getSoftwareModulesArtifacts(@PathVariable("tenant") final String tenant,
             @PathVariable("controllerId") final String controllerId,
@@ -158,19 +165,33 @@ public class DdiRootController implements DdiRootControllerRestApi {
             @PathVariable("controllerId") final String controllerId) {
         log.debug("getControllerBase({})", controllerId);
 
-        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, IpUtil
-                .getClientIpFromRequest(RequestResponseContextHolder.getHttpServletRequest(), securityProperties));
+        final URI address = IpUtil.getClientIpFromRequest(RequestResponseContextHolder.getHttpServletRequest(),
+                securityProperties);
+        // fast path - unchanged since the last poll, just register the poll
+        final DdiPollState pollState = pollCache.get(controllerId, address)
+                .filter(cached -> controllerManagement.registerPollOfExistingTarget(controllerId))
+                .orElseGet(() -> readPollState(controllerId, address));
+
+        // the etag allows the controller to get 304 (not modified) by If-None-Match
+        return ResponseEntity.ok().eTag(pollState.etag())
+                .body(DataConversionHelper.fromPollState(pollState, tenantAware));
+    }
+
+    private DdiPollState readPollState(final String controllerId, final URI address) {
+        final long invalidations = pollCache.getInvalidations();
+
+        final Target target = controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, address);
         final Action activeAction = controllerManagement.findActiveActionWithHighestWeight(controllerId).orElse(null);
 
         final Action installedAction = controllerManagement.getInstalledActionByTarget(controllerId).orElse(null);
 
         checkAndCancelExpiredAction(activeAction);
 
-        // activeAction
-        return new ResponseEntity<>(DataConversionHelper.fromTarget(target, installedAction, activeAction,
+        final DdiPollState pollState = DdiPollState.of(target, installedAction, activeAction,
                 activeAction == null ? controllerManagement.getPollingTime()
-                        : controllerManagement.getPollingTimeForAction(activeAction.getId()),
-                tenantAware), HttpStatus.OK);
+                        : controllerManagement.getPollingTimeForAction(activeAction.getId()));
+        pollCache.put(target, address, pollState, invalidations);
+        return pollState;
     }
 
     @Override
@@ -654,9 +675,8 @@ public class DdiRootController implements DdiRootControllerRestApi {
     }
 
     private DdiDeployment generateDdiDeployment(final Target target, final Action action) {
-        final List<DdiChunk> chunks = DataConversionHelper.createChunks(target, action, artifactUrlHandler,
-                systemManagement, new ServletServerHttpRequest(RequestResponseContextHolder.getHttpServletRequest()),
-                controllerManagement);
+        final List<DdiChunk> chunks = deploymentCache.createChunks(target, action,
+                new ServletServerHttpRequest(RequestResponseContextHolder.getHttpServletRequest()));
         final HandlingType downloadType = calculateDownloadType(action);
         final HandlingType updateType = calculateUpdateType(action, downloadType);
         final DdiMaintenanceWindowStatus maintenanceWindow = calculateMaintenanceWindow(action);
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Counts the invalidations of a cache per tenant. A value read from the
+ * repository is kept in the cache only if no invalidation of its tenant took
+ * place while it has been read, because it might have been read before the
+ * change has been committed. The changes of other tenants don't prevent the
+ * caching.
+ * <p>
+ * The tenants are expected in upper case, as used in the cache keys.
+ */
+class TenantInvalidations {
+
+    private final Map<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * @param tenant
+     *            the tenant
+     * @return the number of invalidations of the tenant so far, to be passed to
+     *         {@link #put(Cache, Object, Object, String, long)} when the value
+     *         is read from the repository
+     */
+    long get(final String tenant) {
+        final AtomicLong counter = invalidations.get(tenant);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Counts an invalidation of the tenant. To be called before the cache
+     * entries are invalidated.
+     *
+     * @param tenant
+     *            the tenant
+     */
+    void increment(final String tenant) {
+        invalidations.computeIfAbsent(tenant, key -> new AtomicLong()).incrementAndGet();
+        total.increment();
+    }
+
+    /**
+     * @return the number of invalidations of all tenants
+     */
+    long getTotal() {
+        return total.sum();
+    }
+
+    /**
+     * Caches a value read from the repository unless the tenant has been
+     * invalidated since the read has started.
+     *
+     * @param cache
+     *            the cache
+     * @param key
+     *            the key of the value
+     * @param value
+     *            the value
+     * @param tenant
+     *            the tenant of the value
+     * @param invalidationsBefore
+     *            the {@link #get(String)} of the tenant before the value has
+     *            been read
+     */
+    <K, V> void put(final Cache<K, V> cache, final K key, final V value, final String tenant,
+            final long invalidationsBefore) {
+        cache.put(key, value);
+        // checked after the put, an invalidation in between has to remove the value again
+        if (get(tenant) != invalidationsBefore) {
+            cache.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.hamcrest.Matcher;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Test the deployment descriptors created by the {@link DdiDeploymentCache}.
+ */
+@Feature("Component Tests - Direct Device Integration API")
+@Story("Deployment Action Resource")
+class DdiDeploymentCacheTest extends AbstractDDiApiIntegrationTest {
+
+    private static final String OS_ARTIFACTS = "$.deployment.chunks[?(@.part=='os')].artifacts[*]";
+    private static final String OS_METADATA = "$.deployment.chunks[?(@.part=='os')].metadata[*]";
+
+    @Test
+    @Description("Verifies that the targets assigned to the same distribution set get their own artifact URLs and "
+            + "that a changed software module is seen by the next request.")
+    void cachedDeploymentIsResolvedPerTargetAndInvalidatedOnChange() throws Exception {
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        testdataFactory.createArtifact(RandomStringUtils.randomAlphanumeric(ARTIFACT_SIZE).getBytes(), getOsModule(ds),
+                "cached", ARTIFACT_SIZE);
+        testdataFactory.createTarget("cache1");
+        testdataFactory.createTarget("cache2");
+        final Long actionId1 = getFirstAssignedActionId(assignDistributionSet(ds.getId(), "cache1"));
+        final Long actionId2 = getFirstAssignedActionId(assignDistributionSet(ds.getId(), "cache2"));
+
+        getDeployment("cache1", actionId1).andExpect(jsonPath(OS_ARTIFACTS + "._links.download-http.href",
+                contains(artifactUrl("cache1", getOsModule(ds)))));
+        getDeployment("cache2", actionId2).andExpect(jsonPath(OS_ARTIFACTS + "._links.download-http.href",
+                contains(artifactUrl("cache2", getOsModule(ds)))))
+                .andExpect(jsonPath(OS_METADATA, empty()));
+
+        softwareModuleManagement.createMetaData(entityFactory.softwareModuleMetadata().create(getOsModule(ds))
+                .key("cachedKey").value("cachedValue").targetVisible(true));
+
+        getDeployment("cache1", actionId1).andExpect(jsonPath(OS_METADATA + ".key", hasItem("cachedKey")));
+    }
+
+    private ResultActions getDeployment(final String controllerId, final Long actionId) throws Exception {
+        return mvc.perform(get(DEPLOYMENT_BASE, tenantAware.getCurrentTenant(), controllerId, actionId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk());
+    }
+
+    private Matcher<String> artifactUrl(final String controllerId, final long softwareModuleId) {
+        return containsString("/" + tenantAware.getCurrentTenant() + "/controller/v1/" + controllerId
+                + "/softwaremodules/" + softwareModuleId + "/artifacts/cached");
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.hawkbit.im.authentication.SpPermission.TENANT_CONFIGURATION;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.concurrent.TimeUnit;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.repository.RepositoryProperties;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.test.util.SecurityContextSwitch;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.eclipse.hawkbit.tenancy.configuration.TenantConfigurationProperties.TenantConfigurationKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Test the poll fast path by the {@link DdiPollCache}.
+ */
+@Feature("Component Tests - Direct Device Integration API")
+@Story("Root Poll Resource")
+@TestPropertySource(locations = "classpath:/ddi-test.properties", properties = {
+        "hawkbit.server.repository.eagerPollPersistence=false",
+        "hawkbit.server.repository.pollPersistenceFlushTime=500" })
+class DdiPollCacheTest extends AbstractDDiApiIntegrationTest {
+
+    @Autowired
+    private DdiPollCache pollCache;
+
+    @Autowired
+    private RepositoryProperties repositoryProperties;
+
+    @Test
+    @Description("Verifies that unchanged polls are answered from the cache, the poll is still registered and a "
+            + "changed state is returned after an assignment.")
+    void unchangedPollIsAnsweredFromCache() throws Exception {
+        final String controllerId = "pollCache1";
+        final String etag = poll(controllerId).andExpect(jsonPath("$._links.deploymentBase.href").doesNotExist())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        final Target target = targetManagement.getByControllerID(controllerId).orElseThrow();
+
+        final long hits = pollCache.getStatistics().hits();
+        TimeUnit.MILLISECONDS.sleep(10);
+        assertThat(poll(controllerId).andReturn().getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        assertThat(pollCache.getStatistics().hits()).isEqualTo(hits + 1);
+        mvc.perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isNotModified());
+
+        // the poll answered from the cache is persisted lazily
+        TimeUnit.MILLISECONDS.sleep(repositoryProperties.getPollPersistenceFlushTime() * 3);
+        assertThat(targetManagement.get(target.getId()).orElseThrow().getLastTargetQuery())
+                .isGreaterThan(target.getLastTargetQuery());
+
+        // the assignment invalidates the cached state
+        assignDistributionSet(testdataFactory.createDistributionSet().getId(), controllerId);
+        final String assignedEtag = poll(controllerId)
+                .andExpect(jsonPath("$._links.deploymentBase.href").exists())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(assignedEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    @Description("Verifies that a changed polling time invalidates the cached states of the tenant.")
+    void changedPollingTimeInvalidatesCache() throws Exception {
+        final String controllerId = "pollCache2";
+        poll(controllerId);
+        poll(controllerId);
+
+        SecurityContextSwitch.runAs(SecurityContextSwitch.withUser("tenantadmin", TENANT_CONFIGURATION), () -> {
+            tenantConfigurationManagement.addOrUpdateConfiguration(TenantConfigurationKey.POLLING_TIME_INTERVAL,
+                    "00:02:00");
+            return null;
+        });
+
+        poll(controllerId).andExpect(jsonPath("$.config.polling.sleep", equalTo("00:02:00")));
+    }
+
+    private ResultActions poll(final String controllerId) throws Exception {
+        return mvc.perform(get(CONTROLLER_BASE, tenantAware.getCurrentTenant(), controllerId))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk());
+    }
+}
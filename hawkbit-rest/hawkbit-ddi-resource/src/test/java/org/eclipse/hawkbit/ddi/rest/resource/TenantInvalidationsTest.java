@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.ddi.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the per tenant invalidation counting of the DDI caches.
+ */
+@Feature("Unit Tests - Direct Device Integration API")
+@Story("DDI Caches")
+class TenantInvalidationsTest {
+
+    private final TenantInvalidations invalidations = new TenantInvalidations();
+    private final Cache<String, String> cache = Caffeine.newBuilder().build();
+
+    @Test
+    @Description("Verifies that a value is cached if no invalidation took place while it has been read.")
+    void valueIsCachedWithoutInvalidation() {
+        final long before = invalidations.get("TENANT_A");
+        invalidations.put(cache, "key", "value", "TENANT_A", before);
+
+        assertThat(cache.getIfPresent("key")).isEqualTo("value");
+    }
+
+    @Test
+    @Description("Verifies that a value is not cached if its tenant has been invalidated while it has been read.")
+    void valueIsNotCachedAfterInvalidationOfTenant() {
+        final long before = invalidations.get("TENANT_A");
+        invalidations.increment("TENANT_A");
+        invalidations.put(cache, "key", "value", "TENANT_A", before);
+
+        assertThat(cache.getIfPresent("key")).isNull();
+    }
+
+    @Test
+    @Description("Verifies that the invalidations of other tenants don't prevent the caching.")
+    void invalidationOfOtherTenantDoesNotPreventCaching() {
+        final long before = invalidations.get("TENANT_A");
+        invalidations.increment("TENANT_B");
+        invalidations.increment("TENANT_B");
+        invalidations.put(cache, "key", "value", "TENANT_A", before);
+
+        assertThat(cache.getIfPresent("key")).isEqualTo("value");
+        assertThat(invalidations.get("TENANT_A")).isZero();
+        assertThat(invalidations.get("TENANT_B")).isEqualTo(2);
+        assertThat(invalidations.getTotal()).isEqualTo(2);
+    }
+}
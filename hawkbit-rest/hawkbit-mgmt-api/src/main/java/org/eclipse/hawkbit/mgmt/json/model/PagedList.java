@@ -46,6 +46,12 @@ public class PagedList<T> extends RepresentationModel<PagedList<T>> {
     @JsonProperty
     private final long total;
     private final int size;
+    /**
+     * The continuation token of the next page if keyset pagination is used,
+     * <code>null</code> if there is no next page.
+     */
+    @JsonProperty
+    private String next;
 
     /**
      * creates a new paged list with the given {@code content} and {@code total}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.json.model.distributionset;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+
+/**
+ * A json annotated rest model for the progress of the cancellation of the
+ * actions of an invalidated DistributionSet.
+ */
+@Data
+@Accessors(chain = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(example = """
+    {
+      "distributionSetId" : 51,
+      "actionCancelationType" : "soft",
+      "status" : "running",
+      "totalActions" : 250000,
+      "processedActions" : 120000,
+      "createdAt" : 1682408568812,
+      "lastModifiedAt" : 1682408571231
+    }""")
+public class MgmtDistributionSetInvalidationJob {
+
+    @JsonProperty
+    @Schema(description = "ID of the invalidated distribution set", example = "51")
+    private long distributionSetId;
+
+    @JsonProperty
+    @Schema(description = "Type of cancelation of the actions referring to the distribution set")
+    private MgmtCancelationType actionCancelationType;
+
+    @JsonProperty
+    @Schema(description = "State of the cancellation, running or finished", example = "running")
+    private String status;
+
+    @JsonProperty
+    @Schema(description = "Number of actions to cancel when the distribution set has been invalidated",
+            example = "250000")
+    private long totalActions;
+
+    @JsonProperty
+    @Schema(description = "Number of actions processed so far", example = "120000")
+    private long processedActions;
+
+    @JsonProperty
+    @Schema(description = "Timestamp of the invalidation", example = "1682408568812")
+    private long createdAt;
+
+    @JsonProperty
+    @Schema(description = "Timestamp of the last progress", example = "1682408571231")
+    private long lastModifiedAt;
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.json.model.target;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.experimental.Accessors;
+import org.eclipse.hawkbit.mgmt.json.model.MgmtPollStatus;
+
+/**
+ * A json annotated rest model for a Target in the newline delimited JSON
+ * export. In contrast to {@link MgmtTarget} it has no links but contains the
+ * (optionally) included data of the target.
+ */
+@Data
+@Accessors(chain = true)
+@JsonInclude(Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(example = """
+    {
+      "controllerId" : "137",
+      "name" : "137",
+      "description" : "My name is 137",
+      "updateStatus" : "in_sync",
+      "createdBy" : "bumlux",
+      "createdAt" : 1682408577979,
+      "lastModifiedBy" : "bumlux",
+      "lastModifiedAt" : 1682408577988,
+      "lastControllerRequestAt" : 1682408577978,
+      "installedAt" : 1682408577987,
+      "address" : "http://192.168.0.1",
+      "requestAttributes" : true,
+      "targetType" : 13,
+      "targetTypeName" : "defaultType",
+      "attributes" : {
+        "revision" : "1.1"
+      },
+      "tags" : [ "Europe" ],
+      "metadata" : {
+        "location" : "Berlin"
+      },
+      "pollStatus" : {
+        "lastRequestAt" : 1682408577978,
+        "nextExpectedRequestAt" : 1682451777978,
+        "overdue" : false
+      },
+      "assignedDS" : {
+        "id" : 4,
+        "name" : "DS",
+        "version" : "1.0"
+      },
+      "installedDS" : {
+        "id" : 4,
+        "name" : "DS",
+        "version" : "1.0"
+      }
+    }""")
+public class MgmtTargetExport {
+
+    @JsonProperty(required = true)
+    @Schema(description = "Controller ID", example = "137")
+    private String controllerId;
+
+    @JsonProperty
+    @Schema(description = "The name of the entity", example = "137")
+    private String name;
+
+    @JsonProperty
+    @Schema(description = "The description of the entity", example = "My name is 137")
+    private String description;
+
+    @JsonProperty
+    @Schema(description = "If the target is in sync", example = "in_sync")
+    private String updateStatus;
+
+    @JsonProperty
+    @Schema(description = "Entity was originally created by (User, AMQP-Controller, anonymous etc.)", example = "bumlux")
+    private String createdBy;
+
+    @JsonProperty
+    @Schema(description = "Entity was originally created at (timestamp UTC in milliseconds)", example = "1682408577979")
+    private Long createdAt;
+
+    @JsonProperty
+    @Schema(description = "Entity was last modified by (User, AMQP-Controller, anonymous etc.)", example = "bumlux")
+    private String lastModifiedBy;
+
+    @JsonProperty
+    @Schema(description = "Entity was last modified at (timestamp UTC in milliseconds)", example = "1682408577988")
+    private Long lastModifiedAt;
+
+    @JsonProperty
+    @Schema(description = "Timestamp of the last controller request", example = "1682408577978")
+    private Long lastControllerRequestAt;
+
+    @JsonProperty
+    @Schema(description = "Install timestamp", example = "1682408577987")
+    private Long installedAt;
+
+    @JsonProperty
+    @Schema(description = "The last known address URI of the target. Includes information of the target is " +
+            "connected either directly (DDI) through HTTP or indirectly (DMF) through amqp.",
+            example = "http://192.168.0.1")
+    private String address;
+
+    @JsonProperty
+    @Schema(description = "Request re-transmission of target attributes", example = "true")
+    private boolean requestAttributes;
+
+    @JsonProperty
+    @Schema(description = "ID of the target type", example = "13")
+    private Long targetType;
+
+    @JsonProperty
+    @Schema(description = "Name of the target type", example = "defaultType")
+    private String targetTypeName;
+
+    @JsonProperty
+    @Schema(description = "The controller attributes, only if included")
+    private Map<String, String> attributes;
+
+    @JsonProperty
+    @Schema(description = "The names of the tags, only if included")
+    private List<String> tags;
+
+    @JsonProperty
+    @Schema(description = "The meta data, only if included")
+    private Map<String, String> metadata;
+
+    @JsonProperty
+    @Schema(description = "Poll status, only if included")
+    private MgmtPollStatus pollStatus;
+
+    @JsonProperty
+    @Schema(description = "The assigned distribution set, only if included")
+    private DistributionSetReference assignedDS;
+
+    @JsonProperty
+    @Schema(description = "The installed distribution set, only if included")
+    private DistributionSetReference installedDS;
+
+    /**
+     * Reference to an assigned or installed distribution set.
+     */
+    @Data
+    @Accessors(chain = true)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class DistributionSetReference {
+
+        @JsonProperty
+        @Schema(description = "The technical identifier of the entity", example = "4")
+        private Long id;
+
+        @JsonProperty
+        @Schema(description = "The name of the entity", example = "DS")
+        private String name;
+
+        @JsonProperty
+        @Schema(description = "Package version", example = "1.0")
+        private String version;
+    }
+}
@@ -24,6 +24,7 @@ import org.eclipse.hawkbit.mgmt.json.model.MgmtMetadataBodyPut;
 import org.eclipse.hawkbit.mgmt.json.model.PagedList;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSet;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetRequestBodyPost;
+import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetInvalidationJob;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetRequestBodyPut;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetStatistics;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtInvalidateDistributionSetRequestBody;
@@ -1077,4 +1078,43 @@ public interface MgmtDistributionSetRestApi {
                             MediaType.APPLICATION_JSON_VALUE })
     ResponseEntity<Void> invalidateDistributionSet(@PathVariable("distributionSetId") Long distributionSetId,
             @Valid MgmtInvalidateDistributionSetRequestBody invalidateRequestBody);
+
+    /**
+     * Handles the GET request of retrieving the progress of the cancellation
+     * of the actions of an invalidated distribution set.
+     *
+     * @param distributionSetId
+     *            the ID of the invalidated distribution set
+     * @return the progress with status OK
+     */
+    @Operation(summary = "Return the progress of the action cancellation of an invalidated distribution set",
+            description = """
+        The actions of an invalidated distribution set are canceled in chunks. If this takes longer than the
+        invalidation request, the remaining actions are canceled in the background. This returns the progress of the
+        cancellation. Required permission: READ_REPOSITORY
+        """)
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+        @ApiResponse(responseCode = "400", description = "Bad Request - e.g. invalid parameters", 
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExceptionInfo.class))),
+        @ApiResponse(responseCode = "401", description = "The request requires user authentication.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "403", description = "Insufficient permissions, entity is not allowed to be " +
+                "changed (i.e. read-only) or data volume restriction applies.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "404", description = "Distribution Set not found or no actions have been " +
+                "canceled by its invalidation.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "405", description = "The http request method is not allowed on the resource.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "406", description = "In case accept header is specified and not application/json.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "429", description = "Too many requests. The server will refuse further attempts " +
+                "and the client has to wait another second.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true)))
+    })
+    @GetMapping(value = MgmtRestConstants.DISTRIBUTIONSET_V1_REQUEST_MAPPING + "/{distributionSetId}/invalidate",
+            produces = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<MgmtDistributionSetInvalidationJob> getInvalidationProgress(
+            @PathVariable("distributionSetId") Long distributionSetId);
 }
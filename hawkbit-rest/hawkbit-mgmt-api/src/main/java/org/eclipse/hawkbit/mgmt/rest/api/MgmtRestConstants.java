@@ -101,6 +101,11 @@ public final class MgmtRestConstants {
      * The target URL mapping, href link for target actions.
      */
     public static final String TARGET_V1_ACTIONS = "actions";
+    /**
+     * The target URL mapping, href link for the archived (cleaned up) target
+     * actions.
+     */
+    public static final String TARGET_V1_ARCHIVED_ACTIONS = "archived";
     /**
      * The target URL mapping, href link for canceled actions.
      */
@@ -119,6 +124,32 @@ public final class MgmtRestConstants {
      */
     public static final String TARGET_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/targets";
 
+    /**
+     * The target export URL mapping rest resource.
+     */
+    public static final String TARGET_EXPORT_V1_REQUEST_MAPPING = BASE_V1_REQUEST_MAPPING + "/export/targets";
+
+    /**
+     * The request parameter for the optional data of an export, e.g.
+     * {@code include=attributes,tags}.
+     */
+    public static final String REQUEST_PARAMETER_EXPORT_INCLUDE = "include";
+
+    /**
+     * Target export include value for the tags of the target.
+     */
+    public static final String TARGET_EXPORT_TAGS = "tags";
+
+    /**
+     * Target export include value for the meta data of the target.
+     */
+    public static final String TARGET_EXPORT_METADATA = "metadata";
+
+    /**
+     * Target export include value for the poll status of the target.
+     */
+    public static final String TARGET_EXPORT_POLL_STATUS = "pollStatus";
+
     /**
      * The tag URL mapping rest resource.
      */
@@ -197,6 +228,20 @@ public final class MgmtRestConstants {
      */
     public static final String REQUEST_PARAMETER_PAGING_OFFSET = "offset";
 
+    /**
+     * Paging http parameter for the continuation token of a keyset paged
+     * request. If present (empty for the first page) the offset is ignored and
+     * the page starts after the last entry of the previous page.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_CURSOR = "cursor";
+
+    /**
+     * Http parameter to disable the count of the total number of entries of a
+     * paged request, e.g. {@code count=false}. The total is then returned as
+     * {@code -1}.
+     */
+    public static final String REQUEST_PARAMETER_PAGING_COUNT = "count";
+
     /**
      * The request parameter for sorting. The value of the sort parameter must
      * be in the following pattern. Example:
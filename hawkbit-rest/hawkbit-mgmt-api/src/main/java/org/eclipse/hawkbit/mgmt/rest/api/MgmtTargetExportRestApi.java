@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.rest.api;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
+import org.eclipse.hawkbit.rest.json.model.ExceptionInfo;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * API to export targets.
+ */
+@FunctionalInterface
+// no request mapping specified here to avoid CVE-2021-22044 in Feign client
+@Tag(name = "Target Export", description = "REST API to export targets.")
+public interface MgmtTargetExportRestApi {
+
+    /**
+     * Handles the GET request of exporting all targets as newline delimited
+     * JSON. The targets are written in batches while they are read, so the
+     * memory needed doesn't depend on the number of targets.
+     *
+     * @param rsqlParam
+     *            the search parameter in the request URL, syntax
+     *            {@code q=name==abc}
+     * @param includeParam
+     *            the optional data of the targets to include
+     * @return status OK with the body which writes the targets, if the export
+     *         fails after targets have been written the last line is an
+     *         error record (see {@link ExceptionInfo}) instead of a target
+     */
+    @Operation(summary = "Export targets", description = "Handles the GET request of exporting all targets as " +
+            "newline delimited JSON, one target (see MgmtTargetExport) per line. The related data of the targets is " +
+            "loaded in batches. If the export fails after targets have been written, the last line is an error " +
+            "record (see ExceptionInfo) instead of a target. Required permission: READ_TARGET, READ_REPOSITORY if the distribution sets are included")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved",
+                content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = MgmtTargetExport.class))),
+        @ApiResponse(responseCode = "400", description = "Bad Request - e.g. invalid parameters",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExceptionInfo.class))),
+        @ApiResponse(responseCode = "401", description = "The request requires user authentication.",
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "403",
+                description = "Insufficient permissions, entity is not allowed to be changed (i.e. read-only) or " +
+                        "data volume restriction applies.",
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "405", description = "The http request method is not allowed on the resource.",
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "429", description = "Too many requests. The server will refuse further attempts " +
+                "and the client has to wait another second.",
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true)))
+    })
+    // no produces specified here, so errors are still reported as json
+    @GetMapping(value = MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING)
+    ResponseEntity<StreamingResponseBody> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false)
+            @Schema(description = """
+                    Query fields based on the Feed Item Query Language (FIQL). See Entity Definitions for
+                    available fields.""")
+            String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_EXPORT_INCLUDE, required = false)
+            @Schema(description = """
+                    Comma separated list of the optional data to include: attributes, tags, metadata, pollStatus,
+                    assignedDS, installedDS""")
+            List<String> includeParam);
+}
@@ -101,6 +101,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=name==abc}
+     * @param cursorParam
+     *            the continuation token of the previous page for keyset
+     *            pagination, empty for the first page, not present for offset
+     *            based pagination
+     * @param countParam
+     *            <code>false</code> to skip the count of the total number of
+     *            entries, counted if not present
      * @return a list of all targets for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -148,7 +155,36 @@ public interface MgmtTargetRestApi {
             @Schema(description = """
                     Query fields based on the Feed Item Query Language (FIQL). See Entity Definitions for
                     available fields.""")
-            String rsqlParam);
+            String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false)
+            @Schema(description = """
+                    The continuation token for keyset pagination, empty for the first page and the value of next of
+                    the previous page for the following pages. The offset is ignored and at most one sort criteria is
+                    supported. The costs of a page don't depend on its position.""")
+            String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false)
+            @Schema(description = "Set to false to skip the count of the total number of entries (total is -1)")
+            Boolean countParam);
+
+    /**
+     * Retrieves the targets with offset based pagination, see
+     * {@link #getTargets(int, int, String, String, String, Boolean)}.
+     *
+     * @param pagingOffsetParam
+     *            the offset of list of targets for pagination
+     * @param pagingLimitParam
+     *            the limit of the paged request
+     * @param sortParam
+     *            the sorting parameter, syntax
+     *            {@code field:direction, field:direction}
+     * @param rsqlParam
+     *            the search parameter, syntax {@code q=name==abc}
+     * @return a list of all targets for a defined or default page request
+     */
+    default ResponseEntity<PagedList<MgmtTarget>> getTargets(final int pagingOffsetParam, final int pagingLimitParam,
+            final String sortParam, final String rsqlParam) {
+        return getTargets(pagingOffsetParam, pagingLimitParam, sortParam, rsqlParam, null, null);
+    }
 
     /**
      * Handles the POST request of creating new targets. The request body must
@@ -379,6 +415,13 @@ public interface MgmtTargetRestApi {
      * @param rsqlParam
      *            the search parameter in the request URL, syntax
      *            {@code q=status==pending}
+     * @param cursorParam
+     *            the continuation token of the previous page for keyset
+     *            pagination, empty for the first page, not present for offset
+     *            based pagination
+     * @param countParam
+     *            <code>false</code> to skip the count of the total number of
+     *            entries, counted if not present
      * @return a list of all Actions for a defined or default page request with
      *         status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -427,7 +470,105 @@ public interface MgmtTargetRestApi {
             @Schema(description = """
                     Query fields based on the Feed Item Query Language (FIQL). See Entity Definitions for
                     available fields.""")
-            String rsqlParam);
+            String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false)
+            @Schema(description = """
+                    The continuation token for keyset pagination, empty for the first page and the value of next of
+                    the previous page for the following pages. The offset is ignored and at most one sort criteria is
+                    supported. The costs of a page don't depend on its position.""")
+            String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false)
+            @Schema(description = "Set to false to skip the count of the total number of entries (total is -1)")
+            Boolean countParam);
+
+    /**
+     * Retrieves the actions of a target with offset based pagination, see
+     * {@link #getActionHistory(String, int, int, String, String, String, Boolean)}.
+     *
+     * @param targetId
+     *            to load actions for
+     * @param pagingOffsetParam
+     *            the offset of list of actions for pagination
+     * @param pagingLimitParam
+     *            the limit of the paged request
+     * @param sortParam
+     *            the sorting parameter, syntax
+     *            {@code field:direction, field:direction}
+     * @param rsqlParam
+     *            the search parameter, syntax {@code q=status==pending}
+     * @return a list of all actions for a defined or default page request
+     */
+    default ResponseEntity<PagedList<MgmtAction>> getActionHistory(final String targetId, final int pagingOffsetParam,
+            final int pagingLimitParam, final String sortParam, final String rsqlParam) {
+        return getActionHistory(targetId, pagingOffsetParam, pagingLimitParam, sortParam, rsqlParam, null, null);
+    }
+
+    /**
+     * Handles the GET request of retrieving the actions of a specific target
+     * which are moved into the action archive by the action cleanup.
+     *
+     * @param targetId
+     *            to load archived actions for
+     * @param pagingOffsetParam
+     *            the offset of list of actions for pagination, might not be
+     *            present in the rest request then default value will be applied
+     * @param pagingLimitParam
+     *            the limit of the paged request, might not be present in the
+     *            rest request then default value will be applied
+     * @param sortParam
+     *            the sorting parameter in the request URL, syntax
+     *            {@code field:direction, field:direction}
+     * @param countParam
+     *            <code>false</code> to skip the count of the total number of
+     *            entries, counted if not present
+     * @return a list of the archived actions for a defined or default page
+     *         request with status OK. The response is always paged. In any
+     *         failure the JsonResponseExceptionHandler is handling the
+     *         response.
+     */
+    @Operation(summary = "Return archived actions for a specific target", description = "Handles the GET request of retrieving the actions of a specific target which are archived by the action cleanup. Required Permission: READ_TARGET")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved"),
+        @ApiResponse(responseCode = "400", description = "Bad Request - e.g. invalid parameters", 
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = ExceptionInfo.class))),
+        @ApiResponse(responseCode = "401", description = "The request requires user authentication.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "403", 
+                description = "Insufficient permissions, entity is not allowed to be changed (i.e. read-only) or " +
+                        "data volume restriction applies.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "404", description = "Target not found.", content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "405", description = "The http request method is not allowed on the resource.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "406", description = "In case accept header is specified and not application/json.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "429", description = "Too many requests. The server will refuse further attempts " +
+                "and the client has to wait another second.", 
+                content = @Content(mediaType = "application/json", schema = @Schema(hidden = true)))
+    })
+    @GetMapping(value = MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/{targetId}/actions/archived", produces = {
+            MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    ResponseEntity<PagedList<MgmtAction>> getArchivedActionHistory(@PathVariable("targetId") String targetId,
+            @RequestParam(
+                    value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET,
+                    defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET)
+            @Schema(description = "The paging offset (default is 0)")
+            int pagingOffsetParam,
+            @RequestParam(
+                    value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT,
+                    defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT)
+            @Schema(description = "The maximum number of entries in a page (default is 50)")
+            int pagingLimitParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false)
+            @Schema(description = """
+                    The query parameter sort allows to define the sort order for the result of a query. A sort criteria
+                    consists of the name of a field and the sort direction (ASC for ascending and DESC descending).
+                    The sequence of the sort criteria (multiple can be used) defines the sort order of the entities
+                    in the result.""")
+            String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false)
+            @Schema(description = "Set to false to skip the count of the total number of entries (total is -1)")
+            Boolean countParam);
 
     /**
      * Handles the GET request of retrieving a specific Actions of a specific
@@ -561,6 +702,13 @@ public interface MgmtTargetRestApi {
      * @param sortParam
      *            the sorting parameter in the request URL, syntax
      *            {@code field:direction, field:direction}
+     * @param cursorParam
+     *            the continuation token of the previous page for keyset
+     *            pagination, empty for the first page, not present for offset
+     *            based pagination
+     * @param countParam
+     *            <code>false</code> to skip the count of the total number of
+     *            entries, counted if not present
      * @return a list of all ActionStatus for a defined or default page request
      *         with status OK. The response is always paged. In any failure the
      *         JsonResponseExceptionHandler is handling the response.
@@ -592,7 +740,39 @@ public interface MgmtTargetRestApi {
             @PathVariable("actionId") Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam);
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false)
+            @Schema(description = """
+                    The continuation token for keyset pagination, empty for the first page and the value of next of
+                    the previous page for the following pages. The offset is ignored and at most one sort criteria is
+                    supported. The costs of a page don't depend on its position.""")
+            String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false)
+            @Schema(description = "Set to false to skip the count of the total number of entries (total is -1)")
+            Boolean countParam);
+
+    /**
+     * Retrieves the status of an action with offset based pagination, see
+     * {@link #getActionStatusList(String, Long, int, int, String, String, Boolean)}.
+     *
+     * @param targetId
+     *            of the the action
+     * @param actionId
+     *            of the status we are intend to load
+     * @param pagingOffsetParam
+     *            the offset of list of action status for pagination
+     * @param pagingLimitParam
+     *            the limit of the paged request
+     * @param sortParam
+     *            the sorting parameter, syntax
+     *            {@code field:direction, field:direction}
+     * @return a list of all action status for a defined or default page
+     *         request
+     */
+    default ResponseEntity<PagedList<MgmtActionStatus>> getActionStatusList(final String targetId,
+            final Long actionId, final int pagingOffsetParam, final int pagingLimitParam, final String sortParam) {
+        return getActionStatusList(targetId, actionId, pagingOffsetParam, pagingLimitParam, sortParam, null, null);
+    }
 
     /**
      * Handles the GET request of retrieving the assigned distribution set of a
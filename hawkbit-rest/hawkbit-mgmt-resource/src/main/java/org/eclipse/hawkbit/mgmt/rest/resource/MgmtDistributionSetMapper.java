@@ -23,6 +23,7 @@ import lombok.NoArgsConstructor;
 import org.eclipse.hawkbit.mgmt.json.model.MgmtMetadata;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtActionId;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSet;
+import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetInvalidationJob;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetRequestBodyPost;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtTargetAssignmentResponseBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDistributionSetRestApi;
@@ -32,6 +33,7 @@ import org.eclipse.hawkbit.repository.EntityFactory;
 import org.eclipse.hawkbit.repository.builder.DistributionSetCreate;
 import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
 import org.eclipse.hawkbit.repository.model.DistributionSetMetadata;
 import org.eclipse.hawkbit.repository.model.MetaData;
 import org.eclipse.hawkbit.rest.data.ResponseList;
@@ -164,6 +166,17 @@ public final class MgmtDistributionSetMapper {
                 sets.stream().map(MgmtDistributionSetMapper::toResponse).collect(Collectors.toList()));
     }
 
+    static MgmtDistributionSetInvalidationJob toResponse(final DistributionSetInvalidationJob job) {
+        return new MgmtDistributionSetInvalidationJob()
+                .setDistributionSetId(job.getDistributionSetId())
+                .setActionCancelationType(MgmtRestModelMapper.convertCancelationType(job.getCancelationType()))
+                .setStatus(job.getStatus().name().toLowerCase())
+                .setTotalActions(job.getTotalActions())
+                .setProcessedActions(job.getProcessedActions())
+                .setCreatedAt(job.getCreatedAt())
+                .setLastModifiedAt(job.getLastModifiedAt());
+    }
+
     static MgmtMetadata toResponseDsMetadata(final DistributionSetMetadata metadata) {
         final MgmtMetadata metadataRest = new MgmtMetadata();
         metadataRest.setKey(metadata.getKey());
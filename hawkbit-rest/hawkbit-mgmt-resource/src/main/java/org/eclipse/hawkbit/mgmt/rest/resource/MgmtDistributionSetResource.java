@@ -26,6 +26,7 @@ import org.eclipse.hawkbit.mgmt.json.model.MgmtMetadata;
 import org.eclipse.hawkbit.mgmt.json.model.MgmtMetadataBodyPut;
 import org.eclipse.hawkbit.mgmt.json.model.PagedList;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSet;
+import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetInvalidationJob;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetRequestBodyPost;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetRequestBodyPut;
 import org.eclipse.hawkbit.mgmt.json.model.distributionset.MgmtDistributionSetStatistics;
@@ -55,6 +56,7 @@ import org.eclipse.hawkbit.repository.model.DistributionSet;
 import org.eclipse.hawkbit.repository.model.DistributionSetType;
 import org.eclipse.hawkbit.repository.model.DistributionSetAssignmentResult;
 import org.eclipse.hawkbit.repository.model.DistributionSetInvalidation;
+import org.eclipse.hawkbit.repository.model.DistributionSetInvalidationJob;
 import org.eclipse.hawkbit.repository.model.DistributionSetMetadata;
 import org.eclipse.hawkbit.repository.model.SoftwareModule;
 import org.eclipse.hawkbit.repository.model.Target;
@@ -459,4 +461,12 @@ public class MgmtDistributionSetResource implements MgmtDistributionSetRestApi {
                         invalidateRequestBody.isCancelRollouts()));
         return ResponseEntity.ok().build();
     }
+
+    @Override
+    public ResponseEntity<MgmtDistributionSetInvalidationJob> getInvalidationProgress(
+            @PathVariable("distributionSetId") final Long distributionSetId) {
+        return ResponseEntity.ok(MgmtDistributionSetMapper.toResponse(distributionSetInvalidationManagement
+                .getInvalidationJob(distributionSetId)
+                .orElseThrow(() -> new EntityNotFoundException(DistributionSetInvalidationJob.class, distributionSetId))));
+    }
 }
@@ -139,4 +139,30 @@ public final class MgmtRestModelMapper {
             throw new IllegalStateException("Action Cancelation Type is not supported");
         }
     }
+
+    /**
+     * Converts the given repository {@link CancelationType} into a
+     * corresponding {@link MgmtCancelationType}.
+     *
+     * @param cancelationType
+     *            the repository representation of the cancellation type
+     *
+     * @return <null> or the REST cancellation type
+     */
+    public static MgmtCancelationType convertCancelationType(final CancelationType cancelationType) {
+        if (cancelationType == null) {
+            return null;
+        }
+
+        switch (cancelationType) {
+        case SOFT:
+            return MgmtCancelationType.SOFT;
+        case FORCE:
+            return MgmtCancelationType.FORCE;
+        case NONE:
+            return MgmtCancelationType.NONE;
+        default:
+            throw new IllegalStateException("Action Cancelation Type is not supported");
+        }
+    }
 }
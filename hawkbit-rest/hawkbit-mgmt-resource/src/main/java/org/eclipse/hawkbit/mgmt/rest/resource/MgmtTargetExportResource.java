@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.ValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.exception.AbstractServerRtException;
+import org.eclipse.hawkbit.exception.SpServerError;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetExportRestApi;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.PollStatus;
+import org.eclipse.hawkbit.repository.model.Tag;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.rest.json.model.ExceptionInfo;
+import org.eclipse.hawkbit.security.SystemSecurityContext;
+import org.eclipse.hawkbit.utils.TenantConfigHelper;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.ObjectUtils;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST Resource for the newline delimited JSON export of targets. The targets
+ * are read in batches (keyset pages) and each batch is written to the response
+ * before the next one is read. The related data of a batch is loaded with one
+ * query per type of data, not per target. If the export fails after targets
+ * have been written, it is ended with an error record, so that a client can't
+ * take the written targets for all targets.
+ */
+@Slf4j
+@RestController
+public class MgmtTargetExportResource implements MgmtTargetExportRestApi {
+
+    private static final Set<String> INCLUDES = Set.of(MgmtRestConstants.TARGET_V1_ATTRIBUTES,
+            MgmtRestConstants.TARGET_EXPORT_TAGS, MgmtRestConstants.TARGET_EXPORT_METADATA,
+            MgmtRestConstants.TARGET_EXPORT_POLL_STATUS, MgmtRestConstants.TARGET_V1_ASSIGNED_DISTRIBUTION_SET,
+            MgmtRestConstants.TARGET_V1_INSTALLED_DISTRIBUTION_SET);
+
+    private static final int NEWLINE = '\n';
+
+    private final TargetManagement targetManagement;
+
+    private final TenantConfigHelper tenantConfigHelper;
+
+    private final ObjectWriter objectWriter;
+
+    private final ObjectWriter errorWriter;
+
+    MgmtTargetExportResource(final TargetManagement targetManagement,
+            final SystemSecurityContext systemSecurityContext,
+            final TenantConfigurationManagement tenantConfigurationManagement, final ObjectMapper objectMapper) {
+        this.targetManagement = targetManagement;
+        this.tenantConfigHelper = TenantConfigHelper.usingContext(systemSecurityContext, tenantConfigurationManagement);
+        this.objectWriter = objectMapper.writerFor(MgmtTargetExport.class);
+        this.errorWriter = objectMapper.writerFor(ExceptionInfo.class);
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTargets(
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_EXPORT_INCLUDE, required = false) final List<String> includeParam) {
+        final Set<String> includes = sanitizeIncludeParam(includeParam);
+        final Function<Target, PollStatus> pollStatusResolver = includes
+                .contains(MgmtRestConstants.TARGET_EXPORT_POLL_STATUS) ? tenantConfigHelper.pollStatusResolver() : null;
+
+        if (!ObjectUtils.isEmpty(rsqlParam)) {
+            // reads one target at most, so that an invalid query is still reported as json
+            targetManagement.findByRsql(PageRequest.of(0, 1), rsqlParam);
+        }
+
+        // the body is written by another thread
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(out -> {
+            final SecurityContext previousContext = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                writeTargets(out, rsqlParam, includes, pollStatusResolver);
+            } finally {
+                SecurityContextHolder.setContext(previousContext);
+            }
+        });
+    }
+
+    private void writeTargets(final OutputStream out, final String rsqlParam, final Set<String> includes,
+            final Function<Target, PollStatus> pollStatusResolver) throws IOException {
+        try {
+            targetManagement.forEachByRsql(rsqlParam, MgmtRestConstants.REQUEST_PARAMETER_PAGING_MAX_LIMIT,
+                    batch -> writeBatch(out, batch, includes, pollStatusResolver));
+        } catch (final UncheckedIOException e) {
+            // e.g. the client has closed the connection, nothing can be written anymore
+            throw e.getCause();
+        } catch (final RuntimeException e) {
+            log.error("Export of targets failed", e);
+            out.write(errorWriter.writeValueAsBytes(toErrorRecord(e)));
+            out.write(NEWLINE);
+            out.flush();
+            throw e;
+        }
+    }
+
+    private static ExceptionInfo toErrorRecord(final RuntimeException e) {
+        final ExceptionInfo error = new ExceptionInfo();
+        error.setExceptionClass(e.getClass().getName());
+        if (e instanceof AbstractServerRtException serverException) {
+            error.setErrorCode(serverException.getError().getKey());
+            error.setMessage(serverException.getMessage());
+        } else {
+            error.setErrorCode(SpServerError.SP_REPO_GENERIC_ERROR.getKey());
+            error.setMessage(SpServerError.SP_REPO_GENERIC_ERROR.getMessage());
+        }
+        return error;
+    }
+
+    private void writeBatch(final OutputStream out, final List<Target> targets, final Set<String> includes,
+            final Function<Target, PollStatus> pollStatusResolver) {
+        final List<Long> targetIds = targets.stream().map(Target::getId).toList();
+        final Map<Long, Map<String, String>> attributes = includes.contains(MgmtRestConstants.TARGET_V1_ATTRIBUTES)
+                ? targetManagement.getControllerAttributesByTargetIds(targetIds)
+                : null;
+        final Map<Long, Set<TargetTag>> tags = includes.contains(MgmtRestConstants.TARGET_EXPORT_TAGS)
+                ? targetManagement.getTagsByTargetIds(targetIds)
+                : null;
+        final Map<Long, Map<String, String>> metadata = includes.contains(MgmtRestConstants.TARGET_EXPORT_METADATA)
+                ? targetManagement.getMetaDataByTargetIds(targetIds)
+                : null;
+        final Map<Long, DistributionSet> assignedDS = includes
+                .contains(MgmtRestConstants.TARGET_V1_ASSIGNED_DISTRIBUTION_SET)
+                        ? targetManagement.getAssignedDistributionSetsByTargetIds(targetIds)
+                        : null;
+        final Map<Long, DistributionSet> installedDS = includes
+                .contains(MgmtRestConstants.TARGET_V1_INSTALLED_DISTRIBUTION_SET)
+                        ? targetManagement.getInstalledDistributionSetsByTargetIds(targetIds)
+                        : null;
+
+        try {
+            for (final Target target : targets) {
+                final MgmtTargetExport export = MgmtTargetMapper.toExport(target);
+                if (attributes != null) {
+                    export.setAttributes(attributes.getOrDefault(target.getId(), Collections.emptyMap()));
+                }
+                if (tags != null) {
+                    export.setTags(tags.getOrDefault(target.getId(), Collections.emptySet()).stream()
+                            .map(Tag::getName).sorted().toList());
+                }
+                if (metadata != null) {
+                    export.setMetadata(metadata.getOrDefault(target.getId(), Collections.emptyMap()));
+                }
+                if (pollStatusResolver != null) {
+                    export.setPollStatus(MgmtTargetMapper.toResponse(pollStatusResolver.apply(target)));
+                }
+                if (assignedDS != null) {
+                    export.setAssignedDS(MgmtTargetMapper.toExport(assignedDS.get(target.getId())));
+                }
+                if (installedDS != null) {
+                    export.setInstalledDS(MgmtTargetMapper.toExport(installedDS.get(target.getId())));
+                }
+
+                out.write(objectWriter.writeValueAsBytes(export));
+                out.write(NEWLINE);
+            }
+            out.flush();
+        } catch (final IOException e) {
+            // e.g. the client has closed the connection, stop reading further batches
+            log.debug("Writing targets to export failed", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Set<String> sanitizeIncludeParam(final List<String> includeParam) {
+        if (ObjectUtils.isEmpty(includeParam)) {
+            return Collections.emptySet();
+        }
+
+        final Set<String> includes = includeParam.stream().map(String::trim).filter(include -> !include.isEmpty())
+                .collect(Collectors.toSet());
+        includes.stream().filter(include -> !INCLUDES.contains(include)).findAny().ifPresent(include -> {
+            throw new ValidationException(
+                    "Unsupported value " + include + " of parameter include, supported values are " + INCLUDES);
+        });
+        return includes;
+    }
+}
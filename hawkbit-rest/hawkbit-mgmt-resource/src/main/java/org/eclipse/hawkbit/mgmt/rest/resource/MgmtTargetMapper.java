@@ -18,6 +18,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -28,6 +29,7 @@ import org.eclipse.hawkbit.mgmt.json.model.action.MgmtAction;
 import org.eclipse.hawkbit.mgmt.json.model.action.MgmtActionStatus;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTarget;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetAutoConfirm;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
 import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetRequestBody;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtDistributionSetRestApi;
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
@@ -82,7 +84,7 @@ public final class MgmtTargetMapper {
                 .withRel(MgmtRestConstants.TARGET_V1_ATTRIBUTES).expand());
         response.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionHistory(response.getControllerId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionFields.ID.getJpaEntityFieldName() + ":" + SortDirection.DESC, null))
+                ActionFields.ID.getJpaEntityFieldName() + ":" + SortDirection.DESC, null, null, null))
                         .withRel(MgmtRestConstants.TARGET_V1_ACTIONS).expand());
         response.add(linkTo(methodOn(MgmtTargetRestApi.class).getMetadata(response.getControllerId(),
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET_VALUE,
@@ -118,13 +120,7 @@ public final class MgmtTargetMapper {
     private static void addPollStatus(final Target target, final MgmtTarget targetRest, final Function<Target, PollStatus> pollStatusResolver) {
         final PollStatus pollStatus = pollStatusResolver == null ? target.getPollStatus() : pollStatusResolver.apply(target);
         if (pollStatus != null) {
-            final MgmtPollStatus pollStatusRest = new MgmtPollStatus();
-            pollStatusRest.setLastRequestAt(
-                    Date.from(pollStatus.getLastPollDate().atZone(ZoneId.systemDefault()).toInstant()).getTime());
-            pollStatusRest.setNextExpectedRequestAt(
-                    Date.from(pollStatus.getNextPollDate().atZone(ZoneId.systemDefault()).toInstant()).getTime());
-            pollStatusRest.setOverdue(pollStatus.isOverdue());
-            targetRest.setPollStatus(pollStatusRest);
+            targetRest.setPollStatus(toResponse(pollStatus));
         }
     }
 
@@ -205,6 +201,58 @@ public final class MgmtTargetMapper {
         return targetRest;
     }
 
+    /**
+     * Create an export of a target without the optional data.
+     *
+     * @param target
+     *            the target
+     * @return the export
+     */
+    static MgmtTargetExport toExport(final Target target) {
+        final MgmtTargetExport export = new MgmtTargetExport();
+        export.setControllerId(target.getControllerId());
+        export.setName(target.getName());
+        export.setDescription(target.getDescription());
+        export.setUpdateStatus(target.getUpdateStatus().name().toLowerCase());
+        export.setCreatedBy(target.getCreatedBy());
+        export.setCreatedAt(target.getCreatedAt());
+        export.setLastModifiedBy(target.getLastModifiedBy());
+        export.setLastModifiedAt(target.getLastModifiedAt());
+        export.setLastControllerRequestAt(target.getLastTargetQuery());
+        export.setInstalledAt(target.getInstallationDate());
+        final URI address = target.getAddress();
+        if (address != null) {
+            export.setAddress(address.toString());
+        }
+        export.setRequestAttributes(target.isRequestControllerAttributes());
+        if (target.getTargetType() != null) {
+            export.setTargetType(target.getTargetType().getId());
+            export.setTargetTypeName(target.getTargetType().getName());
+        }
+        return export;
+    }
+
+    static MgmtTargetExport.DistributionSetReference toExport(final DistributionSet distributionSet) {
+        if (distributionSet == null) {
+            return null;
+        }
+        return new MgmtTargetExport.DistributionSetReference().setId(distributionSet.getId())
+                .setName(distributionSet.getName()).setVersion(distributionSet.getVersion());
+    }
+
+    static MgmtPollStatus toResponse(final PollStatus pollStatus) {
+        if (pollStatus == null) {
+            return null;
+        }
+        final MgmtPollStatus pollStatusRest = new MgmtPollStatus();
+        pollStatusRest.setLastRequestAt(
+                Date.from(pollStatus.getLastPollDate().atZone(ZoneId.systemDefault()).toInstant()).getTime());
+        pollStatusRest.setNextExpectedRequestAt(
+                Date.from(pollStatus.getNextPollDate().atZone(ZoneId.systemDefault()).toInstant()).getTime());
+        pollStatusRest.setOverdue(pollStatus.isOverdue());
+        return pollStatusRest;
+    }
+
     static List<TargetCreate> fromRequest(final EntityFactory entityFactory,
             final Collection<MgmtTargetRequestBody> targetsRest) {
         if (targetsRest == null) {
@@ -246,6 +294,17 @@ public final class MgmtTargetMapper {
                 .collect(Collectors.toList());
     }
 
+    static List<MgmtActionStatus> toActionStatusRestResponse(final Collection<ActionStatus> actionStatus,
+            final Map<Long, List<String>> messages) {
+        if (actionStatus == null) {
+            return Collections.emptyList();
+        }
+
+        return actionStatus.stream()
+                .map(status -> toResponse(status, messages.getOrDefault(status.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
     static MgmtAction toResponse(final String targetId, final Action action) {
         final MgmtAction result = new MgmtAction();
 
@@ -316,7 +375,7 @@ public final class MgmtTargetMapper {
 
         result.add(linkTo(methodOn(MgmtTargetRestApi.class).getActionStatusList(controllerId, action.getId(), 0,
                 MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT_VALUE,
-                ActionStatusFields.ID.getJpaEntityFieldName() + ":" + SortDirection.DESC))
+                ActionStatusFields.ID.getJpaEntityFieldName() + ":" + SortDirection.DESC, null, null))
                         .withRel(MgmtRestConstants.TARGET_V1_ACTION_STATUS).expand());
 
         final Rollout rollout = action.getRollout();
@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -44,6 +45,7 @@ import org.eclipse.hawkbit.mgmt.rest.api.MgmtTargetRestApi;
 import org.eclipse.hawkbit.repository.ConfirmationManagement;
 import org.eclipse.hawkbit.repository.DeploymentManagement;
 import org.eclipse.hawkbit.repository.EntityFactory;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.OffsetBasedPageRequest;
 import org.eclipse.hawkbit.repository.TargetManagement;
 import org.eclipse.hawkbit.repository.TenantConfigurationManagement;
@@ -113,25 +115,32 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeTargetSortParam(sortParam);
 
-        final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
+        final Pageable pageable = cursorParam == null
+                ? new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting)
+                : PagingUtility.sanitizeCursorParam(cursorParam, sanitizedLimitParam, sorting,
+                        PagingUtility.TARGET_KEYSET_SORT_KEYS);
         final Slice<Target> findTargetsAll;
         final long countTargetsAll;
         if (rsqlParam != null) {
             findTargetsAll = targetManagement.findByRsql(pageable, rsqlParam);
-            countTargetsAll = targetManagement.countByRsql(rsqlParam);
+            countTargetsAll = PagingUtility.isCounted(countParam) ? targetManagement.countByRsql(rsqlParam)
+                    : PagingUtility.NOT_COUNTED;
         } else {
             findTargetsAll = targetManagement.findAll(pageable);
-            countTargetsAll = targetManagement.count();
+            countTargetsAll = PagingUtility.isCounted(countParam) ? targetManagement.count() : PagingUtility.NOT_COUNTED;
         }
 
         final List<MgmtTarget> rest = MgmtTargetMapper.toResponse(findTargetsAll.getContent(), tenantConfigHelper);
-        return ResponseEntity.ok(new PagedList<>(rest, countTargetsAll));
+        return ResponseEntity.ok(new PagedList<>(rest, countTargetsAll)
+                .setNext(PagingUtility.nextCursor(pageable, findTargetsAll.getContent())));
     }
 
     @Override
@@ -218,34 +227,67 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SEARCH, required = false) final String rsqlParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         findTargetWithExceptionIfNotFound(targetId);
 
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionSortParam(sortParam);
-        final Pageable pageable = new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting);
+        final Pageable pageable = cursorParam == null
+                ? new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting)
+                : PagingUtility.sanitizeCursorParam(cursorParam, sanitizedLimitParam, sorting,
+                        PagingUtility.ACTION_KEYSET_SORT_KEYS);
 
         final Slice<Action> activeActions;
-        final Long totalActionCount;
+        final long totalActionCount;
         if (rsqlParam != null) {
             activeActions = this.deploymentManagement.findActionsByTarget(rsqlParam, targetId, pageable);
-            totalActionCount = this.deploymentManagement.countActionsByTarget(rsqlParam, targetId);
+            totalActionCount = PagingUtility.isCounted(countParam)
+                    ? this.deploymentManagement.countActionsByTarget(rsqlParam, targetId)
+                    : PagingUtility.NOT_COUNTED;
         } else {
             activeActions = this.deploymentManagement.findActionsByTarget(targetId, pageable);
-            totalActionCount = this.deploymentManagement.countActionsByTarget(targetId);
+            totalActionCount = PagingUtility.isCounted(countParam)
+                    ? this.deploymentManagement.countActionsByTarget(targetId)
+                    : PagingUtility.NOT_COUNTED;
         }
 
         return ResponseEntity.ok(
-                new PagedList<>(MgmtTargetMapper.toResponse(targetId, activeActions.getContent()), totalActionCount));
+                new PagedList<>(MgmtTargetMapper.toResponse(targetId, activeActions.getContent()), totalActionCount)
+                        .setNext(PagingUtility.nextCursor(pageable, activeActions.getContent())));
+    }
+
+    @Override
+    public ResponseEntity<PagedList<MgmtAction>> getArchivedActionHistory(
+            @PathVariable("targetId") final String targetId,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
+
+        findTargetWithExceptionIfNotFound(targetId);
+
+        // archived actions are paged by offset only
+        final Pageable pageable = new OffsetBasedPageRequest(PagingUtility.sanitizeOffsetParam(pagingOffsetParam),
+                PagingUtility.sanitizePageLimitParam(pagingLimitParam), PagingUtility.sanitizeActionSortParam(sortParam));
+        final Slice<Action> archivedActions = deploymentManagement.findArchivedActionsByTarget(targetId, pageable);
+        final long totalActionCount = PagingUtility.isCounted(countParam)
+                ? deploymentManagement.countArchivedActionsByTarget(targetId)
+                : PagingUtility.NOT_COUNTED;
+        return ResponseEntity.ok(
+                new PagedList<>(MgmtTargetMapper.toResponse(targetId, archivedActions.getContent()), totalActionCount));
     }
 
     @Override
     public ResponseEntity<MgmtAction> getAction(@PathVariable("targetId") final String targetId,
             @PathVariable("actionId") final Long actionId) {
 
+        // cleaned up actions might have been moved into the archive
         final Action action = deploymentManagement.findAction(actionId)
+                .or(() -> deploymentManagement.findArchivedAction(actionId))
                 .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
         if (!action.getTarget().getControllerId().equals(targetId)) {
             log.warn(ACTION_TARGET_MISSING_ASSIGN_WARN, action.getId(), targetId);
@@ -283,11 +325,14 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
             @PathVariable("targetId") final String targetId, @PathVariable("actionId") final Long actionId,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_OFFSET, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_OFFSET) final int pagingOffsetParam,
             @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_LIMIT, defaultValue = MgmtRestConstants.REQUEST_PARAMETER_PAGING_DEFAULT_LIMIT) final int pagingLimitParam,
-            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam) {
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_SORTING, required = false) final String sortParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_CURSOR, required = false) final String cursorParam,
+            @RequestParam(value = MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, required = false) final Boolean countParam) {
 
         final Target target = findTargetWithExceptionIfNotFound(targetId);
 
-        final Action action = deploymentManagement.findAction(actionId)
+        final Optional<Action> activeAction = deploymentManagement.findAction(actionId);
+        final Action action = activeAction.or(() -> deploymentManagement.findArchivedAction(actionId))
                 .orElseThrow(() -> new EntityNotFoundException(Action.class, actionId));
 
         if (!action.getTarget().getId().equals(target.getId())) {
@@ -298,13 +343,36 @@ public class MgmtTargetResource implements MgmtTargetRestApi {
         final int sanitizedOffsetParam = PagingUtility.sanitizeOffsetParam(pagingOffsetParam);
         final int sanitizedLimitParam = PagingUtility.sanitizePageLimitParam(pagingLimitParam);
         final Sort sorting = PagingUtility.sanitizeActionStatusSortParam(sortParam);
+        if (activeAction.isEmpty()) {
+            // the history of archived actions is paged by offset only
+            final Page<ActionStatus> statusList = deploymentManagement.findArchivedActionStatusByAction(
+                    new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting), action.getId());
+            return ResponseEntity.ok(new PagedList<>(
+                    MgmtTargetMapper.toActionStatusRestResponse(statusList.getContent(),
+                            deploymentManagement.findArchivedActionStatusMessages(action.getId())),
+                    PagingUtility.isCounted(countParam) ? statusList.getTotalElements() : PagingUtility.NOT_COUNTED));
+        }
 
-        final Page<ActionStatus> statusList = this.deploymentManagement.findActionStatusByAction(
-                new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting), action.getId());
+        final Pageable pageable = cursorParam == null
+                ? new OffsetBasedPageRequest(sanitizedOffsetParam, sanitizedLimitParam, sorting)
+                : PagingUtility.sanitizeCursorParam(cursorParam, sanitizedLimitParam, sorting,
+                        PagingUtility.ACTION_STATUS_KEYSET_SORT_KEYS);
+        final Page<ActionStatus> statusList = this.deploymentManagement.findActionStatusByAction(pageable,
+                action.getId());
+
+        final long totalStatusCount;
+        if (!PagingUtility.isCounted(countParam)) {
+            totalStatusCount = PagingUtility.NOT_COUNTED;
+        } else if (pageable instanceof KeysetPageRequest) {
+            // keyset pages are not counted
+            totalStatusCount = this.deploymentManagement.countActionStatusByAction(action.getId());
+        } else {
+            totalStatusCount = statusList.getTotalElements();
+        }
 
         return ResponseEntity.ok(new PagedList<>(
                 MgmtTargetMapper.toActionStatusRestResponse(statusList.getContent(), deploymentManagement),
-                statusList.getTotalElements()));
+                totalStatusCount).setNext(PagingUtility.nextCursor(pageable, statusList.getContent())));
 
     }
 
@@ -9,12 +9,22 @@
  */
 package org.eclipse.hawkbit.mgmt.rest.resource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import jakarta.validation.ValidationException;
+
 import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
 import org.eclipse.hawkbit.repository.ActionFields;
 import org.eclipse.hawkbit.repository.ActionStatusFields;
 import org.eclipse.hawkbit.repository.DistributionSetFields;
 import org.eclipse.hawkbit.repository.DistributionSetMetadataFields;
 import org.eclipse.hawkbit.repository.DistributionSetTypeFields;
+import org.eclipse.hawkbit.repository.KeysetPageRequest;
 import org.eclipse.hawkbit.repository.RolloutFields;
 import org.eclipse.hawkbit.repository.RolloutGroupFields;
 import org.eclipse.hawkbit.repository.SoftwareModuleFields;
@@ -24,15 +34,49 @@ import org.eclipse.hawkbit.repository.TagFields;
 import org.eclipse.hawkbit.repository.TargetFields;
 import org.eclipse.hawkbit.repository.TargetFilterQueryFields;
 import org.eclipse.hawkbit.repository.TargetTypeFields;
+import org.eclipse.hawkbit.repository.model.BaseEntity;
 import org.eclipse.hawkbit.rest.util.SortUtility;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Utility class for for paged body generation.
  *
  */
 public final class PagingUtility {
+
+    /**
+     * The total of a paged list if the count is skipped.
+     */
+    static final long NOT_COUNTED = -1;
+
+    /**
+     * The target sort keys supported for keyset pagination in addition to
+     * the ID, i.e. the single valued attributes which are never
+     * <code>null</code>.
+     */
+    static final Set<String> TARGET_KEYSET_SORT_KEYS = Set.of(TargetFields.CONTROLLERID.getJpaEntityFieldName(),
+            TargetFields.NAME.getJpaEntityFieldName(), TargetFields.CREATEDAT.getJpaEntityFieldName(),
+            TargetFields.LASTMODIFIEDAT.getJpaEntityFieldName());
+
+    /**
+     * The action sort keys supported for keyset pagination in addition to the
+     * ID.
+     */
+    static final Set<String> ACTION_KEYSET_SORT_KEYS = Collections.emptySet();
+
+    /**
+     * The action status sort keys supported for keyset pagination in addition
+     * to the ID.
+     */
+    static final Set<String> ACTION_STATUS_KEYSET_SORT_KEYS = Set
+            .of(ActionStatusFields.REPORTEDAT.getJpaEntityFieldName());
+
+    private static final String CURSOR_SEPARATOR = "|";
     /*
      * utility constructor private.
      */
@@ -168,4 +212,92 @@ public final class PagingUtility {
         }
         return Sort.by(SortUtility.parse(RolloutGroupFields.class, sortParam));
     }
+
+    static boolean isCounted(final Boolean countParam) {
+        return !Boolean.FALSE.equals(countParam);
+    }
+
+    /**
+     * Creates the page request for keyset pagination.
+     *
+     * @param cursorParam
+     *            the continuation token of the previous page, empty for the
+     *            first page
+     * @param limit
+     *            the sanitized page limit
+     * @param sort
+     *            the sanitized sort, considered for the first page only since
+     *            the continuation token contains the sort
+     * @param keysetSortKeys
+     *            the sort keys supported for keyset pagination, the ID is
+     *            always supported
+     * @return the keyset page request
+     * @throws ValidationException
+     *             if the continuation token is invalid or the sort is not
+     *             supported for keyset pagination
+     */
+    static KeysetPageRequest sanitizeCursorParam(final String cursorParam, final int limit, final Sort sort,
+            final Set<String> keysetSortKeys) {
+        if (ObjectUtils.isEmpty(cursorParam)) {
+            if (sort.stream().count() > 1) {
+                throw new ValidationException("Keyset pagination supports sorting by one field only");
+            }
+            final Order order = sort.stream().findFirst().orElse(Order.asc(KeysetPageRequest.ID));
+            return KeysetPageRequest.firstPage(limit, keysetSortKey(order.getProperty(), keysetSortKeys),
+                    order.getDirection());
+        }
+
+        final String[] cursor;
+        try {
+            cursor = new String(Base64.getUrlDecoder().decode(cursorParam), StandardCharsets.UTF_8)
+                    .split(Pattern.quote(CURSOR_SEPARATOR), 4);
+        } catch (final IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+        if (cursor.length != 4) {
+            throw new ValidationException("Invalid cursor");
+        }
+        try {
+            return KeysetPageRequest.pageAfter(limit,
+                    cursor[0].isEmpty() ? null : keysetSortKey(cursor[0], keysetSortKeys),
+                    Direction.fromString(cursor[1]), Long.parseLong(cursor[2]), cursor[3]);
+        } catch (final IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * @param pageable
+     *            the page request
+     * @param content
+     *            the content of the page
+     * @return the continuation token for the page after the given one if the
+     *         page is requested with keyset pagination and full, otherwise
+     *         <code>null</code>
+     */
+    static String nextCursor(final Pageable pageable, final List<? extends BaseEntity> content) {
+        if (!(pageable instanceof KeysetPageRequest keysetPageRequest) || content.size() < pageable.getPageSize()) {
+            return null;
+        }
+
+        final BaseEntity last = content.get(content.size() - 1);
+        final String sortKey = keysetPageRequest.getSortKey();
+        final String value;
+        if (sortKey == null) {
+            value = "";
+        } else {
+            final Object sortValue = PropertyAccessorFactory.forBeanPropertyAccess(last).getPropertyValue(sortKey);
+            value = sortValue instanceof Enum<?> e ? e.name() : String.valueOf(sortValue);
+        }
+        final String cursor = String.join(CURSOR_SEPARATOR, sortKey == null ? "" : sortKey,
+                keysetPageRequest.getDirection().name(), String.valueOf(last.getId()), value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String keysetSortKey(final String sortKey, final Set<String> keysetSortKeys) {
+        if (KeysetPageRequest.ID.equals(sortKey) || keysetSortKeys.contains(sortKey)) {
+            return sortKey;
+        }
+        throw new ValidationException("Keyset pagination doesn't support sorting by " + sortKey);
+    }
 }
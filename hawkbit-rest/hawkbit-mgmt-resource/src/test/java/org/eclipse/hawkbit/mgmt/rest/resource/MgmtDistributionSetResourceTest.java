@@ -1733,4 +1733,28 @@ public class MgmtDistributionSetResourceTest extends AbstractManagementApiIntegr
                     .getContent().get(0).getStatus()).isEqualTo(Status.CANCELING);
         }
     }
+
+    @Test
+    @Description("Verify that the progress of the action cancellation of an invalidated distribution set is returned")
+    public void getInvalidationProgress() throws Exception {
+        final DistributionSet distributionSet = testdataFactory.createDistributionSet();
+        assignDistributionSet(distributionSet, testdataFactory.createTargets(3, "getInvalidationProgress"));
+
+        mvc.perform(get("/rest/v1/distributionsets/{ds}/invalidate", distributionSet.getId()))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isNotFound());
+
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put("actionCancelationType", "force");
+        jsonObject.put("cancelRollouts", false);
+        mvc.perform(post("/rest/v1/distributionsets/{ds}/invalidate", distributionSet.getId())
+                .content(jsonObject.toString()).contentType(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+
+        mvc.perform(get("/rest/v1/distributionsets/{ds}/invalidate", distributionSet.getId()))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("distributionSetId", equalTo(distributionSet.getId().intValue())))
+                .andExpect(jsonPath("actionCancelationType", equalTo("force")))
+                .andExpect(jsonPath("status", equalTo("finished")))
+                .andExpect(jsonPath("totalActions", equalTo(3)))
+                .andExpect(jsonPath("processedActions", equalTo(3)));
+    }
 }
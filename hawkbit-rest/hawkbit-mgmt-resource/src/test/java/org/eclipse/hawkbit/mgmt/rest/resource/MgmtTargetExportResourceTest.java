@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.mgmt.rest.resource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.exception.SpServerError;
+import org.eclipse.hawkbit.mgmt.json.model.target.MgmtTargetExport;
+import org.eclipse.hawkbit.mgmt.rest.api.MgmtRestConstants;
+import org.eclipse.hawkbit.repository.TargetManagement;
+import org.eclipse.hawkbit.repository.model.DistributionSet;
+import org.eclipse.hawkbit.repository.model.Target;
+import org.eclipse.hawkbit.repository.model.TargetTag;
+import org.eclipse.hawkbit.rest.json.model.ExceptionInfo;
+import org.eclipse.hawkbit.rest.util.MockMvcResultPrinter;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Test for {@link MgmtTargetExportResource}.
+ */
+@Feature("Component Tests - Management API")
+@Story("Target Export Resource")
+class MgmtTargetExportResourceTest extends AbstractManagementApiIntegrationTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @Description("Verifies that all targets are exported as newline delimited JSON without optional data by default.")
+    void exportTargets() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(5, "export");
+
+        final List<MgmtTargetExport> exported = export("");
+
+        assertThat(exported).extracting(MgmtTargetExport::getControllerId)
+                .containsExactlyElementsOf(controllerIdsOrderedById(targets));
+        assertThat(exported).allSatisfy(target -> {
+            assertThat(target.getUpdateStatus()).isEqualTo("unknown");
+            assertThat(target.getAttributes()).isNull();
+            assertThat(target.getTags()).isNull();
+            assertThat(target.getMetadata()).isNull();
+            assertThat(target.getPollStatus()).isNull();
+            assertThat(target.getAssignedDS()).isNull();
+            assertThat(target.getInstalledDS()).isNull();
+        });
+    }
+
+    @Test
+    @Description("Verifies that the filtered targets are exported with the included attributes, tags, meta data, poll "
+            + "status and distribution sets.")
+    void exportTargetsWithIncludedData() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(3, "export");
+        testdataFactory.createTarget("other");
+        final String controllerId = targets.get(1).getControllerId();
+        controllerManagement.updateControllerAttributes(controllerId, Map.of("revision", "1.1"), null);
+        controllerManagement.findOrRegisterTargetIfItDoesNotExist(controllerId, URI.create("http://127.0.0.1"));
+        targetManagement.createMetaData(controllerId,
+                List.of(entityFactory.generateTargetMetadata("location", "Berlin")));
+        final TargetTag tag = testdataFactory.createTargetTags(1, "Europe").get(0);
+        targetManagement.assignTag(List.of(controllerId), tag.getId());
+        final DistributionSet ds = testdataFactory.createDistributionSet();
+        assignDistributionSet(ds.getId(), controllerId);
+
+        final List<MgmtTargetExport> exported = export(
+                "?q=controllerId==export*&include=attributes,tags,metadata,pollStatus,assignedDS,installedDS");
+
+        assertThat(exported).extracting(MgmtTargetExport::getControllerId)
+                .containsExactlyElementsOf(controllerIdsOrderedById(targets));
+        final MgmtTargetExport target = exported.stream()
+                .filter(export -> export.getControllerId().equals(controllerId)).findAny().orElseThrow();
+        assertThat(target.getAttributes()).isEqualTo(Map.of("revision", "1.1"));
+        assertThat(target.getTags()).containsExactly(tag.getName());
+        assertThat(target.getMetadata()).isEqualTo(Map.of("location", "Berlin"));
+        assertThat(target.getPollStatus()).isNotNull();
+        assertThat(target.getAssignedDS().getId()).isEqualTo(ds.getId());
+        assertThat(target.getAssignedDS().getName()).isEqualTo(ds.getName());
+        assertThat(target.getAssignedDS().getVersion()).isEqualTo(ds.getVersion());
+        assertThat(target.getInstalledDS()).isNull();
+
+        final MgmtTargetExport other = exported.stream()
+                .filter(export -> !export.getControllerId().equals(controllerId)).findAny().orElseThrow();
+        assertThat(other.getAttributes()).isEmpty();
+        assertThat(other.getTags()).isEmpty();
+        assertThat(other.getMetadata()).isEmpty();
+        assertThat(other.getPollStatus()).isNull();
+        assertThat(other.getAssignedDS()).isNull();
+    }
+
+    @Test
+    @Description("Verifies that an unsupported include value or an invalid filter is rejected.")
+    void exportTargetsWithInvalidParameters() throws Exception {
+        mvc.perform(get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING + "?include=actions"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+        mvc.perform(get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING + "?q=unknown==1"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Description("Verifies that an export which fails after targets have been written is ended with an error record.")
+    @SuppressWarnings("unchecked")
+    void exportTargetsEndsWithErrorRecordOnFailure() throws Exception {
+        final List<Target> targets = testdataFactory.createTargets(2, "export");
+        final TargetManagement failingTargetManagement = Mockito.mock(TargetManagement.class);
+        Mockito.doAnswer(invocation -> {
+            ((Consumer<List<Target>>) invocation.getArgument(2)).accept(targets);
+            throw new IllegalStateException("database gone");
+        }).when(failingTargetManagement).forEachByRsql(Mockito.isNull(), Mockito.anyInt(), Mockito.any());
+        final MgmtTargetExportResource resource = new MgmtTargetExportResource(failingTargetManagement,
+                systemSecurityContext, tenantConfigurationManagement, objectMapper);
+
+        final StreamingResponseBody body = resource.exportTargets(null, null).getBody();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> body.writeTo(out)).isInstanceOf(IllegalStateException.class);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readValue(lines[1], MgmtTargetExport.class).getControllerId())
+                .isEqualTo(targets.get(1).getControllerId());
+        final ExceptionInfo error = objectMapper.readValue(lines[2], ExceptionInfo.class);
+        assertThat(error.getErrorCode()).isEqualTo(SpServerError.SP_REPO_GENERIC_ERROR.getKey());
+        assertThat(error.getExceptionClass()).isEqualTo(IllegalStateException.class.getName());
+    }
+
+    private static List<String> controllerIdsOrderedById(final List<Target> targets) {
+        return targets.stream().sorted(Comparator.comparing(Target::getId)).map(Target::getControllerId).toList();
+    }
+
+    private List<MgmtTargetExport> export(final String query) throws Exception {
+        final MvcResult result = mvc
+                .perform(get(MgmtRestConstants.TARGET_EXPORT_V1_REQUEST_MAPPING + query)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted()).andReturn();
+        final String content = mvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON)).andReturn().getResponse()
+                .getContentAsString();
+        final List<MgmtTargetExport> exported = Arrays.stream(content.split("\n")).filter(line -> !line.isEmpty())
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, MgmtTargetExport.class);
+                    } catch (final Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }).toList();
+        assertThat(content).endsWith("\n");
+        return exported;
+    }
+}
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -176,6 +177,46 @@ class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest {
                 .andExpect(jsonPath("content.[1].type", equalTo("canceling")));
     }
 
+    @Test
+    @Description("Ensures that archived actions and their status history are still returned.")
+    void getArchivedActionAndStatus() throws Exception {
+        final String knownTargetId = "targetId";
+        final List<Action> actions = generateTargetWithTwoUpdatesWithOneOverride(knownTargetId);
+        updateActionStatus(actions.get(0), Status.FINISHED, null, "test");
+        final Long archivedId = actions.get(0).getId();
+
+        assertThat(systemSecurityContext.runAsSystem(() -> deploymentManagement
+                .archiveActionsByStatusAndLastModifiedBefore(EnumSet.of(Status.FINISHED),
+                        System.currentTimeMillis() + 1))).isEqualTo(1);
+
+        final String actionsUrl = MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + knownTargetId + "/"
+                + MgmtRestConstants.TARGET_V1_ACTIONS;
+        mvc.perform(get(actionsUrl)).andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("total", equalTo(1)))
+                .andExpect(jsonPath("content[0].id", equalTo(actions.get(1).getId().intValue())));
+        mvc.perform(get(actionsUrl + "/" + MgmtRestConstants.TARGET_V1_ARCHIVED_ACTIONS))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("total", equalTo(1)))
+                .andExpect(jsonPath("content[0].id", equalTo(archivedId.intValue())))
+                .andExpect(jsonPath("content[0].status", equalTo("finished")));
+        mvc.perform(get(actionsUrl + "/" + MgmtRestConstants.TARGET_V1_ARCHIVED_ACTIONS)
+                .param(MgmtRestConstants.REQUEST_PARAMETER_PAGING_COUNT, "false"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("total", equalTo(-1)))
+                .andExpect(jsonPath("content[0].id", equalTo(archivedId.intValue())));
+
+        mvc.perform(get(actionsUrl + "/" + archivedId)).andDo(MockMvcResultPrinter.print())
+                .andExpect(status().isOk()).andExpect(jsonPath("id", equalTo(archivedId.intValue())))
+                .andExpect(jsonPath("status", equalTo("finished")));
+        mvc.perform(get(actionsUrl + "/" + archivedId + "/status")
+                        .param(MgmtRestConstants.REQUEST_PARAMETER_SORTING, "ID:DESC"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(3)))
+                .andExpect(jsonPath("content.[0].type", equalTo("finished")))
+                .andExpect(jsonPath("content.[0].messages", hasSize(1)))
+                .andExpect(jsonPath("content.[1].type", equalTo("canceling")));
+    }
+
     @Test
     @Description("Ensures that security token is not returned if user does not have READ_TARGET_SEC_TOKEN permission.")
     @WithUser(allSpPermissions = false, authorities = { SpPermission.READ_TARGET, SpPermission.CREATE_TARGET })
@@ -646,6 +687,61 @@ class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest {
                 .andExpect(jsonPath("$.content.[?(@.name=='" + idE + "')].updateStatus", contains("registered")));
     }
 
+    @Test
+    @Description("Ensures that the targets can be paged through with keyset pagination and without count.")
+    void getTargetsWithKeysetPagination() throws Exception {
+        createTargetsAlphabetical(5);
+
+        final List<String> controllerIds = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            final MvcResult result = mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                    .param(REQUEST_PARAMETER_PAGING_CURSOR, cursor)
+                    .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(2))
+                    .param(REQUEST_PARAMETER_PAGING_COUNT, String.valueOf(false))
+                    .param(REQUEST_PARAMETER_SEARCH, "name=out=(c)"))
+                    .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                    .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(-1)))
+                    .andReturn();
+            controllerIds.addAll(JsonPath.read(result.getResponse().getContentAsString(), "$.content[*].controllerId"));
+            cursor = JsonPath.<Map<String, Object>> read(result.getResponse().getContentAsString(), "$")
+                    .containsKey("next") ? JsonPath.read(result.getResponse().getContentAsString(), "$.next") : null;
+            pages++;
+        }
+        assertThat(controllerIds).containsExactly("a", "b", "d", "e");
+        assertThat(pages).isEqualTo(3);
+
+        // descending by name, counted
+        final MvcResult first = mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(2))
+                .param(REQUEST_PARAMETER_SORTING, "NAME:DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(5)))
+                .andExpect(jsonPath("$.content[*].controllerId", contains("e", "d")))
+                .andReturn();
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING)
+                .param(REQUEST_PARAMETER_PAGING_CURSOR,
+                        JsonPath.<String> read(first.getResponse().getContentAsString(), "$.next"))
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].controllerId", contains("c", "b")));
+    }
+
+    @Test
+    @Description("Ensures that invalid keyset pagination requests are rejected.")
+    void getTargetsWithInvalidKeysetPagination() throws Exception {
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING).param(REQUEST_PARAMETER_PAGING_CURSOR, "invalid"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING).param(REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(REQUEST_PARAMETER_SORTING, "NAME:ASC,CONTROLLERID:ASC"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+        mvc.perform(get(MgmtRestConstants.TARGET_V1_REQUEST_MAPPING).param(REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(REQUEST_PARAMETER_SORTING, "DESCRIPTION:ASC"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Description("Ensures that the get request for a target works.")
     void getSingleTarget() throws Exception {
@@ -1290,6 +1386,52 @@ class MgmtTargetResourceTest extends AbstractManagementApiIntegrationTest {
                 .andExpect(jsonPath(JSON_PATH_PAGED_LIST_CONTENT, hasSize(1)));
     }
 
+    @Test
+    @Description("Verifies that the actions and the status list can be paged through with keyset pagination.")
+    void getActionsAndActionStatusWithKeysetPagination() throws Exception {
+        final String knownTargetId = "targetId";
+        final List<Action> actions = generateTargetWithTwoUpdatesWithOneOverride(knownTargetId);
+        final String actionsUrl = MgmtRestConstants.TARGET_V1_REQUEST_MAPPING + "/" + knownTargetId + "/"
+                + MgmtRestConstants.TARGET_V1_ACTIONS;
+
+        // actions, default sort is by ID descending
+        final MvcResult firstActions = mvc.perform(get(actionsUrl).param(REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(1)))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actions.get(1).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(2)))
+                .andExpect(jsonPath("next", notNullValue()))
+                .andReturn();
+        mvc.perform(get(actionsUrl)
+                .param(REQUEST_PARAMETER_PAGING_CURSOR,
+                        JsonPath.<String> read(firstActions.getResponse().getContentAsString(), "$.next"))
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(1))
+                .param(REQUEST_PARAMETER_PAGING_COUNT, String.valueOf(false)))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actions.get(0).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(-1)));
+
+        // status list sorted by reported at
+        final Action action = actions.get(0);
+        final List<ActionStatus> actionStatus = deploymentManagement.findActionStatusByAction(PAGE, action.getId())
+                .getContent().stream().sorted(Comparator.comparing(ActionStatus::getId)).toList();
+        final String statusUrl = actionsUrl + "/" + action.getId() + "/" + MgmtRestConstants.TARGET_V1_ACTION_STATUS;
+        final MvcResult firstStatus = mvc.perform(get(statusUrl).param(REQUEST_PARAMETER_PAGING_CURSOR, "")
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(1))
+                .param(REQUEST_PARAMETER_SORTING, "REPORTEDAT:ASC"))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actionStatus.get(0).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(2)))
+                .andReturn();
+        mvc.perform(get(statusUrl)
+                .param(REQUEST_PARAMETER_PAGING_CURSOR,
+                        JsonPath.<String> read(firstStatus.getResponse().getContentAsString(), "$.next"))
+                .param(REQUEST_PARAMETER_PAGING_LIMIT, String.valueOf(1)))
+                .andDo(MockMvcResultPrinter.print()).andExpect(status().isOk())
+                .andExpect(jsonPath("content.[0].id", equalTo(actionStatus.get(1).getId().intValue())))
+                .andExpect(jsonPath(JSON_PATH_PAGED_LIST_TOTAL, equalTo(2)));
+    }
+
     @Test
     @Description("Verifies getting multiple actions with the paging request parameter.")
     void getActionsWithPagingLimitRequestParameter() throws Exception {
@@ -12,13 +12,18 @@ package org.eclipse.hawkbit.rest.util;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,7 +32,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -46,7 +50,27 @@ public final class FileStreamingUtil {
      */
     public static final String ARTIFACT_MD5_DWNL_SUFFIX = ".MD5SUM";
     private static final int BUFFER_SIZE = 0x2000; // 8k
-    
+    private static final int CHANNEL_BUFFER_SIZE = 0x10000; // 64k
+
+    // request attributes of the sendfile support of the servlet container
+    // (Tomcat), see org.apache.catalina.servlets.DefaultServlet
+    private static final String SENDFILE_SUPPORT_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    // smaller files are written directly, same as the default of Tomcat
+    private static final long SENDFILE_MIN_SIZE = 48L * 1024;
+
+    private static final LongAdder STREAMED_BYTES = new LongAdder();
+
+    /**
+     * @return number of artifact bytes written to the clients or handed over
+     *         to the sendfile support of the servlet container since start
+     */
+    public static long getStreamedBytes() {
+        return STREAMED_BYTES.sum();
+    }
+
     /**
      * Write a md5 file response.
      *
@@ -94,6 +118,16 @@ public final class FileStreamingUtil {
      * The request supports RFC7233 range requests.
      * </p>
      *
+     * <p>
+     * Artifacts which are available as plain local file (see
+     * {@link DbArtifact#getFilePath()}) are read with positioned
+     * {@link FileChannel} reads instead of skipping the {@link InputStream} up
+     * to the range start. If no progress listener is given and the servlet
+     * container supports it, full and single range requests are handed over
+     * to the sendfile support of the container, i.e. the file is transferred
+     * by the kernel without copying it into the JVM.
+     * </p>
+     *
      * @param artifact
      *            the artifact
      * @param filename
@@ -171,12 +205,12 @@ public final class FileStreamingUtil {
         // full request - no range
         if (ranges.isEmpty() || ranges.get(0).equals(full)) {
             log.debug("filename ({}) results into a full request: ", filename);
-            result = handleFullFileRequest(artifact, filename, response, progressListener, full);
+            result = handleFullFileRequest(artifact, filename, request, response, progressListener, full);
         }
         // standard range request
         else if (ranges.size() == 1) {
             log.debug("filename ({}) results into a standard range request: ", filename);
-            result = handleStandardRangeRequest(artifact, filename, response, progressListener, ranges);
+            result = handleStandardRangeRequest(artifact, filename, request, response, progressListener, ranges);
         }
         // multipart range request
         else {
@@ -201,15 +235,16 @@ public final class FileStreamingUtil {
     }
 
     private static ResponseEntity<InputStream> handleFullFileRequest(final DbArtifact artifact, final String filename,
-            final HttpServletResponse response, final FileStreamingProgressListener progressListener,
-            final ByteRange full) {
+            final HttpServletRequest request, final HttpServletResponse response,
+            final FileStreamingProgressListener progressListener, final ByteRange full) {
         final ByteRange r = full;
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
 
-        try (final InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            if (!sendFile(artifact, request, progressListener, r)) {
+                copyRange(artifact, response.getOutputStream(), progressListener, r, filename);
+            }
         } catch (final IOException e) {
             throw new FileStreamingFailedException("fullfileRequest " + filename, e);
         }
@@ -279,17 +314,14 @@ public final class FileStreamingUtil {
             final ServletOutputStream to = response.getOutputStream();
 
             for (final ByteRange r : ranges) {
-                try (final InputStream from = artifact.getFileInputStream()) {
-
-                    // Add multipart boundary and header fields for every range.
-                    to.println();
-                    to.println("--" + ByteRange.MULTIPART_BOUNDARY);
-                    to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
-                            + r.getTotal());
-
-                    // Copy single part range of multi part range.
-                    copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
-                }
+                // Add multipart boundary and header fields for every range.
+                to.println();
+                to.println("--" + ByteRange.MULTIPART_BOUNDARY);
+                to.println(HttpHeaders.CONTENT_RANGE + ": bytes " + r.getStart() + "-" + r.getEnd() + "/"
+                        + r.getTotal());
+
+                // Copy single part range of multi part range.
+                copyRange(artifact, to, progressListener, r, filename);
             }
 
             // End with final multipart boundary.
@@ -303,16 +335,17 @@ public final class FileStreamingUtil {
     }
 
     private static ResponseEntity<InputStream> handleStandardRangeRequest(final DbArtifact artifact,
-            final String filename, final HttpServletResponse response,
+            final String filename, final HttpServletRequest request, final HttpServletResponse response,
             final FileStreamingProgressListener progressListener, final List<ByteRange> ranges) {
         final ByteRange r = ranges.get(0);
         response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + r.getStart() + "-" + r.getEnd() + "/" + r.getTotal());
         response.setContentLengthLong(r.getLength());
         response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
-        try (final InputStream from = artifact.getFileInputStream()) {
-            final ServletOutputStream to = response.getOutputStream();
-            copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        try {
+            if (!sendFile(artifact, request, progressListener, r)) {
+                copyRange(artifact, response.getOutputStream(), progressListener, r, filename);
+            }
         } catch (final IOException e) {
             log.error("standardRangeRequest of file ({}) failed!", filename, e);
             throw new FileStreamingFailedException(filename);
@@ -321,6 +354,76 @@ public final class FileStreamingUtil {
         return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT).build();
     }
 
+    /**
+     * Hands the range over to the sendfile support of the servlet container.
+     * The container writes the file after the request has been processed, so
+     * this is only done if no progress has to be reported.
+     *
+     * @return <code>true</code> if the range is written by the container
+     */
+    private static boolean sendFile(final DbArtifact artifact, final HttpServletRequest request,
+            final FileStreamingProgressListener progressListener, final ByteRange r) throws IOException {
+        if (progressListener != null || r.getLength() < SENDFILE_MIN_SIZE
+                || !Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTRIBUTE))) {
+            return false;
+        }
+
+        final Optional<Path> file = artifact.getFilePath();
+        if (file.isEmpty()) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, file.get().toRealPath().toString());
+        request.setAttribute(SENDFILE_START_ATTRIBUTE, r.getStart());
+        request.setAttribute(SENDFILE_END_ATTRIBUTE, r.getEnd() + 1);
+        STREAMED_BYTES.add(r.getLength());
+        return true;
+    }
+
+    private static long copyRange(final DbArtifact artifact, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final ByteRange r, final String filename)
+            throws IOException {
+        final Optional<Path> file = artifact.getFilePath();
+        if (file.isPresent()) {
+            try (final FileChannel from = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+                return copyChannel(from, to, progressListener, r.getStart(), r.getLength(), filename);
+            }
+        }
+
+        // the artifact positions the stream, e.g. encrypted artifacts skip the
+        // blocks before the range start without decrypting them
+        try (final InputStream from = artifact.getFileInputStream(r.getStart())) {
+            return copyStreams(from, to, progressListener, r.getStart(), r.getLength(), filename);
+        }
+    }
+
+    private static long copyChannel(final FileChannel from, final OutputStream to,
+            final FileStreamingProgressListener progressListener, final long start, final long length,
+            final String filename) throws IOException {
+
+        final long startMillis = System.currentTimeMillis();
+        log.trace("Start of copy-channel of file {} from {} to {}", filename, start, length);
+
+        Objects.requireNonNull(from);
+        Objects.requireNonNull(to);
+        final ByteBuffer buf = ByteBuffer.allocate((int) Math.min(CHANNEL_BUFFER_SIZE, Math.max(1, length)));
+        final Progress progress = new Progress(progressListener, length);
+
+        while (progress.getTotal() < length) {
+            buf.clear().limit((int) Math.min(buf.capacity(), length - progress.getTotal()));
+            // positioned read, the range start is not reached by skipping
+            final int r = from.read(buf, start + progress.getTotal());
+            if (r == -1) {
+                break;
+            }
+
+            to.write(buf.array(), 0, r);
+            progress.shipped(r);
+        }
+
+        return checkCompleted(progress, length, filename, startMillis);
+    }
+
     private static long copyStreams(final InputStream from, final OutputStream to,
             final FileStreamingProgressListener progressListener, final long start, final long length,
             final String filename) throws IOException {
@@ -331,14 +434,10 @@ public final class FileStreamingUtil {
         Objects.requireNonNull(from);
         Objects.requireNonNull(to);
         final byte[] buf = new byte[BUFFER_SIZE];
-        long total = 0;
-        int progressPercent = 1;
-
-        IOUtils.skipFully(from, start);
+        final Progress progress = new Progress(progressListener, length);
 
         long toRead = length;
         boolean toContinue = true;
-        long shippedSinceLastEvent = 0;
 
         while (toContinue) {
             final int r = from.read(buf);
@@ -349,27 +448,20 @@ public final class FileStreamingUtil {
             toRead -= r;
             if (toRead > 0) {
                 to.write(buf, 0, r);
-                total += r;
-                shippedSinceLastEvent += r;
+                progress.shipped(r);
             } else {
                 to.write(buf, 0, (int) toRead + r);
-                total += toRead + r;
-                shippedSinceLastEvent += toRead + r;
+                progress.shipped(toRead + r);
                 toContinue = false;
             }
-
-            if (progressListener != null) {
-                final int newPercent = (int)Math.floor(total * 100.0 / length);
-
-                // every 10 percent an event
-                if (newPercent == 100 || newPercent > progressPercent + 10) {
-                    progressPercent = newPercent;
-                    progressListener.progress(length, shippedSinceLastEvent, total);
-                    shippedSinceLastEvent = 0;
-                }
-            }
         }
 
+        return checkCompleted(progress, length, filename, startMillis);
+    }
+
+    private static long checkCompleted(final Progress progress, final long length, final String filename,
+            final long startMillis) {
+        final long total = progress.getTotal();
         final long totalTime = System.currentTimeMillis() - startMillis;
 
         if (total < length) {
@@ -377,11 +469,51 @@ public final class FileStreamingUtil {
                     + " bytes could not be written to client, total time on write: !" + totalTime + " ms");
         }
 
-        log.trace("Finished copy-stream of file {} with length {} in {} ms", filename, length, totalTime);
+        log.trace("Finished copy of file {} with length {} in {} ms", filename, length, totalTime);
 
         return total;
     }
 
+    /**
+     * Tracks the shipped bytes of a range and reports the progress to the
+     * {@link FileStreamingProgressListener}.
+     */
+    private static final class Progress {
+
+        private final FileStreamingProgressListener progressListener;
+        private final long length;
+
+        private long total;
+        private int progressPercent = 1;
+        private long shippedSinceLastEvent;
+
+        private Progress(final FileStreamingProgressListener progressListener, final long length) {
+            this.progressListener = progressListener;
+            this.length = length;
+        }
+
+        private long getTotal() {
+            return total;
+        }
+
+        private void shipped(final long shipped) {
+            STREAMED_BYTES.add(shipped);
+            total += shipped;
+            shippedSinceLastEvent += shipped;
+
+            if (progressListener != null) {
+                final int newPercent = (int) Math.floor(total * 100.0 / length);
+
+                // every 10 percent an event
+                if (newPercent == 100 || newPercent > progressPercent + 10) {
+                    progressPercent = newPercent;
+                    progressListener.progress(length, shippedSinceLastEvent, total);
+                    shippedSinceLastEvent = 0;
+                }
+            }
+        }
+    }
+
     private static final class ByteRange {
         private static final String MULTIPART_BOUNDARY = "THIS_STRING_SEPARATES_MULTIPART";
 
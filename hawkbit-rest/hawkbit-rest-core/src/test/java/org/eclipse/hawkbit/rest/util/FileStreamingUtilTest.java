@@ -12,14 +12,22 @@ package org.eclipse.hawkbit.rest.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
 
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.http.HttpServletRequest;
@@ -28,12 +36,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifact;
 import org.eclipse.hawkbit.artifact.repository.model.DbArtifactHash;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
 import io.qameta.allure.Story;
 
@@ -112,4 +122,116 @@ class FileStreamingUtilTest {
         verify(outputStream, times(0)).print(anyString());
         verify(outputStream, times(0)).write(any(), anyInt(), anyInt());
     }
+
+    @Test
+    @Description("Verifies that the ranges of a multipart request are read from the file of a file based artifact.")
+    void shouldProcessRangeHeaderForMultipartRequestsOfFileArtifact(@TempDir final Path tempDir) throws IOException {
+        final DbArtifact artifact = fileArtifact(tempDir, CONTENT_BYTES);
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        final ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(outputStream);
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(servletRequest.getHeader("Range")).thenReturn("bytes=0-10,9-15,16-");
+
+        final ResponseEntity<InputStream> responseEntity = FileStreamingUtil.writeFileResponse(artifact, "test.file",
+                System.currentTimeMillis(), servletResponse, servletRequest, null);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        final ArgumentCaptor<byte[]> bufCaptor = ArgumentCaptor.forClass(byte[].class);
+        final ArgumentCaptor<Integer> lenCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(outputStream, times(3)).write(bufCaptor.capture(), eq(0), lenCaptor.capture());
+        assertThat(lenCaptor.getAllValues()).containsExactly(11, 7, 39); // Range lengths
+        assertThat(new String(bufCaptor.getAllValues().get(2), 0, 39, StandardCharsets.UTF_8))
+                .isEqualTo(CONTENT.substring(16));
+    }
+
+    @Test
+    @Description("Verifies that the progress of a file based artifact is reported while it is copied.")
+    void shouldReportProgressOfFileArtifact(@TempDir final Path tempDir) throws IOException {
+        final byte[] content = new byte[300_000];
+        Arrays.fill(content, (byte) 'x');
+        final DbArtifact artifact = fileArtifact(tempDir, content);
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        final ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(outputStream);
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        // sendfile is not used as the progress has to be reported
+        Mockito.when(servletRequest.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+        final FileStreamingProgressListener progressListener = Mockito.mock(FileStreamingProgressListener.class);
+
+        FileStreamingUtil.writeFileResponse(artifact, "test.file", 0, servletResponse, servletRequest,
+                progressListener);
+
+        verify(servletRequest, never()).setAttribute(anyString(), any());
+        final ArgumentCaptor<Integer> lenCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(outputStream, times(5)).write(any(), eq(0), lenCaptor.capture());
+        assertThat(lenCaptor.getAllValues().stream().mapToInt(Integer::intValue).sum()).isEqualTo(content.length);
+        verify(progressListener, times(5)).progress(eq((long) content.length), anyLong(), anyLong());
+        verify(progressListener).progress(content.length, content.length - 4L * 0x10000, content.length);
+    }
+
+    @Test
+    @Description("Verifies that a range of a file based artifact is handed over to the sendfile support of the "
+            + "servlet container if no progress has to be reported.")
+    void shouldUseSendfileForFileArtifact(@TempDir final Path tempDir) throws IOException {
+        final byte[] content = new byte[100_000];
+        final DbArtifact artifact = fileArtifact(tempDir, content);
+        final HttpServletResponse servletResponse = Mockito.mock(HttpServletResponse.class);
+        final ServletOutputStream outputStream = Mockito.mock(ServletOutputStream.class);
+        Mockito.when(servletResponse.getOutputStream()).thenReturn(outputStream);
+        final HttpServletRequest servletRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(servletRequest.getHeader("Range")).thenReturn("bytes=1000-");
+        Mockito.when(servletRequest.getAttribute("org.apache.tomcat.sendfile.support")).thenReturn(Boolean.TRUE);
+
+        final ResponseEntity<InputStream> responseEntity = FileStreamingUtil.writeFileResponse(artifact, "test.file",
+                System.currentTimeMillis(), servletResponse, servletRequest, null);
+
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        verify(servletResponse).setContentLengthLong(99_000);
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.filename",
+                artifact.getFilePath().orElseThrow().toRealPath().toString());
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.start", 1000L);
+        verify(servletRequest).setAttribute("org.apache.tomcat.sendfile.end", 100_000L);
+        verify(outputStream, never()).write(any(), anyInt(), anyInt());
+    }
+
+    private static DbArtifact fileArtifact(final Path tempDir, final byte[] content) throws IOException {
+        final Path file = Files.write(tempDir.resolve("artifact"), content);
+        return new DbArtifact() {
+
+            @Override
+            public String getArtifactId() {
+                return "2";
+            }
+
+            @Override
+            public DbArtifactHash getHashes() {
+                return new DbArtifactHash("sha1-222", "md5-222", "sha256-222");
+            }
+
+            @Override
+            public long getSize() {
+                return content.length;
+            }
+
+            @Override
+            public String getContentType() {
+                return "application/octet-stream";
+            }
+
+            @Override
+            public InputStream getFileInputStream() {
+                try {
+                    return Files.newInputStream(file);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public Optional<Path> getFilePath() {
+                return Optional.of(file);
+            }
+        };
+    }
 }
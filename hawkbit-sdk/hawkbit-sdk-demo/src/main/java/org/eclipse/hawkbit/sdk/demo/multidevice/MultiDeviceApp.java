@@ -18,20 +18,20 @@ import org.eclipse.hawkbit.sdk.Controller;
 import org.eclipse.hawkbit.sdk.HawkbitClient;
 import org.eclipse.hawkbit.sdk.HawkbitServer;
 import org.eclipse.hawkbit.sdk.Tenant;
-import org.eclipse.hawkbit.sdk.device.DdiController;
+import org.eclipse.hawkbit.sdk.device.DdiSimulator;
 import org.eclipse.hawkbit.sdk.device.DdiTenant;
+import org.eclipse.hawkbit.sdk.device.SimulatedUpdateHandler;
+import org.eclipse.hawkbit.sdk.device.SimulatorStats;
 import org.eclipse.hawkbit.sdk.device.UpdateHandler;
 import org.eclipse.hawkbit.sdk.mgmt.MgmtApi;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
-import java.util.Optional;
-import java.util.concurrent.Executors;
-
 /**
  * Abstract class representing DDI device connecting directly to hawkVit.
  */
@@ -43,11 +43,17 @@ public class MultiDeviceApp {
         SpringApplication.run(MultiDeviceApp.class, args);
     }
 
+    @Bean
+    SimulatorStats simulatorStats() {
+        return new SimulatorStats();
+    }
+
     @Bean
     HawkbitClient hawkbitClient(
             final HawkbitServer hawkBitServer,
-            final Client client, final Encoder encoder, final Decoder decoder, final Contract contract) {
-        return new HawkbitClient(hawkBitServer, client, encoder, decoder, contract);
+            final Client client, final Encoder encoder, final Decoder decoder, final Contract contract,
+            final SimulatorStats simulatorStats) {
+        return new HawkbitClient(hawkBitServer, simulatorStats.meter(client), encoder, decoder, contract);
     }
 
     @Bean
@@ -56,6 +62,26 @@ public class MultiDeviceApp {
         return new DdiTenant(defaultTenant, hawkbitClient);
     }
 
+    @Bean
+    @ConfigurationProperties("hawkbit.simulator")
+    DdiSimulator.Config simulatorConfig() {
+        return new DdiSimulator.Config().setPollMillis(10_000);
+    }
+
+    @Bean
+    @ConfigurationProperties("hawkbit.simulator.update")
+    SimulatedUpdateHandler simulatedUpdateHandler() {
+        return new SimulatedUpdateHandler();
+    }
+
+    // all devices share the threads of the simulator (instead of a thread per device)
+    @Bean(destroyMethod = "destroy")
+    DdiSimulator ddiSimulator(
+            final DdiTenant ddiTenant, final UpdateHandler updateHandler,
+            final DdiSimulator.Config simulatorConfig, final SimulatorStats simulatorStats) {
+        return new DdiSimulator(ddiTenant, updateHandler, simulatorConfig, simulatorStats);
+    }
+
     @Bean
     MgmtApi mgmtApi(final Tenant defaultTenant, final HawkbitClient hawkbitClient) {
         return new MgmtApi(defaultTenant, hawkbitClient);
@@ -64,16 +90,14 @@ public class MultiDeviceApp {
     @ShellComponent
     public static class Shell {
 
-        private final DdiTenant ddiTenant;
+        private final DdiSimulator ddiSimulator;
         private final MgmtApi mgmtApi;
-        private final UpdateHandler updateHandler;
 
         private boolean setup;
 
-        Shell(final DdiTenant ddiTenant, final MgmtApi mgmtApi, final Optional<UpdateHandler> updateHandler) {
-            this.ddiTenant = ddiTenant;
+        Shell(final DdiSimulator ddiSimulator, final MgmtApi mgmtApi) {
+            this.ddiSimulator = ddiSimulator;
             this.mgmtApi = mgmtApi;
-            this.updateHandler = updateHandler.orElse(null);
         }
 
         @ShellMethod(key = "setup")
@@ -92,24 +116,15 @@ public class MultiDeviceApp {
             }
             // Create device with security token if not yet registered in this execution
             // if already created in this execution of app, just start the poll
-            // for each new device - separate ThreadScheduler
-            ddiTenant.getController(controllerId).ifPresentOrElse(
-                    ddiController -> ddiController.start(Executors.newSingleThreadScheduledExecutor()),
-                    () -> ddiTenant.createController(Controller.builder()
-                                .controllerId(controllerId)
-                                .securityToken(securityTargetToken)
-                                .build(),updateHandler)
-                            .setOverridePollMillis(10_000)
-                            .start(Executors.newSingleThreadScheduledExecutor())
-                    );
+            ddiSimulator.start(Controller.builder()
+                    .controllerId(controllerId)
+                    .securityToken(securityTargetToken)
+                    .build());
         }
 
         @ShellMethod(key = "stop-one")
         public void stopOne(@ShellOption("--id") final String controllerId) {
-            ddiTenant.getController(controllerId).ifPresentOrElse(
-                    DdiController::stop,
-                    () -> log.error("Controller with id " + controllerId + " not found!"));
-
+            ddiSimulator.stop(controllerId);
         }
 
         @ShellMethod(key = "start")
@@ -132,6 +147,11 @@ public class MultiDeviceApp {
             }
         }
 
+        @ShellMethod(key = "stats")
+        public String stats() {
+            return ddiSimulator.report();
+        }
+
         private static String toId(final String prefix, final int index) {
             return String.format("%s%03d", prefix, index);
         }
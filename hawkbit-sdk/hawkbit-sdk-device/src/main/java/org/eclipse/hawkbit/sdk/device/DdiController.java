@@ -9,6 +9,7 @@
  */
 package org.eclipse.hawkbit.sdk.device;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.experimental.Accessors;
@@ -36,8 +37,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Class representing DDI device connecting directly to hawkBit.
@@ -67,14 +73,31 @@ public class DdiController {
     @Setter
     @Accessors(chain = true)
     private long overridePollMillis = -1; // -1 means disabled
+    @Setter
+    @Accessors(chain = true)
+    private double pollJitter; // 0.1 means that the poll interval is randomly changed with up to +/- 10%
 
     // state
     @SuppressWarnings("java:S3077") // volatile used only for the reference as expected
     private volatile ScheduledExecutorService executorService;
+    private volatile boolean executorServiceShared;
+    // identifies the current start, the polls scheduled by a previous start are dropped
+    @Getter(AccessLevel.NONE)
+    private volatile Object pollSession;
+    @Getter(AccessLevel.NONE)
+    @SuppressWarnings("java:S3077") // volatile used only for the reference as expected
+    private volatile ScheduledFuture<?> nextPoll;
     private volatile Long currentActionId;
 
     private volatile Long lastActionId;
 
+    // the tasks of the controller (polls, update processing and feedback) are run one after the other, even if the
+    // executor is multithreaded
+    @Getter(AccessLevel.NONE)
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean taskRunning = new AtomicBoolean();
+
     /**
      * Creates a new device instance.
      *
@@ -94,25 +117,85 @@ public class DdiController {
         ddiApi = hawkbitClient.ddiService(DdiRootControllerRestApi.class, tenant, controller);
     }
 
-    // expects single threaded {@link java.util.concurrent.ScheduledExecutorService}
+    // expects single threaded {@link java.util.concurrent.ScheduledExecutorService}, it is shut down on stop
     public void start(final ScheduledExecutorService executorService) {
-        stop();
+        start(executorService, false, 0);
+    }
 
-        Objects.requireNonNull(executorService, "Require non null executor!");
-        this.executorService = executorService;
-        executorService.submit(this::poll);
+    /**
+     * Starts the controller with a {@link ScheduledExecutorService} shared with other controllers. The tasks of the
+     * controller, i.e. the polls, the update processing and the tasks scheduled by {@link #schedule(Runnable, long)},
+     * never run in parallel. On stop, only the next poll of the controller is canceled, the executor is not shut down.
+     *
+     * @param executorService the shared executor
+     * @param initialDelayMillis the delay of the first poll, could be used to spread the polls of many controllers
+     */
+    public void startShared(final ScheduledExecutorService executorService, final long initialDelayMillis) {
+        start(executorService, true, initialDelayMillis);
     }
 
-    public void stop() {
-        if (executorService != null) {
-            executorService.shutdownNow();
+    /**
+     * Schedules a task of the controller, e.g. a step of the update processing. The task doesn't run in parallel
+     * with the other tasks of the controller.
+     *
+     * @param task the task
+     * @param delayMillis the delay of the task
+     * @return <code>false</code> if the controller is stopped and the task is not scheduled
+     */
+    public boolean schedule(final Runnable task, final long delayMillis) {
+        final ScheduledExecutorService executor = executorService;
+        if (executor == null) {
+            return false;
         }
+        executor.schedule(() -> execute(task), delayMillis, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    public void stop() {
+        final ScheduledExecutorService executor = executorService;
+        pollSession = null;
         executorService = null;
+        if (executor != null) {
+            if (executorServiceShared) {
+                Optional.ofNullable(nextPoll).ifPresent(poll -> poll.cancel(false));
+            } else {
+                executor.shutdownNow();
+            }
+        }
+        nextPoll = null;
         lastActionId = null;
         currentActionId = null;
     }
 
-    private void poll() {
+    private void start(
+            final ScheduledExecutorService executorService, final boolean shared, final long initialDelayMillis) {
+        stop();
+
+        Objects.requireNonNull(executorService, "Require non null executor!");
+        final Object session = new Object();
+        this.executorServiceShared = shared;
+        this.executorService = executorService;
+        this.pollSession = session;
+        schedulePoll(executorService, session, initialDelayMillis);
+    }
+
+    private void schedulePoll(final ScheduledExecutorService executor, final Object session, final long delayMillis) {
+        if (pollSession == session) {
+            final ScheduledFuture<?> poll = executor.schedule(
+                    () -> execute(() -> poll(session)), delayMillis, TimeUnit.MILLISECONDS);
+            nextPoll = poll;
+            if (pollSession != session) {
+                // stopped meanwhile
+                poll.cancel(false);
+            }
+        }
+    }
+
+    private void poll(final Object session) {
+        if (pollSession != session) {
+            return;
+        }
+
         log.debug(LOG_PREFIX + " Polling ...", tenantId, controllerId);
         Optional.ofNullable(executorService).ifPresent(executor ->
             getControllerBase().ifPresentOrElse(
@@ -124,7 +207,7 @@ public class DdiController {
                                     getControllerId(), actionId);
                             // TODO - confirmation handler
                             sendConfirmationFeedback(actionId);
-                            executor.schedule(this::poll, IMMEDIATE_MS, TimeUnit.MILLISECONDS);
+                            schedulePoll(executor, session, IMMEDIATE_MS);
                         } else {
                             getRequiredLink(controllerBase, DEPLOYMENT_BASE_LINK).flatMap(this::getActionWithDeployment).ifPresentOrElse(actionWithDeployment -> {
                                 final long actionId = actionWithDeployment.getKey();
@@ -142,8 +225,8 @@ public class DdiController {
                                     final List<DdiChunk> modules = deployment.getChunks();
 
                                     currentActionId = actionId;
-                                    executor.submit(
-                                            updateHandler.getUpdateProcessor(this, updateType, modules));
+                                    // runs after this poll
+                                    execute(updateHandler.getUpdateProcessor(this, updateType, modules));
                                 } else if (currentActionId != actionId) {
                                     // TODO - cancel and start new one?
                                     log.info(LOG_PREFIX + "Action {} is canceled while in process (new {})!", getTenantId(),
@@ -156,16 +239,35 @@ public class DdiController {
                                             getControllerId(), getCurrentActionId());
                                 }
                             });
-                            executor.schedule(this::poll, getPollMillis(controllerBase), TimeUnit.MILLISECONDS);
+                            schedulePoll(executor, session, jitter(getPollMillis(controllerBase)));
                         }
                     },
                     () -> {
                         // error has occurred or no controller base hasn't been acquired
-                        executor.schedule(this::poll, DEFAULT_POLL_MS, TimeUnit.MILLISECONDS);
+                        schedulePoll(executor, session, jitter(DEFAULT_POLL_MS));
                     }
             ));
     }
 
+    private void execute(final Runnable task) {
+        tasks.add(task);
+        // the thread which gets the flag runs the queued tasks, also the ones added by other threads meanwhile
+        while (!tasks.isEmpty() && taskRunning.compareAndSet(false, true)) {
+            try {
+                Runnable next;
+                while ((next = tasks.poll()) != null) {
+                    try {
+                        next.run();
+                    } catch (final RuntimeException e) {
+                        log.error(LOG_PREFIX + "Task failed", getTenantId(), getControllerId(), e);
+                    }
+                }
+            } finally {
+                taskRunning.set(false);
+            }
+        }
+    }
+
     private Optional<DdiControllerBase> getControllerBase() {
         log.trace(LOG_PREFIX + "Polling ...", getTenantId(), getControllerId());
         final ResponseEntity<DdiControllerBase> poll;
@@ -206,6 +308,16 @@ public class DdiController {
         }
     }
 
+    private long jitter(final long pollMillis) {
+        if (pollJitter <= 0 || pollMillis <= 0) {
+            return pollMillis;
+        }
+
+        // spreads the polls of controllers started at the same time
+        final long maxJitter = (long) (pollMillis * Math.min(pollJitter, 1.0));
+        return pollMillis + ThreadLocalRandom.current().nextLong(-maxJitter, maxJitter + 1);
+    }
+
     private Optional<Map.Entry<Long, DdiDeploymentBase>> getActionWithDeployment(final Link deploymentBaseLink) {
         final long actionId = getActionId(deploymentBaseLink);
         final ResponseEntity<DdiDeploymentBase> action = getDdiApi()
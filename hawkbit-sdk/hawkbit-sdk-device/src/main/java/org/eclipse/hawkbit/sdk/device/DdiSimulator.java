@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.sdk.device;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.sdk.Controller;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Simulator engine running a large number of DDI controllers of a {@link DdiTenant}. Instead of a thread (scheduler)
+ * per controller, all controllers share one scheduler with a small thread pool - a sleeping controller is just a
+ * scheduled task. The first polls are spread randomly over a ramp-up period and the next poll intervals are
+ * jittered, so the controllers don't poll in waves. If {@link SimulatorStats} are given, latency and throughput are
+ * logged periodically.
+ */
+@Slf4j
+public class DdiSimulator {
+
+    private final DdiTenant ddiTenant;
+    private final UpdateHandler updateHandler;
+    private final Config config;
+    private final SimulatorStats stats;
+
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a new simulator.
+     *
+     * @param ddiTenant the tenant to create the controllers in
+     * @param updateHandler the update handler of the controllers, shall not block the threads for long (e.g.
+     *                      {@link SimulatedUpdateHandler})
+     * @param config the simulator configuration
+     * @param stats the request statistics to report, <code>null</code> if not measured
+     */
+    public DdiSimulator(final DdiTenant ddiTenant, final UpdateHandler updateHandler, final Config config,
+                        final SimulatorStats stats) {
+        this.ddiTenant = ddiTenant;
+        this.updateHandler = updateHandler;
+        this.config = config;
+        this.stats = stats;
+
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ddi-simulator-");
+        threadFactory.setDaemon(true);
+        scheduler = new ScheduledThreadPoolExecutor(config.getThreads(), threadFactory);
+        // the canceled next polls of the stopped controllers shall not stay in the queue
+        scheduler.setRemoveOnCancelPolicy(true);
+        if (stats != null && config.getReportMillis() > 0) {
+            scheduler.scheduleAtFixedRate(
+                    this::report, config.getReportMillis(), config.getReportMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Starts a controller, creates it if not already created. If already running, it is restarted.
+     *
+     * @param controller the controller
+     * @return the started controller
+     */
+    public DdiController start(final Controller controller) {
+        final DdiController ddiController = ddiTenant.getController(controller.getControllerId())
+                .orElseGet(() -> ddiTenant.createController(controller, updateHandler));
+        ddiController
+                .setOverridePollMillis(config.getPollMillis())
+                .setPollJitter(config.getPollJitter())
+                .startShared(scheduler, config.getRampUpMillis() > 0 ?
+                        ThreadLocalRandom.current().nextLong(config.getRampUpMillis()) : 0);
+        running.add(controller.getControllerId());
+        return ddiController;
+    }
+
+    public void stop(final String controllerId) {
+        ddiTenant.getController(controllerId).ifPresentOrElse(
+                ddiController -> {
+                    ddiController.stop();
+                    running.remove(controllerId);
+                },
+                () -> log.error("Controller with id {} not found!", controllerId));
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    /**
+     * Returns the simulator state and the statistics since the previous report.
+     *
+     * @return the report
+     */
+    public String report() {
+        final String report = String.format("%d controllers running, %d tasks scheduled, %d threads active%n%s",
+                running.size(), scheduler.getQueue().size(), scheduler.getActiveCount(),
+                stats == null ? "no statistics" : stats.report());
+        log.info("Simulator: {}", report);
+        return report;
+    }
+
+    public void destroy() {
+        running.forEach(controllerId -> ddiTenant.getController(controllerId).ifPresent(DdiController::stop));
+        running.clear();
+        scheduler.shutdownNow();
+    }
+
+    @Data
+    @Accessors(chain = true)
+    public static class Config {
+
+        // threads shared by all controllers, polls are blocking http requests so more threads than cpus makes sense
+        private int threads = 16;
+        // poll interval, if negative the one configured in hawkBit is used
+        private long pollMillis = -1;
+        // 0.1 means that the poll interval is randomly changed with up to +/- 10%
+        private double pollJitter = 0.1;
+        // the first polls of the started controllers are randomly spread over this period
+        private long rampUpMillis = 10_000;
+        // interval of the statistics logging, 0 disables it
+        private long reportMillis = 10_000;
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.sdk.device;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.hawkbit.ddi.json.model.DdiChunk;
+import org.eclipse.hawkbit.ddi.json.model.DdiDeployment;
+import org.eclipse.hawkbit.sdk.spi.ArtifactHandler;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Update handler simulating the update processing with configurable durations and failure ratio. In contrast to
+ * {@link UpdateHandler.UpdateProcessor} it doesn't block a thread while "downloading" or "updating" - the next step
+ * is scheduled by {@link DdiController#schedule(Runnable, long)}. So it is suitable for a lot of controllers sharing
+ * a few threads (see {@link DdiSimulator}).
+ */
+@Slf4j
+@Data
+@Accessors(chain = true)
+public class SimulatedUpdateHandler implements UpdateHandler {
+
+    private static final String LOG_PREFIX = "[{}:{}] ";
+
+    // duration of the simulated download
+    private long downloadMillis = 1_000;
+    // duration of the simulated update (install)
+    private long updateMillis = 2_000;
+    // ratio of the updates finished with failure, 0.1 means 10% of the updates fail
+    private double failureRatio;
+    // if true the artifacts are really downloaded (and verified), note that this blocks a thread while downloading
+    private boolean downloadArtifacts;
+
+    @Override
+    public UpdateProcessor getUpdateProcessor(
+            final DdiController controller,
+            final DdiDeployment.HandlingType updateType, final List<DdiChunk> modules) {
+        return new SimulatedUpdateProcessor(controller, updateType, modules);
+    }
+
+    private class SimulatedUpdateProcessor extends UpdateProcessor {
+
+        private final DdiController ddiController;
+        private final DdiDeployment.HandlingType updateType;
+        private final List<DdiChunk> modules;
+
+        private SimulatedUpdateProcessor(
+                final DdiController ddiController,
+                final DdiDeployment.HandlingType updateType, final List<DdiChunk> modules) {
+            super(ddiController, updateType, modules, ArtifactHandler.SKIP);
+            this.ddiController = ddiController;
+            this.updateType = updateType;
+            this.modules = modules;
+        }
+
+        @Override
+        public void run() {
+            ddiController.sendFeedback(new UpdateStatus(UpdateStatus.Status.PROCEEDING, List.of("Update begin ...")));
+
+            if (CollectionUtils.isEmpty(modules)) {
+                downloaded(new UpdateStatus(UpdateStatus.Status.DOWNLOADED, List.of("Nothing to download.")));
+            } else {
+                if (!downloadArtifacts) {
+                    ddiController.sendFeedback(
+                            new UpdateStatus(UpdateStatus.Status.DOWNLOAD, List.of("Download start (simulated) ...")));
+                }
+                schedule(() -> downloaded(downloadArtifacts ?
+                        download() :
+                        new UpdateStatus(UpdateStatus.Status.DOWNLOADED, List.of("Download complete (simulated).")
+                        )), downloadMillis);
+            }
+        }
+
+        private void downloaded(final UpdateStatus downloadStatus) {
+            ddiController.sendFeedback(downloadStatus);
+            if (downloadStatus.status() == UpdateStatus.Status.FAILURE) {
+                return;
+            }
+
+            if (updateType == DdiDeployment.HandlingType.SKIP) {
+                ddiController.sendFeedback(
+                        new UpdateStatus(UpdateStatus.Status.SUCCESSFUL, List.of("Update (download-only) completed.")));
+            } else {
+                schedule(() -> ddiController.sendFeedback(
+                        ThreadLocalRandom.current().nextDouble() < failureRatio ?
+                                new UpdateStatus(UpdateStatus.Status.FAILURE, List.of("Update failed (simulated).")) :
+                                update()), updateMillis);
+            }
+        }
+
+        private void schedule(final Runnable step, final long delayMillis) {
+            if (!ddiController.schedule(step, delayMillis)) {
+                log.debug(LOG_PREFIX + "Controller stopped, simulated update dropped",
+                        ddiController.getTenantId(), ddiController.getControllerId());
+            }
+        }
+    }
+}
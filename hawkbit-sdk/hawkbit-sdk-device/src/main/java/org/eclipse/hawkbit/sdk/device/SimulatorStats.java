@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.sdk.device;
+
+import feign.Client;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.Response;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and throughput statistics of the requests sent by simulated controllers, per API operation. The requests
+ * are measured by a decorator of the feign {@link Client} (see {@link #meter(Client)}) used to build the
+ * {@link org.eclipse.hawkbit.sdk.HawkbitClient}. The latency is the time until the response status and headers are
+ * received. The percentiles are approximated by fixed histogram buckets, so the recording doesn't need locking or
+ * memory per request.
+ */
+public class SimulatorStats {
+
+    private static final long[] BUCKET_LIMITS_MS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500, 1_000, 2_000, 5_000, 10_000, 30_000 };
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private final AtomicLong intervalStartNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Decorates a feign client in order to record the latency and the result of all requests sent through it.
+     *
+     * @param client the client to decorate
+     * @return the metered client
+     */
+    public Client meter(final Client client) {
+        return (request, options) -> {
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                final Response response = client.execute(request, options);
+                failed = response.status() >= 400;
+                return response;
+            } finally {
+                record(operation(request), System.nanoTime() - start, failed);
+            }
+        };
+    }
+
+    public void record(final String operation, final long latencyNanos, final boolean failed) {
+        operations.computeIfAbsent(operation, k -> new OperationStats()).record(latencyNanos, failed);
+    }
+
+    /**
+     * Returns a report of the requests since the previous report (one line per operation) and starts a new interval.
+     *
+     * @return the report
+     */
+    public String report() {
+        final long now = System.nanoTime();
+        final double intervalSeconds = Math.max(now - intervalStartNanos.getAndSet(now), 1) / 1_000_000_000.0;
+        final StringBuilder report = new StringBuilder();
+        new TreeMap<>(operations).forEach((operation, stats) -> {
+            if (!report.isEmpty()) {
+                report.append('\n');
+            }
+            report.append(operation).append(": ").append(stats.reportAndReset(intervalSeconds));
+        });
+        return report.isEmpty() ? "no requests" : report.toString();
+    }
+
+    private static String operation(final Request request) {
+        final MethodMetadata methodMetadata = request.requestTemplate() == null ?
+                null : request.requestTemplate().methodMetadata();
+        if (methodMetadata == null) {
+            return request.httpMethod().name();
+        }
+
+        // config key is like DdiRootControllerRestApi#getControllerBase(String,String)
+        final String configKey = methodMetadata.configKey();
+        final int paramsStart = configKey.indexOf('(');
+        return configKey.substring(configKey.indexOf('#') + 1, paramsStart < 0 ? configKey.length() : paramsStart);
+    }
+
+    private static class OperationStats {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        // the last bucket counts the latencies above the last limit
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_LIMITS_MS.length + 1);
+
+        private void record(final long latency, final boolean failed) {
+            total.increment();
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+            latencyNanos.add(latency);
+            maxLatencyNanos.accumulateAndGet(latency, Math::max);
+            buckets.incrementAndGet(bucket(TimeUnit.NANOSECONDS.toMillis(latency)));
+        }
+
+        private String reportAndReset(final double intervalSeconds) {
+            // not atomic over all counters, requests recorded meanwhile may slightly skew the interval
+            final long intervalCount = count.sumThenReset();
+            final long intervalErrors = errors.sumThenReset();
+            final long intervalLatencyNanos = latencyNanos.sumThenReset();
+            final long maxMs = TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.getAndSet(0));
+            final long[] histogram = new long[buckets.length()];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = buckets.getAndSet(i, 0);
+            }
+
+            if (intervalCount == 0) {
+                return String.format("0 req (total %d)", total.sum());
+            }
+            return String.format(
+                    "%d req (%.1f/s, total %d), %d errors, latency avg %d ms, p50 <= %d ms, p95 <= %d ms, " +
+                            "p99 <= %d ms, max %d ms",
+                    intervalCount, intervalCount / intervalSeconds, total.sum(), intervalErrors,
+                    TimeUnit.NANOSECONDS.toMillis(intervalLatencyNanos / intervalCount),
+                    percentile(histogram, intervalCount, 0.5, maxMs),
+                    percentile(histogram, intervalCount, 0.95, maxMs),
+                    percentile(histogram, intervalCount, 0.99, maxMs),
+                    maxMs);
+        }
+
+        private static int bucket(final long latencyMs) {
+            for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+                if (latencyMs <= BUCKET_LIMITS_MS[i]) {
+                    return i;
+                }
+            }
+            return BUCKET_LIMITS_MS.length;
+        }
+
+        private static long percentile(final long[] histogram, final long count, final double percentile,
+                final long maxMs) {
+            final long rank = (long) Math.ceil(count * percentile);
+            long seen = 0;
+            for (int i = 0; i < BUCKET_LIMITS_MS.length; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return Math.min(BUCKET_LIMITS_MS[i], maxMs);
+                }
+            }
+            return maxMs;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2024 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.eclipse.hawkbit.sdk.device;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.eclipse.hawkbit.ddi.json.model.DdiActionFeedback;
+import org.eclipse.hawkbit.ddi.json.model.DdiConfig;
+import org.eclipse.hawkbit.ddi.json.model.DdiControllerBase;
+import org.eclipse.hawkbit.ddi.json.model.DdiDeployment;
+import org.eclipse.hawkbit.ddi.json.model.DdiDeploymentBase;
+import org.eclipse.hawkbit.ddi.json.model.DdiPolling;
+import org.eclipse.hawkbit.ddi.json.model.DdiStatus;
+import org.eclipse.hawkbit.ddi.rest.api.DdiRootControllerRestApi;
+import org.eclipse.hawkbit.sdk.Controller;
+import org.eclipse.hawkbit.sdk.HawkbitClient;
+import org.eclipse.hawkbit.sdk.Tenant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.Link;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Feature("Unit Tests - SDK")
+@Story("DDI Simulator")
+class DdiSimulatorTest {
+
+    private static final int CONTROLLERS = 4;
+    private static final long ACTION_ID = 1;
+
+    private final Map<String, AtomicInteger> inProgress = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> maxInProgress = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> polls = new ConcurrentHashMap<>();
+    private final List<String> closed = new CopyOnWriteArrayList<>();
+
+    private DdiSimulator simulator;
+
+    @BeforeEach
+    void setup() {
+        final DdiRootControllerRestApi ddiApi = mock(DdiRootControllerRestApi.class);
+        when(ddiApi.getControllerBase(anyString(), anyString())).thenAnswer(invocation -> {
+            final String controllerId = invocation.getArgument(1);
+            polls.computeIfAbsent(controllerId, key -> new AtomicInteger()).incrementAndGet();
+            return request(controllerId, () -> ResponseEntity.ok(new DdiControllerBase(new DdiConfig(
+                    new DdiPolling("00:00:01"))).add(Link.of("http://localhost/DEFAULT/controller/v1/" + controllerId
+                    + "/deploymentBase/" + ACTION_ID + "?c=-1", "deploymentBase"))));
+        });
+        when(ddiApi.getControllerDeploymentBaseAction(anyString(), anyString(), eq(ACTION_ID), anyInt(), any()))
+                .thenAnswer(invocation -> request(invocation.getArgument(1), () -> ResponseEntity.ok(
+                        new DdiDeploymentBase(String.valueOf(ACTION_ID), new DdiDeployment(
+                                DdiDeployment.HandlingType.FORCED, DdiDeployment.HandlingType.FORCED, List.of(),
+                                null), null))));
+        when(ddiApi.postDeploymentBaseActionFeedback(any(), anyString(), anyString(), anyLong()))
+                .thenAnswer(invocation -> request(invocation.getArgument(2), () -> {
+                    final DdiActionFeedback feedback = invocation.getArgument(0);
+                    if (feedback.getStatus().getExecution() == DdiStatus.ExecutionStatus.CLOSED) {
+                        closed.add(invocation.getArgument(2));
+                    }
+                    return ResponseEntity.ok().build();
+                }));
+
+        final HawkbitClient hawkbitClient = mock(HawkbitClient.class);
+        when(hawkbitClient.ddiService(eq(DdiRootControllerRestApi.class), any(), any())).thenReturn(ddiApi);
+
+        simulator = new DdiSimulator(new DdiTenant(new Tenant(), hawkbitClient),
+                new SimulatedUpdateHandler().setDownloadMillis(0).setUpdateMillis(0),
+                new DdiSimulator.Config().setThreads(CONTROLLERS * 2).setPollMillis(0).setRampUpMillis(0)
+                        .setReportMillis(0), null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        simulator.destroy();
+    }
+
+    @Test
+    @Description("Verifies that the polls, the update processing and the feedback of a controller don't run in "
+            + "parallel on the shared scheduler.")
+    void tasksOfControllerAreSerialized() {
+        for (int i = 0; i < CONTROLLERS; i++) {
+            simulator.start(Controller.builder().controllerId("controller" + i).build());
+        }
+        assertThat(simulator.getRunningCount()).isEqualTo(CONTROLLERS);
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> closed.size() >= CONTROLLERS);
+        // the finished action is not processed again
+        await().atMost(Duration.ofSeconds(10)).until(() -> polls.values().stream()
+                .allMatch(count -> count.get() > 10));
+
+        assertThat(closed).hasSize(CONTROLLERS).doesNotHaveDuplicates();
+        assertThat(maxInProgress).hasSize(CONTROLLERS)
+                .allSatisfy((controllerId, max) -> assertThat(max.get()).isEqualTo(1));
+    }
+
+    @Test
+    @Description("Verifies that a stopped controller doesn't poll anymore while the others go on.")
+    void stoppedControllerDoesNotPoll() {
+        simulator.start(Controller.builder().controllerId("stopped").build());
+        simulator.start(Controller.builder().controllerId("running").build());
+        await().atMost(Duration.ofSeconds(10)).until(() -> closed.size() == 2);
+
+        simulator.stop("stopped");
+        assertThat(simulator.getRunningCount()).isEqualTo(1);
+        // a poll might be in progress while stopping
+        final int stoppedPolls = polls.get("stopped").get() + 1;
+        final int runningPolls = polls.get("running").get();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> polls.get("running").get() > runningPolls + 10);
+        assertThat(polls.get("stopped").get()).isLessThanOrEqualTo(stoppedPolls);
+    }
+
+    private <T> T request(final String controllerId, final Supplier<T> response)
+            throws InterruptedException {
+        final int current = inProgress.computeIfAbsent(controllerId, key -> new AtomicInteger()).incrementAndGet();
+        maxInProgress.computeIfAbsent(controllerId, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+        try {
+            // gives other tasks of the controller the chance to overlap
+            Thread.sleep(2);
+            return response.get();
+        } finally {
+            inProgress.get(controllerId).decrementAndGet();
+        }
+    }
+}